@@ -5,39 +5,37 @@
  */
 package org.phoebus.olog;
 
-import com.mongodb.client.gridfs.GridFSBucket;
-import com.mongodb.client.gridfs.model.GridFSFile;
-import com.mongodb.client.gridfs.model.GridFSUploadOptions;
-import org.bson.BsonString;
-import org.bson.Document;
-import org.bson.types.ObjectId;
 import org.phoebus.olog.entity.Attachment;
+import org.phoebus.olog.storage.AttachmentCompression;
+import org.phoebus.olog.storage.AttachmentStore;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.mongodb.core.query.Query;
-import org.springframework.data.mongodb.gridfs.GridFsTemplate;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Repository;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.text.MessageFormat;
 import java.util.Iterator;
 import java.util.Optional;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import static org.springframework.data.mongodb.core.query.Criteria.where;
-
+/**
+ * Repository of attachment files. The files are kept in the {@link AttachmentStore} selected by the
+ * <code>attachment.storage</code> property, by default MongoDB GridFS.
+ */
 @Repository
 public class AttachmentRepository implements CrudRepository<Attachment, String> {
 
     @SuppressWarnings("unused")
     @Autowired
-    private GridFsTemplate gridFsTemplate;
+    private AttachmentStore attachmentStore;
+
     @SuppressWarnings("unused")
     @Autowired
-    private GridFSBucket gridFSBucket;
+    private AttachmentCompression attachmentCompression;
 
     /**
      * Saves an attachment.
@@ -46,7 +44,9 @@ public class AttachmentRepository implements CrudRepository<Attachment, String>
      * may pre-define a search path or URL to the persisted entity.
      * <p>
      * If the client does not set the id of the entity (or if it is an empty string), the id of the persisted
-     * entity will  be set by GridFs and then on the entity before it is returned.
+     * entity will  be set by the attachment store and then on the entity before it is returned.
+     * <p>
+     * Attachments of a compressible content type are stored gzip compressed, see {@link AttachmentCompression}.
      *
      * @param entity The entity to persist.
      * @return The persisted entity with non-null and non-empty id.
@@ -54,17 +54,14 @@ public class AttachmentRepository implements CrudRepository<Attachment, String>
 
     @Override
     public <S extends Attachment> S save(S entity) {
-        try {
-            GridFSUploadOptions options = new GridFSUploadOptions()
-                    .metadata(new Document("meta-data", entity.getFileMetadataDescription()));
-            if (entity.getId() != null && !entity.getId().isEmpty()) {
-                BsonString id = new BsonString(entity.getId());
-                gridFSBucket.uploadFromStream(id, entity.getFilename(), entity.getAttachment().getInputStream(), options);
-            } else {
-                ObjectId objectId = gridFSBucket.uploadFromStream(entity.getFilename(), entity.getAttachment().getInputStream(), options);
-                entity.setId(objectId.toString());
-            }
+        String contentEncoding = attachmentCompression.getContentEncoding(entity.getFilename(), entity.getFileMetadataDescription());
+        try (InputStream content = contentEncoding == null
+                ? entity.getAttachment().getInputStream()
+                : attachmentCompression.compress(entity.getAttachment().getInputStream())) {
+            entity.setId(attachmentStore.store(entity.getId(), entity.getFilename(), entity.getFileMetadataDescription(), contentEncoding, content));
             return entity;
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
         } catch (IOException e) {
             Logger.getLogger(AttachmentRepository.class.getName())
                     .log(Level.WARNING, MessageFormat.format(TextUtil.ATTACHMENT_NOT_PERSISTED, entity.getFilename()), e);
@@ -79,29 +76,40 @@ public class AttachmentRepository implements CrudRepository<Attachment, String>
     }
 
     /**
-     * @param id The unique GridFS id of an attachment.
-     * @return {@link Optional} or - if the specified id is invalid - {@link Optional#empty()}.
+     * @param id The unique id of an attachment.
+     * @return {@link Optional} holding the attachment.
+     * @throws ResponseStatusException with HTTP 404 if the attachment does not exist.
      */
 
     @Override
     public Optional<Attachment> findById(String id) {
-        GridFSFile gridFsFile = gridFsTemplate.find(new Query(where("_id").is(id))).first();
-        if (gridFsFile == null) {
+        Optional<Attachment> attachment = attachmentStore.find(id);
+        if (attachment.isEmpty()) {
             // Should happen only if attachment file was removed from storage "manually".
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Attachment " + id + " not found");
         }
-        Attachment attachment = new Attachment();
-        attachment.setId(id);
-        attachment.setAttachment(gridFsTemplate.getResource(gridFsFile));
-        attachment.setFilename(gridFsFile.getFilename());
-        attachment.setFileMetadataDescription(gridFsFile.getMetadata().getString("meta-data"));
-        return Optional.of(attachment);
+        return attachment;
+    }
+
+    /**
+     * Like {@link #findById(String)}, but the attachment may be read from a replica, see
+     * {@link AttachmentStore#findForDownload(String)}.
+     *
+     * @param id The unique id of an attachment.
+     * @return {@link Optional} holding the attachment.
+     * @throws ResponseStatusException with HTTP 404 if the attachment does not exist.
+     */
+    public Optional<Attachment> findForDownload(String id) {
+        Optional<Attachment> attachment = attachmentStore.findForDownload(id);
+        if (attachment.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Attachment " + id + " not found");
+        }
+        return attachment;
     }
 
     @Override
     public boolean existsById(String id) {
-        // TODO Auto-generated method stub
-        return false;
+        return attachmentStore.exists(id);
     }
 
     @Override
@@ -122,28 +130,38 @@ public class AttachmentRepository implements CrudRepository<Attachment, String>
         return 0;
     }
 
+    /**
+     * Deletes an attachment file. Deleting an attachment that does not exist has no effect.
+     *
+     * @param id The unique id of an attachment.
+     * @throws ResponseStatusException with HTTP 500 if the attachment could not be deleted.
+     */
     @Override
     public void deleteById(String id) {
-        // TODO Auto-generated method stub
-
+        try {
+            attachmentStore.delete(id);
+            Logger.getLogger(AttachmentRepository.class.getName())
+                    .log(Level.INFO, () -> MessageFormat.format(TextUtil.ATTACHMENT_DELETED, id));
+        } catch (IOException e) {
+            Logger.getLogger(AttachmentRepository.class.getName())
+                    .log(Level.WARNING, MessageFormat.format(TextUtil.ATTACHMENT_NOT_DELETED, id), e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, MessageFormat.format(TextUtil.ATTACHMENT_NOT_DELETED, id));
+        }
     }
 
     @Override
     public void delete(Attachment entity) {
-        // TODO Auto-generated method stub
-
+        deleteById(entity.getId());
     }
 
     @Override
     public void deleteAll(Iterable<? extends Attachment> entities) {
-        // TODO Auto-generated method stub
-
+        entities.forEach(attachment -> deleteById(attachment.getId()));
     }
 
     @Override
     public void deleteAll() {
-        // TODO Auto-generated method stub
-
+        throw new ResponseStatusException(HttpStatus.FORBIDDEN, TextUtil.ATTACHMENTS_DELETE_ALL_NOT_ALLOWED);
     }
 
     @Override
@@ -5,10 +5,13 @@
  */
 package org.phoebus.olog;
 
+import jakarta.servlet.http.HttpServletRequest;
 import org.phoebus.olog.entity.Attachment;
+import org.phoebus.olog.storage.FileTransfer;
+import org.phoebus.olog.storage.GzipContent;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.InputStreamResource;
-import org.springframework.core.io.Resource;
+import org.springframework.core.io.InputStreamSource;
 import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -16,6 +19,7 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -47,15 +51,18 @@ public class AttachmentResource
      * @return A {@link ResponseEntity} if found, otherwise client will get HTTP 404 response. If
      * an {@link IOException} is thrown when the input stream of the GridFS resource is requested,
      * a HTTP 500 response is returned.
+     * @param acceptEncoding The <code>Accept-Encoding</code> header of the request. If it accepts gzip, an attachment
+     *                       stored compressed is sent as stored with <code>Content-Encoding: gzip</code>.
+     * @param request The request, used to hand files stored on a file system to the servlet container.
      */
     @GetMapping("{attachmentId}")
-    public ResponseEntity<Resource> getAttachment(@PathVariable(name = "attachmentId") String attachmentId) {
+    public ResponseEntity<?> getAttachment(@PathVariable(name = "attachmentId") String attachmentId,
+                                           @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                           HttpServletRequest request) {
         log.log(Level.INFO, () -> MessageFormat.format(TextUtil.ATTACHMENT_REQUEST, attachmentId));
-        Optional<Attachment> attachment = attachmentRepository.findById(attachmentId);
+        Optional<Attachment> attachment = attachmentRepository.findForDownload(attachmentId);
         if (attachment.isPresent()) {
-            InputStreamResource resource;
             try {
-                resource = new InputStreamResource(attachment.get().getAttachment().getInputStream());
                 ContentDisposition contentDisposition = ContentDisposition.builder("attachment")
                         .filename(attachment.get().getFilename())
                         .build();
@@ -65,6 +72,11 @@ public class AttachmentResource
                 if(mediaType != null){
                     httpHeaders.setContentType(mediaType);
                 }
+                InputStreamSource content = GzipContent.negotiate(attachment.get().getAttachment(), acceptEncoding, httpHeaders);
+                if (FileTransfer.isFile(content)) {
+                    return FileTransfer.response(content, httpHeaders, request);
+                }
+                InputStreamResource resource = new InputStreamResource(content.getInputStream());
                 return new ResponseEntity<>(resource, httpHeaders, HttpStatus.OK);
             } catch (IOException e) {
                 Logger.getLogger(LogResource.class.getName())
@@ -0,0 +1,270 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+
+package org.phoebus.olog;
+
+import org.phoebus.olog.admission.AdmissionController;
+import org.phoebus.olog.admission.AdmissionController.Permit;
+import org.phoebus.olog.entity.Attachment;
+import org.phoebus.olog.entity.Log;
+import org.phoebus.olog.extraction.AttachmentTextExtractionService;
+import org.phoebus.olog.storage.UploadInputStream;
+import org.phoebus.olog.upload.UploadSession;
+import org.phoebus.olog.upload.UploadSessionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.security.Principal;
+import java.text.MessageFormat;
+import java.util.NoSuchElementException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static org.phoebus.olog.OlogResourceDescriptors.UPLOAD_RESOURCE_URI;
+
+/**
+ * Resource for resumable uploads of large attachments, see {@link UploadSessionService}. A client
+ * <ol>
+ *     <li>creates an upload session with <code>POST /uploads</code>,</li>
+ *     <li>sends the content in chunks with <code>PUT /uploads/{uploadId}?offset=...</code>. If a request fails,
+ *     the client asks for the number of bytes received with <code>HEAD /uploads/{uploadId}</code>, and resumes
+ *     from there,</li>
+ *     <li>completes the upload with <code>POST /uploads/{uploadId}/complete</code>, which stores the attachment
+ *     and adds it to the log entry.</li>
+ * </ol>
+ * All requests may be retried.
+ */
+@RestController
+@RequestMapping(UPLOAD_RESOURCE_URI)
+public class AttachmentUploadResource {
+
+    private final Logger logger = Logger.getLogger(AttachmentUploadResource.class.getName());
+
+    /**
+     * Response header holding the number of bytes received, i.e. the offset of the next chunk.
+     */
+    public static final String UPLOAD_OFFSET_HEADER = "Upload-Offset";
+
+    /**
+     * Response header holding the total size of the upload, if declared by the client.
+     */
+    public static final String UPLOAD_LENGTH_HEADER = "Upload-Length";
+
+    @SuppressWarnings("unused")
+    @Autowired
+    private UploadSessionService uploadSessionService;
+
+    @SuppressWarnings("unused")
+    @Autowired
+    private LogRepository logRepository;
+
+    @SuppressWarnings("unused")
+    @Autowired
+    private AttachmentRepository attachmentRepository;
+
+    @SuppressWarnings("unused")
+    @Autowired
+    private AttachmentTextExtractionService attachmentTextExtractionService;
+
+    @SuppressWarnings("unused")
+    @Autowired
+    private AdmissionController admissionController;
+
+    /**
+     * Creates an upload session.
+     *
+     * @param logId                   Id of the log entry to which the attachment is added.
+     * @param filename                File name of the attachment.
+     * @param id                      Optional id of the attachment.
+     * @param fileMetadataDescription Optional description of the content, typically the content type.
+     * @param length                  Optional total size in bytes. If set, the upload can only be completed once
+     *                                all bytes have been received.
+     * @param principal               The authenticated {@link Principal} of the request.
+     * @return The new {@link UploadSession}, with HTTP 201 and its URI in the <code>Location</code> header.
+     */
+    @PostMapping
+    public ResponseEntity<UploadSession> createUpload(@RequestParam(name = "logId") String logId,
+                                                      @RequestParam(name = "filename") String filename,
+                                                      @RequestParam(name = "id", required = false) String id,
+                                                      @RequestParam(name = "fileMetadataDescription", required = false) String fileMetadataDescription,
+                                                      @RequestParam(name = "length", required = false) Long length,
+                                                      @AuthenticationPrincipal Principal principal) {
+        try (Permit permit = admissionController.admitWrite()) {
+            if (logRepository.findById(logId).isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, MessageFormat.format(TextUtil.LOG_NOT_RETRIEVED, logId));
+            }
+            UploadSession session = uploadSessionService.create(logId, principal.getName(), filename, fileMetadataDescription, id, length);
+            return ResponseEntity.created(URI.create("/" + UPLOAD_RESOURCE_URI + "/" + session.id()))
+                    .header(UPLOAD_OFFSET_HEADER, "0")
+                    .body(session);
+        } catch (UploadInputStream.SizeLimitExceededException e) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (IOException e) {
+            logger.log(Level.WARNING, MessageFormat.format(TextUtil.ATTACHMENT_NOT_PERSISTED, filename), e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+        }
+    }
+
+    /**
+     * @param uploadId  Id of the upload session.
+     * @param principal The authenticated {@link Principal} of the request.
+     * @return HTTP 200 with the number of bytes received in the <code>Upload-Offset</code> header.
+     */
+    @RequestMapping(value = "/{uploadId}", method = RequestMethod.HEAD)
+    public ResponseEntity<Void> getUploadOffset(@PathVariable(name = "uploadId") String uploadId,
+                                                @AuthenticationPrincipal Principal principal) {
+        UploadSession session = findSession(uploadId, principal);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(UPLOAD_OFFSET_HEADER, Long.toString(session.offset()));
+        if (session.length() != null) {
+            response.header(UPLOAD_LENGTH_HEADER, Long.toString(session.length()));
+        }
+        return response.build();
+    }
+
+    /**
+     * Writes a chunk of the upload. The chunk may overlap content received before, e.g. when a client retries a
+     * request for which it did not get a response.
+     *
+     * @param uploadId  Id of the upload session.
+     * @param offset    Offset of the first byte of the chunk in the file. Must not exceed the number of bytes
+     *                  received so far.
+     * @param content   The chunk.
+     * @param principal The authenticated {@link Principal} of the request.
+     * @return The updated {@link UploadSession}. If the offset is beyond the bytes received, HTTP 409 with the
+     * number of bytes received in the <code>Upload-Offset</code> header.
+     */
+    @PutMapping("/{uploadId}")
+    public ResponseEntity<UploadSession> uploadChunk(@PathVariable(name = "uploadId") String uploadId,
+                                                     @RequestParam(name = "offset") long offset,
+                                                     InputStream content,
+                                                     @AuthenticationPrincipal Principal principal) {
+        findSession(uploadId, principal);
+        try {
+            long newOffset = uploadSessionService.append(uploadId, offset, content);
+            UploadSession session = findSession(uploadId, principal);
+            return ResponseEntity.ok()
+                    .header(UPLOAD_OFFSET_HEADER, Long.toString(newOffset))
+                    .body(session);
+        } catch (NoSuchElementException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (IllegalStateException e) {
+            UploadSession session = findSession(uploadId, principal);
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .header(UPLOAD_OFFSET_HEADER, Long.toString(session.offset()))
+                    .body(session);
+        } catch (UploadInputStream.SizeLimitExceededException e) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, e.getMessage());
+        } catch (IOException e) {
+            // Typically the client disconnected. The bytes received so far are kept.
+            logger.log(Level.INFO, () -> MessageFormat.format(TextUtil.UPLOAD_CHUNK_INTERRUPTED, uploadId, e.getMessage()));
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /**
+     * Completes the upload: the content is stored as an attachment and added to the log entry.
+     *
+     * @param uploadId  Id of the upload session.
+     * @param checksum  Optional SHA-256 checksum (hex encoded) of the content. If it does not match, the upload
+     *                  is rejected with HTTP 400.
+     * @param principal The authenticated {@link Principal} of the request.
+     * @return The updated {@link Log}.
+     */
+    @PostMapping("/{uploadId}/complete")
+    public Log completeUpload(@PathVariable(name = "uploadId") String uploadId,
+                              @RequestParam(name = "checksum", required = false) String checksum,
+                              @AuthenticationPrincipal Principal principal) {
+        UploadSession uploadSession = findSession(uploadId, principal);
+        try (Permit permit = admissionController.admitWrite()) {
+            uploadSessionService.complete(uploadId, (session, content) -> store(session, content, checksum));
+            Log log = logRepository.findById(uploadSession.logId())
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, MessageFormat.format(TextUtil.LOG_NOT_RETRIEVED, uploadSession.logId())));
+            log.setAttachmentContent(null);
+            return log;
+        } catch (NoSuchElementException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+        } catch (IOException e) {
+            logger.log(Level.WARNING, MessageFormat.format(TextUtil.ATTACHMENT_NOT_PERSISTED, uploadSession.filename()), e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+        }
+    }
+
+    /**
+     * Aborts an upload, deleting the content received so far.
+     *
+     * @param uploadId  Id of the upload session.
+     * @param principal The authenticated {@link Principal} of the request.
+     */
+    @DeleteMapping("/{uploadId}")
+    public void deleteUpload(@PathVariable(name = "uploadId") String uploadId,
+                             @AuthenticationPrincipal Principal principal) {
+        findSession(uploadId, principal);
+        try {
+            uploadSessionService.delete(uploadId);
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+        }
+    }
+
+    /**
+     * Stores the content of a completed upload and adds it to the log entry.
+     *
+     * @return The id of the stored attachment.
+     */
+    private String store(UploadSession session, InputStream content, String checksum) {
+        Log log = logRepository.findById(session.logId())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, MessageFormat.format(TextUtil.LOG_NOT_RETRIEVED, session.logId())));
+        UploadInputStream inputStream = new UploadInputStream(content, Long.MAX_VALUE);
+        Attachment attachment = new Attachment(session.attachmentId(), () -> inputStream, session.filename(), session.fileMetadataDescription());
+        Attachment createdAttachment = attachmentRepository.save(attachment);
+        if (createdAttachment == null) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, MessageFormat.format(TextUtil.ATTACHMENT_NOT_PERSISTED, session.filename()));
+        }
+        if (checksum != null && !checksum.equalsIgnoreCase(inputStream.getChecksum())) {
+            attachmentRepository.deleteById(createdAttachment.getId());
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    MessageFormat.format(TextUtil.UPLOAD_CHECKSUM_MISMATCH, session.id(), checksum, inputStream.getChecksum()));
+        }
+        createdAttachment.setChecksum(inputStream.getChecksum());
+        log.getAttachments().add(createdAttachment);
+        Log updatedLog = logRepository.update(log);
+        attachmentTextExtractionService.submit(updatedLog);
+        logger.log(Level.INFO, () -> MessageFormat.format(TextUtil.ATTACHMENT_STREAMED, createdAttachment.getId(), inputStream.getSize(), inputStream.getChecksum()));
+        return createdAttachment.getId();
+    }
+
+    /**
+     * @return The {@link UploadSession}, if it exists and belongs to the user.
+     * @throws ResponseStatusException HTTP 404 if the session does not exist, HTTP 403 if it belongs to another user.
+     */
+    private UploadSession findSession(String uploadId, Principal principal) {
+        UploadSession session = uploadSessionService.find(uploadId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, MessageFormat.format(TextUtil.UPLOAD_SESSION_NOT_FOUND, uploadId)));
+        if (!session.owner().equals(principal.getName())) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, MessageFormat.format(TextUtil.UPLOAD_SESSION_NOT_OWNER, uploadId));
+        }
+        return session;
+    }
+}
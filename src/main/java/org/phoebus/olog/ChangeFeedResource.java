@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+package org.phoebus.olog;
+
+import org.phoebus.olog.changefeed.ChangeFeedService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static org.phoebus.olog.OlogResourceDescriptors.CHANGE_FEED_URI;
+
+/**
+ * Resource for handling the requests to ../changes, i.e. the Server-Sent Events stream of
+ * new and updated log entries.
+ */
+@RestController
+@RequestMapping(CHANGE_FEED_URI)
+public class ChangeFeedResource {
+
+    @SuppressWarnings("unused")
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    /**
+     * Subscribes to the change feed. A client resuming after a disconnect should set the <code>Last-Event-ID</code>
+     * header - as done automatically by browser <code>EventSource</code> implementations - or the <code>lastEventId</code>
+     * request parameter to the id of the last event it received. If neither is set, only events published after the
+     * subscription are sent.
+     *
+     * @param lastEventIdHeader Value of the <code>Last-Event-ID</code> header, if any.
+     * @param lastEventId       Alternative to the header, takes precedence if both are set.
+     * @return A {@link SseEmitter} for the subscription.
+     */
+    @SuppressWarnings("unused")
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@RequestHeader(name = "Last-Event-ID", required = false) String lastEventIdHeader,
+                                @RequestParam(name = "lastEventId", required = false) String lastEventId) {
+        try {
+            return changeFeedService.subscribe(lastEventId != null ? lastEventId : lastEventIdHeader);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package org.phoebus.olog;
 
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
 import co.elastic.clients.elasticsearch._types.Refresh;
-import co.elastic.clients.elasticsearch.core.IndexRequest;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
 import co.elastic.clients.elasticsearch.core.SearchRequest;
 import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
 import co.elastic.clients.elasticsearch.indices.CreateIndexRequest;
 import co.elastic.clients.elasticsearch.indices.CreateIndexResponse;
 import co.elastic.clients.elasticsearch.indices.ExistsRequest;
@@ -13,13 +16,24 @@ import co.elastic.clients.transport.ElasticsearchTransport;
 import co.elastic.clients.transport.endpoints.BooleanResponse;
 import co.elastic.clients.transport.rest_client.RestClientTransport;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PreDestroy;
 import org.apache.http.HttpHost;
+import org.elasticsearch.client.NodeSelector;
 import org.elasticsearch.client.RestClient;
 import org.elasticsearch.client.RestClientBuilder;
+import org.elasticsearch.client.sniff.ElasticsearchNodesSniffer;
+import org.elasticsearch.client.sniff.SniffOnFailureListener;
+import org.elasticsearch.client.sniff.Sniffer;
+import org.phoebus.olog.entity.CanonicalInstances;
 import org.phoebus.olog.entity.Logbook;
 import org.phoebus.olog.entity.Tag;
 import org.phoebus.olog.entity.Property;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
@@ -28,12 +42,30 @@ import org.springframework.context.annotation.PropertySource;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.StringReader;
+import java.net.URI;
 import java.net.URL;
 import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
 
 
 /**
@@ -128,6 +160,14 @@ public class ElasticConfig {
         ES_LEVEL_INDEX = indexName;
     }
 
+    public static String ES_NOTIFICATION_OUTBOX_INDEX;
+
+    @Value("${elasticsearch.notification.outbox.index:olog_notification_outbox}")
+    @SuppressWarnings("unused")
+    public void setEsNotificationOutboxIndex(String indexName) {
+        ES_NOTIFICATION_OUTBOX_INDEX = indexName;
+    }
+
     @Value("${elasticsearch.cluster.name:elasticsearch}")
     @SuppressWarnings("unused")
     private String clusterName;
@@ -143,6 +183,27 @@ public class ElasticConfig {
     @Value("${elasticsearch.create.indices:true}")
     @SuppressWarnings("unused")
     private String createIndices;
+    @Value("${elasticsearch.hosts:}")
+    @SuppressWarnings("unused")
+    private String hosts;
+    @Value("${elasticsearch.http.max_conn_total:" + RestClientBuilder.DEFAULT_MAX_CONN_TOTAL + "}")
+    @SuppressWarnings("unused")
+    private int maxConnTotal;
+    @Value("${elasticsearch.http.max_conn_per_route:" + RestClientBuilder.DEFAULT_MAX_CONN_PER_ROUTE + "}")
+    @SuppressWarnings("unused")
+    private int maxConnPerRoute;
+    @Value("${elasticsearch.http.compression:false}")
+    @SuppressWarnings("unused")
+    private boolean compression;
+    @Value("${elasticsearch.sniff.enabled:false}")
+    @SuppressWarnings("unused")
+    private boolean sniffEnabled;
+    @Value("${elasticsearch.sniff.interval_ms:300000}")
+    @SuppressWarnings("unused")
+    private int sniffIntervalMs;
+    @Value("${elasticsearch.sniff.after_failure_delay_ms:60000}")
+    @SuppressWarnings("unused")
+    private int sniffAfterFailureDelayMs;
 
     @Value("${default.logbook.url}")
     @SuppressWarnings("unused")
@@ -157,8 +218,38 @@ public class ElasticConfig {
     @SuppressWarnings("unused")
     private String defaultLevelsURL;
 
+    @Value("${elasticsearch.initialization.background:false}")
+    @SuppressWarnings("unused")
+    private boolean backgroundInitialization;
+    @Value("${elasticsearch.initialization.retry.delay:10000}")
+    @SuppressWarnings("unused")
+    private long initializationRetryDelay;
+    @Value("${elasticsearch.initialization.retry.delay.max:300000}")
+    @SuppressWarnings("unused")
+    private long initializationMaxRetryDelay;
+    @Value("${elasticsearch.initialization.retry.max:20}")
+    @SuppressWarnings("unused")
+    private int initializationMaxRetries;
+
+    @Autowired
+    @SuppressWarnings("unused")
+    private ObjectProvider<ReferenceDataCache> referenceDataCache;
+
+    /**
+     * State of the creation of indices and default items, see {@link #getInitializationState()}.
+     */
+    public enum InitializationState {
+        INITIALIZING,
+        READY,
+        FAILED
+    }
+
     private ElasticsearchClient client;
+    private Sniffer sniffer;
+    private ScheduledExecutorService initializationExecutor;
     private static final AtomicBoolean esInitialized = new AtomicBoolean();
+    private static final AtomicReference<InitializationState> initializationState =
+            new AtomicReference<>(InitializationState.READY);
 
     private CreateIndexRequest.Builder withTimeouts(CreateIndexRequest.Builder builder) {
         return builder
@@ -187,19 +278,29 @@ public class ElasticConfig {
     public ElasticsearchClient getClient() {
         if (client == null) {
             // Create the low-level client
+            HttpHost[] httpHosts = getHttpHosts();
             logger.log(Level.INFO, () -> String.format("Creating HTTP client with " +
-                            "host %s, " +
-                            "port %s, " +
-                            "protocol %s, " +
+                            "hosts %s, " +
                             "keep-alive %s ms, " +
                             "connect timeout %s ms, " +
-                            "socket timeout %s ms",
-                    host, port, protocol,
+                            "socket timeout %s ms, " +
+                            "max connections %s (%s per node), " +
+                            "compression %s, " +
+                            "sniffing %s",
+                    Arrays.toString(httpHosts),
                     ES_HTTP_CLIENT_KEEP_ALIVE_TIMEOUT_MS,
                     ES_HTTP_CONNECT_TIMEOUT_MS,
-                    ES_HTTP_SOCKET_TIMEOUT_MS
+                    ES_HTTP_SOCKET_TIMEOUT_MS,
+                    maxConnTotal, maxConnPerRoute,
+                    compression,
+                    sniffEnabled
             ));
-            RestClient httpClient = RestClient.builder(new HttpHost(host, port, protocol))
+            SniffOnFailureListener sniffOnFailureListener = new SniffOnFailureListener();
+            RestClientBuilder restClientBuilder = RestClient.builder(httpHosts)
+                    // Requests are distributed round-robin over the nodes, nodes failing to respond are
+                    // excluded for a while. Dedicated master nodes (known only when sniffing) are never used.
+                    .setNodeSelector(NodeSelector.SKIP_DEDICATED_MASTERS)
+                    .setCompressionEnabled(compression)
                     .setRequestConfigCallback(builder ->
                             builder.setConnectTimeout(ES_HTTP_CONNECT_TIMEOUT_MS)
                                     .setSocketTimeout(ES_HTTP_SOCKET_TIMEOUT_MS)
@@ -208,257 +309,350 @@ public class ElasticConfig {
                             // Avoid timeout problems
                             // https://github.com/elastic/elasticsearch/issues/65213
                             builder.setKeepAliveStrategy((response, context) -> ES_HTTP_CLIENT_KEEP_ALIVE_TIMEOUT_MS)
-                    )
-                    .build();
+                                    .setMaxConnTotal(maxConnTotal)
+                                    .setMaxConnPerRoute(maxConnPerRoute)
+                    );
+            if (sniffEnabled) {
+                restClientBuilder.setFailureListener(sniffOnFailureListener);
+            }
+            RestClient httpClient = restClientBuilder.build();
+            if (sniffEnabled) {
+                sniffer = Sniffer.builder(httpClient)
+                        .setNodesSniffer(new ElasticsearchNodesSniffer(httpClient,
+                                ElasticsearchNodesSniffer.DEFAULT_SNIFF_REQUEST_TIMEOUT,
+                                ElasticsearchNodesSniffer.Scheme.valueOf(httpHosts[0].getSchemeName().toUpperCase())))
+                        .setSniffIntervalMillis(sniffIntervalMs)
+                        .setSniffAfterFailureDelayMillis(sniffAfterFailureDelayMs)
+                        .build();
+                sniffOnFailureListener.setSniffer(sniffer);
+            }
 
             // Create the Java API Client with the same low level client
+            JacksonJsonpMapper jsonpMapper = new JacksonJsonpMapper();
+            // Log entries read from Elasticsearch share their logbook, tag and level instances
+            CanonicalInstances.register(jsonpMapper.objectMapper());
             ElasticsearchTransport transport = new RestClientTransport(
                     httpClient,
-                    new JacksonJsonpMapper()
+                    jsonpMapper
             );
             client = new ElasticsearchClient(transport);
             esInitialized.set(!Boolean.parseBoolean(createIndices));
             if (esInitialized.compareAndSet(false, true)) {
-                elasticIndexValidation(client);
-                elasticIndexInitialization(client);
+                if (backgroundInitialization) {
+                    startBackgroundInitialization(client);
+                } else {
+                    elasticIndexValidation(client);
+                    elasticIndexInitialization(client);
+                }
             }
         }
         return client;
     }
 
     /**
-     * Create the olog indices and templates if they don't exist
+     * @return The state of the creation of indices and default logbooks, tags, properties and levels.
+     */
+    public static InitializationState getInitializationState() {
+        return initializationState.get();
+    }
+
+    /**
+     * Creates the indices and default items on a background thread, such that the service can start serving
+     * read requests. Until done, {@link #getInitializationState()} returns {@link InitializationState#INITIALIZING}.
+     * Creation of indices is retried with backoff until it succeeds, e.g. if Elasticsearch is not yet available.
      *
      * @param client The {@link ElasticsearchClient} instance
      */
-    void elasticIndexValidation(ElasticsearchClient client) {
+    private void startBackgroundInitialization(ElasticsearchClient client) {
+        initializationState.set(InitializationState.INITIALIZING);
+        initializationExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "elastic-initialization");
+            thread.setDaemon(true);
+            return thread;
+        });
+        initializationExecutor.execute(new BackgroundInitialization(initializationExecutor,
+                () -> elasticIndexValidation(client),
+                () -> elasticIndexInitialization(client),
+                // Reference data may have been read before the defaults were created
+                () -> referenceDataCache.ifAvailable(cache -> cache.invalidate(ReferenceDataCache.TAGS, ReferenceDataCache.LOGBOOKS,
+                        ReferenceDataCache.PROPERTIES, ReferenceDataCache.PROPERTIES_INCLUDING_INACTIVE, ReferenceDataCache.LEVELS)),
+                initializationState::set,
+                initializationRetryDelay, initializationMaxRetryDelay, initializationMaxRetries));
+    }
 
-        // Olog Sequence Index
-        try (InputStream is = ElasticConfig.class.getResourceAsStream("/seq_mapping.json")) {
-            BooleanResponse exists = client.indices().exists(ExistsRequest.of(e -> e.index(ES_SEQ_INDEX)));
-            if (!exists.value()) {
-                CreateIndexRequest request = CreateIndexRequest.of(
-                        c -> withTimeouts(c).index(ES_SEQ_INDEX)
-                                .withJson(is)
-                );
-                logCreateIndexRequest(request);
-                CreateIndexResponse result = client.indices().create(
-                        request
-                );
-                logger.log(Level.INFO, () -> MessageFormat.format(TextUtil.ELASTIC_CREATED_INDEX_ACKNOWLEDGED, ES_SEQ_INDEX, result.acknowledged()));
-            }
-        } catch (IOException e) {
-            logger.log(Level.WARNING, MessageFormat.format(TextUtil.ELASTIC_FAILED_TO_CREATE_INDEX, ES_SEQ_INDEX), e);
+    /**
+     * Validates indices and creates default items, rescheduling itself with exponential backoff while index
+     * validation fails or an exception is thrown, e.g. because Elasticsearch cannot be reached. Failing validation
+     * is retried indefinitely. {@link InitializationState#FAILED} is reported once more than <code>maxRetries</code>
+     * attempts threw an exception.
+     */
+    static final class BackgroundInitialization implements Runnable {
+
+        private final ScheduledExecutorService executor;
+        private final BooleanSupplier validation;
+        private final IntSupplier initialization;
+        private final Runnable defaultsCreated;
+        private final Consumer<InitializationState> stateListener;
+        private final long retryDelay;
+        private final long maxRetryDelay;
+        private final int maxRetries;
+
+        private int attempts;
+        private int failures;
+
+        /**
+         * @param executor        Executor on which retries are scheduled.
+         * @param validation      Validates or creates the indices, returns <code>false</code> on failure.
+         * @param initialization  Creates the default items, returns the number of items created.
+         * @param defaultsCreated Called when default items have been created.
+         * @param stateListener   Receives {@link InitializationState#READY} or {@link InitializationState#FAILED}.
+         * @param retryDelay      Delay in milliseconds before the first retry, doubled for each further retry.
+         * @param maxRetryDelay   Max delay in milliseconds between retries.
+         * @param maxRetries      Max number of retries after an exception.
+         */
+        BackgroundInitialization(ScheduledExecutorService executor, BooleanSupplier validation, IntSupplier initialization,
+                                 Runnable defaultsCreated, Consumer<InitializationState> stateListener,
+                                 long retryDelay, long maxRetryDelay, int maxRetries) {
+            this.executor = executor;
+            this.validation = validation;
+            this.initialization = initialization;
+            this.defaultsCreated = defaultsCreated;
+            this.stateListener = stateListener;
+            this.retryDelay = retryDelay;
+            this.maxRetryDelay = maxRetryDelay;
+            this.maxRetries = maxRetries;
         }
 
-        // Olog Logbook Index
-        try (InputStream is = ElasticConfig.class.getResourceAsStream("/logbook_mapping.json")) {
-            BooleanResponse exits = client.indices().exists(ExistsRequest.of(e -> e.index(ES_LOGBOOK_INDEX)));
-            if (!exits.value()) {
-                CreateIndexRequest request = CreateIndexRequest.of(
-                        c -> withTimeouts(c).index(ES_LOGBOOK_INDEX).withJson(is)
-                );
-                logCreateIndexRequest(request);
-                CreateIndexResponse result = client.indices().create(request);
-                logger.log(Level.INFO, () -> MessageFormat.format(TextUtil.ELASTIC_CREATED_INDEX_ACKNOWLEDGED, ES_LOGBOOK_INDEX, result.acknowledged()));
+        @Override
+        public void run() {
+            attempts++;
+            try {
+                if (!validation.getAsBoolean()) {
+                    long delay = nextDelay();
+                    logger.log(Level.WARNING, () -> MessageFormat.format(TextUtil.ELASTIC_INITIALIZATION_RETRY, delay));
+                    executor.schedule(this, delay, TimeUnit.MILLISECONDS);
+                    return;
+                }
+                if (initialization.getAsInt() > 0) {
+                    defaultsCreated.run();
+                }
+                stateListener.accept(InitializationState.READY);
+                logger.log(Level.INFO, TextUtil.ELASTIC_INITIALIZATION_COMPLETED);
+            } catch (RuntimeException e) {
+                if (++failures > maxRetries) {
+                    stateListener.accept(InitializationState.FAILED);
+                    logger.log(Level.SEVERE, MessageFormat.format(TextUtil.ELASTIC_INITIALIZATION_FAILED, failures), e);
+                    return;
+                }
+                long delay = nextDelay();
+                logger.log(Level.WARNING, MessageFormat.format(TextUtil.ELASTIC_INITIALIZATION_ERROR_RETRY, delay), e);
+                executor.schedule(this, delay, TimeUnit.MILLISECONDS);
             }
-        } catch (IOException e) {
-            logger.log(Level.WARNING, MessageFormat.format(TextUtil.ELASTIC_FAILED_TO_CREATE_INDEX, ES_LOGBOOK_INDEX), e);
         }
 
-        // Olog Tag Index
-        try (InputStream is = ElasticConfig.class.getResourceAsStream("/tag_mapping.json")) {
-            BooleanResponse exits = client.indices().exists(ExistsRequest.of(e -> e.index(ES_TAG_INDEX)));
-            if (!exits.value()) {
-                CreateIndexRequest request = CreateIndexRequest.of(
-                        c -> withTimeouts(c).index(ES_TAG_INDEX).withJson(is)
-                );
-                logCreateIndexRequest(request);
-                CreateIndexResponse result = client.indices().create(request);
-                logger.log(Level.INFO, () -> MessageFormat.format(TextUtil.ELASTIC_CREATED_INDEX_ACKNOWLEDGED, ES_TAG_INDEX, result.acknowledged()));
-            }
-        } catch (IOException e) {
-            logger.log(Level.WARNING, MessageFormat.format(TextUtil.ELASTIC_FAILED_TO_CREATE_INDEX, ES_TAG_INDEX), e);
+        long nextDelay() {
+            return Math.min(maxRetryDelay, retryDelay * (1L << Math.min(attempts - 1, 20)));
         }
+    }
 
-        // Olog Property Index
-        try (InputStream is = ElasticConfig.class.getResourceAsStream("/property_mapping.json")) {
-            BooleanResponse exits = client.indices().exists(ExistsRequest.of(e -> e.index(ES_PROPERTY_INDEX)));
-            if (!exits.value()) {
-                CreateIndexRequest request = CreateIndexRequest.of(
-                        c -> withTimeouts(c).index(ES_PROPERTY_INDEX).withJson(is)
-                );
-                logCreateIndexRequest(request);
-                CreateIndexResponse result = client.indices().create(request);
-                logger.log(Level.INFO, () -> MessageFormat.format(TextUtil.ELASTIC_CREATED_INDEX_ACKNOWLEDGED, ES_PROPERTY_INDEX, result.acknowledged()));
-            }
-        } catch (IOException e) {
-            logger.log(Level.WARNING, MessageFormat.format(TextUtil.ELASTIC_FAILED_TO_CREATE_INDEX, ES_PROPERTY_INDEX), e);
+    /**
+     * @return The nodes listed in <code>elasticsearch.hosts</code>, or if that is empty the single node defined by
+     * <code>elasticsearch.network.host</code>, <code>elasticsearch.http.port</code> and
+     * <code>elasticsearch.http.protocol</code>.
+     */
+    HttpHost[] getHttpHosts() {
+        if (hosts == null || hosts.isBlank()) {
+            return new HttpHost[]{new HttpHost(host, port, protocol)};
         }
+        return Arrays.stream(hosts.split(","))
+                .map(String::trim)
+                .filter(h -> !h.isEmpty())
+                .map(h -> {
+                    URI uri = URI.create(h.contains("://") ? h : protocol + "://" + h);
+                    return new HttpHost(uri.getHost(), uri.getPort() > 0 ? uri.getPort() : port, uri.getScheme());
+                })
+                .toArray(HttpHost[]::new);
+    }
 
-        // Olog Log Entry
-        try (InputStream is = ElasticConfig.class.getResourceAsStream("/log_entry_mapping.json")) {
-            BooleanResponse exits = client.indices().exists(ExistsRequest.of(e -> e.index(ES_LOG_INDEX)));
-            if (!exits.value()) {
-                CreateIndexRequest request = CreateIndexRequest.of(
-                        c -> withTimeouts(c).index(ES_LOG_INDEX).withJson(is)
-                );
-                logCreateIndexRequest(request);
-                CreateIndexResponse result = client.indices().create(request);
-                logger.log(Level.INFO, () -> MessageFormat.format(TextUtil.ELASTIC_CREATED_INDEX_ACKNOWLEDGED, ES_LOG_INDEX, result.acknowledged()));
-            }
-        } catch (IOException e) {
-            logger.log(Level.WARNING, MessageFormat.format(TextUtil.ELASTIC_FAILED_TO_CREATE_INDEX, ES_LOG_INDEX), e);
+    @PreDestroy
+    @SuppressWarnings("unused")
+    public void shutdown() {
+        if (initializationExecutor != null) {
+            initializationExecutor.shutdownNow();
         }
-        // Olog Archived Log Entry
-        try (InputStream is = ElasticConfig.class.getResourceAsStream("/log_entry_mapping.json")) {
-            BooleanResponse exits = client.indices().exists(ExistsRequest.of(e -> e.index(ES_LOG_ARCHIVE_INDEX)));
-            if (!exits.value()) {
-                CreateIndexRequest request = CreateIndexRequest.of(
-                        c -> withTimeouts(c).index(ES_LOG_ARCHIVE_INDEX).withJson(is)
-                );
-                logCreateIndexRequest(request);
-                CreateIndexResponse result = client.indices().create(request);
-                logger.log(Level.INFO, () -> MessageFormat.format(TextUtil.ELASTIC_CREATED_INDEX_ACKNOWLEDGED, ES_LOG_ARCHIVE_INDEX, result.acknowledged()));
+        if (sniffer != null) {
+            sniffer.close();
+        }
+    }
+
+    /**
+     * Adds the mappings of fields defined in a mapping resource, e.g. log_entry_mapping.json, but missing in an index
+     * created by an earlier version of the service. Without this, new fields would be mapped dynamically, e.g. the
+     * rendered HTML would be indexed as text and the attachment content would not be nested. Existing field mappings
+     * are not touched.
+     *
+     * @param client          The {@link ElasticsearchClient} instance
+     * @param index           Name of an existing index
+     * @param mappingResource Class path resource holding the wanted mapping of the index
+     */
+    private void addMissingFieldMappings(ElasticsearchClient client, String index, String mappingResource) {
+        try (InputStream is = ElasticConfig.class.getResourceAsStream(mappingResource)) {
+            JsonNode properties = new ObjectMapper().readTree(is).path("mappings").path("properties");
+            Set<String> existingFields = client.indices().getMapping(g -> g.index(index)).result().values().stream()
+                    .flatMap(mapping -> mapping.mappings().properties().keySet().stream())
+                    .collect(Collectors.toSet());
+            ObjectNode missingProperties = JsonNodeFactory.instance.objectNode();
+            properties.properties().stream()
+                    .filter(field -> !existingFields.contains(field.getKey()))
+                    .forEach(field -> missingProperties.set(field.getKey(), field.getValue()));
+            if (missingProperties.isEmpty()) {
+                return;
             }
-        } catch (IOException e) {
-            logger.log(Level.WARNING, MessageFormat.format(TextUtil.ELASTIC_FAILED_TO_CREATE_INDEX, ES_LOG_ARCHIVE_INDEX), e);
+            String mapping = JsonNodeFactory.instance.objectNode().set("properties", missingProperties).toString();
+            client.indices().putMapping(p -> p.index(index).withJson(new StringReader(mapping)));
+            logger.log(Level.INFO, () -> MessageFormat.format(TextUtil.ELASTIC_UPDATED_MAPPING, index, mapping));
+        } catch (IOException | ElasticsearchException e) {
+            logger.log(Level.WARNING, MessageFormat.format(TextUtil.ELASTIC_FAILED_TO_UPDATE_MAPPING, index), e);
         }
+    }
 
-        // Olog Template
-        try (InputStream is = ElasticConfig.class.getResourceAsStream("/log_template_mapping.json")) {
-            BooleanResponse exits = client.indices().exists(ExistsRequest.of(e -> e.index(ES_LOG_TEMPLATE_INDEX)));
-            if (!exits.value()) {
-                CreateIndexRequest request = CreateIndexRequest.of(
-                        c -> withTimeouts(c).index(ES_LOG_TEMPLATE_INDEX).withJson(is)
-                );
-                logCreateIndexRequest(request);
-                CreateIndexResponse result = client.indices().create(request);
-                logger.log(Level.INFO, () -> MessageFormat.format(TextUtil.ELASTIC_CREATED_INDEX_ACKNOWLEDGED, ES_LOG_TEMPLATE_INDEX, result.acknowledged()));
+    /**
+     * Create the olog indices and templates if they don't exist. The indices are checked concurrently.
+     *
+     * @param client The {@link ElasticsearchClient} instance
+     * @return <code>true</code> if all indices exist, i.e. were found or created.
+     */
+    boolean elasticIndexValidation(ElasticsearchClient client) {
+        List<Callable<Boolean>> checks = List.of(
+                () -> ensureIndex(client, ES_SEQ_INDEX, "/seq_mapping.json"),
+                () -> ensureIndex(client, ES_LOGBOOK_INDEX, "/logbook_mapping.json"),
+                () -> ensureIndex(client, ES_TAG_INDEX, "/tag_mapping.json"),
+                () -> ensureIndex(client, ES_PROPERTY_INDEX, "/property_mapping.json"),
+                () -> ensureIndex(client, ES_LOG_INDEX, "/log_entry_mapping.json",
+                        "/log_entry_mapping.json"),
+                // Fields identifying the archived version, see LogRepository#archive
+                () -> ensureIndex(client, ES_LOG_ARCHIVE_INDEX, "/log_entry_mapping.json",
+                        "/log_entry_mapping.json", "/log_archive_mapping.json"),
+                () -> ensureIndex(client, ES_LOG_TEMPLATE_INDEX, "/log_template_mapping.json"),
+                () -> ensureIndex(client, ES_LEVEL_INDEX, "/level_mapping.json"),
+                () -> ensureIndex(client, ES_NOTIFICATION_OUTBOX_INDEX, "/notification_outbox_mapping.json"));
+        ExecutorService executor = Executors.newFixedThreadPool(checks.size(), r -> {
+            Thread thread = new Thread(r, "elastic-index-validation");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            boolean allExist = true;
+            for (Future<Boolean> result : executor.invokeAll(checks)) {
+                allExist &= result.get();
             }
-        } catch (IOException e) {
-            logger.log(Level.WARNING, MessageFormat.format(TextUtil.ELASTIC_FAILED_TO_CREATE_INDEX, ES_LOG_TEMPLATE_INDEX), e);
+            return allExist;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            logger.log(Level.WARNING, TextUtil.ELASTIC_FAILED_TO_VALIDATE_INDICES, e.getCause());
+            return false;
+        } finally {
+            executor.shutdown();
         }
+    }
 
-        // Olog Levels (aka Entry Types)
-        try (InputStream is = ElasticConfig.class.getResourceAsStream("/level_mapping.json")) {
-            BooleanResponse exits = client.indices().exists(ExistsRequest.of(e -> e.index(ES_LEVEL_INDEX)));
-            if (!exits.value()) {
+    /**
+     * Creates an index if it does not exist.
+     *
+     * @param client           The {@link ElasticsearchClient} instance
+     * @param index            Name of the index
+     * @param mappingResource  Class path resource holding the settings and mapping of the index
+     * @param mappingResources Class path resources holding mappings to add to the index if missing,
+     *                         see {@link #addMissingFieldMappings(ElasticsearchClient, String, String)}.
+     * @return <code>true</code> if the index exists, i.e. was found or created.
+     */
+    private boolean ensureIndex(ElasticsearchClient client, String index, String mappingResource, String... mappingResources) {
+        boolean created = false;
+        try (InputStream is = ElasticConfig.class.getResourceAsStream(mappingResource)) {
+            BooleanResponse exists = client.indices().exists(ExistsRequest.of(e -> e.index(index)));
+            if (!exists.value()) {
                 CreateIndexRequest request = CreateIndexRequest.of(
-                        c -> withTimeouts(c).index(ES_LEVEL_INDEX).withJson(is)
+                        c -> withTimeouts(c).index(index).withJson(is)
                 );
                 logCreateIndexRequest(request);
                 CreateIndexResponse result = client.indices().create(request);
-                logger.log(Level.INFO, () -> MessageFormat.format(TextUtil.ELASTIC_CREATED_INDEX_ACKNOWLEDGED, ES_LEVEL_INDEX, result.acknowledged()));
+                logger.log(Level.INFO, () -> MessageFormat.format(TextUtil.ELASTIC_CREATED_INDEX_ACKNOWLEDGED, index, result.acknowledged()));
+                created = true;
+            }
+        } catch (ElasticsearchException e) {
+            // Another instance of the service created the index concurrently
+            if (!"resource_already_exists_exception".equals(e.error().type())) {
+                logger.log(Level.WARNING, MessageFormat.format(TextUtil.ELASTIC_FAILED_TO_CREATE_INDEX, index), e);
+                return false;
             }
         } catch (IOException e) {
-            logger.log(Level.WARNING, MessageFormat.format(TextUtil.ELASTIC_FAILED_TO_CREATE_INDEX, ES_LEVEL_INDEX), e);
+            logger.log(Level.WARNING, MessageFormat.format(TextUtil.ELASTIC_FAILED_TO_CREATE_INDEX, index), e);
+            return false;
         }
+        for (String resource : mappingResources) {
+            // A new index already has the mapping it was created with
+            if (!created || !resource.equals(mappingResource)) {
+                addMissingFieldMappings(client, index, resource);
+            }
+        }
+        return true;
     }
 
     private static final ObjectMapper mapper = new ObjectMapper();
 
     /**
-     * Create the default logbooks, tags, and properties
+     * Create the default logbooks, tags, properties and levels. Those that do not exist are created with a single
+     * bulk request, existing ones are not touched.
      *
      * @param indexClient the elastic client instance used to create the default resources
+     * @return The number of created logbooks, tags, properties and levels.
      */
-    private void elasticIndexInitialization(ElasticsearchClient indexClient) {
-        // Setup the default logbooks
-        String logbooksURL = defaultLogbooksURL;
-        if (logbooksURL.isEmpty()) {
-            final URL resource = getClass().getResource("/default_logbooks.json");
-            logbooksURL = resource.toExternalForm();
-        }
-        try (InputStream input = new URL(logbooksURL).openStream()) {
-            List<Logbook> jsonLogbooks = mapper.readValue(input, new TypeReference<>() {
-            });
+    private int elasticIndexInitialization(ElasticsearchClient indexClient) {
+        BulkRequest.Builder bulkRequest = new BulkRequest.Builder().refresh(Refresh.True);
+        Map<String, String> failureMessages = new HashMap<>();
+        int operations = 0;
 
-            jsonLogbooks.forEach(logbook -> {
-                try {
-                    if (!indexClient.exists(e -> e.index(ES_LOGBOOK_INDEX).id(logbook.getName())).value()) {
-                        IndexRequest<Logbook> indexRequest =
-                                IndexRequest.of(i ->
-                                        i.index(ES_LOGBOOK_INDEX)
-                                                .id(logbook.getName())
-                                                .document(logbook)
-                                                .refresh(Refresh.True));
-                        client.index(indexRequest);
-                    }
-                } catch (IOException e) {
-                    logger.log(Level.WARNING, MessageFormat.format(TextUtil.ELASTIC_FAILED_TO_INITIALIZE_LOGBOOK, logbook.getName()), e);
-                }
+        // Setup the default logbooks
+        try {
+            List<Logbook> jsonLogbooks = readDefaults(defaultLogbooksURL, "/default_logbooks.json", new TypeReference<List<Logbook>>() {
             });
+            jsonLogbooks.forEach(logbook -> bulkRequest.operations(op -> op.create(c ->
+                    c.index(ES_LOGBOOK_INDEX).id(logbook.getName()).document(logbook))));
+            operations += jsonLogbooks.size();
+            failureMessages.put(ES_LOGBOOK_INDEX, TextUtil.ELASTIC_FAILED_TO_INITIALIZE_LOGBOOK);
         } catch (IOException ex) {
             logger.log(Level.WARNING, TextUtil.ELASTIC_FAILED_TO_INITIALIZE_LOGBOOKS, ex);
         }
 
         // Setup the default tags
-        String tagsURL = defaultTagsURL;
-        if (defaultTagsURL.isEmpty()) {
-            final URL resource = getClass().getResource("/default_tags.json");
-            tagsURL = resource.toExternalForm();
-        }
-        try (InputStream input = new URL(tagsURL).openStream()) {
-            List<Tag> jsonTag = mapper.readValue(input, new TypeReference<>() {
-            });
-
-            jsonTag.forEach(tag -> {
-                try {
-                    if (!indexClient.exists(e -> e.index(ES_TAG_INDEX).id(tag.getName())).value()) {
-                        IndexRequest<Tag> indexRequest =
-                                IndexRequest.of(i ->
-                                        i.index(ES_TAG_INDEX)
-                                                .id(tag.getName())
-                                                .document(tag)
-                                                .refresh(Refresh.True));
-                        client.index(indexRequest);
-                    }
-                } catch (IOException e) {
-                    logger.log(Level.WARNING, MessageFormat.format(TextUtil.ELASTIC_FAILED_TO_INITIALIZE_TAG, tag.getName()), e);
-                }
+        try {
+            List<Tag> jsonTags = readDefaults(defaultTagsURL, "/default_tags.json", new TypeReference<List<Tag>>() {
             });
+            jsonTags.forEach(tag -> bulkRequest.operations(op -> op.create(c ->
+                    c.index(ES_TAG_INDEX).id(tag.getName()).document(tag))));
+            operations += jsonTags.size();
+            failureMessages.put(ES_TAG_INDEX, TextUtil.ELASTIC_FAILED_TO_INITIALIZE_TAG);
         } catch (IOException ex) {
             logger.log(Level.WARNING, TextUtil.ELASTIC_FAILED_TO_INITIALIZE_TAGS, ex);
         }
 
         // Setup the default properties
-        String propertiesURL = defaultPropertiesURL;
-        if (propertiesURL.isEmpty()) {
-            final URL resource = getClass().getResource("/default_properties.json");
-            propertiesURL = resource.toExternalForm();
-        }
-        try (InputStream input = new URL(propertiesURL).openStream()) {
-            List<Property> jsonTag = mapper.readValue(input, new TypeReference<>() {
-            });
-
-            jsonTag.forEach(property -> {
-                try {
-                    if (!indexClient.exists(e -> e.index(ES_PROPERTY_INDEX).id(property.getName())).value()) {
-                        IndexRequest<Property> indexRequest =
-                                IndexRequest.of(i ->
-                                        i.index(ES_PROPERTY_INDEX)
-                                                .id(property.getName())
-                                                .document(property)
-                                                .refresh(Refresh.True));
-                        client.index(indexRequest);
-                    }
-                } catch (IOException e) {
-                    logger.log(Level.WARNING, MessageFormat.format(TextUtil.ELASTIC_FAILED_TO_INITIALIZE_PROPERTY, property.getName()), e);
-                }
+        try {
+            List<Property> jsonProperties = readDefaults(defaultPropertiesURL, "/default_properties.json", new TypeReference<List<Property>>() {
             });
+            jsonProperties.forEach(property -> bulkRequest.operations(op -> op.create(c ->
+                    c.index(ES_PROPERTY_INDEX).id(property.getName()).document(property))));
+            operations += jsonProperties.size();
+            failureMessages.put(ES_PROPERTY_INDEX, TextUtil.ELASTIC_FAILED_TO_INITIALIZE_PROPERTY);
         } catch (IOException ex) {
             logger.log(Level.WARNING, TextUtil.ELASTIC_FAILED_TO_INITIALIZE_PROPERTIES, ex);
         }
 
         // Setup the default levels
-        String levelsURL = defaultLevelsURL;
-        if (levelsURL.isEmpty()) {
-            final URL resource = getClass().getResource("/default_levels.json");
-            levelsURL = resource.toExternalForm();
-        }
-        try (InputStream input = new URL(levelsURL).openStream()) {
-            List<org.phoebus.olog.entity.Level> jsonTag = mapper.readValue(input, new TypeReference<>() {
+        try {
+            List<org.phoebus.olog.entity.Level> jsonLevels = readDefaults(defaultLevelsURL, "/default_levels.json", new TypeReference<List<org.phoebus.olog.entity.Level>>() {
             });
 
             // Get all (if any) to be able to determine if a level marked as default already exists.
@@ -469,36 +663,60 @@ public class ElasticConfig {
                             .size(1000));
 
             SearchResponse<org.phoebus.olog.entity.Level> response =
-                    client.search(searchRequest, org.phoebus.olog.entity.Level.class);
+                    indexClient.search(searchRequest, org.phoebus.olog.entity.Level.class);
 
-            final AtomicBoolean defaultLevelExists =
-                    new AtomicBoolean(!response.hits().hits().isEmpty());
-
-            jsonTag.forEach(level -> {
-                if (defaultLevelExists.get() && level.defaultLevel()) {
+            boolean defaultLevelExists = !response.hits().hits().isEmpty();
+            for (org.phoebus.olog.entity.Level level : jsonLevels) {
+                if (defaultLevelExists && level.defaultLevel()) {
                     logger.log(Level.WARNING, "Not inserting level \"" + level.name() + "\" as a default level already exists");
-                } else {
-                    try {
-                        if (!indexClient.exists(e -> e.index(ES_LEVEL_INDEX).id(level.name())).value()) {
-                            IndexRequest<org.phoebus.olog.entity.Level> indexRequest =
-                                    IndexRequest.of(i ->
-                                            i.index(ES_LEVEL_INDEX)
-                                                    .id(level.name())
-                                                    .document(level)
-                                                    .refresh(Refresh.True));
-                            client.index(indexRequest);
-                        }
-                        if (level.defaultLevel()) {
-                            defaultLevelExists.set(true);
-                        }
-                    } catch (IOException e) {
-                        logger.log(Level.WARNING, MessageFormat.format(TextUtil.ELASTIC_FAILED_TO_INITIALIZE_LEVEL,
-                                level.name()), e);
-                    }
+                    continue;
                 }
-            });
+                bulkRequest.operations(op -> op.create(c ->
+                        c.index(ES_LEVEL_INDEX).id(level.name()).document(level)));
+                operations++;
+                if (level.defaultLevel()) {
+                    defaultLevelExists = true;
+                }
+            }
+            failureMessages.put(ES_LEVEL_INDEX, TextUtil.ELASTIC_FAILED_TO_INITIALIZE_LEVEL);
         } catch (IOException ex) {
             logger.log(Level.WARNING, TextUtil.ELASTIC_FAILED_TO_INITIALIZE_LEVELS, ex);
         }
+
+        if (operations == 0) {
+            return 0;
+        }
+        try {
+            BulkResponse response = indexClient.bulk(bulkRequest.build());
+            int created = 0;
+            for (BulkResponseItem item : response.items()) {
+                if (item.error() == null) {
+                    created++;
+                } else if (item.status() != 409) {
+                    // 409 means the logbook, tag, property or level exists
+                    String message = failureMessages.getOrDefault(item.index(), TextUtil.ELASTIC_FAILED_TO_INITIALIZE_DEFAULT);
+                    logger.log(Level.WARNING, () -> MessageFormat.format(message, item.id()) + ": " + item.error().reason());
+                }
+            }
+            return created;
+        } catch (IOException e) {
+            logger.log(Level.WARNING, TextUtil.ELASTIC_FAILED_TO_INITIALIZE_DEFAULTS, e);
+            return 0;
+        }
+    }
+
+    /**
+     * @param url             URL of the JSON file listing the default items, if empty the built-in resource is used.
+     * @param defaultResource Class path resource listing the built-in default items.
+     * @param typeReference   Type of the list.
+     * @param <T>             Type of the items.
+     * @return The list of items.
+     * @throws IOException If the file cannot be read.
+     */
+    private <T> List<T> readDefaults(String url, String defaultResource, TypeReference<List<T>> typeReference) throws IOException {
+        URL resource = url.isEmpty() ? getClass().getResource(defaultResource) : new URL(url);
+        try (InputStream input = resource.openStream()) {
+            return mapper.readValue(input, typeReference);
+        }
     }
-}
\ No newline at end of file
+}
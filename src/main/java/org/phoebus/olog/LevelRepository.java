@@ -58,6 +58,9 @@ public class LevelRepository implements CrudRepository<org.phoebus.olog.entity.L
     @Autowired
     @Qualifier("client")
     ElasticsearchClient client;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
     /**
      *
      */
@@ -86,6 +89,8 @@ public class LevelRepository implements CrudRepository<org.phoebus.olog.entity.L
             String message = MessageFormat.format(TextUtil.LEVELS_NOT_CREATED, level.name());
             logger.log(Level.SEVERE, message, e);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, message);
+        } finally {
+            referenceDataCache.invalidate(ReferenceDataCache.LEVELS);
         }
     }
 
@@ -117,6 +122,8 @@ public class LevelRepository implements CrudRepository<org.phoebus.olog.entity.L
             String message = MessageFormat.format(TextUtil.LEVELS_NOT_CREATED, levels);
             logger.log(Level.SEVERE, message, e);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, message);
+        } finally {
+            referenceDataCache.invalidate(ReferenceDataCache.LEVELS);
         }
     }
 
@@ -216,6 +223,8 @@ public class LevelRepository implements CrudRepository<org.phoebus.olog.entity.L
         } catch (IOException e) {
             logger.log(Level.SEVERE, MessageFormat.format(TextUtil.LEVEL_NOT_DELETED, levelName), e);
             throw new RuntimeException(e);
+        } finally {
+            referenceDataCache.invalidate(ReferenceDataCache.LEVELS);
         }
     }
 
@@ -5,6 +5,7 @@ package org.phoebus.olog;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -39,14 +40,18 @@ public class LevelsResource {
     @Autowired
     private LevelRepository levelRepository;
 
+    @SuppressWarnings("unused")
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
     /**
      * GET method for retrieving the list of {@link org.phoebus.olog.entity.Level}s in the database.
      *
      * @return list of {@link org.phoebus.olog.entity.Level}s
      */
     @GetMapping
-    public Iterable<org.phoebus.olog.entity.Level> findAll() {
-        return levelRepository.findAll();
+    public ResponseEntity<Iterable<org.phoebus.olog.entity.Level>> findAll() {
+        return referenceDataCache.get(ReferenceDataCache.LEVELS, levelRepository::findAll);
     }
 
     /**
@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+
+package org.phoebus.olog;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.text.MessageFormat;
+import java.util.Map;
+
+/**
+ * Computes and applies the delta format of archived log entry versions.
+ * <p>
+ * Only the latest archived version of a log entry is stored in full. When a newer version is archived, the
+ * previous one is replaced by a delta holding the top level fields that differ from the newer version, plus
+ * the names of the fields present only in the newer version. Older versions are hence rebuilt by applying the
+ * deltas backwards, starting from the latest version. Each delta records the version it was computed against,
+ * such that a delta is never applied to a different version.
+ * </p>
+ * <p>
+ * Each archived document carries an <code>archive</code> object identifying the log entry and version,
+ * see {@link LogRepository#archive(org.phoebus.olog.entity.Log)}.
+ * </p>
+ */
+final class LogArchiveDelta {
+
+    static final String ARCHIVE = "archive";
+    static final String LOG_ID = "logId";
+    static final String VERSION = "version";
+    static final String DELTA = "delta";
+    static final String REMOVED_FIELDS = "removedFields";
+    static final String BASE_VERSION = "baseVersion";
+
+    private LogArchiveDelta() {
+    }
+
+    /**
+     * @param document A log entry as stored in Elasticsearch.
+     * @param logId    The log entry id.
+     * @param version  The version of the log entry.
+     * @return A copy of the document including the <code>archive</code> object.
+     */
+    static ObjectNode full(ObjectNode document, String logId, long version) {
+        ObjectNode archived = document.deepCopy();
+        ObjectNode archive = archived.putObject(ARCHIVE);
+        archive.put(LOG_ID, logId);
+        archive.put(VERSION, version);
+        return archived;
+    }
+
+    /**
+     * @param previous An archived version in full.
+     * @param next     The next version in full, including the <code>archive</code> object.
+     * @return The delta from which <code>previous</code> can be rebuilt given <code>next</code>, including the
+     * <code>archive</code> object of <code>previous</code> and the version of <code>next</code>.
+     */
+    static ObjectNode diff(ObjectNode previous, ObjectNode next) {
+        ObjectNode delta = JsonNodeFactory.instance.objectNode();
+        ArrayNode removedFields = JsonNodeFactory.instance.arrayNode();
+        for (Map.Entry<String, JsonNode> field : previous.properties()) {
+            if (!ARCHIVE.equals(field.getKey()) && !field.getValue().equals(next.get(field.getKey()))) {
+                delta.set(field.getKey(), field.getValue());
+            }
+        }
+        for (Map.Entry<String, JsonNode> field : next.properties()) {
+            if (!ARCHIVE.equals(field.getKey()) && !previous.has(field.getKey())) {
+                removedFields.add(field.getKey());
+            }
+        }
+        ObjectNode archive = previous.path(ARCHIVE).isObject() ?
+                ((ObjectNode) previous.get(ARCHIVE)).deepCopy() : JsonNodeFactory.instance.objectNode();
+        archive.put(DELTA, true);
+        archive.set(REMOVED_FIELDS, removedFields);
+        archive.put(BASE_VERSION, next.path(ARCHIVE).path(VERSION).asLong());
+        delta.set(ARCHIVE, archive);
+        return delta;
+    }
+
+    /**
+     * @param delta A delta as computed by {@link #diff(ObjectNode, ObjectNode)}.
+     * @param next  The next version in full, <code>null</code> if there is none.
+     * @return The version described by the delta in full.
+     * @throws IllegalStateException If <code>next</code> is not the version the delta was computed against.
+     */
+    static ObjectNode apply(ObjectNode delta, ObjectNode next) {
+        JsonNode baseVersion = delta.path(ARCHIVE).path(BASE_VERSION);
+        long nextVersion = next == null ? -1 : next.path(ARCHIVE).path(VERSION).asLong(-1);
+        // Deltas written before the base version was recorded cannot be checked
+        if (next == null || (!baseVersion.isMissingNode() && baseVersion.asLong() != nextVersion)) {
+            throw new IllegalStateException(MessageFormat.format(TextUtil.LOG_ARCHIVE_DELTA_BASE_MISSING,
+                    delta.path(ARCHIVE).path(LOG_ID).asText(), delta.path(ARCHIVE).path(VERSION).asLong(),
+                    baseVersion.asText(), nextVersion));
+        }
+        ObjectNode previous = next.deepCopy();
+        delta.path(ARCHIVE).path(REMOVED_FIELDS).forEach(field -> previous.remove(field.asText()));
+        for (Map.Entry<String, JsonNode> field : delta.properties()) {
+            if (!ARCHIVE.equals(field.getKey())) {
+                previous.set(field.getKey(), field.getValue());
+            }
+        }
+        ObjectNode archive = ((ObjectNode) delta.get(ARCHIVE)).deepCopy();
+        archive.remove(DELTA);
+        archive.remove(REMOVED_FIELDS);
+        archive.remove(BASE_VERSION);
+        previous.set(ARCHIVE, archive);
+        return previous;
+    }
+
+    /**
+     * @param document An archived document.
+     * @return <code>true</code> if the document is a delta.
+     */
+    static boolean isDelta(JsonNode document) {
+        return document.path(ARCHIVE).path(DELTA).asBoolean(false);
+    }
+}
@@ -6,12 +6,23 @@
 package org.phoebus.olog;
 
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
-import co.elastic.clients.elasticsearch._types.FieldSort;
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.mapping.FieldType;
+import co.elastic.clients.elasticsearch._types.mapping.Property;
 import co.elastic.clients.elasticsearch._types.Refresh;
 import co.elastic.clients.elasticsearch._types.Result;
+import co.elastic.clients.elasticsearch._types.Script;
 import co.elastic.clients.elasticsearch._types.SortOptions;
 import co.elastic.clients.elasticsearch._types.SortOrder;
-import co.elastic.clients.elasticsearch._types.query_dsl.WildcardQuery;
+import co.elastic.clients.elasticsearch._types.query_dsl.BoolQuery;
+import co.elastic.clients.elasticsearch._types.query_dsl.ExistsQuery;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch._types.query_dsl.RangeQuery;
+import co.elastic.clients.elasticsearch._types.query_dsl.TermQuery;
+import co.elastic.clients.elasticsearch._types.query_dsl.TermsQuery;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
 import co.elastic.clients.elasticsearch.core.ExistsRequest;
 import co.elastic.clients.elasticsearch.core.GetRequest;
 import co.elastic.clients.elasticsearch.core.GetResponse;
@@ -21,28 +32,58 @@ import co.elastic.clients.elasticsearch.core.MgetRequest;
 import co.elastic.clients.elasticsearch.core.MgetResponse;
 import co.elastic.clients.elasticsearch.core.SearchRequest;
 import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
 import co.elastic.clients.elasticsearch.core.mget.MultiGetResponseItem;
 import co.elastic.clients.elasticsearch.core.search.Hit;
+import co.elastic.clients.elasticsearch.indices.GetFieldMappingResponse;
+import co.elastic.clients.json.JsonData;
+import co.elastic.clients.json.JsonpMapper;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import co.elastic.clients.transport.rest_client.RestClientTransport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.json.stream.JsonGenerator;
+import org.elasticsearch.client.Request;
+import org.elasticsearch.client.Response;
+import org.elasticsearch.client.ResponseException;
+import org.elasticsearch.client.RestClient;
 import org.phoebus.olog.entity.Attachment;
+import org.phoebus.olog.entity.AttachmentContent;
 import org.phoebus.olog.entity.Log;
 import org.phoebus.olog.entity.Log.LogBuilder;
 import org.phoebus.olog.entity.SearchResult;
+import org.phoebus.olog.slowquery.SlowQueryLog;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.text.MessageFormat;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -66,8 +107,49 @@ public class LogRepository implements CrudRepository<Log, String> {
     @Autowired
     SequenceGenerator generator;
 
+    @Autowired
+    SlowQueryLog slowQueryLog;
+
+    /**
+     * If <code>true</code>, only the latest archived version of a log entry is kept in full, older versions
+     * are stored as deltas.
+     */
+    @SuppressWarnings("unused")
+    @Value("${elasticsearch.log.archive.delta.enabled:false}")
+    private boolean archiveDeltaEnabled;
+
+    private static final String ATTACHMENT_ID_FIELD = "attachments.id";
+    /**
+     * Indices created before the attachment ids were mapped as keywords index them as text, with a keyword sub-field.
+     */
+    private static final String ATTACHMENT_ID_KEYWORD_FIELD = ATTACHMENT_ID_FIELD + ".keyword";
+    private static final String ARCHIVED_LOG_ID_FIELD = LogArchiveDelta.ARCHIVE + "." + LogArchiveDelta.LOG_ID;
+    private static final String ARCHIVED_VERSION_FIELD = LogArchiveDelta.ARCHIVE + "." + LogArchiveDelta.VERSION;
+    /**
+     * Max number of archived versions returned for a log entry, i.e. the default max result window of an index.
+     */
+    private static final int ARCHIVED_VERSIONS_MAX_SIZE = 10000;
+
     @Override
     public <S extends Log> S save(S log) {
+        return save(log, id -> List.of(), id -> {
+        });
+    }
+
+    /**
+     * Saves a new log entry together with other documents, in a single bulk request, e.g. an entry in the
+     * notification outbox. The documents are written even if the service stops right after the log entry has been
+     * saved. Bulk requests are not atomic though: if the log entry is saved, but one of the other documents is not,
+     * <code>additionalOperationsFailed</code> is called such that the caller can write it by other means.
+     *
+     * @param log                        The new log entry.
+     * @param additionalOperations       Creates the operations to add to the bulk request, given the id of the log entry.
+     * @param additionalOperationsFailed Called with the id of the saved log entry if any of the additional
+     *                                   operations failed.
+     * @return The saved log entry.
+     */
+    public <S extends Log> S save(S log, Function<String, List<BulkOperation>> additionalOperations,
+                                  Consumer<String> additionalOperationsFailed) {
         try {
             Long id = generator.getID();
             LogBuilder validatedLog = LogBuilder.createLog(log).id(id).createDate(Instant.now());
@@ -81,17 +163,24 @@ public class LogRepository implements CrudRepository<Log, String> {
 
             Log document = validatedLog.build();
 
-            IndexRequest<Object> indexRequest =
-                    IndexRequest.of(
-                            i ->
-                                    i.index(ES_LOG_INDEX)
-                                            .id(String.valueOf(id))
-                                            .document(document)
-                                            .refresh(Refresh.True));
-            IndexResponse response = client.index(indexRequest);
+            String logId = String.valueOf(id);
+            BulkRequest.Builder bulkRequest = new BulkRequest.Builder().refresh(Refresh.True);
+            bulkRequest.operations(op -> op.index(i -> i.index(ES_LOG_INDEX).id(logId).document(document)));
+            bulkRequest.operations(additionalOperations.apply(logId));
+            BulkResponse response = client.bulk(bulkRequest.build());
 
-            if (response.result().equals(Result.Created)) {
-                GetRequest getRequest = GetRequest.of(g -> g.index(ES_LOG_INDEX).id(response.id()));
+            BulkResponseItem created = response.items().getFirst();
+            if (created.error() != null) {
+                throw new IOException(created.error().reason());
+            }
+            List<BulkResponseItem> failed = response.items().stream().skip(1).filter(item -> item.error() != null).toList();
+            if (!failed.isEmpty()) {
+                failed.forEach(item -> logger.log(Level.SEVERE, () -> MessageFormat.format(TextUtil.LOG_SAVE_OPERATION_FAILED,
+                        item.index(), item.id(), logId, item.error().reason())));
+                additionalOperationsFailed.accept(logId);
+            }
+            if (created.result() != null && created.result().equals(Result.Created.jsonValue())) {
+                GetRequest getRequest = GetRequest.of(g -> g.index(ES_LOG_INDEX).id(logId));
                 GetResponse<Log> resp = client.get(getRequest, Log.class);
                 return (S) resp.source();
             }
@@ -136,70 +225,372 @@ public class LogRepository implements CrudRepository<Log, String> {
         return null;
     }
 
+    /**
+     * Adds text extracted from an attachment to a log entry, replacing text previously extracted from the same
+     * attachment. This is a scripted update of the stored document, i.e. it does not race with other scripted updates.
+     *
+     * @param logId   The log entry id.
+     * @param content The {@link AttachmentContent}.
+     * @return <code>false</code> if the log entry does not exist.
+     * @throws IOException if the update fails.
+     */
+    public boolean addAttachmentContent(String logId, AttachmentContent content) throws IOException {
+        String source = "if (ctx._source.attachmentContent == null) { ctx._source.attachmentContent = []; } " +
+                "ctx._source.attachmentContent.removeIf(c -> c.id == params.content.id); " +
+                "ctx._source.attachmentContent.add(params.content);";
+        Script script = Script.of(s -> s.source(source).params("content", JsonData.of(content)));
+        try {
+            client.update(u -> u.index(ES_LOG_INDEX)
+                            .id(logId)
+                            .script(script)
+                            .retryOnConflict(5),
+                    Log.class);
+            return true;
+        } catch (ElasticsearchException e) {
+            if (e.status() == HttpStatus.NOT_FOUND.value()) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Finds which of the given attachment ids are referenced by a log entry, or by an archived version of a log
+     * entry. Used to find attachment files that may be deleted.
+     *
+     * @param attachmentIds Ids of stored attachments.
+     * @return The subset of <code>attachmentIds</code> that are referenced.
+     * @throws IOException if the search fails.
+     */
+    public Set<String> findReferencedAttachmentIds(Collection<String> attachmentIds) throws IOException {
+        if (attachmentIds.isEmpty()) {
+            return Collections.emptySet();
+        }
+        List<String> ids = new ArrayList<>(attachmentIds);
+        Set<String> referenced = new HashSet<>();
+        for (String index : List.of(ES_LOG_INDEX, ES_LOG_ARCHIVE_INDEX)) {
+            String field = attachmentIdField(index);
+            Query query = TermsQuery.of(t -> t.field(field)
+                    .terms(v -> v.value(ids.stream().map(FieldValue::of).toList())))._toQuery();
+            SearchRequest searchRequest = SearchRequest.of(s -> s.index(index)
+                    .query(query)
+                    .size(0)
+                    .aggregations(ATTACHMENT_ID_FIELD, a -> a.terms(t -> t.field(field)
+                            .include(i -> i.terms(ids))
+                            .size(ids.size()))));
+            SearchResponse<Void> response = client.search(searchRequest, Void.class);
+            response.aggregations().get(ATTACHMENT_ID_FIELD).sterms().buckets().array()
+                    .forEach(bucket -> referenced.add(bucket.key().stringValue()));
+        }
+        return referenced;
+    }
+
+    /**
+     * @param index Name of a log entry index.
+     * @return The field holding the attachment ids as keywords in the index.
+     * @throws IOException if the mapping cannot be retrieved.
+     */
+    private String attachmentIdField(String index) throws IOException {
+        GetFieldMappingResponse response = client.indices().getFieldMapping(g -> g.index(index).fields(ATTACHMENT_ID_FIELD));
+        boolean text = response.result().values().stream()
+                .flatMap(mappings -> mappings.mappings().values().stream())
+                .flatMap(mapping -> mapping.mapping().values().stream())
+                .anyMatch(Property::isText);
+        return text ? ATTACHMENT_ID_KEYWORD_FIELD : ATTACHMENT_ID_FIELD;
+    }
+
+    /**
+     * @return The number of log entries and archived versions of log entries that have attachments.
+     * @throws IOException if the count fails.
+     */
+    public long countLogsWithAttachments() throws IOException {
+        return client.count(c -> c.index(ES_LOG_INDEX, ES_LOG_ARCHIVE_INDEX)
+                .query(ExistsQuery.of(e -> e.field(ATTACHMENT_ID_FIELD))._toQuery())).count();
+    }
+
+    /**
+     * Archives the current version of a log entry, typically before it is updated. The archived document
+     * carries an <code>archive</code> object holding the log entry id and the version, and is stored under the
+     * id <code>&lt;id&gt;_v&lt;version&gt;</code>.
+     * <p>
+     * If <code>elasticsearch.log.archive.delta.enabled</code> is set, the previously archived version is
+     * replaced by a delta holding only the fields that differ from the version archived now, see {@link LogArchiveDelta}.
+     * Bulk requests are not atomic, so the delta is only written once the version archived now has been stored.
+     * </p>
+     *
+     * @param log The log entry to archive.
+     * @return The archived version of the log entry, or <code>null</code> if archiving failed.
+     */
     public Log archive(Log log) {
         try {
+            String logId = String.valueOf(log.getId());
             // retrieve the log version from elastic
-            GetResponse<Log> resp =
-                    client.get(
-                            GetRequest.of(g -> g.index(ES_LOG_INDEX).id(String.valueOf(log.getId()))), Log.class);
+            GetResponse<ObjectNode> resp =
+                    client.get(GetRequest.of(g -> g.index(ES_LOG_INDEX).id(logId)), ObjectNode.class);
             if (!resp.found()) {
                 logger.log(
                         Level.SEVERE, () -> MessageFormat.format(TextUtil.LOG_NOT_ARCHIVED, log.getId()));
-            } else {
-                Log originalDocument = resp.source();
-                String updatedVersion = originalDocument.getId() + "_v" + resp.version();
-                IndexRequest<Log> indexRequest =
-                        IndexRequest.of(
-                                i ->
-                                        i.index(ES_LOG_ARCHIVE_INDEX)
-                                                .id(updatedVersion)
-                                                .document(originalDocument)
-                                                .refresh(Refresh.True));
-                IndexResponse response = client.index(indexRequest);
-                if (response.result().equals(Result.Created)) {
-                    GetRequest getRequest =
-                            GetRequest.of(g -> g.index(ES_LOG_ARCHIVE_INDEX).id(response.id()));
-                    return client.get(getRequest, Log.class).source();
-                } else {
-                    logger.log(
-                            Level.SEVERE, () -> MessageFormat.format(TextUtil.LOG_NOT_ARCHIVED, updatedVersion));
-                }
+                return null;
+            }
+            BulkRequest.Builder bulkRequest = new BulkRequest.Builder().refresh(Refresh.True);
+            ArchivedVersion archived = addArchiveOperation(bulkRequest, logId, resp.source(), resp.version());
+            BulkResponse response = client.bulk(bulkRequest.build());
+            if (response.errors()) {
+                response.items().stream().filter(item -> item.error() != null).forEach(item ->
+                        logger.log(Level.SEVERE, () -> MessageFormat.format(TextUtil.LOG_NOT_ARCHIVED, item.id()) + ": " + item.error().reason()));
+                return null;
             }
+            replacePreviousByDelta(archived);
+            return toLog(archived.document());
         } catch (IOException e) {
             logger.log(Level.SEVERE, MessageFormat.format(TextUtil.LOG_NOT_ARCHIVED, log.getId()), e);
         }
         return null;
     }
 
-    public SearchResult findArchivedById(String id) {
-        FieldSort.Builder fb = new FieldSort.Builder();
-        fb.field("modifyDate");
-        fb.order(SortOrder.Desc);
+    /**
+     * Archives the version of a log entry it was read with, and updates the log entry, in a single bulk request.
+     * The update is conditional on the log entry not having been modified since it was read. As the bulk request
+     * is not atomic, the result of each operation is checked: if the log entry has been updated but its previous
+     * version could not be archived, archiving that version is retried on its own.
+     *
+     * @param original The log entry as read, with its sequence number, primary term and version.
+     * @param log      The updated log entry.
+     * @return The updated log entry, as sent to Elasticsearch.
+     * @throws OptimisticLockingFailureException if the log entry has been modified concurrently.
+     */
+    public Log archiveAndUpdate(VersionedLog original, Log log) {
+        String logId = String.valueOf(original.log().getId());
+        Log document = LogBuilder.createLog(log).build();
+        ArchivedVersion archived;
+        BulkResponse response;
+        try {
+            ObjectNode originalDocument = objectMapper().valueToTree(original.log());
+            BulkRequest.Builder bulkRequest = new BulkRequest.Builder().refresh(Refresh.True);
+            archived = addArchiveOperation(bulkRequest, logId, originalDocument, original.version());
+            bulkRequest.operations(op -> op.index(i -> i.index(ES_LOG_INDEX)
+                    .id(logId)
+                    .ifSeqNo(original.seqNo())
+                    .ifPrimaryTerm(original.primaryTerm())
+                    .document(document)));
+            response = client.bulk(bulkRequest.build());
+        } catch (IOException e) {
+            String message = MessageFormat.format(TextUtil.LOG_NOT_UPDATED, logId);
+            logger.log(Level.SEVERE, message, e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, message);
+        }
+        BulkResponseItem archive = response.items().getFirst();
+        BulkResponseItem update = response.items().getLast();
+        if (archive.error() != null) {
+            logger.log(Level.SEVERE, () -> MessageFormat.format(TextUtil.LOG_NOT_ARCHIVED, archive.id()) + ": " + archive.error().reason());
+        }
+        if (update.error() != null) {
+            if (archive.error() == null) {
+                // The archived version is stored even if the update failed
+                replacePreviousByDelta(archived);
+            }
+            if (update.status() == HttpStatus.CONFLICT.value()) {
+                throw new OptimisticLockingFailureException(MessageFormat.format(TextUtil.LOGS_MODIFIED_CONCURRENTLY, List.of(logId)));
+            }
+            String message = MessageFormat.format(TextUtil.LOG_NOT_UPDATED, logId);
+            logger.log(Level.SEVERE, () -> message + ": " + update.error().reason());
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, message);
+        }
+        if (archive.error() == null || writeArchivedVersion(archived)) {
+            replacePreviousByDelta(archived);
+        }
+        return document;
+    }
+
+    /**
+     * A version of a log entry being archived.
+     *
+     * @param id       The id of the archived document.
+     * @param document The archived document.
+     * @param previous The previously archived version, stored in full, to be replaced by a delta once the document
+     *                 has been stored. <code>null</code> if there is none, or if deltas are not enabled.
+     */
+    private record ArchivedVersion(String id, ObjectNode document, Hit<ObjectNode> previous) {
+    }
+
+    /**
+     * Adds the operation archiving a version of a log entry as the first operation of a bulk request, see
+     * {@link #archive(Log)}.
+     *
+     * @param bulkRequest      The bulk request.
+     * @param logId            The log entry id.
+     * @param originalDocument The log entry as stored in Elasticsearch.
+     * @param version          The version of the document.
+     * @return The archived version.
+     * @throws IOException If the previously archived version cannot be retrieved.
+     */
+    private ArchivedVersion addArchiveOperation(BulkRequest.Builder bulkRequest, String logId, ObjectNode originalDocument, long version) throws IOException {
+        // Text extracted from attachments is not needed for the history
+        originalDocument.remove("attachmentContent");
+        String updatedVersion = logId + "_v" + version;
+        ObjectNode archivedDocument = LogArchiveDelta.full(originalDocument, logId, version);
+        bulkRequest.operations(op -> op.index(i ->
+                i.index(ES_LOG_ARCHIVE_INDEX).id(updatedVersion).document(archivedDocument)));
+        Hit<ObjectNode> previous = null;
+        if (archiveDeltaEnabled) {
+            previous = findLatestArchivedVersion(logId)
+                    .filter(hit -> !hit.id().equals(updatedVersion) && !LogArchiveDelta.isDelta(hit.source()))
+                    .orElse(null);
+        }
+        return new ArchivedVersion(updatedVersion, archivedDocument, previous);
+    }
 
+    /**
+     * Stores an archived version on its own, when it failed in the bulk request adding it, see
+     * {@link #archiveAndUpdate(VersionedLog, Log)}.
+     *
+     * @param archived The archived version.
+     * @return <code>true</code> if it has been stored.
+     */
+    private boolean writeArchivedVersion(ArchivedVersion archived) {
+        try {
+            client.index(IndexRequest.of(i -> i.index(ES_LOG_ARCHIVE_INDEX)
+                    .id(archived.id())
+                    .document(archived.document())
+                    .refresh(Refresh.True)));
+            return true;
+        } catch (IOException | ElasticsearchException e) {
+            logger.log(Level.SEVERE, MessageFormat.format(TextUtil.LOG_VERSION_NOT_ARCHIVED, archived.id()), e);
+            return false;
+        }
+    }
+
+    /**
+     * Replaces the previously archived version by a delta against a newly archived version. Must only be called
+     * once the newly archived version has been stored, otherwise the delta cannot be rebuilt. If this fails, the
+     * previous version is kept in full, which is still a valid history.
+     *
+     * @param archived The newly archived version.
+     */
+    private void replacePreviousByDelta(ArchivedVersion archived) {
+        Hit<ObjectNode> previous = archived.previous();
+        if (previous == null) {
+            return;
+        }
+        try {
+            client.index(IndexRequest.of(i -> i.index(ES_LOG_ARCHIVE_INDEX)
+                    .id(previous.id())
+                    .document(LogArchiveDelta.diff(previous.source(), archived.document()))
+                    .refresh(Refresh.True)));
+        } catch (IOException | ElasticsearchException e) {
+            logger.log(Level.WARNING, MessageFormat.format(TextUtil.LOG_ARCHIVE_DELTA_NOT_WRITTEN, previous.id()), e);
+        }
+    }
+
+    /**
+     * @param logId A log entry id.
+     * @return The archived version of the log entry with the highest version number, if any.
+     * @throws IOException If the search fails.
+     */
+    private Optional<Hit<ObjectNode>> findLatestArchivedVersion(String logId) throws IOException {
+        SearchResponse<ObjectNode> searchResponse = client.search(SearchRequest.of(s ->
+                        s.index(ES_LOG_ARCHIVE_INDEX)
+                                .query(TermQuery.of(t -> t.field(ARCHIVED_LOG_ID_FIELD).value(logId))._toQuery())
+                                .sort(SortOptions.of(so -> so.field(f -> f.field(ARCHIVED_VERSION_FIELD).order(SortOrder.Desc))))
+                                .size(1)),
+                ObjectNode.class);
+        return searchResponse.hits().hits().stream().findFirst();
+    }
+
+    /**
+     * Finds the archived versions of a log entry. Versions archived in delta format are rebuilt from the newer
+     * versions. Versions archived by older versions of the service, i.e. without an <code>archive</code> object, are
+     * matched on the log entry id.
+     *
+     * @param id A log entry id.
+     * @return A {@link SearchResult} holding the archived versions, newest first.
+     */
+    public SearchResult findArchivedById(String id) {
         SearchRequest searchRequest =
                 SearchRequest.of(
                         s ->
                                 s.index(ES_LOG_ARCHIVE_INDEX)
-                                        .query(
-                                                WildcardQuery.of(q -> q.field("id").caseInsensitive(true).value(id + "*"))
-                                                        ._toQuery())
+                                        .query(BoolQuery.of(b -> b
+                                                .should(TermQuery.of(t -> t.field(ARCHIVED_LOG_ID_FIELD).value(id))._toQuery())
+                                                .should(TermQuery.of(t -> t.field("id").value(id))._toQuery())
+                                                .minimumShouldMatch("1"))._toQuery())
                                         .timeout("60s")
-                                        .sort(SortOptions.of(so -> so.field(fb.build()))));
+                                        .size(ARCHIVED_VERSIONS_MAX_SIZE)
+                                        .sort(SortOptions.of(so -> so.field(f -> f.field(ARCHIVED_VERSION_FIELD)
+                                                        .order(SortOrder.Desc)
+                                                        .unmappedType(FieldType.Long))),
+                                                SortOptions.of(so -> so.field(f -> f.field("modifyDate").order(SortOrder.Desc)))));
         try {
-            final SearchResponse<Log> searchResponse = client.search(searchRequest, Log.class);
-            List<Log> result =
-                    searchResponse.hits().hits().stream().map(Hit::source).collect(Collectors.toList());
+            final SearchResponse<ObjectNode> searchResponse = client.search(searchRequest, ObjectNode.class);
+            List<Log> result = new ArrayList<>();
+            ObjectNode next = null;
+            for (Hit<ObjectNode> hit : searchResponse.hits().hits()) {
+                ObjectNode document = hit.source();
+                if (LogArchiveDelta.isDelta(document)) {
+                    // Fails rather than rebuilding the version from the wrong base
+                    document = LogArchiveDelta.apply(document, next);
+                }
+                result.add(toLog(document));
+                next = document;
+            }
             SearchResult searchResult = new SearchResult();
             searchResult.setHitCount(searchResponse.hits().total().value());
             searchResult.setLogs(result);
             return searchResult;
-        } catch (IOException | IllegalArgumentException e) {
+        } catch (IOException | IllegalArgumentException | IllegalStateException e) {
             logger.log(Level.SEVERE, TextUtil.LOGS_SEARCH_NOT_COMPLETED, e);
             throw new ResponseStatusException(
                     HttpStatus.INTERNAL_SERVER_ERROR, TextUtil.LOGS_SEARCH_NOT_COMPLETED);
         }
     }
 
+    private Log toLog(ObjectNode document) throws IOException {
+        return objectMapper().treeToValue(document, Log.class);
+    }
+
+    /**
+     * @return The {@link ObjectMapper} used to (de)serialize documents, such that trees built from a {@link Log}
+     * match the stored documents.
+     */
+    private ObjectMapper objectMapper() {
+        return ((JacksonJsonpMapper) client._jsonpMapper()).objectMapper();
+    }
+
+    /**
+     * Finds log entries created or modified within the specified time range, e.g. to bring
+     * change feed clients up to date when the in-memory buffer no longer holds the events they missed.
+     *
+     * @param from Inclusive lower bound of the time range.
+     * @param to   Exclusive upper bound of the time range.
+     * @param size Maximum number of log entries to return.
+     * @return A {@link List} of matching log entries, in no particular order.
+     */
+    public List<Log> findChangedBetween(Instant from, Instant to, int size) {
+        String gte = String.valueOf(from.toEpochMilli());
+        String lt = String.valueOf(to.toEpochMilli());
+        Query createdQuery = RangeQuery.of(r -> r.date(d ->
+                d.field("createdDate").gte(gte).lt(lt).format("epoch_millis")))._toQuery();
+        Query modifiedQuery = RangeQuery.of(r -> r.date(d ->
+                d.field("modifyDate").gte(gte).lt(lt).format("epoch_millis")))._toQuery();
+        SearchRequest searchRequest =
+                SearchRequest.of(s ->
+                        s.index(ES_LOG_INDEX)
+                                .query(BoolQuery.of(b -> b.should(createdQuery, modifiedQuery).minimumShouldMatch("1"))._toQuery())
+                                .timeout("60s")
+                                .size(size));
+        try {
+            SearchResponse<Log> searchResponse = client.search(searchRequest, Log.class);
+            if (searchResponse.hits().total() != null && searchResponse.hits().total().value() > size) {
+                logger.log(Level.WARNING, () -> MessageFormat.format(TextUtil.CHANGE_FEED_REPLAY_TRUNCATED,
+                        searchResponse.hits().total().value(), size));
+            }
+            return searchResponse.hits().hits().stream().map(Hit::source).collect(Collectors.toList());
+        } catch (IOException | IllegalArgumentException e) {
+            logger.log(Level.SEVERE, TextUtil.SEARCH_NOT_COMPLETED, e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, TextUtil.SEARCH_NOT_COMPLETED);
+        }
+    }
+
     @Override
     public Optional<Log> findById(String id) {
         try {
@@ -219,6 +610,93 @@ public class LogRepository implements CrudRepository<Log, String> {
         }
     }
 
+    /**
+     * @param id The log entry id.
+     * @return The log entry together with its sequence number and primary term, or empty if not found.
+     */
+    public Optional<VersionedLog> findVersionedById(String id) {
+        try {
+            GetResponse<Log> resp = client.get(GetRequest.of(g -> g.index(ES_LOG_INDEX).id(id)), Log.class);
+            if (!resp.found()) {
+                return Optional.empty();
+            }
+            return Optional.of(new VersionedLog(resp.source(), resp.seqNo(), resp.primaryTerm(), resp.version()));
+        } catch (IOException e) {
+            String message = MessageFormat.format(TextUtil.LOG_NOT_RETRIEVED, id);
+            logger.log(Level.SEVERE, message, e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, message);
+        }
+    }
+
+    /**
+     * @param ids List of log entry ids.
+     * @return The log entries found, together with their sequence numbers and primary terms, in the order of
+     * <code>ids</code>. Ids not matching a log entry are skipped.
+     */
+    public List<VersionedLog> findAllVersionedById(List<String> ids) {
+        try {
+            MgetResponse<Log> resp = client.mget(MgetRequest.of(r -> r.index(ES_LOG_INDEX).ids(ids)), Log.class);
+            List<VersionedLog> foundLogs = new ArrayList<>();
+            for (MultiGetResponseItem<Log> item : resp.docs()) {
+                if (!item.isFailure() && item.result().found()) {
+                    foundLogs.add(new VersionedLog(item.result().source(), item.result().seqNo(), item.result().primaryTerm(), item.result().version()));
+                }
+            }
+            return foundLogs;
+        } catch (IOException e) {
+            String message = MessageFormat.format(TextUtil.LOGS_NOT_FOUND, ids);
+            logger.log(Level.SEVERE, message, e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, message);
+        }
+    }
+
+    /**
+     * Updates several log entries in a single bulk request. Each update is conditional on the document
+     * not having been modified since it was read, i.e. on its sequence number and primary term. The bulk
+     * request is not atomic: if a conflict is reported, other log entries in the list may have been updated.
+     *
+     * @param logs The modified log entries, with the sequence numbers and primary terms they were read with.
+     * @throws OptimisticLockingFailureException if at least one of the log entries has been modified concurrently.
+     */
+    public void updateAllIfUnchanged(List<VersionedLog> logs) {
+        if (logs.isEmpty()) {
+            return;
+        }
+        BulkRequest.Builder bulkRequest = new BulkRequest.Builder().refresh(Refresh.True);
+        logs.forEach(versionedLog -> {
+            Log document = LogBuilder.createLog(versionedLog.log()).build();
+            bulkRequest.operations(op -> op.index(i -> i.index(ES_LOG_INDEX)
+                    .id(String.valueOf(document.getId()))
+                    .ifSeqNo(versionedLog.seqNo())
+                    .ifPrimaryTerm(versionedLog.primaryTerm())
+                    .document(document)));
+        });
+        BulkResponse response;
+        try {
+            response = client.bulk(bulkRequest.build());
+        } catch (IOException e) {
+            String message = MessageFormat.format(TextUtil.LOGS_NOT_UPDATED, logs.stream().map(v -> v.log().getId()).toList());
+            logger.log(Level.SEVERE, message, e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, message);
+        }
+        if (response.errors()) {
+            List<String> conflicts = new ArrayList<>();
+            for (BulkResponseItem item : response.items()) {
+                if (item.error() == null) {
+                    continue;
+                }
+                if (item.status() == HttpStatus.CONFLICT.value()) {
+                    conflicts.add(item.id());
+                } else {
+                    String message = MessageFormat.format(TextUtil.LOGS_NOT_UPDATED, item.id());
+                    logger.log(Level.SEVERE, () -> message + ": " + item.error().reason());
+                    throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, message);
+                }
+            }
+            throw new OptimisticLockingFailureException(MessageFormat.format(TextUtil.LOGS_MODIFIED_CONCURRENTLY, conflicts));
+        }
+    }
+
     @Override
     public boolean existsById(String logId) {
         try {
@@ -291,14 +769,145 @@ public class LogRepository implements CrudRepository<Log, String> {
     @Autowired
     LogSearchUtil logSearchUtil;
 
+    /**
+     * Retrieves the unmodified <code>_source</code> of a log entry, without deserializing it. Note that the low
+     * level client reads the complete Elasticsearch response into memory before this method returns.
+     *
+     * @param id          The log entry id.
+     * @param includeHtml If <code>false</code>, the <code>html</code> field is excluded from the source. Extracted
+     *                    attachment content is always excluded.
+     * @return A {@link StreamingResponseBody} copying the source to the HTTP response, or empty if the
+     * log entry does not exist.
+     */
+    public Optional<StreamingResponseBody> findRawById(String id, boolean includeHtml) {
+        Request request = new Request("GET", "/" + ES_LOG_INDEX + "/_source/" + URLEncoder.encode(id, StandardCharsets.UTF_8));
+        request.addParameter("_source_excludes", sourceExcludes(includeHtml));
+        try {
+            Response response = restClient().performRequest(request);
+            return Optional.of(outputStream -> {
+                try (InputStream inputStream = response.getEntity().getContent()) {
+                    inputStream.transferTo(outputStream);
+                }
+            });
+        } catch (ResponseException e) {
+            if (e.getResponse().getStatusLine().getStatusCode() == HttpStatus.NOT_FOUND.value()) {
+                return Optional.empty();
+            }
+            String message = MessageFormat.format(TextUtil.LOG_NOT_RETRIEVED, id);
+            logger.log(Level.SEVERE, message, e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, message);
+        } catch (IOException e) {
+            String message = MessageFormat.format(TextUtil.LOG_NOT_RETRIEVED, id);
+            logger.log(Level.SEVERE, message, e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, message);
+        }
+    }
+
+    /**
+     * Like {@link #search(MultiValueMap)}, but the <code>_source</code> of the hits is copied to the HTTP
+     * response rather than being deserialized and serialized again, see {@link RawSourceWriter}.
+     * The search itself is executed before this method returns, so that errors can be reported with
+     * a proper HTTP status. The low level client reads the complete Elasticsearch response into memory
+     * (at most 100 MB by default) before this method returns; it is not streamed from Elasticsearch.
+     *
+     * @param searchParameters Search parameters as sent by client.
+     * @param logsOnly         If <code>true</code>, only the list of log entries is written, otherwise a
+     *                         {@link SearchResult}.
+     * @param includeHtml      If <code>false</code>, the <code>html</code> field is excluded from the log entries.
+     *                         Extracted attachment content is always excluded.
+     * @return A {@link StreamingResponseBody} writing the result.
+     * @throws IllegalArgumentException if the search parameters are invalid.
+     */
+    public StreamingResponseBody searchRaw(MultiValueMap<String, String> searchParameters, boolean logsOnly, boolean includeHtml) {
+        return searchRaw(searchParameters, logsOnly, includeHtml, null);
+    }
+
+    /**
+     * Like {@link #searchRaw(MultiValueMap, boolean, boolean)}, the search is recorded in the {@link SlowQueryLog}
+     * if slow. The time includes writing the result to the HTTP response.
+     *
+     * @param searchParameters Search parameters as sent by client.
+     * @param logsOnly         If <code>true</code>, only the list of log entries is written, otherwise a
+     *                         {@link SearchResult}.
+     * @param includeHtml      If <code>false</code>, the <code>html</code> field is excluded from the log entries.
+     * @param clientInfo       Client identification for the slow query log, may be <code>null</code>.
+     * @return A {@link StreamingResponseBody} writing the result.
+     * @throws IllegalArgumentException if the search parameters are invalid.
+     */
+    public StreamingResponseBody searchRaw(MultiValueMap<String, String> searchParameters, boolean logsOnly, boolean includeHtml, String clientInfo) {
+        SearchRequest searchRequest = logSearchUtil.buildSearchRequest(searchParameters);
+        Request request = new Request("POST", "/" + ES_LOG_INDEX + "/_search");
+        request.addParameter("filter_path", "took,hits.total.value,hits.hits._source");
+        request.addParameter("_source_excludes", sourceExcludes(includeHtml));
+        try {
+            String body = serialize(searchRequest);
+            request.setJsonEntity(body);
+            long start = System.nanoTime();
+            Response response = restClient().performRequest(request);
+            return outputStream -> {
+                RawSourceWriter.SearchStatistics statistics;
+                try (InputStream inputStream = response.getEntity().getContent()) {
+                    statistics = RawSourceWriter.writeSearchResult(inputStream, outputStream, logsOnly);
+                }
+                slowQueryLog.record(searchParameters, () -> body, statistics.took(),
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), statistics.hitCount(), clientInfo);
+            };
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, TextUtil.SEARCH_NOT_COMPLETED, e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, TextUtil.SEARCH_NOT_COMPLETED);
+        }
+    }
+
+    /**
+     * @return The JSON request body of the search request.
+     */
+    private String serialize(SearchRequest searchRequest) {
+        JsonpMapper mapper = client._jsonpMapper();
+        StringWriter body = new StringWriter();
+        try (JsonGenerator generator = mapper.jsonProvider().createGenerator(body)) {
+            searchRequest.serialize(generator, mapper);
+        }
+        return body.toString();
+    }
+
+    /**
+     * @param includeHtml Whether the client wants the rendered HTML.
+     * @return The fields of the stored log entries not to be returned to clients.
+     */
+    private static String sourceExcludes(boolean includeHtml) {
+        return includeHtml ? "attachmentContent" : "attachmentContent,html";
+    }
+
+    /**
+     * @return The low level client used by {@link #client}, needed when the response body should not be parsed.
+     */
+    private RestClient restClient() {
+        return ((RestClientTransport) client._transport()).restClient();
+    }
+
     public SearchResult search(MultiValueMap<String, String> searchParameters) {
+        return search(searchParameters, null);
+    }
+
+    /**
+     * Searches for log entries. The search is recorded in the {@link SlowQueryLog} if slow.
+     *
+     * @param searchParameters Search parameters as sent by client.
+     * @param clientInfo       Client identification for the slow query log, may be <code>null</code>.
+     * @return A {@link SearchResult} holding the matching log entries and the hit count.
+     */
+    public SearchResult search(MultiValueMap<String, String> searchParameters, String clientInfo) {
         SearchRequest searchRequest = logSearchUtil.buildSearchRequest(searchParameters);
         try {
+            long start = System.nanoTime();
             final SearchResponse<Log> searchResponse = client.search(searchRequest, Log.class);
+            long wallTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
             List<Log> result = searchResponse.hits().hits().stream().map(Hit::source).collect(Collectors.toList());
             SearchResult searchResult = new SearchResult();
             searchResult.setHitCount(searchResponse.hits().total().value());
             searchResult.setLogs(result);
+            slowQueryLog.record(searchParameters, () -> serialize(searchRequest), searchResponse.took(),
+                    wallTime, searchResult.getHitCount(), clientInfo);
             return searchResult;
         } catch (IOException | IllegalArgumentException e) {
             logger.log(Level.SEVERE, TextUtil.SEARCH_NOT_COMPLETED, e);
@@ -10,23 +10,36 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.tika.detect.Detector;
 import org.apache.tika.metadata.Metadata;
 import org.apache.tika.metadata.TikaCoreProperties;
+import org.apache.tomcat.util.http.fileupload.FileItemIterator;
+import org.apache.tomcat.util.http.fileupload.FileItemStream;
+import org.apache.tomcat.util.http.fileupload.FileUpload;
+import org.apache.tomcat.util.http.fileupload.servlet.ServletRequestContext;
+import org.phoebus.olog.admission.AdmissionController;
+import org.phoebus.olog.admission.AdmissionController.Permit;
+import org.phoebus.olog.changefeed.ChangeFeedService;
 import org.phoebus.olog.entity.Attachment;
 import org.phoebus.olog.entity.Log;
+import org.phoebus.olog.entity.Log.LogBuilder;
 import org.phoebus.olog.entity.LogEntryGroupHelper;
 import org.phoebus.olog.entity.Logbook;
 import org.phoebus.olog.entity.Property;
 import org.phoebus.olog.entity.SearchResult;
 import org.phoebus.olog.entity.Tag;
-import org.phoebus.olog.entity.preprocess.LogPropertyProvider;
 import org.phoebus.olog.entity.preprocess.MarkupCleaner;
 import org.phoebus.olog.entity.websocket.MessageType;
 import org.phoebus.olog.entity.websocket.WebSocketMessage;
-import org.phoebus.olog.notification.LogEntryNotifier;
+import org.phoebus.olog.extraction.AttachmentTextExtractionService;
+import org.phoebus.olog.notification.NotificationDispatcher;
+import org.phoebus.olog.slowquery.SlowQueryLog;
+import org.phoebus.olog.storage.FileTransfer;
+import org.phoebus.olog.storage.GzipContent;
+import org.phoebus.olog.storage.UploadInputStream;
 import org.phoebus.olog.websocket.WebSocketService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.InputStreamResource;
-import org.springframework.core.io.Resource;
-import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -35,6 +48,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -47,11 +61,13 @@ import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.security.Principal;
 import java.text.MessageFormat;
 import java.time.Duration;
@@ -59,14 +75,13 @@ import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.SortedSet;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -99,51 +114,118 @@ public class LogResource {
     private List<MarkupCleaner> markupCleaners;
     @SuppressWarnings("unused")
     @Autowired
-    private List<LogEntryNotifier> logEntryNotifiers;
-    @SuppressWarnings("unused")
-    @Autowired
-    private TaskExecutor taskExecutor;
+    private NotificationDispatcher notificationDispatcher;
     @SuppressWarnings("unused")
     @Autowired
     private String defaultMarkup;
     @SuppressWarnings("unused")
     @Autowired
-    private List<LogPropertyProvider> propertyProviders;
+    private PropertyProviderService propertyProviderService;
+
     @SuppressWarnings("unused")
     @Autowired
-    private ExecutorService executorService;
+    private WebSocketService webSocketService;
+
     @SuppressWarnings("unused")
     @Autowired
-    private Long propertyProvidersTimeout;
+    private ChangeFeedService changeFeedService;
 
     @SuppressWarnings("unused")
     @Autowired
-    private WebSocketService webSocketService;
+    private AttachmentTextExtractionService attachmentTextExtractionService;
 
     @Autowired
     private Detector detector;
 
+    @Autowired
+    private AdmissionController admissionController;
+
+    @Autowired
+    private RssFeedCache rssFeedCache;
+
+    /**
+     * Request parameter by which clients ask for the HTML rendered from the log entry source.
+     */
+    private static final String HTML_PARAMETER = "html";
+
+    /**
+     * If <code>true</code>, log entries are copied from the Elasticsearch response to the client without being
+     * deserialized.
+     */
+    @SuppressWarnings("unused")
+    @Value("${elasticsearch.raw.source.enabled:true}")
+    private boolean rawSourceEnabled;
+
+    /**
+     * Maximum size of an attachment uploaded to {@link #streamAttachment(String, HttpServletRequest)}. The
+     * multipart limits do not apply to that endpoint, as the request is not parsed by the multipart resolver.
+     */
+    @SuppressWarnings("unused")
+    @Value("${attachment.stream.max.size:${spring.servlet.multipart.max-file-size:15MB}}")
+    private DataSize maxStreamedAttachmentSize;
+
+    /**
+     * Maximum length of the form fields preceding the file in {@link #streamAttachment(String, HttpServletRequest)}.
+     */
+    private static final int MAX_FORM_FIELD_LENGTH = 4096;
+
     /**
      * Custom HTTP header that client may send in order to identify itself. This is logged for some of the
      * endpoints in this controller.
      */
-    private static final String OLOG_CLIENT_INFO_HEADER = "X-Olog-Client-Info";
+    public static final String OLOG_CLIENT_INFO_HEADER = "X-Olog-Client-Info";
 
-    private final Object logGroupSyncObject = new Object();
+    /**
+     * Max number of attempts to update log entry groups when log entries are concurrently modified.
+     */
+    private static final int LOG_GROUP_MAX_ATTEMPTS = 5;
 
+    /**
+     * Retrieves a log entry. Unless disabled by <code>elasticsearch.raw.source.enabled</code>, or the client
+     * prefers a binary representation, the stored document is copied to the client as is.
+     *
+     * @param logId  The log entry id.
+     * @param html   If <code>true</code>, the response includes the HTML rendered from the log entry source.
+     * @param accept The <code>Accept</code> header of the request.
+     * @return The {@link Log} identified by <code>logId</code>, or HTTP 404 if it does not exist.
+     */
     @GetMapping("{logId}")
     @SuppressWarnings("unused")
-    public Log getLogById(@PathVariable(name = "logId") String logId) {
+    public ResponseEntity<?> getLogById(@PathVariable(name = "logId") String logId,
+                                        @RequestParam(name = HTML_PARAMETER, required = false) boolean html,
+                                        @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        if (isRawSourceAcceptable(accept)) {
+            return logRepository.findRawById(logId, html)
+                    .map(body -> ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body))
+                    .orElseThrow(() -> logNotFound(logId));
+        }
         Optional<Log> foundLog = logRepository.findById(logId);
         if (foundLog.isPresent()) {
-            return foundLog.get();
+            if (!html) {
+                foundLog.get().setHtml(null);
+            }
+            foundLog.get().setAttachmentContent(null);
+            return ResponseEntity.ok(foundLog.get());
         } else {
-            String message = MessageFormat.format(TextUtil.LOG_NOT_FOUND, logId);
-            logger.log(Level.SEVERE, message, new ResponseStatusException(HttpStatus.NOT_FOUND));
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, message);
+            throw logNotFound(logId);
         }
     }
 
+    /**
+     * @param accept The <code>Accept</code> header of the request.
+     * @return <code>true</code> if stored documents may be copied to the client as is, i.e. if enabled and the
+     * client does not prefer a binary representation like Smile or CBOR.
+     */
+    private boolean isRawSourceAcceptable(String accept) {
+        return rawSourceEnabled && !WebConfig.isBinaryFormatPreferred(accept);
+    }
+
+    private ResponseStatusException logNotFound(String logId) {
+        String message = MessageFormat.format(TextUtil.LOG_NOT_FOUND, logId);
+        logger.log(Level.SEVERE, message, new ResponseStatusException(HttpStatus.NOT_FOUND));
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, message);
+    }
+
     @GetMapping("archived/{logId}")
     @SuppressWarnings("unused")
     public SearchResult getArchivedLog(@PathVariable(name = "logId") String logId) {
@@ -151,20 +233,20 @@ public class LogResource {
     }
 
     @GetMapping("/attachments/{logId}/{attachmentName}")
-    public ResponseEntity<Resource> getAttachment(@PathVariable(name = "logId") String logId, @PathVariable(name = "attachmentName") String attachmentName) {
+    public ResponseEntity<?> getAttachment(@PathVariable(name = "logId") String logId, @PathVariable(name = "attachmentName") String attachmentName,
+                                           @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                           HttpServletRequest request) {
         Optional<Log> log = logRepository.findById(logId);
         if (log.isPresent()) {
             Set<Attachment> attachments = log.get().getAttachments().stream().filter(attachment -> attachment.getFilename().equals(attachmentName)).collect(Collectors.toSet());
             if (attachments.size() == 1) {
                 Attachment attachment = attachments.iterator().next();
                 this.logger.log(Level.INFO, () -> MessageFormat.format(TextUtil.ATTACHMENT_REQUEST_DETAILS, attachment.getId(), attachment.getFilename()));
-                Optional<Attachment> attachmentOptional = attachmentRepository.findById(attachment.getId());
+                Optional<Attachment> attachmentOptional = attachmentRepository.findForDownload(attachment.getId());
                 if (attachmentOptional.isEmpty()) {
                     throw new ResponseStatusException(HttpStatus.NOT_FOUND, MessageFormat.format(TextUtil.ATTACHMENT_UNABLE_TO_RETRIEVE_FOR_ID, attachmentName, logId));
                 }
-                InputStreamResource resource;
                 try {
-                    resource = new InputStreamResource(attachmentOptional.get().getAttachment().getInputStream());
                     ContentDisposition contentDisposition = ContentDisposition.builder("attachment")
                             .filename(attachmentName)
                             .build();
@@ -174,6 +256,11 @@ public class LogResource {
                     if (mediaType != null) {
                         httpHeaders.setContentType(mediaType);
                     }
+                    InputStreamSource content = GzipContent.negotiate(attachmentOptional.get().getAttachment(), acceptEncoding, httpHeaders);
+                    if (FileTransfer.isFile(content)) {
+                        return FileTransfer.response(content, httpHeaders, request);
+                    }
+                    InputStreamResource resource = new InputStreamResource(content.getInputStream());
                     return new ResponseEntity<>(resource, httpHeaders, HttpStatus.OK);
                 } catch (IOException e) {
                     Logger.getLogger(LogResource.class.getName())
@@ -196,12 +283,18 @@ public class LogResource {
      * @param clientInfo       A string sent by client identifying it with respect to version and platform.
      * @param allRequestParams A map of search query parameters. Note that this method supports date/time expressions
      *                         like "12 hours" or "2 days" as well as formatted strings like "2021-01-20 12:00:00.123".
+     * @param accept           The <code>Accept</code> header of the request.
      * @return A {@link List} of {@link Log} objects matching the query parameters, or an
      * empty list if no matching logs are found.
      */
     @GetMapping()
-    public ResponseEntity<?> findLogs(@RequestHeader(value = OLOG_CLIENT_INFO_HEADER, required = false, defaultValue = "n/a") String clientInfo, @RequestParam MultiValueMap<String, String> allRequestParams) {
-        ResponseEntity responseEntity = search(clientInfo, allRequestParams);
+    public ResponseEntity<?> findLogs(@RequestHeader(value = OLOG_CLIENT_INFO_HEADER, required = false, defaultValue = "n/a") String clientInfo,
+                                      @RequestParam MultiValueMap<String, String> allRequestParams,
+                                      @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        if (isRawSourceAcceptable(accept)) {
+            return search(clientInfo, allRequestParams, true);
+        }
+        ResponseEntity responseEntity = search(clientInfo, allRequestParams, accept);
         if (responseEntity.getStatusCode().equals(HttpStatus.OK)) {
             return new ResponseEntity<>(((SearchResult) responseEntity.getBody()).getLogs(), HttpStatus.OK);
         }
@@ -215,18 +308,64 @@ public class LogResource {
      * @param allRequestParams A map of search query parameters. Note that this method supports date/time expressions
      *                         like "12 hours" or "2 days" as well as formatted strings like "2021-01-20 12:00:00.123".
      *                         Search parameters considered invalid may result in an HTTP 400 (bad request) response.
+     *                         With <code>html=true</code> the log entries include the HTML rendered from their source.
+     * @param accept           The <code>Accept</code> header of the request.
      * @return A {@link SearchResult} holding matching objects, if any.
      */
     @GetMapping("/search")
-    public ResponseEntity<?> search(@RequestHeader(value = OLOG_CLIENT_INFO_HEADER, required = false, defaultValue = "n/a") String clientInfo, @RequestParam MultiValueMap<String, String> allRequestParams) {
+    public ResponseEntity<?> search(@RequestHeader(value = OLOG_CLIENT_INFO_HEADER, required = false, defaultValue = "n/a") String clientInfo,
+                                    @RequestParam MultiValueMap<String, String> allRequestParams,
+                                    @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        if (isRawSourceAcceptable(accept)) {
+            return search(clientInfo, allRequestParams, false);
+        }
         logSearchRequest(clientInfo, allRequestParams);
-        try {
-            return new ResponseEntity<>(logRepository.search(allRequestParams), HttpStatus.OK);
+        try (Permit permit = admissionController.admitSearch(allRequestParams)) {
+            SearchResult searchResult = logRepository.search(allRequestParams, clientInfo);
+            if (!Boolean.parseBoolean(allRequestParams.getFirst(HTML_PARAMETER)) && searchResult.getLogs() != null) {
+                searchResult.getLogs().forEach(log -> log.setHtml(null));
+            }
+            return new ResponseEntity<>(searchResult, HttpStatus.OK);
         } catch (IllegalArgumentException exception) {
             return new ResponseEntity<>(exception.getMessage(), HttpStatus.BAD_REQUEST);
         }
     }
 
+    /**
+     * Search where the stored documents are copied to the client as is, see {@link RawSourceWriter}.
+     * The search is admitted until the result has been written.
+     *
+     * @param clientInfo       A string sent by client identifying it with respect to version and platform.
+     * @param allRequestParams A map of search query parameters.
+     * @param logsOnly         If <code>true</code>, the response is a list of log entries, otherwise a {@link SearchResult}.
+     * @return A {@link ResponseEntity} writing the search result.
+     */
+    private ResponseEntity<?> search(String clientInfo, MultiValueMap<String, String> allRequestParams, boolean logsOnly) {
+        logSearchRequest(clientInfo, allRequestParams);
+        Permit permit = null;
+        try {
+            permit = admissionController.admitSearch(allRequestParams);
+            StreamingResponseBody searchResult = logRepository.searchRaw(allRequestParams, logsOnly, Boolean.parseBoolean(allRequestParams.getFirst(HTML_PARAMETER)), clientInfo);
+            // Permit is released once the search result has been written
+            Permit admitted = permit;
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body((StreamingResponseBody) outputStream -> {
+                        try (admitted) {
+                            searchResult.writeTo(outputStream);
+                        }
+                    });
+        } catch (RuntimeException exception) {
+            if (permit != null) {
+                permit.close();
+            }
+            if (exception instanceof IllegalArgumentException) {
+                return new ResponseEntity<>(exception.getMessage(), HttpStatus.BAD_REQUEST);
+            }
+            throw exception;
+        }
+    }
+
     /**
      * Creates a new log entry. If the <code>inReplyTo</code> parameters identifies an existing log entry,
      * this method will treat the new log entry as a reply.
@@ -252,6 +391,12 @@ public class LogResource {
                          @RequestParam(name = "inReplyTo", required = false, defaultValue = "-1") String inReplyTo,
                          @RequestBody Log log,
                          @AuthenticationPrincipal Principal principal) {
+        try (Permit permit = admissionController.admitWrite()) {
+            return create(clientInfo, markup, inReplyTo, log, principal);
+        }
+    }
+
+    private Log create(String clientInfo, String markup, String inReplyTo, Log log, Principal principal) {
         if (log.getLogbooks().isEmpty()) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, TextUtil.LOG_MUST_HAVE_LOGBOOK);
         }
@@ -277,12 +422,17 @@ public class LogResource {
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST, TextUtil.LOG_INVALID_TAGS);
             }
         }
+        // Attachment text is extracted by the service, it must never be taken from the client.
+        log.setAttachmentContent(null);
         log = cleanMarkup(markup, log);
         addPropertiesFromProviders(log);
-        Log newLogEntry = logRepository.save(log);
+        // The outbox entry for the notifiers is written in the same request as the log entry
+        Log newLogEntry = logRepository.save(log, notificationDispatcher::outboxOperations, notificationDispatcher::writeOutboxEntry);
+        rssFeedCache.invalidate();
         sendToNotifiers(newLogEntry);
 
         webSocketService.sendMessageToClients(new WebSocketMessage(MessageType.NEW_LOG_ENTRY, null));
+        changeFeedService.publish(MessageType.NEW_LOG_ENTRY, newLogEntry);
 
         logger.log(Level.INFO, () -> "Entry id " + newLogEntry.getId() + " created from " + clientInfo);
 
@@ -314,43 +464,49 @@ public class LogResource {
                          @RequestPart("logEntry") Log logEntry,
                          @RequestPart(value = "files", required = false) MultipartFile[] files,
                          @AuthenticationPrincipal Principal principal) {
+        try (Permit permit = admissionController.admitWrite()) {
+            if (files != null && logEntry.getAttachments() != null && files.length != logEntry.getAttachments().size()) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, TextUtil.ATTACHMENT_DATA_INVALID);
+            }
 
-        if (files != null && logEntry.getAttachments() != null && files.length != logEntry.getAttachments().size()) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, TextUtil.ATTACHMENT_DATA_INVALID);
-        }
-
-        List<MultipartFile> multipartFiles;
+            List<MultipartFile> multipartFiles;
 
-        try {
-            multipartFiles = checkSupportedAttachmentTypes(files);
-        } catch (IllegalArgumentException exception) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, TextUtil.ATTACHMENT_HEIC_NOT_SUPPORTED);
-        }
+            try {
+                multipartFiles = checkSupportedAttachmentTypes(files);
+            } catch (IllegalArgumentException exception) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, TextUtil.ATTACHMENT_HEIC_NOT_SUPPORTED);
+            }
 
-        Log newLogEntry = createLog(clientInfo, markup, inReplyTo, logEntry, principal);
+            Log newLogEntry = create(clientInfo, markup, inReplyTo, logEntry, principal);
+
+            if (files != null) {
+                Log savedLogEntry = null;
+                for (MultipartFile multipartFile : multipartFiles) {
+                    String originalFileName = multipartFile.getOriginalFilename();
+                    Optional<Attachment> attachment =
+                            logEntry.getAttachments().stream()
+                                    .filter(a -> a.getFilename() != null && a.getFilename().equals(originalFileName)).findFirst();
+                    if (attachment.isEmpty()) { // Should not happen if client behaves correctly
+                        logger.log(Level.WARNING, () -> MessageFormat.format(TextUtil.ATTACHMENT_FILE_NOT_MATCHED_META_DATA, originalFileName));
+                        continue;
+                    }
 
-        if (files != null) {
-            for (MultipartFile multipartFile : multipartFiles) {
-                String originalFileName = multipartFile.getOriginalFilename();
-                Optional<Attachment> attachment =
-                        logEntry.getAttachments().stream()
-                                .filter(a -> a.getFilename() != null && a.getFilename().equals(originalFileName)).findFirst();
-                if (attachment.isEmpty()) { // Should not happen if client behaves correctly
-                    logger.log(Level.WARNING, () -> MessageFormat.format(TextUtil.ATTACHMENT_FILE_NOT_MATCHED_META_DATA, originalFileName));
-                    continue;
+                    savedLogEntry = saveAttachment(Long.toString(newLogEntry.getId()),
+                            multipartFile,
+                            originalFileName,
+                            attachment.get().getId(),
+                            attachment.get().getFileMetadataDescription());
+                }
+                // Submitted once all attachments are saved, as extraction results are added to the stored log entry
+                if (savedLogEntry != null) {
+                    attachmentTextExtractionService.submit(savedLogEntry);
                 }
-
-                saveAttachment(Long.toString(newLogEntry.getId()),
-                        multipartFile,
-                        originalFileName,
-                        attachment.get().getId(),
-                        attachment.get().getFileMetadataDescription());
             }
-        }
 
-        logger.log(Level.INFO, () -> MessageFormat.format(TextUtil.LOG_ENTRY_ID_CREATED_FROM, newLogEntry.getId(), clientInfo));
+            logger.log(Level.INFO, () -> MessageFormat.format(TextUtil.LOG_ENTRY_ID_CREATED_FROM, newLogEntry.getId(), clientInfo));
 
-        return newLogEntry;
+            return newLogEntry;
+        }
     }
 
 
@@ -370,19 +526,129 @@ public class LogResource {
                                 @RequestPart("filename") String filename,
                                 @RequestPart(name = "id", required = false) String id,
                                 @RequestPart(name = "fileMetadataDescription", required = false) String fileMetadataDescription) {
+        try (Permit permit = admissionController.admitWrite()) {
+            List<MultipartFile> multipartFiles;
 
-        List<MultipartFile> multipartFiles;
+            try {
+                multipartFiles = checkSupportedAttachmentTypes(new MultipartFile[]{file});
+            } catch (IllegalArgumentException exception) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, TextUtil.ATTACHMENT_HEIC_NOT_SUPPORTED);
+            }
+            Log updatedLog = saveAttachment(logId,
+                    multipartFiles.getFirst(),
+                    filename,
+                    id,
+                    fileMetadataDescription);
+            attachmentTextExtractionService.submit(updatedLog);
+            updatedLog.setAttachmentContent(null);
+            return updatedLog;
+        }
+    }
 
-        try {
-            multipartFiles = checkSupportedAttachmentTypes(new MultipartFile[]{file});
-        } catch (IllegalArgumentException exception) {
+    /**
+     * Add an attachment to log entry identified by logId, streaming it into the attachment storage as it is
+     * received. Unlike {@link #uploadAttachment(String, MultipartFile, String, String, String)} the upload is
+     * neither buffered in memory nor in a temporary file: the content type is detected from the first bytes of
+     * the file part, and the remainder is piped into storage while its size and checksum are computed.
+     * <p>
+     * The optional form fields <code>filename</code>, <code>id</code> and <code>fileMetadataDescription</code>
+     * must precede the <code>file</code> part, as the request body is read only once. Parts following the file
+     * are ignored.
+     * </p>
+     *
+     * @param logId   log entry ID
+     * @param request The multipart/form-data request.
+     * @return The updated {@link Log}.
+     */
+    @PostMapping(value = "/attachments/{logId}/stream", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public Log streamAttachment(@PathVariable(name = "logId") String logId,
+                                HttpServletRequest request) {
+        try (Permit permit = admissionController.admitWrite()) {
+            Log log = logRepository.findById(logId)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, MessageFormat.format(TextUtil.LOG_NOT_RETRIEVED, logId)));
+            Attachment createdAttachment;
+            try {
+                createdAttachment = streamAttachment(request);
+            } catch (IOException e) {
+                logger.log(Level.WARNING, TextUtil.ATTACHMENT_MULTIPART_READ_FAILED, e);
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+            }
+            log.getAttachments().add(createdAttachment);
+            Log updatedLog = logRepository.update(log);
+            attachmentTextExtractionService.submit(updatedLog);
+            updatedLog.setAttachmentContent(null);
+            return updatedLog;
+        }
+    }
+
+    /**
+     * Reads the form fields up to and including the <code>file</code> part of a multipart request, and stores the
+     * content of the file part.
+     *
+     * @param request The multipart/form-data request.
+     * @return The stored {@link Attachment}, with size limited to <code>attachment.stream.max.size</code>.
+     * @throws IOException If the request cannot be read.
+     */
+    private Attachment streamAttachment(HttpServletRequest request) throws IOException {
+        Map<String, String> fields = new HashMap<>();
+        // The streaming API of the multipart parser bundled with Tomcat, which reads parts as they arrive
+        FileItemIterator items = new FileUpload().getItemIterator(new ServletRequestContext(request));
+        while (items.hasNext()) {
+            FileItemStream item = items.next();
+            if (item.isFormField()) {
+                try (InputStream inputStream = item.openStream()) {
+                    byte[] value = inputStream.readNBytes(MAX_FORM_FIELD_LENGTH + 1);
+                    if (value.length > MAX_FORM_FIELD_LENGTH) {
+                        throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                                MessageFormat.format(TextUtil.ATTACHMENT_FORM_FIELD_TOO_LONG, item.getFieldName()));
+                    }
+                    fields.put(item.getFieldName(), new String(value, StandardCharsets.UTF_8));
+                }
+            } else if ("file".equals(item.getFieldName())) {
+                return storeAttachment(item, fields);
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, TextUtil.ATTACHMENT_FILE_PART_MISSING);
+    }
+
+    private Attachment storeAttachment(FileItemStream item, Map<String, String> fields) throws IOException {
+        String filename = fields.get("filename");
+        filename = filename == null || filename.isEmpty() ? item.getName() : filename;
+        // Content type from the first bytes, after which the stream is reset to the start
+        InputStream bufferedInputStream = new BufferedInputStream(item.openStream());
+        Metadata metadata = new Metadata();
+        metadata.add(TikaCoreProperties.RESOURCE_NAME_KEY, filename);
+        org.apache.tika.mime.MediaType mediaType = detector.detect(bufferedInputStream, metadata);
+        if (isUnsupportedAttachmentType(mediaType)) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, TextUtil.ATTACHMENT_HEIC_NOT_SUPPORTED);
         }
-        return saveAttachment(logId,
-                multipartFiles.getFirst(),
-                filename,
-                id,
-                fileMetadataDescription);
+        String fileMetadataDescription = fields.get("fileMetadataDescription");
+        if (fileMetadataDescription == null || fileMetadataDescription.isEmpty()) {
+            fileMetadataDescription = item.getContentType() != null ? item.getContentType() : mediaType.toString();
+        }
+
+        UploadInputStream content = new UploadInputStream(bufferedInputStream, maxStreamedAttachmentSize.toBytes());
+        Attachment attachment = new Attachment(fields.get("id"), () -> content, filename, fileMetadataDescription);
+        Attachment createdAttachment = null;
+        try {
+            createdAttachment = attachmentRepository.save(attachment);
+        } catch (RuntimeException e) {
+            // The GridFS store reports failing reads as a runtime exception
+            if (!content.isLimitExceeded()) {
+                throw e;
+            }
+        }
+        if (content.isLimitExceeded()) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    MessageFormat.format(TextUtil.ATTACHMENT_TOO_LARGE, filename, maxStreamedAttachmentSize.toBytes()));
+        }
+        if (createdAttachment == null) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, MessageFormat.format(TextUtil.ATTACHMENT_NOT_PERSISTED, filename));
+        }
+        createdAttachment.setChecksum(content.getChecksum());
+        String id = createdAttachment.getId();
+        logger.log(Level.INFO, () -> MessageFormat.format(TextUtil.ATTACHMENT_STREAMED, id, content.getSize(), content.getChecksum()));
+        return createdAttachment;
     }
 
     /**
@@ -433,7 +699,8 @@ public class LogResource {
      * @param log       The log record data as sent by client.
      * @param principal The authenticated {@link Principal} of the request.
      * @return The updated log record, or HTTP status 404 if the log record does not exist. If the path
-     * variable does not match the id in the log record, HTTP status 400 (bad request) is returned.
+     * variable does not match the id in the log record, HTTP status 400 (bad request) is returned. If the log
+     * record has been modified since it was read by this request, HTTP status 409 (conflict) is returned.
      */
     @SuppressWarnings("unused")
     @PostMapping("/{logId}")
@@ -441,119 +708,153 @@ public class LogResource {
                          @RequestParam(name = "markup", required = false) String markup,
                          @RequestBody Log log,
                          @AuthenticationPrincipal Principal principal) {
+        try (Permit permit = admissionController.admitWrite()) {
+            // In case a client sends a log record where the id does not match the path variable, return HTTP 400 (bad request)
+            if (!logId.equals(Long.toString(log.getId()))) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, TextUtil.LOG_ENTRY_NOT_MATCH_PATH);
+            }
 
-        // In case a client sends a log record where the id does not match the path variable, return HTTP 400 (bad request)
-        if (!logId.equals(Long.toString(log.getId()))) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, TextUtil.LOG_ENTRY_NOT_MATCH_PATH);
-        }
+            Optional<VersionedLog> foundLog = logRepository.findVersionedById(logId);
+            if (foundLog.isPresent()) {
+                // Copy, as the log entry as read is archived
+                Log persistedLog = LogBuilder.createLog(foundLog.get().log()).build();
 
-        Optional<Log> foundLog = logRepository.findById(logId);
-        if (foundLog.isPresent()) {
-            Log persistedLog = foundLog.get();
-            logRepository.archive(persistedLog);
+                // Markup is processed, and HTML rendered, only if the source has changed. Old clients send the
+                // description field instead of source, in which case it is always processed.
+                boolean sourceChanged = log.getSource() == null ||
+                        !log.getSource().equals(persistedLog.getSource()) ||
+                        persistedLog.getHtml() == null;
 
-            // log entry group property should not be editable but remain if it exists
-            Property logEntryGroupProperty = LogEntryGroupHelper.getLogEntryGroupProperty(log);
-            if (logEntryGroupProperty != null) {
-                log.getProperties().remove(logEntryGroupProperty);
-            }
-            logEntryGroupProperty = LogEntryGroupHelper.getLogEntryGroupProperty(persistedLog);
-            if (logEntryGroupProperty != null) {
-                log.getProperties().add(logEntryGroupProperty);
-            }
+                // log entry group property should not be editable but remain if it exists
+                Property logEntryGroupProperty = LogEntryGroupHelper.getLogEntryGroupProperty(log);
+                if (logEntryGroupProperty != null) {
+                    log.getProperties().remove(logEntryGroupProperty);
+                }
+                logEntryGroupProperty = LogEntryGroupHelper.getLogEntryGroupProperty(persistedLog);
+                if (logEntryGroupProperty != null) {
+                    log.getProperties().add(logEntryGroupProperty);
+                }
 
-            persistedLog.setOwner(principal.getName());
-            persistedLog.setLevel(log.getLevel());
-            persistedLog.setProperties(log.getProperties());
-            persistedLog.setModifyDate(Instant.now());
-            persistedLog.setDescription(log.getDescription());   // to make it work with old clients where description field is sent instead of source
-            persistedLog.setSource(log.getSource());
-            persistedLog.setTags(log.getTags());
-            persistedLog.setLogbooks(log.getLogbooks());
-            persistedLog.setTitle(log.getTitle());
-            persistedLog = cleanMarkup(markup, persistedLog);
+                persistedLog.setOwner(principal.getName());
+                persistedLog.setLevel(log.getLevel());
+                persistedLog.setProperties(log.getProperties());
+                persistedLog.setModifyDate(Instant.now());
+                if (sourceChanged) {
+                    persistedLog.setDescription(log.getDescription());   // to make it work with old clients where description field is sent instead of source
+                    persistedLog.setSource(log.getSource());
+                }
+                persistedLog.setTags(log.getTags());
+                persistedLog.setLogbooks(log.getLogbooks());
+                persistedLog.setTitle(log.getTitle());
+                if (sourceChanged) {
+                    persistedLog = cleanMarkup(markup, persistedLog);
+                }
 
-            webSocketService.sendMessageToClients(new WebSocketMessage(MessageType.LOG_ENTRY_UPDATED, persistedLog.getId().toString()));
+                Log updatedLog;
+                try {
+                    updatedLog = logRepository.archiveAndUpdate(foundLog.get(), persistedLog);
+                } catch (OptimisticLockingFailureException e) {
+                    logger.log(Level.INFO, e.getMessage());
+                    throw new ResponseStatusException(HttpStatus.CONFLICT, MessageFormat.format(TextUtil.LOG_ENTRY_MODIFIED_CONCURRENTLY, logId));
+                }
+                rssFeedCache.invalidate();
+                webSocketService.sendMessageToClients(new WebSocketMessage(MessageType.LOG_ENTRY_UPDATED, updatedLog.getId().toString()));
 
-            return logRepository.update(persistedLog);
-        } else {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, MessageFormat.format(TextUtil.LOG_NOT_RETRIEVED, logId));
+                updatedLog.setAttachmentContent(null);
+                changeFeedService.publish(MessageType.LOG_ENTRY_UPDATED, updatedLog);
+                return updatedLog;
+            } else {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, MessageFormat.format(TextUtil.LOG_NOT_RETRIEVED, logId));
+            }
         }
     }
 
+    /**
+     * Adds the specified log entries to the same log entry group. If none of the log entries are contained in
+     * a group, a new group is created. Updates are conditional on the log entries not being modified concurrently,
+     * e.g. by a reply or grouping request handled by another service instance. On such a conflict the request is
+     * retried with fresh data a few times before HTTP 409 is returned to the client.
+     *
+     * @param logEntryIds List of log entry ids. All must identify existing log entries, otherwise HTTP 400 is returned.
+     */
     @SuppressWarnings("unused")
     @PostMapping(value = "/group")
     public void groupLogEntries(@RequestBody List<Long> logEntryIds) {
-        logger.log(Level.INFO, () -> "Grouping log entries: " + logEntryIds.stream().map(id -> Long.toString(id)).collect(Collectors.joining(",")));
-        Property existingLogEntryGroupProperty = null;
-        List<Log> logs = new ArrayList<>();
-        // Check prerequisites: if two (or more) log entries are already contained in a group, they must all be contained in
-        // the same group. If not, throw exception.
-        synchronized (logGroupSyncObject) {
-            for (Long id : logEntryIds) {
-                Optional<Log> log;
+        try (Permit permit = admissionController.admitWrite()) {
+            logger.log(Level.INFO, () -> "Grouping log entries: " + logEntryIds.stream().map(id -> Long.toString(id)).collect(Collectors.joining(",")));
+            List<String> ids = logEntryIds.stream().map(id -> Long.toString(id)).distinct().toList();
+            for (int attempt = 1; ; attempt++) {
                 try {
-                    log = logRepository.findById(Long.toString(id));
-                } catch (ResponseStatusException exception) {
-                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, MessageFormat.format(TextUtil.LOG_ID_NOT_FOUND, id));
-                }
-                Property logEntryGroupProperty = LogEntryGroupHelper.getLogEntryGroupProperty(log.get());
-                if (logEntryGroupProperty != null && existingLogEntryGroupProperty != null &&
-                        !logEntryGroupProperty.getAttribute(LogEntryGroupHelper.ATTRIBUTE_ID).equals(existingLogEntryGroupProperty.getAttribute(LogEntryGroupHelper.ATTRIBUTE_ID))) {
-                    logger.log(Level.INFO, TextUtil.GROUPING_NOT_ALLOWED);
-                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, TextUtil.GROUPING_ENTRIES_IN_DIFFERENT_GROUPS);
-                }
-                if (logEntryGroupProperty != null) {
-                    existingLogEntryGroupProperty = logEntryGroupProperty;
+                    addToLogEntryGroup(ids);
+                    return;
+                } catch (OptimisticLockingFailureException e) {
+                    if (attempt >= LOG_GROUP_MAX_ATTEMPTS) {
+                        logger.log(Level.WARNING, e.getMessage());
+                        throw new ResponseStatusException(HttpStatus.CONFLICT, TextUtil.GROUPING_CONFLICT);
+                    }
                 }
-                logs.add(log.get());
             }
+        }
+    }
 
-            final Property logEntryGroupProperty;
-            // If no existing log entry group was found, create a new.
-            if (existingLogEntryGroupProperty == null) {
-                logEntryGroupProperty = LogEntryGroupHelper.createNewLogEntryProperty();
-            } else {
-                logEntryGroupProperty = existingLogEntryGroupProperty;
+    private void addToLogEntryGroup(List<String> ids) {
+        Property existingLogEntryGroupProperty = null;
+        List<VersionedLog> logs = logRepository.findAllVersionedById(ids);
+        if (logs.size() < ids.size()) {
+            Set<String> foundIds = logs.stream().map(v -> Long.toString(v.log().getId())).collect(Collectors.toSet());
+            String missingId = ids.stream().filter(id -> !foundIds.contains(id)).findFirst().orElse("");
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, MessageFormat.format(TextUtil.LOG_ID_NOT_FOUND, missingId));
+        }
+        // Check prerequisites: if two (or more) log entries are already contained in a group, they must all be contained in
+        // the same group. If not, throw exception.
+        for (VersionedLog versionedLog : logs) {
+            Property logEntryGroupProperty = LogEntryGroupHelper.getLogEntryGroupProperty(versionedLog.log());
+            if (logEntryGroupProperty != null && existingLogEntryGroupProperty != null &&
+                    !logEntryGroupProperty.getAttribute(LogEntryGroupHelper.ATTRIBUTE_ID).equals(existingLogEntryGroupProperty.getAttribute(LogEntryGroupHelper.ATTRIBUTE_ID))) {
+                logger.log(Level.INFO, TextUtil.GROUPING_NOT_ALLOWED);
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, TextUtil.GROUPING_ENTRIES_IN_DIFFERENT_GROUPS);
+            }
+            if (logEntryGroupProperty != null) {
+                existingLogEntryGroupProperty = logEntryGroupProperty;
             }
+        }
 
-            // Now update the log entries by adding the log group property. Except for those that already have it.
-            logs.forEach(log -> {
-                if (LogEntryGroupHelper.getLogEntryGroupProperty(log) == null) {
-                    log.getProperties().add(logEntryGroupProperty);
-                    logRepository.update(log);
-                }
-            });
+        final Property logEntryGroupProperty;
+        // If no existing log entry group was found, create a new.
+        if (existingLogEntryGroupProperty == null) {
+            logEntryGroupProperty = LogEntryGroupHelper.createNewLogEntryProperty();
+        } else {
+            logEntryGroupProperty = existingLogEntryGroupProperty;
         }
+
+        // Now update the log entries by adding the log group property. Except for those that already have it.
+        List<VersionedLog> updatedLogs = new ArrayList<>();
+        logs.forEach(versionedLog -> {
+            if (LogEntryGroupHelper.getLogEntryGroupProperty(versionedLog.log()) == null) {
+                versionedLog.log().getProperties().add(logEntryGroupProperty);
+                updatedLogs.add(versionedLog);
+            }
+        });
+        logRepository.updateAllIfUnchanged(updatedLogs);
     }
 
     /**
-     * {@link LogEntryNotifier} providers are called for the specified log entry. Since a provider
-     * implementation may need some time to do its job, calling them is done asynchronously. Any
-     * error handling or logging has to be done in the {@link LogEntryNotifier}, but exceptions are
-     * handled here in order to not abort if any of the providers fails.
+     * {@link org.phoebus.olog.notification.LogEntryNotifier} providers are called for the specified log entry.
+     * Since a provider implementation may need some time to do its job, the log entry is queued for each provider
+     * and delivered asynchronously, see {@link NotificationDispatcher}. This never blocks the caller.
      *
      * @param log The log entry
      */
     private void sendToNotifiers(Log log) {
-
-        if (logEntryNotifiers.isEmpty()) {
-            return;
-        }
-        taskExecutor.execute(() -> logEntryNotifiers.forEach(n -> {
-            try {
-                n.notify(log);
-            } catch (Exception e) {
-                Logger.getLogger(LogResource.class.getName())
-                        .log(Level.WARNING, MessageFormat.format(TextUtil.LOG_ENTRY_NOTIFIER, n.getClass().getName()), e);
-            }
-        }));
+        notificationDispatcher.dispatch(log);
     }
 
     private Log cleanMarkup(String markup, Log log) {
         if (markup == null || markup.isEmpty()) {
             markup = defaultMarkup;
         }
+        // HTML is rendered by the cleaner, if at all. It must never be taken from the client.
+        log.setHtml(null);
         for (MarkupCleaner cleaner : markupCleaners) {
             if (markup.equals(cleaner.getName())) {
                 log = cleaner.process(log);
@@ -564,36 +865,16 @@ public class LogResource {
 
 
     /**
-     * This will retrieve {@link Property}s from {@link LogPropertyProvider}s, if any are registered
-     * over SPI.
+     * This will retrieve {@link Property}s from {@link org.phoebus.olog.entity.preprocess.LogPropertyProvider}s,
+     * if any are registered over SPI, see {@link PropertyProviderService}.
      *
      * @param log The log entry to which the provided {@link Property}s are added. However, it is <i>not</i>
      *            added if a {@link Property} with the same name (case sensitive) is present in the log entry.
      */
     private void addPropertiesFromProviders(Log log) {
         List<String> propertyNames = log.getProperties().stream().map(Property::getName).collect(Collectors.toList());
-        List<CompletableFuture<Property>> completableFutures =
-                propertyProviders.stream()
-                        .map(propertyProvider -> CompletableFuture.supplyAsync(() -> propertyProvider.getProperty(log), executorService))
-                        .collect(Collectors.toList());
-
-        CompletableFuture<Void> allFutures =
-                CompletableFuture.allOf(completableFutures.toArray(new CompletableFuture[completableFutures.size()]));
-
-        try {
-            allFutures.get(propertyProvidersTimeout, TimeUnit.MILLISECONDS);
-        } catch (Exception e) {
-            Logger.getLogger(LogResource.class.getName())
-                    .log(Level.SEVERE, TextUtil.PROPERTY_PROVIDER_FAILED_TO_RETURN, e);
-        }
-        List<Property> providedProperties =
-                completableFutures.stream()
-                        .filter(future -> future.isDone() && !future.isCompletedExceptionally())
-                        .map(CompletableFuture::join)
-                        .toList();
-
-        providedProperties.forEach(property -> {
-            if (property != null && !propertyNames.contains(property.getName())) {
+        propertyProviderService.getProperties(log).forEach(property -> {
+            if (!propertyNames.contains(property.getName())) {
                 log.getProperties().add(property);
             }
         });
@@ -607,16 +888,15 @@ public class LogResource {
      * @param allSearchParameters The list of all search parameters as provided by client.
      */
     private void logSearchRequest(String clientInfo, MultiValueMap<String, String> allSearchParameters) {
-        String toLog = allSearchParameters.entrySet().stream()
-                .map((e) -> e.getKey().trim() + "=" + e.getValue().stream().collect(Collectors.joining(",")))
-                .collect(Collectors.joining("&"));
-        logger.log(Level.INFO, () -> MessageFormat.format(TextUtil.QUERY_FROM_CLIENT, toLog, clientInfo));
+        logger.log(Level.INFO, () -> MessageFormat.format(TextUtil.QUERY_FROM_CLIENT, SlowQueryLog.formatParameters(allSearchParameters), clientInfo));
     }
 
     /**
      * Deals with the log entry group property such that if the original log entry (to which user
      * replies) does not already contain the property it is added and the original log entry is updated.
-     * Then the reply entry is augmented with the log entry property.
+     * Then the reply entry is augmented with the log entry property. The update of the original log entry
+     * is conditional on it not being modified concurrently, e.g. by another reply handled by another service
+     * instance. On conflict the original log entry is read again, such that both replies end up in the same group.
      *
      * @param originalLogEntryId The (Elastic) id of the log entry user wants to reply to.
      * @param log                The contents of the reply entry.
@@ -624,38 +904,77 @@ public class LogResource {
      *                                 existing log entry. This will result in the client receiving a HTTP 400 status.
      */
     private void handleReply(String originalLogEntryId, Log log) {
-        try {
-            synchronized (logGroupSyncObject) {
-                Log originalLogEntry = logRepository.findById(originalLogEntryId).get();
-                // Check if the original entry already contains the log entry group property
-                Property logEntryGroupProperty = LogEntryGroupHelper.getLogEntryGroupProperty(originalLogEntry);
-                if (logEntryGroupProperty == null) {
-                    logEntryGroupProperty = LogEntryGroupHelper.createNewLogEntryProperty();
-                    originalLogEntry.getProperties().add(logEntryGroupProperty);
-                    // Update the original log entry
-                    logRepository.update(originalLogEntry);
+        for (int attempt = 1; ; attempt++) {
+            VersionedLog originalLogEntry = logRepository.findVersionedById(originalLogEntryId)
+                    // Log entry not found, return HTTP 400
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                            MessageFormat.format(TextUtil.LOG_ENTRY_CANNOT_REPLY_NOT_EXISTS, originalLogEntryId)));
+            // Check if the original entry already contains the log entry group property
+            Property logEntryGroupProperty = LogEntryGroupHelper.getLogEntryGroupProperty(originalLogEntry.log());
+            if (logEntryGroupProperty == null) {
+                logEntryGroupProperty = LogEntryGroupHelper.createNewLogEntryProperty();
+                originalLogEntry.log().getProperties().add(logEntryGroupProperty);
+                // Update the original log entry, unless a concurrent reply has done so already
+                try {
+                    logRepository.updateAllIfUnchanged(List.of(originalLogEntry));
+                } catch (OptimisticLockingFailureException e) {
+                    if (attempt >= LOG_GROUP_MAX_ATTEMPTS) {
+                        logger.log(Level.WARNING, e.getMessage());
+                        throw new ResponseStatusException(HttpStatus.CONFLICT, TextUtil.GROUPING_CONFLICT);
+                    }
+                    continue;
                 }
-                // Add the log entry group property to the reply entry (i.e. the new entry)
-                log.getProperties().add(logEntryGroupProperty);
             }
-        } catch (ResponseStatusException exception) {
-            // Log entry not found, return HTTP 400
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, MessageFormat.format(TextUtil.LOG_ENTRY_CANNOT_REPLY_NOT_EXISTS, originalLogEntryId));
+            // Add the log entry group property to the reply entry (i.e. the new entry)
+            log.getProperties().add(logEntryGroupProperty);
+            return;
         }
     }
 
     /**
-     * GET method for retrieving an RSS feed of channels.
+     * GET method for retrieving an RSS feed of log entries.
      *
      * @param allRequestParams Client's request parameters, may be <code>null</code>
      * @param request          {@link HttpServletRequest} from which to construct base URL.
-     * @return the name of the RSS feed view, which will be resolved to render the feed
+     * @return The RSS feed, with ETag and <code>Last-Modified</code> headers. If the client sends matching
+     * <code>If-None-Match</code> or <code>If-Modified-Since</code> headers, HTTP 304 is returned.
      */
     @GetMapping(path = "/rss", produces = "application/rss+xml")
-    public com.rometools.rome.feed.rss.Channel getRssFeed(@RequestParam MultiValueMap<String, String> allRequestParams, HttpServletRequest request) {
-        String baseUrl = request.getScheme() + "://" + request.getServerName() + ":" + request.getServerPort() + "/" + request.getContextPath();
-        if (allRequestParams == null) {
-            allRequestParams = new LinkedMultiValueMap<>();
+    public ResponseEntity<com.rometools.rome.feed.rss.Channel> getRssFeed(@RequestParam MultiValueMap<String, String> allRequestParams, HttpServletRequest request) {
+        String baseUrl = getBaseUrl(request);
+        return rssFeedCache.get("rss", baseUrl, allRequestParams,
+                () -> getFeedEntries(allRequestParams, request),
+                logs -> RssFeedUtil.fromLogEntries(logs, baseUrl));
+    }
+
+    /**
+     * GET method for retrieving an Atom feed of log entries.
+     *
+     * @param allRequestParams Client's request parameters, may be <code>null</code>
+     * @param request          {@link HttpServletRequest} from which to construct base URL.
+     * @return The Atom feed, with ETag and <code>Last-Modified</code> headers. If the client sends matching
+     * <code>If-None-Match</code> or <code>If-Modified-Since</code> headers, HTTP 304 is returned.
+     */
+    @GetMapping(path = "/atom", produces = "application/atom+xml")
+    public ResponseEntity<com.rometools.rome.feed.atom.Feed> getAtomFeed(@RequestParam MultiValueMap<String, String> allRequestParams, HttpServletRequest request) {
+        String baseUrl = getBaseUrl(request);
+        return rssFeedCache.get("atom", baseUrl, allRequestParams,
+                () -> getFeedEntries(allRequestParams, request),
+                logs -> RssFeedUtil.toAtomFeed(logs, baseUrl));
+    }
+
+    private String getBaseUrl(HttpServletRequest request) {
+        return request.getScheme() + "://" + request.getServerName() + ":" + request.getServerPort() + "/" + request.getContextPath();
+    }
+
+    /**
+     * Searches for the log entries of a feed. Unless specified by the client, the search covers the last seven
+     * days and returns at most 100 log entries.
+     */
+    private List<Log> getFeedEntries(MultiValueMap<String, String> requestParams, HttpServletRequest request) {
+        MultiValueMap<String, String> allRequestParams = new LinkedMultiValueMap<>();
+        if (requestParams != null) {
+            allRequestParams.addAll(requestParams);
         }
 
         Instant now = Instant.now();
@@ -672,12 +991,17 @@ public class LogResource {
             allRequestParams.put("size", List.of("100"));
         }
 
-        Object result = search(request.getHeader("User-Agent"), allRequestParams).getBody();
-
-        if (result instanceof SearchResult searchResult) {
-            return RssFeedUtil.fromLogEntries(searchResult.getLogs(), baseUrl);
-        } else {
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to find entries");
+        String clientInfo = request.getHeader("User-Agent");
+        logSearchRequest(clientInfo, allRequestParams);
+        // Searched directly, as the raw search result cannot be turned into a feed
+        try (Permit permit = admissionController.admitSearch(allRequestParams)) {
+            SearchResult searchResult = logRepository.search(allRequestParams, clientInfo);
+            if (searchResult == null || searchResult.getLogs() == null) {
+                throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to find entries");
+            }
+            return searchResult.getLogs();
+        } catch (IllegalArgumentException exception) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, exception.getMessage());
         }
     }
 
@@ -709,8 +1033,7 @@ public class LogResource {
                 metadata.add(TikaCoreProperties.RESOURCE_NAME_KEY, multipartFile.getName());
                 InputStream inputStream = new BufferedInputStream(multipartFile.getInputStream());
                 org.apache.tika.mime.MediaType mediaType = detector.detect(inputStream, metadata);
-                String type = mediaType.getBaseType().toString().toLowerCase();
-                if (type.contains("heic") || type.contains("heif")) {
+                if (isUnsupportedAttachmentType(mediaType)) {
                     throw new IllegalArgumentException("Encountered HEIC file in attachments upload");
                 }
                 attachmentFiles.add(new OlogMultipartFile(multipartFile, inputStream));
@@ -722,6 +1045,15 @@ public class LogResource {
         return attachmentFiles;
     }
 
+    /**
+     * @param mediaType Content type as detected by Apache Tika.
+     * @return <code>true</code> if attachments of this type are rejected, i.e. HEIC/HEIF images.
+     */
+    private static boolean isUnsupportedAttachmentType(org.apache.tika.mime.MediaType mediaType) {
+        String type = mediaType.getBaseType().toString().toLowerCase();
+        return type.contains("heic") || type.contains("heif");
+    }
+
     /**
      * A {@link MultipartFile} implementation with the purpose of providing a custom {@link InputStream}.
      */
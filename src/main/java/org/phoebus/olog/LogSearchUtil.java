@@ -11,6 +11,7 @@ import co.elastic.clients.elasticsearch._types.query_dsl.DisMaxQuery;
 import co.elastic.clients.elasticsearch._types.query_dsl.ExistsQuery;
 import co.elastic.clients.elasticsearch._types.query_dsl.FuzzyQuery;
 import co.elastic.clients.elasticsearch._types.query_dsl.MatchPhraseQuery;
+import co.elastic.clients.elasticsearch._types.query_dsl.MatchQuery;
 import co.elastic.clients.elasticsearch._types.query_dsl.MultiMatchQuery;
 import co.elastic.clients.elasticsearch._types.query_dsl.NestedQuery;
 import co.elastic.clients.elasticsearch._types.query_dsl.Operator;
@@ -19,6 +20,7 @@ import co.elastic.clients.elasticsearch._types.query_dsl.RangeQuery;
 import co.elastic.clients.elasticsearch._types.query_dsl.TextQueryType;
 import co.elastic.clients.elasticsearch._types.query_dsl.WildcardQuery;
 import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.search.SourceConfig;
 import co.elastic.clients.json.JsonData;
 import org.phoebus.util.time.TimeParser;
 import org.springframework.beans.factory.annotation.Value;
@@ -70,6 +72,11 @@ public class LogSearchUtil {
 
     private static final Logger LOGGER = Logger.getLogger(LogSearchUtil.class.getName());
     private static final ZoneId UTC_ZONE_ID = ZoneId.of("UTC");
+    /**
+     * Text extracted from attachments is only used for matching, so it is not transferred from Elasticsearch.
+     */
+    private static final SourceConfig EXCLUDE_ATTACHMENT_CONTENT =
+            SourceConfig.of(sc -> sc.filter(f -> f.excludes("attachmentContent")));
 
     /**
      * @param searchParameters - the various search parameters
@@ -248,6 +255,18 @@ public class LogSearchUtil {
                         }
                     }
                     break;
+                case "attachmentcontent":
+                    DisMaxQuery.Builder attachmentContentQuery = new DisMaxQuery.Builder();
+                    List<Query> attachmentContentQueries = new ArrayList<>();
+                    for (String value : parameter.getValue()) {
+                        attachmentContentQueries.add(NestedQuery.of(n -> n.path("attachmentContent")
+                                .query(MatchQuery.of(m -> m.field("attachmentContent.content")
+                                        .query(value.trim())
+                                        .operator(Operator.And))._toQuery()))._toQuery());
+                    }
+                    attachmentContentQuery.queries(attachmentContentQueries);
+                    boolQueryBuilder.must(attachmentContentQuery.build()._toQuery());
+                    break;
                 case "attachments":
                     DisMaxQuery.Builder attachmentsQuery = new DisMaxQuery.Builder();
                     attachmentsQuery.queries(Collections.emptyList());
@@ -391,12 +410,111 @@ public class LogSearchUtil {
 
         return SearchRequest.of(s -> s.index(ES_LOG_INDEX)
                 .query(boolQueryBuilder.build()._toQuery())
+                .source(EXCLUDE_ATTACHMENT_CONTENT)
                 .timeout("60s")
                 .sort(SortOptions.of(so -> so.field(fb.build())))
                 .size(Math.min(_searchResultSize, maxSearchSize))
                 .from(_from));
     }
 
+    /**
+     * Estimates the relative cost of a search, used to limit the number of concurrent searches, see
+     * {@link org.phoebus.olog.admission.AdmissionController}. A search on exact terms over a limited time
+     * range costs 1. Wildcard terms - in particular leading wildcards, which Elasticsearch cannot match
+     * using the index - fuzzy terms, free text queries, searches over all time and large result windows
+     * add to the cost.
+     *
+     * @param searchParameters The search parameters as sent by the client.
+     * @return The estimated cost, at least 1.
+     */
+    public int estimateCost(MultiValueMap<String, String> searchParameters) {
+        int cost = 1;
+        int textTerms = 0;
+        boolean fuzzySearch = false;
+        boolean temporalSearch = false;
+        boolean freeTextSearch = false;
+        int searchResultSize = defaultSearchSize;
+        int from = 0;
+        for (Entry<String, List<String>> parameter : searchParameters.entrySet()) {
+            switch (parameter.getKey().strip().toLowerCase()) {
+                case "query":
+                    cost += 2;
+                    textTerms++;
+                    freeTextSearch = true;
+                    break;
+                case "desc":
+                case "description":
+                case "text":
+                case "title":
+                    for (String value : parameter.getValue()) {
+                        for (String term : getSearchTerms(value)) {
+                            cost += wildcardCost(term);
+                            textTerms++;
+                        }
+                    }
+                    break;
+                case "owner":
+                case "tags":
+                case "logbooks":
+                case "properties":
+                case "attachments":
+                    for (String value : parameter.getValue()) {
+                        for (String pattern : value.split("[\\|,;]")) {
+                            cost += wildcardCost(pattern.trim());
+                        }
+                    }
+                    break;
+                case "attachmentcontent":
+                    cost += parameter.getValue().size();
+                    textTerms += parameter.getValue().size();
+                    break;
+                case "fuzzy":
+                    fuzzySearch = true;
+                    break;
+                case "start":
+                case "end":
+                    temporalSearch = true;
+                    break;
+                case "size":
+                case "limit":
+                    searchResultSize = parseMax(parameter.getValue(), searchResultSize);
+                    break;
+                case "from":
+                    from = parseMax(parameter.getValue(), from);
+                    break;
+                default:
+                    break;
+            }
+        }
+        if (fuzzySearch) {
+            cost += 2 * textTerms;
+        }
+        // Text search not restricted in time must visit every log entry
+        if (!temporalSearch && textTerms > 0) {
+            cost += 2;
+        }
+        // Free text search always returns up to 10000 hits, see getFreeTextSearchRequest
+        int resultWindow = freeTextSearch ? 10000 : Math.min(searchResultSize, maxSearchSize) + from;
+        return cost + resultWindow / 1000;
+    }
+
+    private int wildcardCost(String term) {
+        if (term.startsWith("*") || term.startsWith("?")) {
+            return 4;
+        } else if (term.contains("*") || term.contains("?")) {
+            return 1;
+        }
+        return 0;
+    }
+
+    private int parseMax(List<String> values, int defaultValue) {
+        Optional<Integer> max = values.stream()
+                .filter(value -> value.trim().matches("\\d{1,9}"))
+                .map(value -> Integer.valueOf(value.trim()))
+                .max(Comparator.naturalOrder());
+        return max.orElse(defaultValue);
+    }
+
     /**
      * Parses a search query terms string into a string array. In particular,
      * quoted search terms must be maintained even if they contain the
@@ -494,6 +612,7 @@ public class LogSearchUtil {
                         s ->
                                 s.index(ES_LOG_INDEX)
                                         .query(_hybridQuery._toQuery())
+                                        .source(EXCLUDE_ATTACHMENT_CONTENT)
                                         .timeout("60s")
                                         .size(10000)
                                         .from(0));
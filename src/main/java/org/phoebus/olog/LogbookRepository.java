@@ -61,6 +61,9 @@ public class LogbookRepository implements CrudRepository<Logbook, String> {
     @Qualifier("client")
     private ElasticsearchClient client;
 
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
     private final Logger logger = Logger.getLogger(LogbookRepository.class.getName());
 
     @Override
@@ -88,6 +91,8 @@ public class LogbookRepository implements CrudRepository<Logbook, String> {
             String message = MessageFormat.format(TextUtil.LOGBOOK_NOT_CREATED, logbook);
             logger.log(Level.SEVERE, message, e);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, message);
+        } finally {
+            referenceDataCache.invalidate(ReferenceDataCache.LOGBOOKS);
         }
     }
 
@@ -118,6 +123,8 @@ public class LogbookRepository implements CrudRepository<Logbook, String> {
             String message = MessageFormat.format(TextUtil.LOGBOOKS_NOT_CREATED, logbooks);
             logger.log(Level.SEVERE, message, e);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, message);
+        } finally {
+            referenceDataCache.invalidate(ReferenceDataCache.LOGBOOKS);
         }
     }
 
@@ -225,7 +232,8 @@ public class LogbookRepository implements CrudRepository<Logbook, String> {
                 UpdateRequest<Logbook, Logbook> updateRequest =
                         UpdateRequest.of(u ->
                                 u.index(ES_LOGBOOK_INDEX).id(logbookName)
-                                        .doc(logbook));
+                                        .doc(logbook)
+                                        .refresh(Refresh.True));
                 UpdateResponse<Logbook> updateResponse =
                         client.update(updateRequest, Logbook.class);
                 if (updateResponse.result().equals(co.elastic.clients.elasticsearch._types.Result.Updated)) {
@@ -237,6 +245,8 @@ public class LogbookRepository implements CrudRepository<Logbook, String> {
             String message = MessageFormat.format(TextUtil.LOGBOOK_NOT_DELETED, logbookName);
             logger.log(Level.SEVERE, message, e);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, message);
+        } finally {
+            referenceDataCache.invalidate(ReferenceDataCache.LOGBOOKS);
         }
     }
 
@@ -8,6 +8,7 @@ package org.phoebus.olog;
 import org.phoebus.olog.entity.Logbook;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -42,6 +43,9 @@ public class LogbooksResource {
     @Autowired
     private LogbookRepository logbookRepository;
 
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
     /**
      * Creates a new instance of LogbooksResource
      */
@@ -49,8 +53,8 @@ public class LogbooksResource {
     }
 
     @GetMapping
-    public Iterable<Logbook> findAll() {
-        return logbookRepository.findAll();
+    public ResponseEntity<Iterable<Logbook>> findAll() {
+        return referenceDataCache.get(ReferenceDataCache.LOGBOOKS, logbookRepository::findAll);
     }
 
     @SuppressWarnings("unused")
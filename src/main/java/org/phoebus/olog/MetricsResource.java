@@ -0,0 +1,39 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+package org.phoebus.olog;
+
+import org.phoebus.olog.metrics.MetricsSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.phoebus.olog.OlogResourceDescriptors.METRICS_URI;
+
+/**
+ * Resource for handling the requests to ../metrics
+ */
+@RestController
+@RequestMapping(METRICS_URI)
+public class MetricsResource {
+
+    @SuppressWarnings("unused")
+    @Autowired(required = false)
+    private List<MetricsSource> metricsSources = List.of();
+
+    /**
+     * @return The metrics of all registered {@link MetricsSource}s, keyed on {@link MetricsSource#getMetricsName()}.
+     */
+    @SuppressWarnings("unused")
+    @GetMapping
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new TreeMap<>();
+        metricsSources.forEach(source -> metrics.put(source.getMetricsName(), source.getMetrics()));
+        return metrics;
+    }
+}
@@ -1,12 +1,19 @@
 package org.phoebus.olog;
 
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.ReadPreference;
+import com.mongodb.ServerAddress;
+import com.mongodb.WriteConcern;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.gridfs.GridFSBucket;
 import com.mongodb.client.gridfs.GridFSBuckets;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.data.mongodb.MongoDatabaseFactory;
 import org.springframework.data.mongodb.config.AbstractMongoClientConfiguration;
@@ -16,35 +23,99 @@ import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
 import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
 import org.springframework.data.mongodb.gridfs.GridFsTemplate;
 
+import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configures the MongoDB client used for attachments stored in GridFS.
+ * <p>
+ * The client connects to the comma separated list of servers in <code>mongo.host</code>, e.g. the seeds of a
+ * replica set named by <code>mongo.replica.set</code>. Alternatively a complete
+ * <a href="https://www.mongodb.com/docs/manual/reference/connection-string/">connection string</a> may be set in
+ * <code>mongo.uri</code>; options set in it take precedence over the other properties.
+ * </p>
+ * <p>
+ * Attachments are uploaded with the write concern <code>mongo.write.concern</code>. Downloads are read with the
+ * read preference <code>mongo.read.preference</code> through the {@link #DOWNLOAD_GRID_FS_TEMPLATE}, such that they
+ * may be served by secondaries. All other reads, e.g. by the text extraction right after an upload, go to the
+ * primary.
+ * </p>
+ */
 @Configuration
 @PropertySource("classpath:application.properties")
 @SuppressWarnings("unused")
 public class MongoConfig extends AbstractMongoClientConfiguration {
 
+    /**
+     * Name of the {@link GridFsTemplate} reading with the configured read preference, for downloads only.
+     */
+    public static final String DOWNLOAD_GRID_FS_TEMPLATE = "downloadGridFsTemplate";
+
     @Value("${mongo.database:ologAttachments}")
     private String mongoDbName;
     @Value("${mongo.host:localhost}")
     private String mongoHost;
     @Value("${mongo.port:27017}")
     private int mongoPort;
+    @Value("${mongo.uri:}")
+    private String mongoUri;
+    @Value("${mongo.replica.set:}")
+    private String replicaSet;
+    @Value("${mongo.pool.min.size:0}")
+    private int poolMinSize;
+    @Value("${mongo.pool.max.size:100}")
+    private int poolMaxSize;
+    @Value("${mongo.pool.max.wait.time:120000}")
+    private long poolMaxWaitTime;
+    @Value("${mongo.pool.max.idle.time:0}")
+    private long poolMaxIdleTime;
+    @Value("${mongo.pool.max.connecting:2}")
+    private int poolMaxConnecting;
+    @Value("${mongo.connect.timeout:10000}")
+    private int connectTimeout;
+    @Value("${mongo.socket.timeout:0}")
+    private int socketTimeout;
+    @Value("${mongo.server.selection.timeout:30000}")
+    private long serverSelectionTimeout;
+    @Value("${mongo.read.preference:primary}")
+    private String readPreference;
+    @Value("${mongo.write.concern:acknowledged}")
+    private String writeConcern;
 
     @SuppressWarnings("unused")
     @Bean
+    @Primary
     public GridFsTemplate gridFsTemplate() {
-        MongoDatabaseFactory databaseFactory = mongoDbFactory();
-        DefaultDbRefResolver dbRefResolver = new DefaultDbRefResolver(databaseFactory);
-
-        MongoMappingContext mappingContext = new MongoMappingContext();
-        mappingContext.setAutoIndexCreation(true);
-        mappingContext.afterPropertiesSet();
-        return new GridFsTemplate(databaseFactory, new MappingMongoConverter(dbRefResolver, mappingContext));
+        return gridFsTemplate(mongoDbFactory());
     }
 
+    /**
+     * @return A {@link GridFsTemplate} reading with the configured read preference. As secondaries may lag behind,
+     * it must not be used to look for attachments that have just been uploaded.
+     */
+    @SuppressWarnings("unused")
+    @Bean(DOWNLOAD_GRID_FS_TEMPLATE)
+    public GridFsTemplate downloadGridFsTemplate() {
+        return gridFsTemplate(databaseFactory(mongoClient(), mongoDbName, readPreference(), writeConcern()));
+    }
 
     @SuppressWarnings("unused")
     @Bean
     public GridFSBucket gridFSBucket() {
-        return GridFSBuckets.create(mongoClient().getDatabase(mongoDbName));
+        return GridFSBuckets.create(mongoClient().getDatabase(mongoDbName))
+                .withReadPreference(ReadPreference.primary())
+                .withWriteConcern(writeConcern());
+    }
+
+    /**
+     * @return Metrics of the connection pools, fed by the client created in {@link #mongoClient()}.
+     */
+    @SuppressWarnings("unused")
+    @Bean
+    public MongoConnectionPoolMetrics mongoConnectionPoolMetrics() {
+        return new MongoConnectionPoolMetrics(poolMaxSize);
     }
 
     @Override
@@ -55,11 +126,97 @@ public class MongoConfig extends AbstractMongoClientConfiguration {
     @Bean
     @Override
     public MongoClient mongoClient() {
-        return MongoClients.create("mongodb://" + mongoHost + ":" + mongoPort);
+        return MongoClients.create(mongoClientSettings());
+    }
+
+    /**
+     * @return The client settings built from the <code>mongo.*</code> properties.
+     */
+    @Override
+    protected MongoClientSettings mongoClientSettings() {
+        MongoClientSettings.Builder builder = MongoClientSettings.builder()
+                .applyToClusterSettings(cluster -> {
+                    cluster.hosts(serverAddresses(mongoHost, mongoPort))
+                            .serverSelectionTimeout(serverSelectionTimeout, TimeUnit.MILLISECONDS);
+                    if (!replicaSet.isBlank()) {
+                        cluster.requiredReplicaSetName(replicaSet.trim());
+                    }
+                })
+                .applyToConnectionPoolSettings(pool -> pool.minSize(poolMinSize)
+                        .maxSize(poolMaxSize)
+                        .maxWaitTime(poolMaxWaitTime, TimeUnit.MILLISECONDS)
+                        .maxConnectionIdleTime(poolMaxIdleTime, TimeUnit.MILLISECONDS)
+                        .maxConnecting(poolMaxConnecting)
+                        .addConnectionPoolListener(mongoConnectionPoolMetrics()))
+                .applyToSocketSettings(socket -> socket.connectTimeout(connectTimeout, TimeUnit.MILLISECONDS)
+                        .readTimeout(socketTimeout, TimeUnit.MILLISECONDS))
+                .writeConcern(writeConcern());
+        if (!mongoUri.isBlank()) {
+            builder.applyConnectionString(new ConnectionString(mongoUri.trim()));
+        }
+        return builder.build();
     }
 
     @Override
     public MongoDatabaseFactory mongoDbFactory() {
-        return new SimpleMongoClientDatabaseFactory(mongoClient(), mongoDbName);
+        return databaseFactory(mongoClient(), mongoDbName, ReadPreference.primary(), writeConcern());
+    }
+
+    /**
+     * @param client         The client.
+     * @param dbName         Name of the database.
+     * @param readPreference Read preference of the database, overriding any set in <code>mongo.uri</code>.
+     * @param writeConcern   Write concern of the database.
+     * @return A {@link MongoDatabaseFactory} for the database.
+     */
+    static MongoDatabaseFactory databaseFactory(MongoClient client, String dbName, ReadPreference readPreference, WriteConcern writeConcern) {
+        SimpleMongoClientDatabaseFactory databaseFactory = new SimpleMongoClientDatabaseFactory(client, dbName) {
+            @Override
+            public MongoDatabase getMongoDatabase(String dbName) {
+                return super.getMongoDatabase(dbName).withReadPreference(readPreference);
+            }
+        };
+        databaseFactory.setWriteConcern(writeConcern);
+        return databaseFactory;
+    }
+
+    private static GridFsTemplate gridFsTemplate(MongoDatabaseFactory databaseFactory) {
+        DefaultDbRefResolver dbRefResolver = new DefaultDbRefResolver(databaseFactory);
+
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setAutoIndexCreation(true);
+        mappingContext.afterPropertiesSet();
+        return new GridFsTemplate(databaseFactory, new MappingMongoConverter(dbRefResolver, mappingContext));
+    }
+
+    /**
+     * @param hosts       Comma separated list of host names, each optionally followed by a port.
+     * @param defaultPort Port of hosts for which no port is specified.
+     * @return The {@link ServerAddress}es.
+     */
+    static List<ServerAddress> serverAddresses(String hosts, int defaultPort) {
+        return Arrays.stream(hosts.split(","))
+                .map(String::trim)
+                .filter(host -> !host.isEmpty())
+                .map(host -> {
+                    // IPv6 addresses must be enclosed in brackets if followed by a port
+                    boolean hasPort = host.startsWith("[")
+                            ? host.lastIndexOf(':') > host.indexOf(']')
+                            : host.indexOf(':') > 0 && host.indexOf(':') == host.lastIndexOf(':');
+                    return hasPort ? new ServerAddress(host) : new ServerAddress(host, defaultPort);
+                })
+                .toList();
+    }
+
+    private ReadPreference readPreference() {
+        return ReadPreference.valueOf(readPreference.trim());
+    }
+
+    private WriteConcern writeConcern() {
+        WriteConcern concern = WriteConcern.valueOf(writeConcern.trim());
+        if (concern == null) {
+            throw new IllegalArgumentException(MessageFormat.format(TextUtil.MONGO_INVALID_WRITE_CONCERN, writeConcern));
+        }
+        return concern;
     }
 }
\ No newline at end of file
@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+package org.phoebus.olog;
+
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckOutStartedEvent;
+import com.mongodb.event.ConnectionCheckedInEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionClosedEvent;
+import com.mongodb.event.ConnectionCreatedEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import org.phoebus.olog.metrics.MetricsSource;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Publishes the state of the MongoDB connection pools, one per server, as reported by the driver to a
+ * {@link ConnectionPoolListener}. See {@link MongoConfig}. The figures are summed over all servers: the metrics
+ * are public, and should not reveal the addresses of the servers.
+ */
+public class MongoConnectionPoolMetrics implements ConnectionPoolListener, MetricsSource {
+
+    private final int maxSize;
+    private final Set<ServerId> servers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicInteger inUse = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final LongAdder checkedOut = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    /**
+     * @param maxSize The configured max number of connections per server.
+     */
+    public MongoConnectionPoolMetrics(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public void connectionCreated(ConnectionCreatedEvent event) {
+        servers.add(event.getConnectionId().getServerId());
+        size.incrementAndGet();
+    }
+
+    @Override
+    public void connectionClosed(ConnectionClosedEvent event) {
+        size.decrementAndGet();
+    }
+
+    @Override
+    public void connectionCheckOutStarted(ConnectionCheckOutStartedEvent event) {
+        waiting.incrementAndGet();
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        waiting.decrementAndGet();
+        inUse.incrementAndGet();
+        checkedOut.increment();
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        waiting.decrementAndGet();
+        if (event.getReason() == ConnectionCheckOutFailedEvent.Reason.TIMEOUT) {
+            timedOut.increment();
+        } else {
+            failed.increment();
+        }
+    }
+
+    @Override
+    public void connectionCheckedIn(ConnectionCheckedInEvent event) {
+        inUse.decrementAndGet();
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "mongoConnectionPool";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("servers", servers.size());
+        metrics.put("maxSize", maxSize);
+        metrics.put("size", size.get());
+        metrics.put("inUse", inUse.get());
+        metrics.put("waiting", waiting.get());
+        metrics.put("checkedOut", checkedOut.sum());
+        metrics.put("timedOut", timedOut.sum());
+        metrics.put("failed", failed.sum());
+        return metrics;
+    }
+}
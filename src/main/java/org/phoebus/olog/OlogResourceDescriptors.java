@@ -16,6 +16,12 @@ public class OlogResourceDescriptors
     static final String HELP_URI = OLOG_SERVICE + "/help";
     public static final String LOG_TEMPLATE_RESOURCE_URI = OLOG_SERVICE + "/templates";
     public static final String LEVEL_RESOURCE_RUI = OLOG_SERVICE + "/levels";
+    static final String CHANGE_FEED_URI = OLOG_SERVICE + "/changes";
+    static final String METRICS_URI = OLOG_SERVICE + "/metrics";
+    static final String READINESS_URI = OLOG_SERVICE + "/ready";
+    public static final String SLOW_QUERIES_URI = OLOG_SERVICE + "/slow-queries";
+    static final String UPLOAD_RESOURCE_URI = OLOG_SERVICE + "/uploads";
+    public static final String ORPHANED_ATTACHMENTS_URI = OLOG_SERVICE + "/orphaned-attachments";
 
     /**
      * The base path element for web socket related communication.
@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+package org.phoebus.olog;
+
+import org.phoebus.olog.storage.AttachmentGarbageCollector;
+import org.phoebus.olog.storage.AttachmentGarbageCollector.Report;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static org.phoebus.olog.OlogResourceDescriptors.ORPHANED_ATTACHMENTS_URI;
+
+/**
+ * Resource for handling the requests to ../orphaned-attachments
+ */
+@RestController
+@RequestMapping(ORPHANED_ATTACHMENTS_URI)
+public class OrphanedAttachmentsResource {
+
+    private final Logger logger = Logger.getLogger(OrphanedAttachmentsResource.class.getName());
+
+    @SuppressWarnings("unused")
+    @Autowired
+    private AttachmentGarbageCollector attachmentGarbageCollector;
+
+    /**
+     * Looks for orphaned attachments without deleting them, see {@link AttachmentGarbageCollector}.
+     *
+     * @return A {@link Report} listing the orphans. HTTP 409 if a sweep is already in progress.
+     */
+    @SuppressWarnings("unused")
+    @PostMapping
+    public Report findOrphanedAttachments() {
+        try {
+            return attachmentGarbageCollector.collect(true);
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+        } catch (IOException e) {
+            logger.log(Level.WARNING, TextUtil.ATTACHMENT_GC_FAILED, e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, TextUtil.ATTACHMENT_GC_FAILED);
+        }
+    }
+}
@@ -18,6 +18,7 @@ import org.phoebus.olog.entity.Attribute;
 import org.phoebus.olog.entity.Property;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -42,6 +43,9 @@ public class PropertiesResource {
     @Autowired
     private PropertyRepository propertyRepository;
 
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
     /** Creates a new instance of LogbooksResource */
     public PropertiesResource() {
     }
@@ -52,11 +56,11 @@ public class PropertiesResource {
      * @return a list of all {@link Property}s
      */
     @GetMapping
-    public Iterable<Property> findAll(@RequestParam(required=false, name = "inactive") boolean inactive) {
+    public ResponseEntity<Iterable<Property>> findAll(@RequestParam(required=false, name = "inactive") boolean inactive) {
         if(inactive) {
-            return propertyRepository.findAll(true);
+            return referenceDataCache.get(ReferenceDataCache.PROPERTIES_INCLUDING_INACTIVE, () -> propertyRepository.findAll(true));
         }
-        return propertyRepository.findAll();
+        return referenceDataCache.get(ReferenceDataCache.PROPERTIES, propertyRepository::findAll);
     }
 
     @GetMapping("/{propertyName}")
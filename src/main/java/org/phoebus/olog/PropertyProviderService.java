@@ -0,0 +1,306 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+package org.phoebus.olog;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.phoebus.olog.entity.Attribute;
+import org.phoebus.olog.entity.Log;
+import org.phoebus.olog.entity.Property;
+import org.phoebus.olog.entity.preprocess.LogPropertyProvider;
+import org.phoebus.olog.metrics.MetricsSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Calls the {@link LogPropertyProvider}s registered over SPI when a log entry is created.
+ * <p>
+ * Each provider is called on its own small, bounded thread pool so that a provider that hangs cannot exhaust
+ * threads used by the other providers. All providers share the same deadline (<code>propertyProvidersTimeout</code>).
+ * Results are reused for the time declared by {@link LogPropertyProvider#getCacheTimeToLive()}. A provider failing
+ * or timing out repeatedly is skipped for a while (circuit breaker), such that it does not add the full timeout
+ * to every new log entry. After that, a single call is let through to probe the provider (half-open), while
+ * concurrent calls keep skipping it until the probe has succeeded.
+ * </p>
+ */
+@Service
+public class PropertyProviderService implements MetricsSource {
+
+    private static final Logger logger = Logger.getLogger(PropertyProviderService.class.getName());
+
+    @SuppressWarnings("unused")
+    @Autowired
+    private List<LogPropertyProvider> propertyProviders;
+
+    @SuppressWarnings("unused")
+    @Value("${propertyProvidersTimeout:2000}")
+    private long propertyProvidersTimeout;
+
+    @SuppressWarnings("unused")
+    @Value("${propertyProviders.threads:2}")
+    private int threads;
+
+    @SuppressWarnings("unused")
+    @Value("${propertyProviders.queue.size:10}")
+    private int queueSize;
+
+    @SuppressWarnings("unused")
+    @Value("${propertyProviders.circuitBreaker.failureThreshold:3}")
+    private int failureThreshold;
+
+    @SuppressWarnings("unused")
+    @Value("${propertyProviders.circuitBreaker.openDuration:60000}")
+    private long openDuration;
+
+    private final List<ProviderHandle> handles = new ArrayList<>();
+
+    @PostConstruct
+    public void init() {
+        propertyProviders.forEach(provider ->
+                handles.add(new ProviderHandle(provider, threads, queueSize, failureThreshold, openDuration, System::currentTimeMillis)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        handles.forEach(handle -> handle.executor.shutdownNow());
+    }
+
+    /**
+     * Calls all providers - or uses their cached result - and waits for them to return, at most
+     * <code>propertyProvidersTimeout</code> ms in total.
+     *
+     * @param log The log entry as submitted by the client.
+     * @return The non-null {@link Property}s returned in time, in the order the providers are registered.
+     */
+    public List<Property> getProperties(Log log) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(propertyProvidersTimeout);
+        List<Object> results = new ArrayList<>(handles.size());
+        // Submit all before waiting for any
+        handles.forEach(handle -> results.add(handle.submit(log)));
+
+        List<Property> properties = new ArrayList<>();
+        for (int i = 0; i < handles.size(); i++) {
+            Property property = handles.get(i).await(results.get(i), deadline, propertyProvidersTimeout);
+            if (property != null) {
+                properties.add(property);
+            }
+        }
+        return properties;
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "propertyProviders";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        handles.forEach(handle -> metrics.put(handle.name, handle.getMetrics()));
+        return metrics;
+    }
+
+    /**
+     * Execution state of a single {@link LogPropertyProvider}.
+     */
+    static final class ProviderHandle {
+
+        private final LogPropertyProvider provider;
+        private final String name;
+        private final ThreadPoolExecutor executor;
+        private final int failureThreshold;
+        private final long openDuration;
+        private final LongSupplier clock;
+
+        private volatile CachedProperty cachedProperty;
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        /**
+         * End of the open duration of the circuit breaker, 0 while it is closed.
+         */
+        private volatile long openUntil;
+        /**
+         * Set while the single probe call of the half-open circuit breaker is in progress.
+         */
+        private final AtomicBoolean probing = new AtomicBoolean();
+
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder cacheHits = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder skipped = new LongAdder();
+        private final LongAdder latencyTotal = new LongAdder();
+        private final LongAccumulator latencyMax = new LongAccumulator(Math::max, 0);
+
+        private record CachedProperty(Property property, long expires) {
+        }
+
+        ProviderHandle(LogPropertyProvider provider, int threads, int queueSize, int failureThreshold, long openDuration, LongSupplier clock) {
+            this.provider = provider;
+            this.name = provider.getClass().getName();
+            this.failureThreshold = failureThreshold;
+            this.openDuration = openDuration;
+            this.clock = clock;
+            AtomicInteger threadCount = new AtomicInteger();
+            this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(queueSize),
+                    r -> {
+                        Thread thread = new Thread(r, "property-provider-" + provider.getClass().getSimpleName() + "-" + threadCount.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            this.executor.allowCoreThreadTimeOut(true);
+        }
+
+        /**
+         * @return Either a cached {@link Property} (possibly <code>null</code>), or a {@link Future} to wait for.
+         */
+        Object submit(Log log) {
+            long now = clock.getAsLong();
+            CachedProperty cached = cachedProperty;
+            if (cached != null && cached.expires > now) {
+                cacheHits.increment();
+                return copy(cached.property);
+            }
+            long until = openUntil;
+            boolean probe = false;
+            if (until != 0) {
+                if (until > now || !probing.compareAndSet(false, true)) {
+                    skipped.increment();
+                    return null;
+                }
+                probe = true;
+            }
+            try {
+                return executor.submit(() -> {
+                    long start = System.nanoTime();
+                    try {
+                        return provider.getProperty(log);
+                    } finally {
+                        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                        latencyTotal.add(elapsed);
+                        latencyMax.accumulate(elapsed);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                if (probe) {
+                    probing.set(false);
+                }
+                rejected.increment();
+                logger.log(Level.WARNING, () -> MessageFormat.format(TextUtil.PROPERTY_PROVIDER_REJECTED, name));
+                return null;
+            }
+        }
+
+        Property await(Object result, long deadline, long timeout) {
+            if (!(result instanceof Future<?> future)) {
+                return (Property) result;
+            }
+            calls.increment();
+            try {
+                Property property = (Property) future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                recordSuccess();
+                long ttl = provider.getCacheTimeToLive();
+                if (ttl > 0) {
+                    // Copied, as the returned instance becomes part of a log entry that may still be modified
+                    cachedProperty = new CachedProperty(copy(property), clock.getAsLong() + ttl);
+                }
+                return property;
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                timeouts.increment();
+                logger.log(Level.WARNING, () -> MessageFormat.format(TextUtil.PROPERTY_PROVIDER_TIMEOUT, name, timeout));
+                recordFailure();
+            } catch (ExecutionException e) {
+                failures.increment();
+                logger.log(Level.WARNING, MessageFormat.format(TextUtil.PROPERTY_PROVIDER_FAILED, name), e.getCause());
+                recordFailure();
+            } catch (InterruptedException e) {
+                future.cancel(true);
+                // Neither success nor failure: let another call probe the provider
+                if (openUntil != 0) {
+                    probing.set(false);
+                }
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }
+
+        /**
+         * @param property A {@link Property}, possibly <code>null</code>.
+         * @return A deep copy of the property, such that log entries do not share the cached instance.
+         */
+        static Property copy(Property property) {
+            if (property == null) {
+                return null;
+            }
+            Set<Attribute> attributes = null;
+            if (property.getAttributes() != null) {
+                attributes = new HashSet<>();
+                for (Attribute attribute : property.getAttributes()) {
+                    attributes.add(new Attribute(attribute.getName(), attribute.getValue(), attribute.getState()));
+                }
+            }
+            return new Property(property.getName(), property.getOwner(), property.getState(), attributes);
+        }
+
+        private void recordSuccess() {
+            consecutiveFailures.set(0);
+            if (openUntil != 0) {
+                openUntil = 0;
+                probing.set(false);
+                logger.log(Level.INFO, () -> MessageFormat.format(TextUtil.PROPERTY_PROVIDER_CIRCUIT_CLOSED, name));
+            }
+        }
+
+        private void recordFailure() {
+            int failureCount = consecutiveFailures.incrementAndGet();
+            if (failureCount >= failureThreshold) {
+                // Failures are not reset while open, so a failed probe opens the circuit again
+                openUntil = clock.getAsLong() + openDuration;
+                probing.set(false);
+                logger.log(Level.WARNING, () -> MessageFormat.format(TextUtil.PROPERTY_PROVIDER_CIRCUIT_OPENED, name, failureCount, openDuration));
+            }
+        }
+
+        Map<String, Object> getMetrics() {
+            Map<String, Object> metrics = new LinkedHashMap<>();
+            long callCount = calls.sum();
+            metrics.put("circuitOpen", openUntil > clock.getAsLong() || probing.get());
+            metrics.put("calls", callCount);
+            metrics.put("cacheHits", cacheHits.sum());
+            metrics.put("failures", failures.sum());
+            metrics.put("timeouts", timeouts.sum());
+            metrics.put("rejected", rejected.sum());
+            metrics.put("skipped", skipped.sum());
+            metrics.put("latencyAverageMs", callCount == 0 ? 0 : latencyTotal.sum() / callCount);
+            metrics.put("latencyMaxMs", latencyMax.get());
+            metrics.put("queueDepth", executor.getQueue().size());
+            return metrics;
+        }
+    }
+}
@@ -64,6 +64,9 @@ public class PropertyRepository implements CrudRepository<Property, String> {
     @Qualifier("client")
     ElasticsearchClient client;
 
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
     private final Logger logger = Logger.getLogger(PropertyRepository.class.getName());
 
     @Override
@@ -91,6 +94,8 @@ public class PropertyRepository implements CrudRepository<Property, String> {
             String message = MessageFormat.format(TextUtil.PROPERTY_NOT_CREATED, property);
             logger.log(Level.SEVERE, message, e);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, message);
+        } finally {
+            referenceDataCache.invalidate(ReferenceDataCache.PROPERTIES, ReferenceDataCache.PROPERTIES_INCLUDING_INACTIVE);
         }
     }
 
@@ -123,6 +128,8 @@ public class PropertyRepository implements CrudRepository<Property, String> {
             String message = MessageFormat.format(TextUtil.PROPERTIES_NOT_CREATED, properties);
             logger.log(Level.SEVERE, message, e);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, message);
+        } finally {
+            referenceDataCache.invalidate(ReferenceDataCache.PROPERTIES, ReferenceDataCache.PROPERTIES_INCLUDING_INACTIVE);
         }
     }
 
@@ -231,7 +238,8 @@ public class PropertyRepository implements CrudRepository<Property, String> {
                 UpdateRequest<Property, Property> updateRequest =
                         UpdateRequest.of(u ->
                                 u.index(ES_PROPERTY_INDEX).id(propertyName)
-                                        .doc(property));
+                                        .doc(property)
+                                        .refresh(Refresh.True));
                 UpdateResponse<Property> updateResponse =
                         client.update(updateRequest, Property.class);
                 if (updateResponse.result().equals(co.elastic.clients.elasticsearch._types.Result.Updated)) {
@@ -243,6 +251,8 @@ public class PropertyRepository implements CrudRepository<Property, String> {
             String message = MessageFormat.format(TextUtil.PROPERTY_NOT_DELETED, propertyName);
             logger.log(Level.SEVERE, message, e);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, message);
+        } finally {
+            referenceDataCache.invalidate(ReferenceDataCache.PROPERTIES, ReferenceDataCache.PROPERTIES_INCLUDING_INACTIVE);
         }
     }
 
@@ -264,7 +274,8 @@ public class PropertyRepository implements CrudRepository<Property, String> {
             UpdateRequest<Property, Property> updateRequest =
                     UpdateRequest.of(u ->
                             u.index(ES_PROPERTY_INDEX).id(propertyName)
-                                    .doc(property));
+                                    .doc(property)
+                                    .refresh(Refresh.True));
             UpdateResponse<Property> updateResponse =
                     client.update(updateRequest, Property.class);
 
@@ -279,6 +290,8 @@ public class PropertyRepository implements CrudRepository<Property, String> {
             }
         } catch (Exception e) {
             logger.log(Level.SEVERE, e.getMessage(), e);
+        } finally {
+            referenceDataCache.invalidate(ReferenceDataCache.PROPERTIES, ReferenceDataCache.PROPERTIES_INCLUDING_INACTIVE);
         }
     }
 
@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+package org.phoebus.olog;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Rewrites an Elasticsearch search response - filtered with
+ * <code>filter_path=took,hits.total.value,hits.hits._source</code> - into the JSON representation of a
+ * {@link org.phoebus.olog.entity.SearchResult}, or of a plain list of log entries.
+ * <p>
+ * The <code>_source</code> of each hit is copied token by token from the Elasticsearch response to the
+ * output, i.e. without binding it to a {@link org.phoebus.olog.entity.Log} object. This is valid as long as the
+ * documents have been indexed by this service, in which case the stored source is identical to the serialized
+ * {@link org.phoebus.olog.entity.Log}.
+ * </p>
+ */
+public class RawSourceWriter {
+
+    private static final JsonFactory jsonFactory = new JsonFactory();
+
+    private RawSourceWriter() {
+    }
+
+    /**
+     * @param searchResponse Elasticsearch response body.
+     * @param outputStream   Stream to write to. It is flushed, but not closed.
+     * @param logsOnly       If <code>true</code>, only the list of log entries is written, otherwise
+     *                       the list is wrapped in a {@link org.phoebus.olog.entity.SearchResult} envelope.
+     * @return The time reported by Elasticsearch and the hit count of the search.
+     * @throws IOException if reading or writing fails, or if the search response is not valid JSON.
+     */
+    public static SearchStatistics writeSearchResult(InputStream searchResponse, OutputStream outputStream, boolean logsOnly) throws IOException {
+        long took = -1;
+        long hitCount = 0;
+        try (JsonParser parser = jsonFactory.createParser(searchResponse);
+             JsonGenerator generator = jsonFactory.createGenerator(outputStream, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            if (!logsOnly) {
+                generator.writeStartObject();
+            }
+            boolean hitCountWritten = false;
+            boolean logsWritten = false;
+            while (parser.nextToken() != null) {
+                if (parser.currentToken() != JsonToken.FIELD_NAME) {
+                    continue;
+                }
+                String fieldName = parser.currentName();
+                JsonToken valueToken = parser.nextToken();
+                if ("took".equals(fieldName) && valueToken == JsonToken.VALUE_NUMBER_INT) {
+                    took = parser.getLongValue();
+                } else if ("total".equals(fieldName) && valueToken == JsonToken.START_OBJECT) {
+                    hitCount = readTotal(parser);
+                    if (!logsOnly) {
+                        generator.writeNumberField("hitCount", hitCount);
+                    }
+                    hitCountWritten = true;
+                } else if ("hits".equals(fieldName) && valueToken == JsonToken.START_ARRAY) {
+                    if (!logsOnly) {
+                        generator.writeFieldName("logs");
+                    }
+                    generator.writeStartArray();
+                    copySources(parser, generator);
+                    generator.writeEndArray();
+                    logsWritten = true;
+                }
+                // Any other field, e.g. the outer "hits" object, is descended into.
+            }
+            // Elasticsearch omits empty arrays when filter_path is used
+            if (!logsWritten) {
+                if (!logsOnly) {
+                    generator.writeFieldName("logs");
+                }
+                generator.writeStartArray();
+                generator.writeEndArray();
+            }
+            if (!logsOnly) {
+                if (!hitCountWritten) {
+                    generator.writeNumberField("hitCount", 0);
+                }
+                generator.writeEndObject();
+            }
+        }
+        outputStream.flush();
+        return new SearchStatistics(took, hitCount);
+    }
+
+    /**
+     * @param took     Time in milliseconds Elasticsearch reports it spent on the search, or -1 if not in the response.
+     * @param hitCount Number of matching log entries.
+     */
+    public record SearchStatistics(long took, long hitCount) {
+    }
+
+    /**
+     * Consumes the <code>total</code> object, parser positioned on its start.
+     */
+    private static long readTotal(JsonParser parser) throws IOException {
+        long total = 0;
+        while (parser.nextToken() != JsonToken.END_OBJECT) {
+            if (parser.currentToken() == JsonToken.FIELD_NAME && "value".equals(parser.currentName())) {
+                parser.nextToken();
+                total = parser.getLongValue();
+            } else if (parser.currentToken() == JsonToken.START_OBJECT || parser.currentToken() == JsonToken.START_ARRAY) {
+                parser.skipChildren();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Copies the <code>_source</code> object of each hit, parser positioned on the start of the hits array.
+     */
+    private static void copySources(JsonParser parser, JsonGenerator generator) throws IOException {
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.currentName();
+                parser.nextToken();
+                if ("_source".equals(fieldName)) {
+                    generator.copyCurrentStructure(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+    }
+}
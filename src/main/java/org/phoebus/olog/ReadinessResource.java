@@ -0,0 +1,35 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+package org.phoebus.olog;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+import static org.phoebus.olog.OlogResourceDescriptors.READINESS_URI;
+
+/**
+ * Resource for handling the requests to ../ready, e.g. for use as readiness probe by a load balancer
+ * or container orchestrator.
+ */
+@RestController
+@RequestMapping(READINESS_URI)
+public class ReadinessResource {
+
+    /**
+     * @return HTTP 200 if the Elasticsearch indices and default items have been initialized, otherwise
+     * HTTP 503. The body holds the state, see {@link ElasticConfig.InitializationState}.
+     */
+    @SuppressWarnings("unused")
+    @GetMapping
+    public ResponseEntity<Map<String, String>> getReadiness() {
+        ElasticConfig.InitializationState state = ElasticConfig.getInitializationState();
+        return ResponseEntity.status(state == ElasticConfig.InitializationState.READY ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE)
+                .body(Map.of("state", state.name()));
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+package org.phoebus.olog;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * In-memory snapshots of reference data, i.e. tags, logbooks, properties, levels and the service
+ * configuration. These change rarely, but are fetched by every client on startup.
+ * <p>
+ * Each snapshot carries an ETag computed from its JSON representation. As the snapshot is returned in a
+ * {@link ResponseEntity}, Spring MVC answers requests with a matching <code>If-None-Match</code> header
+ * with HTTP 304.
+ * </p>
+ * <p>
+ * The repositories invalidate the snapshots they affect on every write. Since other instances of the
+ * service may write to the same Elasticsearch cluster, snapshots are also reloaded when older than
+ * <code>reference.data.cache.ttl</code> seconds. A value of zero disables caching, but the ETag is still computed.
+ * </p>
+ */
+@Service
+public class ReferenceDataCache {
+
+    public static final String TAGS = "tags";
+    public static final String LOGBOOKS = "logbooks";
+    public static final String PROPERTIES = "properties";
+    public static final String PROPERTIES_INCLUDING_INACTIVE = "properties?inactive";
+    public static final String LEVELS = "levels";
+    public static final String CONFIGURATION = "configuration";
+
+    private static final Logger logger = Logger.getLogger(ReferenceDataCache.class.getName());
+
+    @SuppressWarnings("unused")
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @SuppressWarnings("unused")
+    @Value("${reference.data.cache.ttl:60}")
+    private long timeToLive;
+
+    @SuppressWarnings("unused")
+    @Value("${reference.data.cache.max.age:0}")
+    private long maxAge;
+
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+    /**
+     * Generation at which each key was last invalidated.
+     */
+    private final Map<String, Long> invalidations = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final LongSupplier clock;
+
+    public ReferenceDataCache() {
+        this.clock = System::currentTimeMillis;
+    }
+
+    ReferenceDataCache(ObjectMapper objectMapper, long timeToLive, long maxAge, LongSupplier clock) {
+        this.objectMapper = objectMapper;
+        this.timeToLive = timeToLive;
+        this.maxAge = maxAge;
+        this.clock = clock;
+    }
+
+    /**
+     * @param key    Identifies the reference data, e.g. {@link #TAGS}.
+     * @param loader Loads the data from the repository if there is no valid snapshot.
+     * @param <T>    Type of the data.
+     * @return A {@link ResponseEntity} with the data, its ETag and a <code>Cache-Control</code> header.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ResponseEntity<T> get(String key, Supplier<T> loader) {
+        Snapshot snapshot = snapshots.get(key);
+        if (snapshot == null || !isValid(key, snapshot)) {
+            // Generation is taken before loading, so that a write completing during the load invalidates the result.
+            long loadGeneration = generation.incrementAndGet();
+            T value = loader.get();
+            snapshot = new Snapshot(value, computeETag(value), loadGeneration, clock.getAsLong());
+            if (timeToLive > 0) {
+                snapshots.put(key, snapshot);
+            }
+        }
+        return ResponseEntity.ok()
+                .eTag(snapshot.eTag())
+                // The ETag is shared by the JSON, Smile and CBOR representations
+                .varyBy(HttpHeaders.ACCEPT)
+                .cacheControl(CacheControl.maxAge(maxAge, TimeUnit.SECONDS).mustRevalidate())
+                .body((T) snapshot.value());
+    }
+
+    /**
+     * Discards the snapshots for the specified keys. The service configuration includes tags, logbooks and
+     * levels, so it is always discarded.
+     *
+     * @param keys Keys of the reference data that has changed.
+     */
+    public void invalidate(String... keys) {
+        long invalidationGeneration = generation.incrementAndGet();
+        for (String key : keys) {
+            invalidations.put(key, invalidationGeneration);
+            snapshots.remove(key);
+        }
+        invalidations.put(CONFIGURATION, invalidationGeneration);
+        snapshots.remove(CONFIGURATION);
+    }
+
+    private boolean isValid(String key, Snapshot snapshot) {
+        return snapshot.generation() > invalidations.getOrDefault(key, 0L) &&
+                clock.getAsLong() - snapshot.loadTime() < TimeUnit.SECONDS.toMillis(timeToLive);
+    }
+
+    private String computeETag(Object value) {
+        try {
+            return "\"" + DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(value)) + "\"";
+        } catch (JsonProcessingException e) {
+            logger.log(Level.WARNING, TextUtil.REFERENCE_DATA_ETAG_FAILED, e);
+            // Unique value, i.e. clients will never get a 304
+            return "\"" + generation.incrementAndGet() + "\"";
+        }
+    }
+
+    private record Snapshot(Object value, String eTag, long generation, long loadTime) {
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+package org.phoebus.olog;
+
+import org.phoebus.olog.entity.Log;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.MultiValueMap;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory cache of RSS and Atom feeds, keyed on the feed type, base URL and the normalized search parameters.
+ * Feed readers poll frequently with identical parameters, so without caching each poll would run a search.
+ * <p>
+ * Responses carry a <code>Last-Modified</code> header set to the newest modify (or create) date of the log
+ * entries in the feed, and an ETag computed from the ids and modify dates of the entries. Spring MVC answers
+ * requests with matching <code>If-None-Match</code> or <code>If-Modified-Since</code> headers with HTTP 304.
+ * </p>
+ * <p>
+ * All feeds are discarded when a log entry is created or updated. As other instances of the service may write
+ * to the same Elasticsearch cluster, feeds are also reloaded when older than <code>rss.cache.ttl</code> seconds.
+ * A value of zero disables caching, but conditional requests are still supported.
+ * </p>
+ */
+@Service
+public class RssFeedCache {
+
+    @SuppressWarnings("unused")
+    @Value("${rss.cache.ttl:60}")
+    private long timeToLive;
+
+    @SuppressWarnings("unused")
+    @Value("${rss.cache.max.entries:100}")
+    private int maxEntries;
+
+    private final Map<String, CachedFeed> feeds = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private volatile long invalidationGeneration;
+    private final LongSupplier clock;
+
+    public RssFeedCache() {
+        this.clock = System::currentTimeMillis;
+    }
+
+    RssFeedCache(long timeToLive, int maxEntries, LongSupplier clock) {
+        this.timeToLive = timeToLive;
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    /**
+     * @param feedType         Identifies the type of feed, e.g. "rss".
+     * @param baseUrl          Base URL of the links in the feed.
+     * @param searchParameters Search parameters as sent by the client, before any defaults are added.
+     * @param loader           Searches for the log entries of the feed if there is no valid cached feed.
+     * @param feedBuilder      Builds the feed from the log entries.
+     * @param <T>              Type of the feed.
+     * @return A {@link ResponseEntity} with the feed, its ETag, <code>Last-Modified</code> and <code>Cache-Control</code> headers.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ResponseEntity<T> get(String feedType, String baseUrl, MultiValueMap<String, String> searchParameters,
+                                     Supplier<List<Log>> loader, Function<List<Log>, T> feedBuilder) {
+        String key = feedType + "|" + baseUrl + "|" + normalize(searchParameters);
+        CachedFeed cachedFeed = feeds.get(key);
+        if (cachedFeed == null || !isValid(cachedFeed)) {
+            // Generation is taken before loading, so that a write completing during the load invalidates the result.
+            long loadGeneration = generation.incrementAndGet();
+            List<Log> logs = loader.get();
+            cachedFeed = new CachedFeed(feedBuilder.apply(logs), computeETag(logs), lastModified(logs), loadGeneration, clock.getAsLong());
+            if (timeToLive > 0) {
+                if (feeds.size() >= maxEntries) {
+                    feeds.values().removeIf(feed -> !isValid(feed));
+                }
+                if (feeds.size() < maxEntries) {
+                    feeds.put(key, cachedFeed);
+                }
+            }
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(cachedFeed.eTag())
+                .cacheControl(CacheControl.maxAge(timeToLive, TimeUnit.SECONDS).mustRevalidate());
+        if (cachedFeed.lastModified() != null) {
+            response.lastModified(cachedFeed.lastModified());
+        }
+        return response.body((T) cachedFeed.feed());
+    }
+
+    /**
+     * Discards all cached feeds.
+     */
+    public void invalidate() {
+        invalidationGeneration = generation.incrementAndGet();
+        feeds.clear();
+    }
+
+    /**
+     * @param logs Log entries of a feed.
+     * @return The newest modify date - or create date if not modified - of the log entries, or <code>null</code>
+     * if there are none.
+     */
+    public static Instant lastModified(List<Log> logs) {
+        return logs.stream()
+                .map(log -> log.getModifyDate() != null ? log.getModifyDate() : log.getCreatedDate())
+                .filter(Objects::nonNull)
+                .max(Instant::compareTo)
+                .orElse(null);
+    }
+
+    /**
+     * @return The search parameters as a string independent of the order of parameters and values, and of the
+     * case of the parameter names.
+     */
+    static String normalize(MultiValueMap<String, String> searchParameters) {
+        if (searchParameters == null) {
+            return "";
+        }
+        Map<String, String> normalized = new TreeMap<>();
+        searchParameters.forEach((name, values) -> normalized.merge(name.strip().toLowerCase(),
+                values.stream().map(String::strip).sorted().collect(Collectors.joining(",")),
+                (a, b) -> a + "," + b));
+        return normalized.entrySet().stream()
+                .map(e -> e.getKey() + "=" + e.getValue())
+                .collect(Collectors.joining("&"));
+    }
+
+    private boolean isValid(CachedFeed cachedFeed) {
+        return cachedFeed.generation() > invalidationGeneration &&
+                clock.getAsLong() - cachedFeed.loadTime() < TimeUnit.SECONDS.toMillis(timeToLive);
+    }
+
+    private static String computeETag(List<Log> logs) {
+        String version = logs.stream()
+                .map(log -> log.getId() + ":" + log.getModifyDate())
+                .collect(Collectors.joining(","));
+        return "\"" + DigestUtils.md5DigestAsHex(version.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    private record CachedFeed(Object feed, String eTag, Instant lastModified, long generation, long loadTime) {
+    }
+}
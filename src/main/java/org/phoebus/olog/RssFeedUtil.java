@@ -1,5 +1,10 @@
 package org.phoebus.olog;
 
+import com.rometools.rome.feed.atom.Content;
+import com.rometools.rome.feed.atom.Entry;
+import com.rometools.rome.feed.atom.Feed;
+import com.rometools.rome.feed.atom.Link;
+import com.rometools.rome.feed.atom.Person;
 import com.rometools.rome.feed.rss.Category;
 import com.rometools.rome.feed.rss.Channel;
 import com.rometools.rome.feed.rss.Description;
@@ -7,6 +12,7 @@ import com.rometools.rome.feed.rss.Item;
 import org.apache.commons.lang3.StringUtils;
 import org.phoebus.olog.entity.Log;
 
+import java.time.Instant;
 import java.util.Date;
 import java.util.List;
 
@@ -60,9 +66,80 @@ public class RssFeedUtil {
         feed.setTitle("Olog Service - Log Updates");
         feed.setDescription("Latest logs created or updated in the Olog Service");
         feed.setLink(baseUrl);
+        Instant lastModified = RssFeedCache.lastModified(logs);
+        if (lastModified != null) {
+            feed.setLastBuildDate(Date.from(lastModified));
+        }
         List<Item> items = logs.stream().map(logEntry -> fromLog(logEntry, baseUrl)).toList();
         feed.setItems(items);
         return feed;
 
     }
+
+    public static Entry toAtomEntry(Log logEntry, String baseUrl) {
+        Entry entry = new Entry();
+        String entryUrl = logUrl(baseUrl, logEntry.getId());
+        entry.setId(entryUrl);
+        entry.setTitle(logEntry.getTitle());
+
+        Link link = new Link();
+        link.setRel("alternate");
+        link.setHref(entryUrl);
+        entry.setAlternateLinks(List.of(link));
+
+        entry.setCategories(logEntry.getTags()
+            .stream()
+            .map(t -> {
+                com.rometools.rome.feed.atom.Category c = new com.rometools.rome.feed.atom.Category();
+                c.setTerm(t.getName());
+                return c;
+            })
+            .toList()
+        );
+
+        Person author = new Person();
+        author.setName(logEntry.getOwner());
+        entry.setAuthors(List.of(author));
+
+        Content summary = new Content();
+        summary.setType(Content.TEXT);
+        if (!StringUtils.isEmpty(logEntry.getSource())) {
+            summary.setValue(logEntry.getSource());
+        } else if (!StringUtils.isEmpty(logEntry.getDescription())) {
+            summary.setValue(logEntry.getDescription());
+        }
+        entry.setSummary(summary);
+
+        if (logEntry.getCreatedDate() != null) {
+            entry.setPublished(Date.from(logEntry.getCreatedDate()));
+        }
+        Instant updated = logEntry.getModifyDate() != null ? logEntry.getModifyDate() : logEntry.getCreatedDate();
+        if (updated != null) {
+            entry.setUpdated(Date.from(updated));
+        }
+        return entry;
+    }
+
+    public static Feed toAtomFeed(List<Log> logs, String baseUrl) {
+        Feed feed = new Feed();
+        feed.setFeedType("atom_1.0");
+        feed.setId(baseUrl + LOG_RESOURCE_URI);
+        feed.setTitle("Olog Service - Log Updates");
+
+        Content subtitle = new Content();
+        subtitle.setType(Content.TEXT);
+        subtitle.setValue("Latest logs created or updated in the Olog Service");
+        feed.setSubtitle(subtitle);
+
+        Link link = new Link();
+        link.setRel("alternate");
+        link.setHref(baseUrl);
+        feed.setAlternateLinks(List.of(link));
+
+        // Atom requires the updated element, use current time if there are no entries
+        Instant lastModified = RssFeedCache.lastModified(logs);
+        feed.setUpdated(Date.from(lastModified != null ? lastModified : Instant.now()));
+        feed.setEntries(logs.stream().map(logEntry -> toAtomEntry(logEntry, baseUrl)).toList());
+        return feed;
+    }
 }
\ No newline at end of file
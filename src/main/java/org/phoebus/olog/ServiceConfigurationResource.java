@@ -21,6 +21,7 @@ package org.phoebus.olog;
 import org.phoebus.olog.entity.ServiceConfiguration;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -39,15 +40,20 @@ public class ServiceConfigurationResource {
     @Autowired
     private TagRepository tagRepository;
 
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
     @Value("#{'${levels:Urgent,Suggestion,Info,Request,Problem}'.split(',')}")
     private List<String> levels;
 
     @GetMapping
-    public ServiceConfiguration serviceConfiguration(){
-        ServiceConfiguration serviceConfiguration = new ServiceConfiguration();
-        serviceConfiguration.setLevels(levels);
-        serviceConfiguration.setLogbooks(logbookRepository.findAll());
-        serviceConfiguration.setTags(tagRepository.findAll());
-        return serviceConfiguration;
+    public ResponseEntity<ServiceConfiguration> serviceConfiguration(){
+        return referenceDataCache.get(ReferenceDataCache.CONFIGURATION, () -> {
+            ServiceConfiguration serviceConfiguration = new ServiceConfiguration();
+            serviceConfiguration.setLevels(levels);
+            serviceConfiguration.setLogbooks(logbookRepository.findAll());
+            serviceConfiguration.setTags(tagRepository.findAll());
+            return serviceConfiguration;
+        });
     }
 }
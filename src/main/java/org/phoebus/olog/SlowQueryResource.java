@@ -0,0 +1,37 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+package org.phoebus.olog;
+
+import org.phoebus.olog.slowquery.SlowQuery;
+import org.phoebus.olog.slowquery.SlowQueryLog;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+import static org.phoebus.olog.OlogResourceDescriptors.SLOW_QUERIES_URI;
+
+/**
+ * Resource for handling the requests to ../slow-queries. Restricted to members of the admin groups, see
+ * {@link org.phoebus.olog.security.WebSecurityConfig}.
+ */
+@RestController
+@RequestMapping(SLOW_QUERIES_URI)
+public class SlowQueryResource {
+
+    @SuppressWarnings("unused")
+    @Autowired
+    private SlowQueryLog slowQueryLog;
+
+    /**
+     * @return The most recent slow searches recorded by the {@link SlowQueryLog}, most recent first.
+     */
+    @SuppressWarnings("unused")
+    @GetMapping
+    public List<SlowQuery> getSlowQueries() {
+        return slowQueryLog.getRecent();
+    }
+}
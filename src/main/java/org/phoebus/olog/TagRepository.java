@@ -62,6 +62,9 @@ public class TagRepository implements CrudRepository<Tag, String> {
     @Qualifier("client")
     ElasticsearchClient client;
 
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
     /**
      *
      */
@@ -90,6 +93,8 @@ public class TagRepository implements CrudRepository<Tag, String> {
             String message = MessageFormat.format(TextUtil.TAG_NOT_CREATED, tag);
             logger.log(Level.SEVERE, message, e);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, message);
+        } finally {
+            referenceDataCache.invalidate(ReferenceDataCache.TAGS);
         }
     }
 
@@ -121,6 +126,8 @@ public class TagRepository implements CrudRepository<Tag, String> {
             String message = MessageFormat.format(TextUtil.TAGS_NOT_CREATED, tags);
             logger.log(Level.SEVERE, message, e);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, message);
+        } finally {
+            referenceDataCache.invalidate(ReferenceDataCache.TAGS);
         }
     }
 
@@ -220,7 +227,8 @@ public class TagRepository implements CrudRepository<Tag, String> {
                 UpdateRequest<Tag, Tag> updateRequest =
                         UpdateRequest.of(u ->
                                 u.index(ES_TAG_INDEX).id(tagName)
-                                        .doc(tag));
+                                        .doc(tag)
+                                        .refresh(Refresh.True));
                 UpdateResponse<Tag> updateResponse =
                         client.update(updateRequest, Tag.class);
                 if (updateResponse.result().equals(co.elastic.clients.elasticsearch._types.Result.Updated)) {
@@ -232,6 +240,8 @@ public class TagRepository implements CrudRepository<Tag, String> {
             String message = MessageFormat.format(TextUtil.TAG_NOT_DELETED, tagName);
             logger.log(Level.SEVERE, message, e);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, message);
+        } finally {
+            referenceDataCache.invalidate(ReferenceDataCache.TAGS);
         }
     }
 
@@ -16,6 +16,7 @@ import java.util.logging.Logger;
 import org.phoebus.olog.entity.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -39,6 +40,9 @@ public class TagsResource {
     @Autowired
     private TagRepository tagRepository;
 
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
     /** Creates a new instance of TagsResource */
     public TagsResource() {
     }
@@ -49,8 +53,8 @@ public class TagsResource {
      * @return list of tags
      */
     @GetMapping
-    public Iterable<Tag> findAll() {
-        return tagRepository.findAll();
+    public ResponseEntity<Iterable<Tag>> findAll() {
+        return referenceDataCache.get(ReferenceDataCache.TAGS, tagRepository::findAll);
     }
 
     /**
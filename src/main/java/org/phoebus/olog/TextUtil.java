@@ -25,15 +25,31 @@ public class TextUtil {
     public static final String SEARCH_FAILED_PARSE_PARAMETERS_INVALID_START_END = "Failed to parse search parameters: {0}, CAUSE: Invalid start and end times";
     public static final String SEARCH_NOT_COMPLETED                     = "Failed to complete search";
     public static final String SEARCH_UNBALANCED_QUOTES                 = "Unbalanced quotes in search query";
-
+    public static final String SLOW_QUERY                               = "Slow search took {0} ms (Elasticsearch {1} ms, {2} hits) for client {3}, parameters: {4}, request: {5}";
+
+    public static final String ADMISSION_QUEUE_FULL                     = "Too many pending {0} requests, please retry later";
+    public static final String ADMISSION_TIMEOUT                        = "No capacity to handle {0} request within {1} ms, please retry later";
+    public static final String RATE_LIMIT_EXCEEDED                      = "Request rate limit exceeded, please retry later";
+    public static final String RATE_LIMIT_INVALID                       = "Invalid rate limit {0}, expected name:rate:burst";
+    public static final String RATE_LIMIT_THROTTLED                     = "Request of client {0} exceeded its rate limit";
+    public static final String CHANGE_FEED_INVALID_LAST_EVENT_ID        = "Invalid Last-Event-ID {0}";
+    public static final String CHANGE_FEED_REPLAY_TRUNCATED             = "Change feed replay matched {0} log entries, only {1} will be sent";
+    public static final String CHANGE_FEED_SEND_FAILED                  = "Failed to send change feed event, dropping subscriber";
     public static final String CONTENT_TYPE_NOT_DETERMINED              = "Unable to determine content type from file name {0}";
     public static final String GROUPING_NOT_ALLOWED                     = "Grouping not allowed due to conflicting log entry groups";
     public static final String GROUPING_ENTRIES_IN_DIFFERENT_GROUPS     = "Cannot group: at least two entries already contained in different groups";
+    public static final String GROUPING_CONFLICT                        = "Log entries were modified concurrently, please retry";
     public static final String HELP_REQUEST_WHAT_FOR_LANGUAGE           = "Requesting {0} for language {1}";
     public static final String HELP_UNABLE_READ_FOR_LANGUAGE_DEFAULT    = "Unable to read {0} resource for language {1}, defaulting to 'en'";
     public static final String HELP_UNABLE_FIND_RESOURCE                = "Unable to read find resource {0}_en.html";
     public static final String PROPERTY_PROVIDER_FAILED_TO_RETURN       = "A property provider failed to return in time or threw exception";
+    public static final String PROPERTY_PROVIDER_CIRCUIT_OPENED         = "Property provider {0} failed {1} times in a row, skipping it for {2} ms";
+    public static final String PROPERTY_PROVIDER_CIRCUIT_CLOSED         = "Property provider {0} responded again, no longer skipping it";
+    public static final String PROPERTY_PROVIDER_FAILED                 = "Property provider {0} threw exception";
+    public static final String PROPERTY_PROVIDER_REJECTED               = "Property provider {0} is busy, skipping it";
+    public static final String PROPERTY_PROVIDER_TIMEOUT                = "Property provider {0} did not return within {1} ms";
     public static final String QUERY_FROM_CLIENT                        = "Query {0} from client {1}";
+    public static final String REFERENCE_DATA_ETAG_FAILED               = "Failed to compute ETag of reference data";
     public static final String UNSUPPORTED_DATE_TIME                    = "Unsupported date/time specified {0}";
     public static final String USER_NOT_AUTHENTICATED_THROUGH_AUTHORIZATION_HEADER = "User {0} not authenticated through authorization header";
 
@@ -43,9 +59,13 @@ public class TextUtil {
     public static final String OLOG_FAILED_CONFIGURE_TRUSTSTORE         = "failed to configure olog truststore";
     public static final String OLOG_FAILED_CREATE_SERVICE               = "Failed to create Olog service info resource";
 
+    public static final String MONGO_INVALID_WRITE_CONCERN              = "Invalid mongo.write.concern {0}";
+
     public static final String ELASTIC_CREATED_INDEX_ACKNOWLEDGED       = "Created index {0} acknowledged {1}";
     public static final String ELASTIC_FAILED_TO_CONNECT                = "Failed to connect to elastic {0}";
     public static final String ELASTIC_FAILED_TO_CREATE_INDEX           = "Failed to create index {0}";
+    public static final String ELASTIC_FAILED_TO_UPDATE_MAPPING         = "Failed to update mapping of index {0}";
+    public static final String ELASTIC_UPDATED_MAPPING                  = "Added field mappings {1} to index {0}";
     public static final String ELASTIC_FAILED_TO_INITIALIZE_LOGBOOK     = "Failed to initialize logbook {0}";
     public static final String ELASTIC_FAILED_TO_INITIALIZE_LOGBOOKS    = "Failed to initialize logbooks";
     public static final String ELASTIC_FAILED_TO_INITIALIZE_PROPERTY    = "Failed to initialize property {0}";
@@ -54,6 +74,14 @@ public class TextUtil {
     public static final String ELASTIC_FAILED_TO_INITIALIZE_TAGS        = "Failed to initialize tags";
     public static final String ELASTIC_FAILED_TO_INITIALIZE_LEVEL       = "Failed to initialize level {0}";
     public static final String ELASTIC_FAILED_TO_INITIALIZE_LEVELS      = "Failed to initialize levels";
+    public static final String ELASTIC_FAILED_TO_INITIALIZE_DEFAULT     = "Failed to initialize {0}";
+    public static final String ELASTIC_FAILED_TO_INITIALIZE_DEFAULTS    = "Failed to initialize default logbooks, tags, properties and levels";
+    public static final String ELASTIC_FAILED_TO_VALIDATE_INDICES       = "Failed to validate indices";
+    public static final String ELASTIC_INITIALIZATION_COMPLETED         = "Elastic indices and defaults initialized";
+    public static final String ELASTIC_INITIALIZATION_FAILED            = "Failed to initialize elastic indices and defaults after {0} attempts";
+    public static final String ELASTIC_INITIALIZATION_RETRY             = "Not all elastic indices could be validated, retrying in {0} ms";
+    public static final String ELASTIC_INITIALIZATION_ERROR_RETRY       = "Failed to initialize elastic indices and defaults, retrying in {0} ms";
+    public static final String ELASTIC_NOT_INITIALIZED                  = "Service is initializing, please retry";
 
     // ----------------------------------------------------------------------------------------------------
 
@@ -66,7 +94,27 @@ public class TextUtil {
     public static final String ATTACHMENT_REQUEST_DETAILS               = "Requesting attachment {0} : {1}";
     public static final String ATTACHMENT_UNABLE_TO_RETRIEVE_FOR_ID     = "Unable to retrieve attachment {0} for log id {1}";
     public static final String ATTACHMENT_HEIC_NOT_SUPPORTED            = "HEIC file type attachments not supported";
-
+    public static final String ATTACHMENT_TEXT_EXTRACTION_FAILED        = "Failed to extract text from attachment {0} of log entry {1}";
+    public static final String ATTACHMENT_TEXT_EXTRACTION_REJECTED      = "Text extraction queue is full, skipping attachment {0} of log entry {1}";
+    public static final String ATTACHMENT_TEXT_EXTRACTION_REFUSED       = "{2} parser threads did not terminate after a timeout, skipping attachment {0} of log entry {1}";
+    public static final String ATTACHMENT_TEXT_EXTRACTION_TIMEOUT       = "Text extraction from attachment {0} of log entry {1} did not complete within {2} ms";
+    public static final String ATTACHMENT_ID_INVALID                    = "Invalid attachment id {0}";
+    public static final String ATTACHMENT_STORAGE                       = "Attachments stored in {0}";
+    public static final String ATTACHMENT_DELETED                       = "Deleted attachment {0}";
+    public static final String ATTACHMENT_NOT_DELETED                   = "Unable to delete attachment {0}";
+    public static final String ATTACHMENT_GC_STARTED                    = "Looking for orphaned attachments stored before {0} (dry run: {1})";
+    public static final String ATTACHMENT_GC_COMPLETED                  = "Found {0,number,#} orphaned attachments ({1,number,#} bytes) among {2,number,#} attachments, deleted {3,number,#}";
+    public static final String ATTACHMENT_GC_ORPHAN                     = "Attachment {0} stored at {1} is not referenced by any log entry";
+    public static final String ATTACHMENT_GC_FAILED                     = "Failed to collect orphaned attachments";
+    public static final String ATTACHMENT_GC_RUNNING                    = "Looking for orphaned attachments already in progress";
+    public static final String ATTACHMENT_GC_NO_REFERENCES              = "None of {0,number,#} attachments is referenced, although {1,number,#} log entries have attachments. Check the mapping of attachments.id";
+    public static final String ATTACHMENT_STREAMED                      = "Stored attachment {0}: {1} bytes, SHA-256 {2}";
+    public static final String ATTACHMENT_TOO_LARGE                     = "Attachment {0} exceeds the maximum size of {1} bytes";
+    public static final String ATTACHMENT_FILE_PART_MISSING             = "Multipart request has no part named file";
+    public static final String ATTACHMENT_MULTIPART_READ_FAILED         = "Failed to read multipart request";
+    public static final String ATTACHMENT_FORM_FIELD_TOO_LONG           = "Form field {0} too long";
+
+    public static final String ATTACHMENTS_DELETE_ALL_NOT_ALLOWED       = "Deleting all attachments is not allowed";
     public static final String ATTACHMENTS_NAMED_FOUND_FOR_ID           = "Found {0} attachments named {1} for log id {2}";
 
     public static final String ATTRIBUTE_NAME_CANNOT_BE_NULL_OR_EMPTY   = "The attribute name cannot be null or empty {0}";
@@ -88,10 +136,34 @@ public class TextUtil {
 
     public static final String LOG_ENTRY_CANNOT_REPLY_NOT_EXISTS        = "Cannot reply to log entry {0} as it does not exist";
     public static final String LOG_ENTRY_NOTIFIER                       = "LogEntryNotifier {0} throws exception";
+    public static final String LOG_ENTRY_NOTIFIER_DROPPED               = "Queue of LogEntryNotifier {0} is full, dropping log entry {1}";
+    public static final String LOG_ENTRY_NOTIFIER_FAILED                = "LogEntryNotifier {0} failed to deliver {1} log entries after {2} attempts";
+    public static final String LOG_ENTRY_NOTIFIER_TIMEOUT               = "LogEntryNotifier {0} did not complete within {1} ms";
+    public static final String LOG_ENTRY_NOTIFIER_UNHEALTHY             = "LogEntryNotifier {0} has {1} timed out calls still running, not delivering {2} log entries";
     public static final String LOG_ENTRY_ID_CREATED_FROM                = "Entry id {0} created from {1}";
     public static final String LOG_ENTRY_NOT_MATCH_PATH                 = "Log entry id does not match path variable";
+    public static final String LOG_ENTRY_MODIFIED_CONCURRENTLY          = "Log entry {0} was modified concurrently, please reload and retry";
     public static final String LOG_TEMPLATE_CREATED                     = "Log template {0} created with id {1}";
 
+    public static final String NOTIFICATION_OUTBOX_ABANDONED            = "Giving up delivery of log entry {0} after {1} attempts, pending notifiers {2}";
+    public static final String NOTIFICATION_OUTBOX_POLL_FAILED          = "Failed to poll notification outbox";
+    public static final String NOTIFICATION_OUTBOX_UPDATE_FAILED        = "Failed to update notification outbox entry for log entry {0}";
+    public static final String NOTIFICATION_OUTBOX_NOT_PERSISTED        = "Failed to write notification outbox entry for log entry {0} after {1} attempts, delivery is not retried after a restart";
+
+    public static final String UPLOAD_CHECKSUM_MISMATCH                 = "Checksum of upload {0} does not match, expected {1} but got {2}";
+    public static final String UPLOAD_CHUNK_INTERRUPTED                 = "Chunk of upload {0} interrupted: {1}";
+    public static final String UPLOAD_DIRECTORY                         = "Resumable uploads stored in {0}";
+    public static final String UPLOAD_INCOMPLETE                        = "Upload {0} incomplete, received {1,number,#} of {2,number,#} bytes";
+    public static final String UPLOAD_LENGTH_INVALID                    = "Invalid upload length {0,number,#}";
+    public static final String UPLOAD_OFFSET_INVALID                    = "Invalid upload offset {0,number,#}";
+    public static final String UPLOAD_OFFSET_MISMATCH                   = "Chunk offset {0,number,#} is beyond the {1,number,#} bytes received";
+    public static final String UPLOAD_SESSION_CLEANUP_FAILED            = "Failed to delete expired upload sessions";
+    public static final String UPLOAD_SESSION_COMPLETED                 = "Upload {0} has been completed";
+    public static final String UPLOAD_SESSION_EXPIRED                   = "Deleted expired upload {0}";
+    public static final String UPLOAD_SESSION_NOT_FOUND                 = "Upload {0} not found";
+    public static final String UPLOAD_SESSION_NOT_OWNER                 = "Upload {0} belongs to another user";
+    public static final String UPLOAD_SESSION_NOT_READ                  = "Failed to read upload {0}";
+
     public static final String LOG_EXISTS_FAILED                        = "Failed to check if log {0} exists";
     public static final String LOG_TEMPLATE_EXISTS_UNSUPPORTED          = "Check if template exists not supported";
     public static final String LOG_ID_NOT_FOUND                         = "Log id {0} not found";
@@ -101,12 +173,16 @@ public class TextUtil {
     public static final String LOG_MUST_HAVE_LOGBOOK                    = "A log entry must specify at least one logbook";
     public static final String LOG_MUST_HAVE_TITLE                      = "A log entry must specify a title";
     public static final String LOG_NOT_ARCHIVED                         = "Failed to archive log with id {0}";
+    public static final String LOG_VERSION_NOT_ARCHIVED                 = "Log has been updated, but its previous version {0} could not be archived";
+    public static final String LOG_ARCHIVE_DELTA_NOT_WRITTEN            = "Failed to replace archived version {0} by a delta, it is kept in full";
+    public static final String LOG_ARCHIVE_DELTA_BASE_MISSING           = "Archived version {1,number,#} of log entry {0} is a delta against version {2}, but the next archived version is {3,number,#}";
     public static final String LOG_NOT_FOUND                            = "Failed to find log {0}";
     public static final String LOG_TEMPLATE_NOT_FOUND                   = "Failed to find template {0}";
     public static final String LOG_TEMPLATES_NOT_RETRIEVED              = "Failed to get all log templates";
     public static final String LOG_NOT_RETRIEVED                        = "Failed to retrieve log with id {0}";
     public static final String LOG_TEMPLATE_NOT_RETRIEVED               = "Failed to retrieve template with id {0}";
     public static final String LOG_NOT_SAVED                            = "Failed to save log entry {0}";
+    public static final String LOG_SAVE_OPERATION_FAILED                = "Failed to write document {1} to {0} with log entry {2}: {3}";
     public static final String LOG_NOT_TITLE                            = "Log title empty";
     public static final String LOG_NOT_UPDATED                          = "Failed to update log entry {0}";
     public static final String LOG_TEMPLATE_NOT_SAVED                   = "Failed to save log template {0}";
@@ -116,7 +192,9 @@ public class TextUtil {
     public static final String LOG_TEMPLATE_DELETE_ALL_NOT_SUPPORTED    = "Delete all templates not supported";
 
     public static final String LOGS_DELETE_NOT_SUPPORTED                = "Deleting log entries is not supported";
+    public static final String LOGS_MODIFIED_CONCURRENTLY               = "Log entries {0} were modified concurrently";
     public static final String LOGS_NOT_FOUND                           = "Failed to find logs {0}";
+    public static final String LOGS_NOT_UPDATED                         = "Failed to update log entries {0}";
     public static final String LOGS_RETRIEVE_ALL_NOT_SUPPORTED          = "Retrieving all log entries is not supported. Use Search with scroll";
     public static final String LOGS_SEARCH_NOT_COMPLETED                = "Failed to complete search for archived logs";
     public static final String LOG_TEMPLATES_FIND_ALL_BY_ID             = "Find all templates by id not supported";
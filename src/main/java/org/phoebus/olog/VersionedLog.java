@@ -0,0 +1,23 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+package org.phoebus.olog;
+
+import org.phoebus.olog.entity.Log;
+
+/**
+ * A {@link Log} together with the Elasticsearch sequence number and primary term of the document
+ * it was read from. These are used to make an update conditional on the document not having been
+ * changed since it was read, see {@link LogRepository#updateAllIfUnchanged(java.util.List)}.
+ *
+ * @param log         The log entry.
+ * @param seqNo       The <code>_seq_no</code> of the document.
+ * @param primaryTerm The <code>_primary_term</code> of the document.
+ * @param version     The <code>_version</code> of the document, used to identify archived versions.
+ */
+public record VersionedLog(Log log, long seqNo, long primaryTerm, long version) {
+
+    public VersionedLog(Log log, long seqNo, long primaryTerm) {
+        this(log, seqNo, primaryTerm, 0);
+    }
+}
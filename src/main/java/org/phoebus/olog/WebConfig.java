@@ -18,15 +18,30 @@
 
 package org.phoebus.olog;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.PropertySource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.web.servlet.mvc.method.annotation.PrincipalMethodArgumentResolver;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Set;
 
 @Configuration
 @PropertySource("classpath:application.properties")
@@ -40,6 +55,58 @@ public class WebConfig implements WebMvcConfigurer {
     @Value("#{'${cors.allowed.origins:http://localhost:3000}'.split(',')}")
     private String[] corsAllowedOrigins;
 
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    /**
+     * Media type of the binary Smile representation of JSON.
+     */
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    public static final MediaType APPLICATION_SMILE = MediaType.valueOf(APPLICATION_SMILE_VALUE);
+
+    /**
+     * Binary Smile representation, selected with <code>Accept: application/x-jackson-smile</code> and
+     * accepted as request body with the same content type. The mapper is a copy of the JSON mapper, such that
+     * the representations are equivalent.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(ObjectMapper objectMapper) {
+        return new MappingJackson2SmileHttpMessageConverter(objectMapper.copyWith(new SmileFactory()));
+    }
+
+    /**
+     * Binary CBOR representation, selected with <code>Accept: application/cbor</code>, see {@link #smileHttpMessageConverter(ObjectMapper)}.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(ObjectMapper objectMapper) {
+        return new MappingJackson2CborHttpMessageConverter(objectMapper.copyWith(new CBORFactory()));
+    }
+
+    /**
+     * @param accept Value of the <code>Accept</code> header of a request, may be <code>null</code>.
+     * @return <code>true</code> if the client prefers a binary representation over JSON, i.e. if the acceptable
+     * media type with the highest quality - the first one in case of a tie - is Smile or CBOR.
+     */
+    public static boolean isBinaryFormatPreferred(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return false;
+        }
+        MediaType preferred = null;
+        try {
+            for (MediaType mediaType : MediaType.parseMediaTypes(accept)) {
+                if ((preferred == null || mediaType.getQualityValue() > preferred.getQualityValue()) &&
+                        (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON) ||
+                                mediaType.isCompatibleWith(APPLICATION_SMILE) ||
+                                mediaType.isCompatibleWith(MediaType.APPLICATION_CBOR))) {
+                    preferred = mediaType;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return preferred != null && preferred.getQualityValue() > 0 &&
+                (APPLICATION_SMILE.equalsTypeAndSubtype(preferred) || MediaType.APPLICATION_CBOR.equalsTypeAndSubtype(preferred));
+    }
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**")
@@ -52,4 +119,25 @@ public class WebConfig implements WebMvcConfigurer {
     public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers){
         resolvers.add(new PrincipalMethodArgumentResolver());
     }
+
+    /**
+     * While Elasticsearch indices are initialized in the background (see <code>elasticsearch.initialization.background</code>),
+     * only read requests are served. Other requests get HTTP 503, as they might create documents before the index
+     * mappings are in place.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+                if (ElasticConfig.getInitializationState() == ElasticConfig.InitializationState.READY ||
+                        READ_METHODS.contains(request.getMethod())) {
+                    return true;
+                }
+                response.setHeader(HttpHeaders.RETRY_AFTER, "10");
+                response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), TextUtil.ELASTIC_NOT_INITIALIZED);
+                return false;
+            }
+        }).excludePathPatterns("/" + OlogResourceDescriptors.OLOG_SERVICE + "/login");
+    }
 }
@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+
+package org.phoebus.olog.admission;
+
+import org.phoebus.olog.TextUtil;
+import org.phoebus.olog.admission.AdmissionController.Permit;
+import org.springframework.http.HttpStatus;
+
+import java.text.MessageFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A budget of permits shared by requests of one kind, e.g. searches. A request is admitted once it has acquired
+ * as many permits as its estimated cost, and releases them when done. Requests that cannot be admitted right away
+ * wait in a bounded queue, in order of arrival, until permits are available or their deadline has passed.
+ */
+class AdmissionBudget {
+
+    private final String name;
+    private final int permits;
+    private final int queueCapacity;
+    private final long queueTimeout;
+    private final long retryAfter;
+    private final Semaphore semaphore;
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder queued = new LongAdder();
+    private final LongAdder rejectedQueueFull = new LongAdder();
+    private final LongAdder rejectedTimeout = new LongAdder();
+
+    /**
+     * @param name          Name of the budget, used in messages to clients.
+     * @param permits       Total number of permits, i.e. the cost of requests that may be handled concurrently.
+     * @param queueCapacity Max number of requests waiting for permits.
+     * @param queueTimeout  Max time in milliseconds a request waits for permits.
+     * @param retryAfter    Number of seconds clients are asked to wait before retrying a rejected request.
+     */
+    AdmissionBudget(String name, int permits, int queueCapacity, long queueTimeout, long retryAfter) {
+        this.name = name;
+        this.permits = Math.max(1, permits);
+        this.queueCapacity = queueCapacity;
+        this.queueTimeout = queueTimeout;
+        this.retryAfter = retryAfter;
+        // Fair, such that expensive requests waiting for many permits are not starved by cheap ones
+        this.semaphore = new Semaphore(this.permits, true);
+    }
+
+    /**
+     * Acquires permits, waiting in the queue if needed. The cost is capped at the total number of permits, such that
+     * any request can eventually be admitted.
+     *
+     * @param cost Estimated cost of the request.
+     * @return A {@link Permit} that must be closed when the request is done.
+     * @throws AdmissionRejectedException with HTTP 429 if the queue is full, or HTTP 503 if the request could
+     *                                    not be admitted within the queue timeout.
+     */
+    Permit acquire(int cost) {
+        int requested = Math.max(1, Math.min(cost, permits));
+        try {
+            // Zero timeout rather than tryAcquire(int) as the latter does not honor fairness
+            if (semaphore.tryAcquire(requested, 0, TimeUnit.MILLISECONDS)) {
+                admitted.increment();
+                return new Permit(semaphore, requested);
+            }
+            if (waiting.incrementAndGet() > queueCapacity) {
+                waiting.decrementAndGet();
+                rejectedQueueFull.increment();
+                throw new AdmissionRejectedException(HttpStatus.TOO_MANY_REQUESTS,
+                        MessageFormat.format(TextUtil.ADMISSION_QUEUE_FULL, name), retryAfter);
+            }
+            queued.increment();
+            try {
+                if (semaphore.tryAcquire(requested, queueTimeout, TimeUnit.MILLISECONDS)) {
+                    admitted.increment();
+                    return new Permit(semaphore, requested);
+                }
+            } finally {
+                waiting.decrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        rejectedTimeout.increment();
+        throw new AdmissionRejectedException(HttpStatus.SERVICE_UNAVAILABLE,
+                MessageFormat.format(TextUtil.ADMISSION_TIMEOUT, name, queueTimeout), retryAfter);
+    }
+
+    Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("permits", permits);
+        metrics.put("availablePermits", semaphore.availablePermits());
+        metrics.put("waiting", waiting.get());
+        metrics.put("admitted", admitted.sum());
+        metrics.put("queued", queued.sum());
+        metrics.put("rejectedQueueFull", rejectedQueueFull.sum());
+        metrics.put("rejectedTimeout", rejectedTimeout.sum());
+        return metrics;
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+
+package org.phoebus.olog.admission;
+
+import jakarta.annotation.PostConstruct;
+import org.phoebus.olog.LogSearchUtil;
+import org.phoebus.olog.metrics.MetricsSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.MultiValueMap;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Limits the number of log entry searches and writes handled concurrently, such that expensive searches -
+ * e.g. wildcard searches over all time - cannot starve Elasticsearch and the service.
+ * <p>
+ * Searches and writes draw from separate budgets, so a write is never queued behind searches. Each search
+ * costs a number of permits estimated from its parameters, see {@link LogSearchUtil#estimateCost(MultiValueMap)},
+ * while each write costs one. Requests that cannot be admitted right away are queued for a limited time.
+ * If the queue is full the request is rejected with HTTP 429, if it times out in the queue with HTTP 503. In both
+ * cases the response carries a <code>Retry-After</code> header.
+ * </p>
+ */
+@Service
+public class AdmissionController implements MetricsSource {
+
+    @SuppressWarnings("unused")
+    @Autowired
+    private LogSearchUtil logSearchUtil;
+
+    @SuppressWarnings("unused")
+    @Value("${admission.enabled:true}")
+    private boolean enabled;
+
+    @SuppressWarnings("unused")
+    @Value("${admission.read.budget:20}")
+    private int readBudget;
+
+    @SuppressWarnings("unused")
+    @Value("${admission.read.queue.capacity:100}")
+    private int readQueueCapacity;
+
+    @SuppressWarnings("unused")
+    @Value("${admission.read.queue.timeout:5000}")
+    private long readQueueTimeout;
+
+    @SuppressWarnings("unused")
+    @Value("${admission.write.budget:20}")
+    private int writeBudget;
+
+    @SuppressWarnings("unused")
+    @Value("${admission.write.queue.capacity:100}")
+    private int writeQueueCapacity;
+
+    @SuppressWarnings("unused")
+    @Value("${admission.write.queue.timeout:10000}")
+    private long writeQueueTimeout;
+
+    @SuppressWarnings("unused")
+    @Value("${admission.retry.after:5}")
+    private long retryAfter;
+
+    private AdmissionBudget reads;
+    private AdmissionBudget writes;
+
+    @PostConstruct
+    public void init() {
+        reads = new AdmissionBudget("search", readBudget, readQueueCapacity, readQueueTimeout, retryAfter);
+        writes = new AdmissionBudget("write", writeBudget, writeQueueCapacity, writeQueueTimeout, retryAfter);
+    }
+
+    /**
+     * Admits a log entry search.
+     *
+     * @param searchParameters The search parameters as sent by the client.
+     * @return A {@link Permit} that must be closed once the search result has been sent.
+     * @throws AdmissionRejectedException if the search is not admitted.
+     */
+    public Permit admitSearch(MultiValueMap<String, String> searchParameters) {
+        if (!enabled) {
+            return Permit.NONE;
+        }
+        return reads.acquire(logSearchUtil.estimateCost(searchParameters));
+    }
+
+    /**
+     * Admits a request creating or updating log entries.
+     *
+     * @return A {@link Permit} that must be closed once the write has completed.
+     * @throws AdmissionRejectedException if the write is not admitted.
+     */
+    public Permit admitWrite() {
+        if (!enabled) {
+            return Permit.NONE;
+        }
+        return writes.acquire(1);
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "admission";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("enabled", enabled);
+        if (enabled) {
+            metrics.put("search", reads.getMetrics());
+            metrics.put("write", writes.getMetrics());
+        }
+        return metrics;
+    }
+
+    /**
+     * Permits held by an admitted request. Closing it more than once has no effect.
+     */
+    public static final class Permit implements AutoCloseable {
+
+        static final Permit NONE = new Permit(null, 0);
+
+        private final Semaphore semaphore;
+        private final int permits;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Permit(Semaphore semaphore, int permits) {
+            this.semaphore = semaphore;
+            this.permits = permits;
+        }
+
+        @Override
+        public void close() {
+            if (semaphore != null && released.compareAndSet(false, true)) {
+                semaphore.release(permits);
+            }
+        }
+    }
+}
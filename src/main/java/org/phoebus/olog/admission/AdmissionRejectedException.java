@@ -0,0 +1,30 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+
+package org.phoebus.olog.admission;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Thrown when a request is not admitted by the {@link AdmissionController}. The response carries a
+ * <code>Retry-After</code> header.
+ */
+public class AdmissionRejectedException extends ResponseStatusException {
+
+    private final long retryAfter;
+
+    public AdmissionRejectedException(HttpStatus status, String reason, long retryAfter) {
+        super(status, reason);
+        this.retryAfter = retryAfter;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+        return headers;
+    }
+}
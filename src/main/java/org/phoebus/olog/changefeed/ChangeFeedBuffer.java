@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+
+package org.phoebus.olog.changefeed;
+
+import org.phoebus.olog.entity.Log;
+import org.phoebus.olog.entity.websocket.MessageType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded ring buffer holding the most recent {@link ChangeFeedEvent}s. The buffer is also responsible
+ * for assigning positions so that the order of the buffer always matches the order of the positions.
+ * <p>
+ * The buffer keeps track of the <i>floor</i> position, i.e. the highest position it cannot account for.
+ * This is the position of the most recently evicted event or, if nothing has been evicted yet, the position
+ * just before the buffer was created. A client having seen all events up to a position at or above the floor
+ * can be brought up to date from the buffer alone.
+ * </p>
+ */
+public class ChangeFeedBuffer {
+
+    private final ChangeFeedEvent[] events;
+    private final LongSupplier clock;
+
+    /**
+     * Index of the next slot to write.
+     */
+    private int head;
+    private int count;
+    private long lastPosition;
+    private long floor;
+
+    /**
+     * @param capacity Maximum number of events held in the buffer.
+     * @param clock    Supplier of the current epoch millisecond.
+     */
+    public ChangeFeedBuffer(int capacity, LongSupplier clock) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Change feed buffer capacity must be positive");
+        }
+        this.events = new ChangeFeedEvent[capacity];
+        this.clock = clock;
+        this.lastPosition = ChangeFeedEvent.fromEpochMilli(clock.getAsLong()) - 1;
+        this.floor = lastPosition;
+    }
+
+    /**
+     * Creates a new {@link ChangeFeedEvent} and adds it to the buffer, evicting the oldest
+     * event if the buffer is full.
+     *
+     * @param messageType The type of change.
+     * @param log         The log entry subject to the change.
+     * @return The new {@link ChangeFeedEvent}.
+     */
+    public synchronized ChangeFeedEvent append(MessageType messageType, Log log) {
+        long position = Math.max(ChangeFeedEvent.fromEpochMilli(clock.getAsLong()), lastPosition + 1);
+        ChangeFeedEvent event = new ChangeFeedEvent(position, messageType, log);
+        if (count == events.length) {
+            floor = events[head].position();
+        } else {
+            count++;
+        }
+        events[head] = event;
+        head = (head + 1) % events.length;
+        lastPosition = position;
+        return event;
+    }
+
+    /**
+     * @param position A position as seen by a client.
+     * @return All buffered events with a position greater than the specified position, oldest first.
+     */
+    public synchronized List<ChangeFeedEvent> eventsAfter(long position) {
+        List<ChangeFeedEvent> result = new ArrayList<>();
+        int start = (head - count + events.length) % events.length;
+        for (int i = 0; i < count; i++) {
+            ChangeFeedEvent event = events[(start + i) % events.length];
+            if (event.position() > position) {
+                result.add(event);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return The highest position the buffer cannot account for.
+     */
+    public synchronized long getFloor() {
+        return floor;
+    }
+
+    /**
+     * @return The most recently assigned position.
+     */
+    public synchronized long getLastPosition() {
+        return lastPosition;
+    }
+
+    /**
+     * @return The number of events currently held in the buffer.
+     */
+    public synchronized int size() {
+        return count;
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+
+package org.phoebus.olog.changefeed;
+
+import org.phoebus.olog.entity.Log;
+import org.phoebus.olog.entity.websocket.MessageType;
+
+/**
+ * A single event in the change feed.
+ *
+ * @param position    Monotonically increasing position of the event. This is sent to clients as the
+ *                    SSE event id, and clients resuming a stream send it back in the <code>Last-Event-ID</code> header.
+ *                    The value is the epoch millisecond of the change multiplied by 1000, plus a sequence
+ *                    number for changes occurring within the same millisecond.
+ * @param messageType Either {@link MessageType#NEW_LOG_ENTRY} or {@link MessageType#LOG_ENTRY_UPDATED}.
+ * @param log         The log entry as persisted.
+ */
+public record ChangeFeedEvent(long position, MessageType messageType, Log log) {
+
+    /**
+     * Number of positions available per millisecond.
+     */
+    public static final long POSITIONS_PER_MILLI = 1000L;
+
+    /**
+     * @param position A change feed position.
+     * @return The epoch millisecond encoded in the position.
+     */
+    public static long toEpochMilli(long position) {
+        return position / POSITIONS_PER_MILLI;
+    }
+
+    /**
+     * @param epochMilli An epoch millisecond.
+     * @return The lowest position that may be assigned to a change at the specified millisecond.
+     */
+    public static long fromEpochMilli(long epochMilli) {
+        return epochMilli * POSITIONS_PER_MILLI;
+    }
+}
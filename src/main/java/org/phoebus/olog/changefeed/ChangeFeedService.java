@@ -0,0 +1,253 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+
+package org.phoebus.olog.changefeed;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.phoebus.olog.LogRepository;
+import org.phoebus.olog.TextUtil;
+import org.phoebus.olog.entity.Log;
+import org.phoebus.olog.entity.websocket.MessageType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.text.MessageFormat;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Maintains the Server-Sent Events change feed, i.e. a push stream of new and updated log entries for
+ * clients that cannot use the STOMP web socket.
+ * <p>
+ * Each event is stamped with a monotonically increasing position (see {@link ChangeFeedEvent}). A client
+ * reconnecting with a <code>Last-Event-ID</code> is sent the events it missed: from the in-memory
+ * {@link ChangeFeedBuffer} if it still holds them, otherwise from a query on <code>createdDate</code> and
+ * <code>modifyDate</code> in Elasticsearch, followed by the buffer contents. The latter covers restarts of the
+ * service as well as clients being away for longer than the buffer can hold. In this case delivery is
+ * at-least-once, i.e. a client may see an event it has already processed.
+ * </p>
+ * <p>
+ * All writes to the subscribers are done on a single dispatcher thread so that events are sent in order
+ * and so that slow clients do not delay the request creating or updating the log entry.
+ * </p>
+ */
+@Service
+public class ChangeFeedService {
+
+    private static final Logger logger = Logger.getLogger(ChangeFeedService.class.getName());
+
+    @SuppressWarnings("unused")
+    @Autowired
+    private LogRepository logRepository;
+
+    @SuppressWarnings("unused")
+    @Value("${changefeed.buffer.size:1000}")
+    private int bufferSize;
+
+    @SuppressWarnings("unused")
+    @Value("${changefeed.emitter.timeout:1800000}")
+    private long emitterTimeout;
+
+    @SuppressWarnings("unused")
+    @Value("${changefeed.heartbeat.interval:30}")
+    private long heartbeatInterval;
+
+    @SuppressWarnings("unused")
+    @Value("${changefeed.replay.max.size:1000}")
+    private int replayMaxSize;
+
+    private ChangeFeedBuffer buffer;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private ExecutorService dispatcher;
+    private ScheduledExecutorService heartbeatScheduler;
+
+    @PostConstruct
+    public void init() {
+        buffer = new ChangeFeedBuffer(bufferSize, System::currentTimeMillis);
+        dispatcher = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "change-feed-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeatScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "change-feed-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeatScheduler.scheduleAtFixedRate(() -> dispatcher.execute(this::sendHeartbeat),
+                heartbeatInterval, heartbeatInterval, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeatScheduler.shutdownNow();
+        dispatcher.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    /**
+     * Adds an event to the change feed and pushes it to all current subscribers.
+     *
+     * @param messageType Either {@link MessageType#NEW_LOG_ENTRY} or {@link MessageType#LOG_ENTRY_UPDATED}.
+     * @param log         The persisted log entry. If <code>null</code>, this method does nothing.
+     */
+    public void publish(@NonNull MessageType messageType, Log log) {
+        if (log == null) {
+            return;
+        }
+        ChangeFeedEvent event = buffer.append(messageType, log);
+        dispatcher.execute(() -> subscribers.forEach(subscriber -> send(subscriber, event)));
+    }
+
+    /**
+     * Registers a new subscriber.
+     *
+     * @param lastEventId The position of the last event seen by the client, or <code>null</code> if the client
+     *                    wants only events published from now on.
+     * @return An {@link SseEmitter} to return to the client.
+     * @throws IllegalArgumentException if <code>lastEventId</code> is not a valid position.
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        long lastPosition;
+        List<ChangeFeedEvent> replay = new ArrayList<>();
+        if (lastEventId == null || lastEventId.isBlank()) {
+            lastPosition = buffer.getLastPosition();
+        } else {
+            try {
+                lastPosition = Long.parseLong(lastEventId.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(MessageFormat.format(TextUtil.CHANGE_FEED_INVALID_LAST_EVENT_ID, lastEventId));
+            }
+            long floor = buffer.getFloor();
+            if (lastPosition < floor) {
+                replay = findChangedBetween(lastPosition, floor);
+            }
+        }
+
+        SseEmitter emitter = new SseEmitter(emitterTimeout);
+        Subscriber subscriber = new Subscriber(emitter, lastPosition);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(throwable -> subscribers.remove(subscriber));
+
+        List<ChangeFeedEvent> replayEvents = replay;
+        dispatcher.execute(() -> {
+            replayEvents.forEach(event -> send(subscriber, event));
+            buffer.eventsAfter(subscriber.lastPosition).forEach(event -> send(subscriber, event));
+            if (!subscriber.closed) {
+                subscribers.add(subscriber);
+            }
+        });
+        return emitter;
+    }
+
+    /**
+     * @return The number of currently connected subscribers.
+     */
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Queries Elasticsearch for log entries changed after the specified position, but before the
+     * floor of the buffer, and converts them to {@link ChangeFeedEvent}s sorted by time of change. Positions
+     * are synthesized from the time of change, and are guaranteed to be increasing and greater than
+     * <code>lastPosition</code>.
+     *
+     * @param lastPosition Position of the last event seen by client.
+     * @param floor        The floor of the buffer, see {@link ChangeFeedBuffer#getFloor()}.
+     * @return A {@link List} of {@link ChangeFeedEvent}s, possibly empty.
+     */
+    private List<ChangeFeedEvent> findChangedBetween(long lastPosition, long floor) {
+        Instant from = Instant.ofEpochMilli(ChangeFeedEvent.toEpochMilli(lastPosition));
+        Instant to = Instant.ofEpochMilli(ChangeFeedEvent.toEpochMilli(floor) + 1);
+        List<Log> logs = new ArrayList<>(logRepository.findChangedBetween(from, to, replayMaxSize));
+        logs.sort(Comparator.comparing(ChangeFeedService::changeTime));
+        List<ChangeFeedEvent> events = new ArrayList<>();
+        long position = lastPosition;
+        for (Log log : logs) {
+            position = Math.max(ChangeFeedEvent.fromEpochMilli(changeTime(log).toEpochMilli()), position + 1);
+            MessageType messageType = log.getModifyDate() == null ? MessageType.NEW_LOG_ENTRY : MessageType.LOG_ENTRY_UPDATED;
+            events.add(new ChangeFeedEvent(position, messageType, log));
+        }
+        return events;
+    }
+
+    private static Instant changeTime(Log log) {
+        if (log.getModifyDate() != null && (log.getCreatedDate() == null || log.getModifyDate().isAfter(log.getCreatedDate()))) {
+            return log.getModifyDate();
+        }
+        return log.getCreatedDate() != null ? log.getCreatedDate() : Instant.EPOCH;
+    }
+
+    /**
+     * Sends an event to a subscriber unless the subscriber has already seen it. Must be called on the dispatcher thread.
+     *
+     * @param subscriber The {@link Subscriber}
+     * @param event      The {@link ChangeFeedEvent} to send.
+     */
+    private void send(Subscriber subscriber, ChangeFeedEvent event) {
+        if (subscriber.closed || event.position() <= subscriber.lastPosition) {
+            return;
+        }
+        try {
+            subscriber.emitter.send(SseEmitter.event()
+                    .id(Long.toString(event.position()))
+                    .name(event.messageType().name())
+                    .data(event, MediaType.APPLICATION_JSON));
+            subscriber.lastPosition = event.position();
+        } catch (IOException | IllegalStateException e) {
+            logger.log(Level.FINE, TextUtil.CHANGE_FEED_SEND_FAILED, e);
+            close(subscriber);
+        }
+    }
+
+    private void sendHeartbeat() {
+        subscribers.forEach(subscriber -> {
+            try {
+                subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+            } catch (IOException | IllegalStateException e) {
+                logger.log(Level.FINE, TextUtil.CHANGE_FEED_SEND_FAILED, e);
+                close(subscriber);
+            }
+        });
+    }
+
+    private void close(Subscriber subscriber) {
+        subscriber.closed = true;
+        subscribers.remove(subscriber);
+        subscriber.emitter.complete();
+    }
+
+    /**
+     * Keeps track of the last position sent to a client. Accessed only on the dispatcher thread.
+     */
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private long lastPosition;
+        private boolean closed;
+
+        private Subscriber(SseEmitter emitter, long lastPosition) {
+            this.emitter = emitter;
+            this.lastPosition = lastPosition;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+package org.phoebus.olog.entity;
+
+/**
+ * Text extracted from an attachment, indexed with the log entry such that attachment contents are searchable.
+ *
+ * @param id       The id of the {@link Attachment}.
+ * @param filename The file name of the {@link Attachment}.
+ * @param content  The extracted text, possibly truncated.
+ */
+public record AttachmentContent(String id, String filename, String content) {
+}
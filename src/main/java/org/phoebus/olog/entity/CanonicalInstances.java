@@ -0,0 +1,191 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+package org.phoebus.olog.entity;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pool of canonical {@link Logbook}, {@link Tag} and level instances. A search result holds many log entries
+ * referencing the same few logbooks, tags and levels, so instead of keeping a copy per log entry the
+ * deserializers of this class resolve each of them to a shared instance. The deserializers read the fields
+ * of a logbook or tag straight from the parser and only create a new instance if none is pooled yet.
+ * <p>
+ * The deserializers are only used for log entries read from Elasticsearch, see {@link #register(ObjectMapper)}.
+ * Log entries deserialized from request bodies get their own instances, as these may be modified while processing
+ * the request. Shared instances must not be modified. Code that needs to change the logbooks or tags of a log
+ * entry read from Elasticsearch must replace them, as is done when a log entry is updated.
+ * </p>
+ * <p>
+ * The number of instances is bounded: if the pool grows beyond {@link #MAX_SIZE} instances, e.g. because
+ * logbooks have been renamed over time, it is cleared and filled again from subsequent requests.
+ * </p>
+ */
+public final class CanonicalInstances {
+
+    static final int MAX_SIZE = 10000;
+
+    private static final Map<LogbookKey, Logbook> logbooks = new ConcurrentHashMap<>();
+    private static final Map<TagKey, Tag> tags = new ConcurrentHashMap<>();
+    private static final Map<String, String> levels = new ConcurrentHashMap<>();
+
+    private CanonicalInstances() {
+    }
+
+    /**
+     * Makes an {@link ObjectMapper} resolve the logbooks, tags and level of deserialized {@link Log}s to
+     * canonical instances.
+     *
+     * @param objectMapper The {@link ObjectMapper} used to read log entries from Elasticsearch.
+     */
+    public static void register(ObjectMapper objectMapper) {
+        objectMapper.addMixIn(Log.class, LogMixIn.class);
+    }
+
+    /**
+     * @param name  Logbook name
+     * @param owner Logbook owner
+     * @param state Logbook state
+     * @return The canonical instance with the same name, owner and state.
+     */
+    public static Logbook logbook(String name, String owner, State state) {
+        LogbookKey key = new LogbookKey(name, owner, state);
+        Logbook canonical = logbooks.get(key);
+        return canonical != null ? canonical : intern(logbooks, key, new Logbook(name, owner, state));
+    }
+
+    /**
+     * @param name  Tag name
+     * @param state Tag state
+     * @return The canonical instance with the same name and state.
+     */
+    public static Tag tag(String name, State state) {
+        TagKey key = new TagKey(name, state);
+        Tag canonical = tags.get(key);
+        return canonical != null ? canonical : intern(tags, key, new Tag(name, state));
+    }
+
+    /**
+     * @param level A log entry level
+     * @return The canonical instance of the level string, or <code>null</code> if <code>level</code> is <code>null</code>.
+     */
+    public static String level(String level) {
+        return level == null ? null : intern(levels, level, level);
+    }
+
+    private static <K, V> V intern(Map<K, V> pool, K key, V value) {
+        V canonical = pool.get(key);
+        if (canonical != null) {
+            return canonical;
+        }
+        if (pool.size() >= MAX_SIZE) {
+            pool.clear();
+        }
+        canonical = pool.putIfAbsent(key, value);
+        return canonical != null ? canonical : value;
+    }
+
+    /**
+     * Clears the pool. For unit tests only.
+     */
+    static void clear() {
+        logbooks.clear();
+        tags.clear();
+        levels.clear();
+    }
+
+    private record LogbookKey(String name, String owner, State state) {
+    }
+
+    private record TagKey(String name, State state) {
+    }
+
+    /**
+     * @return The name of the first field of the object the parser is positioned at, or <code>null</code> if empty.
+     */
+    private static String firstField(JsonParser p) throws IOException {
+        return p.isExpectedStartObjectToken() ? p.nextFieldName() : p.currentName();
+    }
+
+    /**
+     * Deserialization annotations added to {@link Log} by {@link #register(ObjectMapper)}.
+     */
+    abstract static class LogMixIn {
+
+        @JsonDeserialize(using = LevelDeserializer.class)
+        private String level;
+
+        @JsonDeserialize(contentUsing = LogbookDeserializer.class)
+        private Set<Logbook> logbooks;
+
+        @JsonDeserialize(contentUsing = TagDeserializer.class)
+        private Set<Tag> tags;
+    }
+
+    public static class LogbookDeserializer extends StdDeserializer<Logbook> {
+
+        public LogbookDeserializer() {
+            super(Logbook.class);
+        }
+
+        @Override
+        public Logbook deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            String name = null;
+            String owner = null;
+            State state = State.Active;
+            for (String field = firstField(p); field != null; field = p.nextFieldName()) {
+                p.nextToken();
+                switch (field) {
+                    case "name" -> name = p.getValueAsString();
+                    case "owner" -> owner = p.getValueAsString();
+                    case "state" -> state = ctxt.readValue(p, State.class);
+                    default -> p.skipChildren();
+                }
+            }
+            return logbook(name, owner, state);
+        }
+    }
+
+    public static class TagDeserializer extends StdDeserializer<Tag> {
+
+        public TagDeserializer() {
+            super(Tag.class);
+        }
+
+        @Override
+        public Tag deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            String name = null;
+            State state = State.Active;
+            for (String field = firstField(p); field != null; field = p.nextFieldName()) {
+                p.nextToken();
+                switch (field) {
+                    case "name" -> name = p.getValueAsString();
+                    case "state" -> state = ctxt.readValue(p, State.class);
+                    default -> p.skipChildren();
+                }
+            }
+            return tag(name, state);
+        }
+    }
+
+    public static class LevelDeserializer extends StdDeserializer<String> {
+
+        public LevelDeserializer() {
+            super(String.class);
+        }
+
+        @Override
+        public String deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            return level(p.getValueAsString());
+        }
+    }
+}
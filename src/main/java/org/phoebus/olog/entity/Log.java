@@ -5,7 +5,9 @@
  */
 package org.phoebus.olog.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonIgnoreType;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import jakarta.validation.constraints.NotNull;
@@ -23,9 +25,14 @@ import java.util.TreeSet;
 
 /**
  * Log object that can be represented as JSON in payload data.
+ * <p>
+ * Archived versions of a log entry also carry an <code>archive</code> object identifying the version,
+ * which is not part of this class.
+ * </p>
  *
  * @author Kunal Shroff
  */
+@JsonIgnoreProperties("archive")
 public class Log implements Serializable {
 
     private static final long serialVersionUID = 1L;
@@ -37,6 +44,12 @@ public class Log implements Serializable {
 
     private String source;
     private String description;
+    /**
+     * Sanitized HTML rendered from the source when the log entry is written. Not indexed, and only
+     * returned to clients requesting it.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String html;
 
     @NotNull
     @Size(min = 1, message = "A title must be specified.")
@@ -61,6 +74,11 @@ public class Log implements Serializable {
     private Set<Property> properties = new HashSet<>();
 
     private SortedSet<Attachment> attachments = new TreeSet<>();
+    /**
+     * Text extracted from the attachments in the background. Indexed for search, but not returned to clients.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<AttachmentContent> attachmentContent;
 
 
     protected Log() {
@@ -146,6 +164,24 @@ public class Log implements Serializable {
         this.description = description;
     }
 
+    /**
+     * Getter for the HTML rendered from the log source
+     *
+     * @return the html, or <code>null</code> if the markup scheme does not render HTML
+     */
+    public String getHtml() {
+        return html;
+    }
+
+    /**
+     * Setter for the HTML rendered from the log source
+     *
+     * @param html - the html to set
+     */
+    public void setHtml(String html) {
+        this.html = html;
+    }
+
     /**
      * Getter for log level
      *
@@ -308,6 +344,24 @@ public class Log implements Serializable {
         this.attachments = attachments;
     }
 
+    /**
+     * Getter for the text extracted from the log attachments
+     *
+     * @return the attachment content, or <code>null</code> if no text has been extracted
+     */
+    public List<AttachmentContent> getAttachmentContent() {
+        return attachmentContent;
+    }
+
+    /**
+     * Setter for the text extracted from the log attachments
+     *
+     * @param attachmentContent - the attachment content to set
+     */
+    public void setAttachmentContent(List<AttachmentContent> attachmentContent) {
+        this.attachmentContent = attachmentContent;
+    }
+
     /**
      * @return the serialversionuid
      */
@@ -356,6 +410,7 @@ public class Log implements Serializable {
         private String owner;
         private StringBuilder source = new StringBuilder();
         private StringBuilder description = new StringBuilder();
+        private String html;
         private StringBuilder title = new StringBuilder();
 
         private String level = "Info";
@@ -365,6 +420,7 @@ public class Log implements Serializable {
         private Set<Logbook> logbooks = new HashSet<>();
         private Set<Tag> tags = new HashSet<>();
         private SortedSet<Attachment> attachments = new TreeSet<>();
+        private List<AttachmentContent> attachmentContent;
 
         public LogBuilder() {
         }
@@ -385,6 +441,7 @@ public class Log implements Serializable {
                 this.source = new StringBuilder();
             }
             this.description = new StringBuilder(log.getDescription());
+            this.html = log.getHtml();
             this.title = new StringBuilder(log.getTitle());
             this.level = log.getLevel();
             this.state = log.getState();
@@ -396,6 +453,7 @@ public class Log implements Serializable {
             this.tags = log.getTags();
 
             this.attachments = log.getAttachments();
+            this.attachmentContent = log.getAttachmentContent();
         }
 
         public LogBuilder(String source) {
@@ -444,6 +502,11 @@ public class Log implements Serializable {
             return this;
         }
 
+        public LogBuilder html(String html) {
+            this.html = html;
+            return this;
+        }
+
         public LogBuilder title(String title) {
             if (title != null) {
                 this.title = new StringBuilder(title);
@@ -556,6 +619,7 @@ public class Log implements Serializable {
             }
             log.setEvents(events);
             log.setDescription(this.description.toString());
+            log.setHtml(html);
             log.setTitle(this.title.toString());
             log.setSource(this.source.toString());
             log.setLevel(level);
@@ -564,6 +628,7 @@ public class Log implements Serializable {
             log.setTags(tags);
             log.setProperties(properties);
             log.setAttachments(attachments);
+            log.setAttachmentContent(attachmentContent);
             return log;
         }
     }
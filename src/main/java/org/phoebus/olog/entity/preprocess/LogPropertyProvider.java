@@ -38,4 +38,16 @@ public interface LogPropertyProvider {
      * if it applies a filter that rules out the log entry.
      */
     Property getProperty(Log log);
+
+    /**
+     * Providers returning the same {@link Property} regardless of the log entry, e.g. data read from
+     * an external system, may declare a time to live for which the service will reuse the result rather
+     * than calling the provider for each new log entry.
+     *
+     * @return Time in milliseconds a returned {@link Property} may be reused. A value of zero or less
+     * (the default) disables caching, i.e. the provider is called for every log entry.
+     */
+    default long getCacheTimeToLive() {
+        return 0;
+    }
 }
@@ -20,6 +20,7 @@ package org.phoebus.olog.entity.preprocess.impl;
 
 import org.commonmark.node.Node;
 import org.commonmark.parser.Parser;
+import org.commonmark.renderer.html.HtmlRenderer;
 import org.commonmark.renderer.text.TextContentRenderer;
 import org.phoebus.olog.entity.Log;
 import org.phoebus.olog.entity.preprocess.MarkupCleaner;
@@ -28,12 +29,18 @@ public class CommonmarkCleaner implements MarkupCleaner {
 
     private TextContentRenderer textContentRenderer = TextContentRenderer.builder().build();
     private Parser parser = Parser.builder().build();
+    /**
+     * Raw HTML in the source is escaped and links with unsafe protocols (e.g. javascript:) are neutralized,
+     * so that clients may insert the result into a page as is.
+     */
+    private HtmlRenderer htmlRenderer = HtmlRenderer.builder().escapeHtml(true).sanitizeUrls(true).build();
 
     /**
      * Processes the log entry under the assumption that the description field of a {@link Log} object
      * client can be overwritten. This method treats the source field as a Commonmark source and copies 
      * it to the description field. Then the same string is processed to set the description field to a 
-     * "plain text" variant of the Commonmark source.
+     * "plain text" variant of the Commonmark source. The same parsed document is also rendered to sanitized HTML,
+     * which is stored with the log entry such that clients do not need to render the source on each view.
      * @param log The {@link Log} entry to clean of markup.
      * @return The processed log entry.
      */
@@ -47,6 +54,7 @@ public class CommonmarkCleaner implements MarkupCleaner {
             Node document = parser.parse(log.getDescription());
             String plainText = textContentRenderer.render(document);
             log.setDescription(plainText);
+            log.setHtml(htmlRenderer.render(document));
             return log;
         }
         return log;
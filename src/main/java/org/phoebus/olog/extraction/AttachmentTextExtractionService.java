@@ -0,0 +1,243 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+
+package org.phoebus.olog.extraction;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.phoebus.olog.AttachmentRepository;
+import org.phoebus.olog.LogRepository;
+import org.phoebus.olog.TextUtil;
+import org.phoebus.olog.entity.Attachment;
+import org.phoebus.olog.entity.AttachmentContent;
+import org.phoebus.olog.entity.Log;
+import org.phoebus.olog.metrics.MetricsSource;
+import org.phoebus.olog.storage.GzipContent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.text.MessageFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Extracts text from the attachments of log entries in the background and adds it to the log entry
+ * (see {@link LogRepository#addAttachmentContent(String, AttachmentContent)}) such that it can be searched.
+ * <p>
+ * Extraction runs on a bounded pool of threads with a bounded queue. If the queue is full the attachment is
+ * skipped rather than blocking the request that added it. Files larger than <code>attachment.extraction.max.file.size</code>
+ * bytes, or of a content type not listed in <code>attachment.extraction.content.types</code>, are not parsed. For
+ * files stored compressed, the decompressed size is checked. Files of unknown size are not parsed either.
+ * Parsers that do not stop after a timeout are abandoned; see {@link AttachmentTextExtractor}.
+ * </p>
+ */
+@Service
+public class AttachmentTextExtractionService implements MetricsSource {
+
+    private static final Logger logger = Logger.getLogger(AttachmentTextExtractionService.class.getName());
+
+    @SuppressWarnings("unused")
+    @Autowired
+    private AttachmentRepository attachmentRepository;
+
+    @SuppressWarnings("unused")
+    @Autowired
+    private LogRepository logRepository;
+
+    @SuppressWarnings("unused")
+    @Value("${attachment.extraction.enabled:true}")
+    private boolean enabled;
+
+    @SuppressWarnings("unused")
+    @Value("${attachment.extraction.threads:2}")
+    private int threads;
+
+    @SuppressWarnings("unused")
+    @Value("${attachment.extraction.queue.capacity:1000}")
+    private int queueCapacity;
+
+    @SuppressWarnings("unused")
+    @Value("${attachment.extraction.max.file.size:52428800}")
+    private long maxFileSize;
+
+    @SuppressWarnings("unused")
+    @Value("${attachment.extraction.max.characters:1000000}")
+    private int maxCharacters;
+
+    @SuppressWarnings("unused")
+    @Value("${attachment.extraction.timeout:60000}")
+    private long timeout;
+
+    @SuppressWarnings("unused")
+    @Value("${attachment.extraction.max.abandoned.threads:4}")
+    private int maxAbandonedThreads;
+
+    @SuppressWarnings("unused")
+    @Value("${attachment.extraction.content.types:text/,application/pdf,application/rtf,application/msword,application/vnd.ms-,application/vnd.openxmlformats-officedocument.,application/vnd.oasis.opendocument.}")
+    private List<String> contentTypes;
+
+    private ThreadPoolExecutor executor;
+    private AttachmentTextExtractor extractor;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder extracted = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder refused = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    public AttachmentTextExtractionService() {
+    }
+
+    AttachmentTextExtractionService(AttachmentRepository attachmentRepository, LogRepository logRepository,
+                                    long maxFileSize, List<String> contentTypes) {
+        this.attachmentRepository = attachmentRepository;
+        this.logRepository = logRepository;
+        this.enabled = true;
+        this.threads = 1;
+        this.queueCapacity = 10;
+        this.maxFileSize = maxFileSize;
+        this.maxCharacters = 1000000;
+        this.timeout = 60000;
+        this.maxAbandonedThreads = 4;
+        this.contentTypes = contentTypes;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        extractor = new AttachmentTextExtractor(maxCharacters, timeout, contentTypes, maxAbandonedThreads);
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread thread = new Thread(r, "attachment-text-extraction-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Queues extraction of text from those attachments of a log entry for which no text has been extracted yet.
+     * Does not wait for extraction.
+     *
+     * @param log A log entry as persisted, i.e. with its id and attachment ids set.
+     */
+    public void submit(Log log) {
+        if (executor == null || log.getAttachments() == null) {
+            return;
+        }
+        Set<String> done = log.getAttachmentContent() == null ? Set.of() :
+                log.getAttachmentContent().stream().map(AttachmentContent::id).collect(Collectors.toSet());
+        String logId = log.getId().toString();
+        log.getAttachments().stream()
+                .filter(attachment -> attachment.getId() != null && !done.contains(attachment.getId()))
+                .forEach(attachment -> {
+                    try {
+                        executor.execute(() -> extract(logId, attachment.getId()));
+                        submitted.increment();
+                    } catch (RejectedExecutionException e) {
+                        rejected.increment();
+                        logger.log(Level.WARNING, MessageFormat.format(TextUtil.ATTACHMENT_TEXT_EXTRACTION_REJECTED, attachment.getId(), logId));
+                    }
+                });
+    }
+
+    private void extract(String logId, String attachmentId) {
+        try {
+            Attachment attachment = attachmentRepository.findById(attachmentId).orElseThrow();
+            InputStreamSource source = attachment.getAttachment();
+            long size = contentLength(source);
+            if (size < 0 || size > maxFileSize) {
+                skipped.increment();
+                return;
+            }
+            String text;
+            try (InputStream inputStream = source.getInputStream()) {
+                text = extractor.extract(inputStream, attachment.getFilename());
+            }
+            if (text == null || text.isEmpty()) {
+                skipped.increment();
+                return;
+            }
+            if (logRepository.addAttachmentContent(logId, new AttachmentContent(attachmentId, attachment.getFilename(), text))) {
+                extracted.increment();
+            } else {
+                // Log entry has been removed
+                skipped.increment();
+            }
+        } catch (AttachmentTextExtractor.ExtractionTimeoutException e) {
+            timedOut.increment();
+            logger.log(Level.WARNING, MessageFormat.format(TextUtil.ATTACHMENT_TEXT_EXTRACTION_TIMEOUT, attachmentId, logId, timeout));
+        } catch (AttachmentTextExtractor.ExtractionRefusedException e) {
+            refused.increment();
+            logger.log(Level.WARNING, MessageFormat.format(TextUtil.ATTACHMENT_TEXT_EXTRACTION_REFUSED, attachmentId, logId, maxAbandonedThreads));
+        } catch (Exception e) {
+            failed.increment();
+            logger.log(Level.WARNING, MessageFormat.format(TextUtil.ATTACHMENT_TEXT_EXTRACTION_FAILED, attachmentId, logId), e);
+        }
+    }
+
+    /**
+     * @return The size of the content in bytes, decompressed if stored compressed, or -1 if not known.
+     */
+    private static long contentLength(InputStreamSource source) throws IOException {
+        if (source instanceof GzipContent gzipContent) {
+            return gzipContent.contentLength();
+        }
+        if (source instanceof Resource resource) {
+            return resource.contentLength();
+        }
+        return -1;
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "attachmentTextExtraction";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("enabled", executor != null);
+        metrics.put("queueDepth", executor == null ? 0 : executor.getQueue().size());
+        metrics.put("active", executor == null ? 0 : executor.getActiveCount());
+        metrics.put("submitted", submitted.sum());
+        metrics.put("extracted", extracted.sum());
+        metrics.put("skipped", skipped.sum());
+        metrics.put("rejected", rejected.sum());
+        metrics.put("timedOut", timedOut.sum());
+        metrics.put("refused", refused.sum());
+        metrics.put("abandonedThreads", extractor == null ? 0 : extractor.getAbandonedThreadCount());
+        metrics.put("failed", failed.sum());
+        return metrics;
+    }
+}
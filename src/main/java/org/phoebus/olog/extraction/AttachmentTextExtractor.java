@@ -0,0 +1,244 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+
+package org.phoebus.olog.extraction;
+
+import org.apache.tika.detect.Detector;
+import org.apache.tika.exception.TikaException;
+import org.apache.tika.exception.WriteLimitReachedException;
+import org.apache.tika.io.TikaInputStream;
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.metadata.TikaCoreProperties;
+import org.apache.tika.mime.MediaType;
+import org.apache.tika.parser.AutoDetectParser;
+import org.apache.tika.parser.ParseContext;
+import org.apache.tika.parser.Parser;
+import org.apache.tika.sax.BodyContentHandler;
+import org.apache.tika.sax.ContentHandlerDecorator;
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Extracts plain text from attachment files using Apache Tika, subject to limits on the length of the extracted
+ * text and on the time spent. Only files of the configured content types are considered, other files (e.g. images)
+ * are not parsed at all.
+ * <p>
+ * Each file is parsed on a separate thread, and the calling thread waits for it at most until the deadline. Reading
+ * of the file and the text produced by the parser also check the deadline, such that a well-behaved parser stops
+ * soon after it. A parser that never reaches these checkpoints (e.g. spinning on a decompression bomb) is interrupted
+ * and its thread abandoned. While the number of abandoned threads still running reaches the configured limit, no new
+ * extraction is started.
+ * </p>
+ */
+public class AttachmentTextExtractor {
+
+    private final Detector detector;
+    private final Parser parser;
+    private final int maxCharacters;
+    private final long timeoutNanos;
+    private final List<String> contentTypes;
+    private final int maxAbandonedThreads;
+
+    /**
+     * Parser threads abandoned after a timeout, removed when they terminate.
+     */
+    private final Set<Thread> abandonedThreads = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger threadCount = new AtomicInteger();
+
+    /**
+     * @param maxCharacters       Maximum number of characters to extract. Text beyond this is dropped.
+     * @param timeout             Maximum time in milliseconds to spend on a file.
+     * @param contentTypes        Content types to extract text from. An entry ending with "/" or "." matches all
+     *                            types starting with it, e.g. "text/" or "application/vnd.ms-".
+     * @param maxAbandonedThreads Maximum number of parser threads that did not terminate after a timeout.
+     */
+    public AttachmentTextExtractor(int maxCharacters, long timeout, List<String> contentTypes, int maxAbandonedThreads) {
+        this(new AutoDetectParser(), maxCharacters, timeout, contentTypes, maxAbandonedThreads);
+    }
+
+    private AttachmentTextExtractor(AutoDetectParser parser, int maxCharacters, long timeout, List<String> contentTypes, int maxAbandonedThreads) {
+        this(parser.getDetector(), parser, maxCharacters, timeout, contentTypes, maxAbandonedThreads);
+    }
+
+    AttachmentTextExtractor(Detector detector, Parser parser, int maxCharacters, long timeout, List<String> contentTypes, int maxAbandonedThreads) {
+        this.detector = detector;
+        this.parser = parser;
+        this.maxCharacters = maxCharacters;
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeout);
+        this.contentTypes = contentTypes;
+        this.maxAbandonedThreads = maxAbandonedThreads;
+    }
+
+    /**
+     * @param inputStream The file content. Not closed by this method.
+     * @param filename    The file name, used as a hint for content type detection.
+     * @return The extracted text with whitespace collapsed, or <code>null</code> if the detected content type is
+     * not in the list of supported types.
+     * @throws ExtractionTimeoutException  if the time limit was exceeded.
+     * @throws ExtractionRefusedException  if too many abandoned parser threads are still running.
+     * @throws IOException                 if the file cannot be read or parsed.
+     */
+    public String extract(InputStream inputStream, String filename) throws IOException {
+        if (getAbandonedThreadCount() >= maxAbandonedThreads) {
+            throw new ExtractionRefusedException();
+        }
+        long deadline = System.nanoTime() + timeoutNanos;
+        FutureTask<String> task = new FutureTask<>(() -> parse(inputStream, filename, deadline));
+        Thread thread = new Thread(task, "attachment-text-parser-" + threadCount.incrementAndGet());
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+        try {
+            return task.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            abandon(task, thread);
+            throw new ExtractionTimeoutException(e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException ioException ? ioException : new IOException(e.getCause());
+        } catch (InterruptedException e) {
+            abandon(task, thread);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+    }
+
+    private void abandon(FutureTask<String> task, Thread thread) {
+        task.cancel(true);
+        // The parser may ignore the interrupt, so do not wait for it
+        if (thread.isAlive()) {
+            abandonedThreads.add(thread);
+        }
+    }
+
+    /**
+     * @return The number of parser threads abandoned after a timeout that are still running.
+     */
+    public int getAbandonedThreadCount() {
+        abandonedThreads.removeIf(thread -> !thread.isAlive());
+        return abandonedThreads.size();
+    }
+
+    private String parse(InputStream inputStream, String filename, long deadline) throws IOException {
+        Metadata metadata = new Metadata();
+        if (filename != null) {
+            metadata.set(TikaCoreProperties.RESOURCE_NAME_KEY, filename);
+        }
+        TikaInputStream tikaInputStream = TikaInputStream.get(new DeadlineInputStream(inputStream, deadline));
+        BodyContentHandler handler = new BodyContentHandler(maxCharacters);
+        try {
+            MediaType mediaType = detector.detect(tikaInputStream, metadata);
+            if (!isSupported(mediaType)) {
+                return null;
+            }
+            parser.parse(tikaInputStream, new DeadlineContentHandler(handler, deadline), metadata, new ParseContext());
+        } catch (SAXException | TikaException | IOException e) {
+            if (System.nanoTime() - deadline > 0) {
+                throw new ExtractionTimeoutException(e);
+            }
+            // Text up to the limit is kept
+            if (!WriteLimitReachedException.isWriteLimitReached(e)) {
+                throw e instanceof IOException ioException ? ioException : new IOException(e);
+            }
+        }
+        return handler.toString().replaceAll("\\s+", " ").strip();
+    }
+
+    boolean isSupported(MediaType mediaType) {
+        String type = mediaType.getBaseType().toString();
+        return contentTypes.stream().anyMatch(contentType ->
+                contentType.endsWith("/") || contentType.endsWith(".") ? type.startsWith(contentType) : type.equals(contentType));
+    }
+
+    /**
+     * Thrown if text extraction did not complete in time.
+     */
+    public static class ExtractionTimeoutException extends IOException {
+        public ExtractionTimeoutException(Throwable cause) {
+            super(cause);
+        }
+    }
+
+    /**
+     * Thrown if text extraction is not started because too many parser threads did not terminate after a timeout.
+     */
+    public static class ExtractionRefusedException extends IOException {
+        public ExtractionRefusedException() {
+            super("Too many abandoned parser threads");
+        }
+    }
+
+    private static class DeadlineInputStream extends FilterInputStream {
+
+        private final long deadline;
+
+        DeadlineInputStream(InputStream inputStream, long deadline) {
+            super(inputStream);
+            this.deadline = deadline;
+        }
+
+        private void checkDeadline() throws IOException {
+            if (System.nanoTime() - deadline > 0) {
+                throw new IOException("Deadline exceeded");
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            checkDeadline();
+            return super.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            checkDeadline();
+            return super.read(b, off, len);
+        }
+
+        @Override
+        public void close() {
+            // The underlying stream is owned by the caller
+        }
+    }
+
+    private static class DeadlineContentHandler extends ContentHandlerDecorator {
+
+        private final long deadline;
+
+        DeadlineContentHandler(BodyContentHandler handler, long deadline) {
+            super(handler);
+            this.deadline = deadline;
+        }
+
+        private void checkDeadline() throws SAXException {
+            if (System.nanoTime() - deadline > 0) {
+                throw new SAXException("Deadline exceeded");
+            }
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String name, Attributes atts) throws SAXException {
+            checkDeadline();
+            super.startElement(uri, localName, name, atts);
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) throws SAXException {
+            checkDeadline();
+            super.characters(ch, start, length);
+        }
+    }
+}
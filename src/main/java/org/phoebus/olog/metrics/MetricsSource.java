@@ -0,0 +1,27 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+
+package org.phoebus.olog.metrics;
+
+import java.util.Map;
+
+/**
+ * Implemented by components publishing run-time metrics, e.g. queue depths or counters. All
+ * {@link MetricsSource} beans are collected and exposed by {@link org.phoebus.olog.MetricsResource}.
+ * <p>
+ * Implementations should return a snapshot cheaply and without blocking, as metrics may be polled frequently.
+ * </p>
+ */
+public interface MetricsSource {
+
+    /**
+     * @return A unique name under which the metrics are published, e.g. <code>notifiers</code>.
+     */
+    String getMetricsName();
+
+    /**
+     * @return A snapshot of the current metrics. Values must be serializable to JSON.
+     */
+    Map<String, Object> getMetrics();
+}
@@ -20,11 +20,37 @@ package org.phoebus.olog.notification;
 
 import org.phoebus.olog.entity.Log;
 
+import java.util.List;
+
 /**
  * Interface for notifying when a new log record has been created. Implementations should
  * register through the regular Java SPI mechanism.
+ * <p>
+ * Each notifier is called from a dedicated worker thread, see {@link NotificationDispatcher}. A call
+ * that throws an exception or does not complete within the configured timeout is retried, so implementations
+ * should be prepared to see the same log entry more than once.
+ * </p>
  * See {@link org.phoebus.olog.LogResource}
  */
 public interface LogEntryNotifier {
     void notify(Log logEntry);
+
+    /**
+     * Notifies about several log entries in one call. Implementations able to deliver in bulk (e.g. a single
+     * e-mail or chat message) should override this together with {@link #getMaxBatchSize()}. The default
+     * implementation calls {@link #notify(Log)} for each log entry.
+     *
+     * @param logEntries Non-empty list of log entries, oldest first.
+     */
+    default void notify(List<Log> logEntries) {
+        logEntries.forEach(this::notify);
+    }
+
+    /**
+     * @return The maximum number of log entries passed to {@link #notify(List)}. If 1 (the default),
+     * {@link #notify(Log)} is used.
+     */
+    default int getMaxBatchSize() {
+        return 1;
+    }
 }
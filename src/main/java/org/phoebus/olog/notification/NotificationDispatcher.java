@@ -0,0 +1,332 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+
+package org.phoebus.olog.notification;
+
+import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.phoebus.olog.LogRepository;
+import org.phoebus.olog.TextUtil;
+import org.phoebus.olog.entity.Log;
+import org.phoebus.olog.metrics.MetricsSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.text.MessageFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Dispatches new log entries to the {@link LogEntryNotifier}s registered over SPI. Each notifier
+ * is served by its own {@link NotifierWorker}, i.e. its own bounded queue and thread.
+ * <p>
+ * Unless disabled, each log entry is also written to a persistent outbox (see {@link NotificationOutboxRepository})
+ * in the same bulk request as the log entry itself, see {@link #outboxOperations(String)}. The outbox entry is
+ * removed once all notifiers have acknowledged delivery. A background poller
+ * picks up entries that are not acknowledged in time - because a notifier failed, the queue was full or the service
+ * was restarted - and queues them again with exponential backoff. Delivery is hence at-least-once, provided the
+ * outbox entry could be written. If writing it fails, even when retried on its own, the log entry is only delivered
+ * from the in-memory queues, which is logged and counted as <code>notPersisted</code> in the metrics.
+ * </p>
+ */
+@Service
+public class NotificationDispatcher implements MetricsSource, NotifierWorker.DeliveryListener {
+
+    private static final Logger logger = Logger.getLogger(NotificationDispatcher.class.getName());
+
+    /**
+     * Number of attempts to write an outbox entry on its own, see {@link #writeOutboxEntry(String)}.
+     */
+    static final int OUTBOX_WRITE_ATTEMPTS = 3;
+    /**
+     * Delay in milliseconds before the first retry of writing an outbox entry, doubled for each further retry.
+     */
+    static final long OUTBOX_WRITE_RETRY_DELAY = 100;
+
+    @SuppressWarnings("unused")
+    @Autowired
+    private List<LogEntryNotifier> logEntryNotifiers;
+
+    @SuppressWarnings("unused")
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+
+    @SuppressWarnings("unused")
+    @Autowired
+    private LogRepository logRepository;
+
+    @SuppressWarnings("unused")
+    @Value("${notifier.queue.capacity:1000}")
+    private int queueCapacity;
+
+    @SuppressWarnings("unused")
+    @Value("${notifier.queue.overflow:DROP_OLDEST}")
+    private NotifierWorker.OverflowPolicy overflowPolicy;
+
+    @SuppressWarnings("unused")
+    @Value("${notifier.timeout:30000}")
+    private long timeout;
+
+    @SuppressWarnings("unused")
+    @Value("${notifier.retry.max:3}")
+    private int maxRetries;
+
+    @SuppressWarnings("unused")
+    @Value("${notifier.retry.delay:1000}")
+    private long retryDelay;
+
+    @SuppressWarnings("unused")
+    @Value("${notifier.max.abandoned.threads:4}")
+    private int maxAbandonedThreads;
+
+    @SuppressWarnings("unused")
+    @Value("${notifier.outbox.enabled:true}")
+    private boolean outboxEnabled;
+
+    @SuppressWarnings("unused")
+    @Value("${notifier.outbox.poll.interval:30}")
+    private long outboxPollInterval;
+
+    @SuppressWarnings("unused")
+    @Value("${notifier.outbox.poll.size:100}")
+    private int outboxPollSize;
+
+    @SuppressWarnings("unused")
+    @Value("${notifier.outbox.lease:600000}")
+    private long outboxLease;
+
+    @SuppressWarnings("unused")
+    @Value("${notifier.outbox.retry.delay:60000}")
+    private long outboxRetryDelay;
+
+    @SuppressWarnings("unused")
+    @Value("${notifier.outbox.retry.delay.max:3600000}")
+    private long outboxRetryDelayMax;
+
+    @SuppressWarnings("unused")
+    @Value("${notifier.outbox.retry.max:20}")
+    private int outboxMaxAttempts;
+
+    private final Map<String, NotifierWorker> workers = new LinkedHashMap<>();
+    private ScheduledExecutorService outboxPoller;
+
+    private final LongAdder outboxRedelivered = new LongAdder();
+    private final LongAdder outboxAbandoned = new LongAdder();
+    private final LongAdder outboxErrors = new LongAdder();
+    private final LongAdder outboxNotPersisted = new LongAdder();
+
+    public NotificationDispatcher() {
+    }
+
+    NotificationDispatcher(List<LogEntryNotifier> logEntryNotifiers, NotificationOutboxRepository outboxRepository,
+                           LogRepository logRepository, long timeout, long outboxLease) {
+        this.logEntryNotifiers = logEntryNotifiers;
+        this.outboxRepository = outboxRepository;
+        this.logRepository = logRepository;
+        this.queueCapacity = 1000;
+        this.overflowPolicy = NotifierWorker.OverflowPolicy.DROP_OLDEST;
+        this.timeout = timeout;
+        this.maxAbandonedThreads = NotifierWorker.DEFAULT_MAX_ABANDONED_THREADS;
+        this.outboxEnabled = true;
+        // Polled explicitly with pollOutbox()
+        this.outboxPollInterval = 3600;
+        this.outboxPollSize = 100;
+        this.outboxLease = outboxLease;
+        this.outboxRetryDelay = outboxLease;
+        this.outboxRetryDelayMax = outboxLease;
+        this.outboxMaxAttempts = 20;
+    }
+
+    @PostConstruct
+    public void init() {
+        logEntryNotifiers.forEach(notifier -> {
+            NotifierWorker worker = new NotifierWorker(notifier, queueCapacity, overflowPolicy, timeout, maxRetries, retryDelay, maxAbandonedThreads, this);
+            worker.start();
+            workers.put(worker.getName(), worker);
+        });
+        if (outboxEnabled && !workers.isEmpty()) {
+            outboxPoller = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "notifier-outbox-poller");
+                thread.setDaemon(true);
+                return thread;
+            });
+            outboxPoller.scheduleWithFixedDelay(this::pollOutbox, outboxPollInterval, outboxPollInterval, TimeUnit.SECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (outboxPoller != null) {
+            outboxPoller.shutdownNow();
+        }
+        workers.values().forEach(NotifierWorker::stop);
+    }
+
+    /**
+     * Creates the operations adding a new log entry to the outbox, to be written in the same bulk request as
+     * the log entry, see {@link LogRepository#save(Log, java.util.function.Function, java.util.function.Consumer)}.
+     * Hence the outbox entry is written even if the service stops right after saving the log entry. Bulk requests
+     * are not atomic, so if the log entry is saved but the outbox entry is not, {@link #writeOutboxEntry(String)}
+     * must be called.
+     *
+     * @param logId The id of the new log entry.
+     * @return The operations, empty if the outbox is disabled or no notifiers are registered.
+     */
+    public List<BulkOperation> outboxOperations(String logId) {
+        if (!outboxEnabled || workers.isEmpty()) {
+            return List.of();
+        }
+        return List.of(outboxRepository.saveOperation(logId, List.copyOf(workers.keySet()), System.currentTimeMillis() + outboxLease));
+    }
+
+    /**
+     * Writes the outbox entry of a saved log entry on its own, after writing it in the same bulk request as the log
+     * entry failed. Tried {@link #OUTBOX_WRITE_ATTEMPTS} times with backoff. If all attempts fail, the log entry is
+     * only delivered from the in-memory queues, see {@link #dispatch(Log)}.
+     *
+     * @param logId The id of the saved log entry.
+     */
+    public void writeOutboxEntry(String logId) {
+        if (!outboxEnabled || workers.isEmpty()) {
+            return;
+        }
+        long delay = OUTBOX_WRITE_RETRY_DELAY;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                outboxRepository.save(logId, List.copyOf(workers.keySet()), System.currentTimeMillis() + outboxLease);
+                return;
+            } catch (IOException | RuntimeException e) {
+                outboxErrors.increment();
+                if (attempt >= OUTBOX_WRITE_ATTEMPTS) {
+                    outboxNotPersisted.increment();
+                    logger.log(Level.SEVERE, MessageFormat.format(TextUtil.NOTIFICATION_OUTBOX_NOT_PERSISTED, logId, attempt), e);
+                    return;
+                }
+                logger.log(Level.WARNING, MessageFormat.format(TextUtil.NOTIFICATION_OUTBOX_UPDATE_FAILED, logId), e);
+            }
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                outboxNotPersisted.increment();
+                logger.log(Level.SEVERE, MessageFormat.format(TextUtil.NOTIFICATION_OUTBOX_NOT_PERSISTED, logId, attempt));
+                return;
+            }
+            delay *= 2;
+        }
+    }
+
+    /**
+     * Queues a new log entry for delivery to all notifiers. Does not wait for delivery. The log entry must have
+     * been saved together with its {@link #outboxOperations(String)}, such that the outbox poller delivers it
+     * again if this attempt fails.
+     *
+     * @param log The new log entry.
+     */
+    public void dispatch(Log log) {
+        workers.values().forEach(worker -> worker.offer(log));
+    }
+
+    @Override
+    public void delivered(NotifierWorker worker, List<Log> logs) {
+        if (!outboxEnabled) {
+            return;
+        }
+        logs.forEach(log -> {
+            try {
+                outboxRepository.acknowledge(log.getId().toString(), worker.getName());
+            } catch (IOException | RuntimeException e) {
+                // Entry will be delivered again once its lease expires
+                outboxErrors.increment();
+                logger.log(Level.WARNING, MessageFormat.format(TextUtil.NOTIFICATION_OUTBOX_UPDATE_FAILED, log.getId()), e);
+            }
+        });
+    }
+
+    @Override
+    public void undelivered(NotifierWorker worker, List<Log> logs) {
+        if (!outboxEnabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        logs.forEach(log -> {
+            try {
+                outboxRepository.reschedule(log.getId().toString(), now, outboxRetryDelay, outboxRetryDelayMax);
+            } catch (IOException | RuntimeException e) {
+                outboxErrors.increment();
+                logger.log(Level.WARNING, MessageFormat.format(TextUtil.NOTIFICATION_OUTBOX_UPDATE_FAILED, log.getId()), e);
+            }
+        });
+    }
+
+    /**
+     * Queues outbox entries due for another attempt to the notifiers that have not yet acknowledged them.
+     */
+    void pollOutbox() {
+        try {
+            long now = System.currentTimeMillis();
+            for (NotificationOutboxEntry entry : outboxRepository.findDue(now, outboxPollSize)) {
+                if (entry.attempts() >= outboxMaxAttempts) {
+                    outboxAbandoned.increment();
+                    logger.log(Level.SEVERE, MessageFormat.format(TextUtil.NOTIFICATION_OUTBOX_ABANDONED, entry.logId(), entry.attempts(), entry.pending()));
+                    outboxRepository.delete(entry.logId());
+                    continue;
+                }
+                // Another service instance may have claimed the entry
+                if (!outboxRepository.claim(entry.logId(), now, now + outboxLease)) {
+                    continue;
+                }
+                Optional<Log> log = logRepository.findById(entry.logId());
+                if (log.isEmpty()) {
+                    outboxRepository.delete(entry.logId());
+                    continue;
+                }
+                for (String notifier : entry.pending()) {
+                    NotifierWorker worker = workers.get(notifier);
+                    if (worker == null) {
+                        // Notifier no longer registered
+                        outboxRepository.acknowledge(entry.logId(), notifier);
+                    } else {
+                        outboxRedelivered.increment();
+                        worker.offer(log.get());
+                    }
+                }
+            }
+        } catch (Exception e) {
+            outboxErrors.increment();
+            logger.log(Level.WARNING, TextUtil.NOTIFICATION_OUTBOX_POLL_FAILED, e);
+        }
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "notifiers";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        workers.forEach((name, worker) -> metrics.put(name, worker.getMetrics()));
+        if (outboxEnabled) {
+            Map<String, Object> outbox = new LinkedHashMap<>();
+            outbox.put("redelivered", outboxRedelivered.sum());
+            outbox.put("abandoned", outboxAbandoned.sum());
+            outbox.put("errors", outboxErrors.sum());
+            outbox.put("notPersisted", outboxNotPersisted.sum());
+            metrics.put("outbox", outbox);
+        }
+        return metrics;
+    }
+}
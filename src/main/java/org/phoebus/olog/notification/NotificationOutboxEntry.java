@@ -0,0 +1,23 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+
+package org.phoebus.olog.notification;
+
+import java.util.List;
+
+/**
+ * A log entry not yet delivered to all {@link LogEntryNotifier}s.
+ *
+ * @param logId       Id of the log entry, also used as document id.
+ * @param pending     Names of the notifiers that have not yet acknowledged delivery.
+ * @param attempts    Number of failed delivery rounds.
+ * @param createdDate Epoch millis when the entry was added to the outbox.
+ * @param nextAttempt Epoch millis before which the entry is not picked up by the outbox poller.
+ */
+public record NotificationOutboxEntry(String logId,
+                                      List<String> pending,
+                                      int attempts,
+                                      long createdDate,
+                                      long nextAttempt) {
+}
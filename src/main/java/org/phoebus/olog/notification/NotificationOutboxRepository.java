@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+
+package org.phoebus.olog.notification;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import co.elastic.clients.elasticsearch._types.Result;
+import co.elastic.clients.elasticsearch._types.Script;
+import co.elastic.clients.elasticsearch._types.SortOrder;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.UpdateResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import co.elastic.clients.json.JsonData;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import static org.phoebus.olog.ElasticConfig.ES_NOTIFICATION_OUTBOX_INDEX;
+
+/**
+ * Persists {@link NotificationOutboxEntry}s in Elasticsearch. Updates are done with scripts executed on
+ * the Elasticsearch side, such that concurrent acknowledgements from several notifiers - or several service
+ * instances sharing the index - do not overwrite each other.
+ */
+@Repository
+public class NotificationOutboxRepository {
+
+    private static final String ACKNOWLEDGE_SCRIPT =
+            "ctx._source.pending.removeIf(p -> p == params.notifier); " +
+                    "if (ctx._source.pending.isEmpty()) { ctx.op = 'delete' }";
+
+    private static final String RESCHEDULE_SCRIPT =
+            "ctx._source.attempts += 1; " +
+                    "ctx._source.nextAttempt = params.now + (long)Math.min(params.maxDelay, params.delay * Math.pow(2, ctx._source.attempts - 1));";
+
+    private static final String CLAIM_SCRIPT =
+            "if (ctx._source.nextAttempt > params.now) { ctx.op = 'noop' } else { ctx._source.nextAttempt = params.until }";
+
+    private static final int RETRY_ON_CONFLICT = 5;
+
+    @SuppressWarnings("unused")
+    @Autowired
+    @Qualifier("client")
+    private ElasticsearchClient client;
+
+    /**
+     * Adds a log entry to the outbox.
+     *
+     * @param logId       The log entry id.
+     * @param notifiers   Names of the notifiers that must acknowledge delivery.
+     * @param nextAttempt Epoch millis before which the poller should leave the entry alone.
+     * @throws IOException if the entry could not be persisted.
+     */
+    public void save(String logId, List<String> notifiers, long nextAttempt) throws IOException {
+        NotificationOutboxEntry entry = new NotificationOutboxEntry(logId, notifiers, 0, System.currentTimeMillis(), nextAttempt);
+        client.index(i -> i.index(ES_NOTIFICATION_OUTBOX_INDEX).id(logId).document(entry));
+    }
+
+    /**
+     * Creates the operation adding a log entry to the outbox, such that it can be written in the same bulk
+     * request as the log entry itself, see {@link org.phoebus.olog.LogRepository#save(org.phoebus.olog.entity.Log, java.util.function.Function)}.
+     *
+     * @param logId       The log entry id.
+     * @param notifiers   Names of the notifiers that must acknowledge delivery.
+     * @param nextAttempt Epoch millis before which the poller should leave the entry alone.
+     * @return The bulk operation.
+     */
+    public BulkOperation saveOperation(String logId, List<String> notifiers, long nextAttempt) {
+        NotificationOutboxEntry entry = new NotificationOutboxEntry(logId, notifiers, 0, System.currentTimeMillis(), nextAttempt);
+        return BulkOperation.of(op -> op.index(i -> i.index(ES_NOTIFICATION_OUTBOX_INDEX).id(logId).document(entry)));
+    }
+
+    /**
+     * @param now  Current epoch millis.
+     * @param size Max number of entries to return.
+     * @return Entries due for another delivery attempt, most overdue first.
+     * @throws IOException if the search fails.
+     */
+    public List<NotificationOutboxEntry> findDue(long now, int size) throws IOException {
+        SearchRequest searchRequest = SearchRequest.of(s -> s.index(ES_NOTIFICATION_OUTBOX_INDEX)
+                .query(q -> q.range(r -> r.number(n -> n.field("nextAttempt").lte((double) now))))
+                .sort(o -> o.field(f -> f.field("nextAttempt").order(SortOrder.Asc)))
+                .size(size));
+        SearchResponse<NotificationOutboxEntry> response = client.search(searchRequest, NotificationOutboxEntry.class);
+        return response.hits().hits().stream().map(Hit::source).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Claims an entry for a delivery round, unless another poller got there first.
+     *
+     * @param logId The log entry id.
+     * @param now   Current epoch millis.
+     * @param until Epoch millis until which the entry is reserved for this round.
+     * @return <code>true</code> if the entry was claimed.
+     * @throws IOException if the update fails.
+     */
+    public boolean claim(String logId, long now, long until) throws IOException {
+        UpdateResponse<NotificationOutboxEntry> response = update(logId, CLAIM_SCRIPT, Map.of("now", now, "until", until));
+        return response != null && response.result() == Result.Updated;
+    }
+
+    /**
+     * Records successful delivery to a notifier. The entry is deleted once all notifiers have acknowledged.
+     *
+     * @param logId    The log entry id.
+     * @param notifier Name of the notifier.
+     * @throws IOException if the update fails.
+     */
+    public void acknowledge(String logId, String notifier) throws IOException {
+        update(logId, ACKNOWLEDGE_SCRIPT, Map.of("notifier", notifier));
+    }
+
+    /**
+     * Records a failed delivery round and schedules the next one with exponential backoff.
+     *
+     * @param logId    The log entry id.
+     * @param now      Current epoch millis.
+     * @param delay    Delay in milliseconds after the first failed round.
+     * @param maxDelay Max delay in milliseconds.
+     * @throws IOException if the update fails.
+     */
+    public void reschedule(String logId, long now, long delay, long maxDelay) throws IOException {
+        update(logId, RESCHEDULE_SCRIPT, Map.of("now", now, "delay", delay, "maxDelay", maxDelay));
+    }
+
+    /**
+     * @param logId The log entry id.
+     * @throws IOException if the delete request fails.
+     */
+    public void delete(String logId) throws IOException {
+        client.delete(d -> d.index(ES_NOTIFICATION_OUTBOX_INDEX).id(logId));
+    }
+
+    /**
+     * @return <code>null</code> if the entry does not exist, e.g. if it has already been fully acknowledged.
+     */
+    private UpdateResponse<NotificationOutboxEntry> update(String logId, String source, Map<String, Object> params) throws IOException {
+        Script script = Script.of(s -> s.source(source)
+                .params(params.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, e -> JsonData.of(e.getValue())))));
+        try {
+            return client.update(u -> u.index(ES_NOTIFICATION_OUTBOX_INDEX)
+                            .id(logId)
+                            .script(script)
+                            .retryOnConflict(RETRY_ON_CONFLICT),
+                    NotificationOutboxEntry.class);
+        } catch (ElasticsearchException e) {
+            if (e.status() == 404) {
+                return null;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,349 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+
+package org.phoebus.olog.notification;
+
+import org.phoebus.olog.TextUtil;
+import org.phoebus.olog.entity.Log;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Delivers log entries to a single {@link LogEntryNotifier} from a bounded queue on a dedicated thread,
+ * such that a slow or failing notifier does not affect other notifiers or the request creating the log entry.
+ * <p>
+ * Each call to the notifier is subject to a timeout. A call that fails or times out is retried with exponential
+ * backoff up to a configurable number of times, after which the log entries are dropped. When the queue is full,
+ * either the oldest queued or the new log entry is dropped according to the {@link OverflowPolicy}.
+ * </p>
+ * <p>
+ * The outcome of each delivery is reported to a {@link DeliveryListener}, which may use it to keep track of
+ * log entries that need to be delivered again later.
+ * </p>
+ * <p>
+ * A call that times out is interrupted and its thread abandoned, as the notifier may ignore the interrupt. While the
+ * number of abandoned threads still running reaches the configured limit, the notifier is considered unhealthy:
+ * it is not called, and log entries are reported as undelivered right away. It recovers once abandoned threads
+ * terminate.
+ * </p>
+ */
+public class NotifierWorker {
+
+    private static final Logger logger = Logger.getLogger(NotifierWorker.class.getName());
+
+    /**
+     * Default max number of abandoned call threads, see {@link #NotifierWorker(LogEntryNotifier, int, OverflowPolicy, long, int, long, int, DeliveryListener)}.
+     */
+    public static final int DEFAULT_MAX_ABANDONED_THREADS = 4;
+
+    /**
+     * Determines which log entry to drop when the queue is full.
+     */
+    public enum OverflowPolicy {
+        DROP_OLDEST,
+        DROP_NEWEST
+    }
+
+    /**
+     * Receives the outcome of deliveries. Called on the worker thread, or on the thread offering a log entry
+     * if it is dropped from a full queue, so implementations should not block for long.
+     */
+    public interface DeliveryListener {
+
+        /**
+         * @param worker The {@link NotifierWorker} reporting.
+         * @param logs   Log entries successfully passed to the notifier.
+         */
+        void delivered(NotifierWorker worker, List<Log> logs);
+
+        /**
+         * @param worker The {@link NotifierWorker} reporting.
+         * @param logs   Log entries dropped, either because the queue was full or because all attempts failed.
+         */
+        void undelivered(NotifierWorker worker, List<Log> logs);
+    }
+
+    private static final DeliveryListener NO_OP_LISTENER = new DeliveryListener() {
+        @Override
+        public void delivered(NotifierWorker worker, List<Log> logs) {
+        }
+
+        @Override
+        public void undelivered(NotifierWorker worker, List<Log> logs) {
+        }
+    };
+
+    private final LogEntryNotifier notifier;
+    private final String name;
+    private final BlockingQueue<Log> queue;
+    private final OverflowPolicy overflowPolicy;
+    private final long timeoutMillis;
+    private final int maxRetries;
+    private final long retryDelayMillis;
+    private final int maxBatchSize;
+    private final int maxAbandonedThreads;
+    private final DeliveryListener listener;
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder refused = new LongAdder();
+
+    /**
+     * Call threads abandoned after a timeout, removed when they terminate.
+     */
+    private final Set<Thread> abandonedThreads = ConcurrentHashMap.newKeySet();
+
+    private final Thread workerThread;
+    private ExecutorService callExecutor;
+    private volatile Thread callThread;
+    private volatile boolean running = true;
+
+    /**
+     * @param notifier         The {@link LogEntryNotifier} to call.
+     * @param capacity         Capacity of the queue.
+     * @param overflowPolicy   Policy to apply when the queue is full.
+     * @param timeoutMillis    Max time in milliseconds a call to the notifier may take.
+     * @param maxRetries       Number of times a failed call is retried.
+     * @param retryDelayMillis Delay before the first retry, doubled for each subsequent retry.
+     */
+    public NotifierWorker(LogEntryNotifier notifier,
+                          int capacity,
+                          OverflowPolicy overflowPolicy,
+                          long timeoutMillis,
+                          int maxRetries,
+                          long retryDelayMillis) {
+        this(notifier, capacity, overflowPolicy, timeoutMillis, maxRetries, retryDelayMillis, NO_OP_LISTENER);
+    }
+
+    /**
+     * @param notifier         The {@link LogEntryNotifier} to call.
+     * @param capacity         Capacity of the queue.
+     * @param overflowPolicy   Policy to apply when the queue is full.
+     * @param timeoutMillis    Max time in milliseconds a call to the notifier may take.
+     * @param maxRetries       Number of times a failed call is retried.
+     * @param retryDelayMillis Delay before the first retry, doubled for each subsequent retry.
+     * @param listener         {@link DeliveryListener} notified of the outcome of each delivery.
+     */
+    public NotifierWorker(LogEntryNotifier notifier,
+                          int capacity,
+                          OverflowPolicy overflowPolicy,
+                          long timeoutMillis,
+                          int maxRetries,
+                          long retryDelayMillis,
+                          DeliveryListener listener) {
+        this(notifier, capacity, overflowPolicy, timeoutMillis, maxRetries, retryDelayMillis, DEFAULT_MAX_ABANDONED_THREADS, listener);
+    }
+
+    /**
+     * @param notifier            The {@link LogEntryNotifier} to call.
+     * @param capacity            Capacity of the queue.
+     * @param overflowPolicy      Policy to apply when the queue is full.
+     * @param timeoutMillis       Max time in milliseconds a call to the notifier may take.
+     * @param maxRetries          Number of times a failed call is retried.
+     * @param retryDelayMillis    Delay before the first retry, doubled for each subsequent retry.
+     * @param maxAbandonedThreads Max number of threads of timed out calls still running, beyond which the notifier
+     *                            is not called.
+     * @param listener            {@link DeliveryListener} notified of the outcome of each delivery.
+     */
+    public NotifierWorker(LogEntryNotifier notifier,
+                          int capacity,
+                          OverflowPolicy overflowPolicy,
+                          long timeoutMillis,
+                          int maxRetries,
+                          long retryDelayMillis,
+                          int maxAbandonedThreads,
+                          DeliveryListener listener) {
+        this.listener = listener;
+        this.notifier = notifier;
+        this.name = notifier.getClass().getName();
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.overflowPolicy = overflowPolicy;
+        this.timeoutMillis = timeoutMillis;
+        this.maxRetries = maxRetries;
+        this.retryDelayMillis = retryDelayMillis;
+        this.maxBatchSize = Math.max(1, notifier.getMaxBatchSize());
+        this.maxAbandonedThreads = Math.max(1, maxAbandonedThreads);
+        this.callExecutor = newCallExecutor();
+        this.workerThread = new Thread(this::run, "notifier-" + notifier.getClass().getSimpleName());
+        this.workerThread.setDaemon(true);
+    }
+
+    public void start() {
+        workerThread.start();
+    }
+
+    /**
+     * Stops the worker. Log entries still in the queue are discarded.
+     */
+    public void stop() {
+        running = false;
+        workerThread.interrupt();
+        callExecutor.shutdownNow();
+    }
+
+    /**
+     * Adds a log entry to the queue. Never blocks.
+     *
+     * @param log The log entry to deliver.
+     * @return <code>true</code> if the log entry was queued.
+     */
+    public boolean offer(Log log) {
+        enqueued.increment();
+        if (queue.offer(log)) {
+            return true;
+        }
+        if (overflowPolicy == OverflowPolicy.DROP_OLDEST) {
+            Log oldest = queue.poll();
+            if (oldest != null) {
+                drop(oldest);
+            }
+            if (queue.offer(log)) {
+                return true;
+            }
+        }
+        drop(log);
+        return false;
+    }
+
+    /**
+     * @return A snapshot of the counters and queue depth of this worker.
+     */
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("queueDepth", queue.size());
+        metrics.put("queueRemainingCapacity", queue.remainingCapacity());
+        metrics.put("enqueued", enqueued.sum());
+        metrics.put("delivered", delivered.sum());
+        metrics.put("dropped", dropped.sum());
+        metrics.put("failed", failed.sum());
+        metrics.put("retried", retried.sum());
+        metrics.put("timedOut", timedOut.sum());
+        metrics.put("refused", refused.sum());
+        metrics.put("abandonedThreads", abandonedThreadCount());
+        metrics.put("healthy", isHealthy());
+        return metrics;
+    }
+
+    /**
+     * @return <code>false</code> if the number of abandoned call threads still running has reached the limit,
+     * in which case the notifier is not called.
+     */
+    public boolean isHealthy() {
+        return abandonedThreadCount() < maxAbandonedThreads;
+    }
+
+    private int abandonedThreadCount() {
+        abandonedThreads.removeIf(thread -> !thread.isAlive());
+        return abandonedThreads.size();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private void drop(Log log) {
+        dropped.increment();
+        logger.log(Level.WARNING, () -> MessageFormat.format(TextUtil.LOG_ENTRY_NOTIFIER_DROPPED, name, log.getId()));
+        listener.undelivered(this, List.of(log));
+    }
+
+    private void run() {
+        List<Log> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, maxBatchSize - 1);
+                deliver(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void deliver(List<Log> batch) throws InterruptedException {
+        for (int attempt = 0; ; attempt++) {
+            if (!isHealthy()) {
+                refused.add(batch.size());
+                logger.log(Level.WARNING, () -> MessageFormat.format(TextUtil.LOG_ENTRY_NOTIFIER_UNHEALTHY, name, abandonedThreadCount(), batch.size()));
+                listener.undelivered(this, List.copyOf(batch));
+                return;
+            }
+            try {
+                call(batch);
+                delivered.add(batch.size());
+                listener.delivered(this, List.copyOf(batch));
+                return;
+            } catch (ExecutionException | TimeoutException e) {
+                if (attempt >= maxRetries) {
+                    failed.add(batch.size());
+                    logger.log(Level.WARNING, MessageFormat.format(TextUtil.LOG_ENTRY_NOTIFIER_FAILED, name, batch.size(), attempt + 1),
+                            e instanceof ExecutionException ? e.getCause() : e);
+                    listener.undelivered(this, List.copyOf(batch));
+                    return;
+                }
+                retried.increment();
+                TimeUnit.MILLISECONDS.sleep(retryDelayMillis << Math.min(attempt, 16));
+            }
+        }
+    }
+
+    private void call(List<Log> batch) throws ExecutionException, TimeoutException, InterruptedException {
+        List<Log> logs = List.copyOf(batch);
+        Future<?> future = callExecutor.submit(() -> {
+            if (logs.size() == 1) {
+                notifier.notify(logs.get(0));
+            } else {
+                notifier.notify(logs);
+            }
+        });
+        try {
+            future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            timedOut.increment();
+            logger.log(Level.WARNING, () -> MessageFormat.format(TextUtil.LOG_ENTRY_NOTIFIER_TIMEOUT, name, timeoutMillis));
+            future.cancel(true);
+            // The notifier may ignore the interrupt, so abandon the thread rather than queue behind it.
+            Thread thread = callThread;
+            if (thread != null) {
+                abandonedThreads.add(thread);
+            }
+            callExecutor.shutdownNow();
+            callExecutor = newCallExecutor();
+            throw e;
+        }
+    }
+
+    private ExecutorService newCallExecutor() {
+        return Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "notifier-call-" + notifier.getClass().getSimpleName());
+            thread.setDaemon(true);
+            callThread = thread;
+            return thread;
+        });
+    }
+}
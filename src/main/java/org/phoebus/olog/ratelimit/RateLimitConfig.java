@@ -0,0 +1,30 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+
+package org.phoebus.olog.ratelimit;
+
+import org.phoebus.olog.OlogResourceDescriptors;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the {@link RateLimitFilter} for all service endpoints.
+ */
+@Configuration
+public class RateLimitConfig {
+
+    /**
+     * @param rateLimiter The {@link RateLimiter} holding the per-client token buckets.
+     * @return A {@link FilterRegistrationBean} ordered right after the Spring Security filter chain.
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistrationBean(RateLimiter rateLimiter) {
+        FilterRegistrationBean<RateLimitFilter> registrationBean = new FilterRegistrationBean<>(new RateLimitFilter(rateLimiter));
+        registrationBean.addUrlPatterns("/" + OlogResourceDescriptors.OLOG_SERVICE + "/*");
+        registrationBean.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registrationBean;
+    }
+}
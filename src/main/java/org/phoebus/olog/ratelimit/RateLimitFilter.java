@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+
+package org.phoebus.olog.ratelimit;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.phoebus.olog.LogResource;
+import org.phoebus.olog.TextUtil;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rejects requests with HTTP 429 and a <code>Retry-After</code> header when the client exceeds its rate limit,
+ * see {@link RateLimiter}.
+ * <p>
+ * The filter is registered after the Spring Security filter chain, such that the authenticated user is known.
+ * Requests not subject to authentication - e.g. GET requests - are limited on the remote address, which behind a
+ * reverse proxy is the client's address only if <code>server.forward-headers-strategy</code> is configured.
+ * </p>
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+
+    public RateLimitFilter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        if (!rateLimiter.isEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long wait = rateLimiter.acquire(getClient(request), request.getHeader(LogResource.OLOG_CLIENT_INFO_HEADER));
+        if (wait > 0) {
+            long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + TimeUnit.SECONDS.toNanos(1) - 1));
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+            response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), TextUtil.RATE_LIMIT_EXCEEDED);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private String getClient(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated() && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return authentication.getName();
+        }
+        return request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+
+package org.phoebus.olog.ratelimit;
+
+import jakarta.annotation.PostConstruct;
+import org.phoebus.olog.TextUtil;
+import org.phoebus.olog.metrics.MetricsSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.text.MessageFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Per-client request rate limits, see {@link RateLimitFilter}.
+ * <p>
+ * Each client - the authenticated user, or the remote address for unauthenticated requests - gets a token bucket
+ * with the rate and burst configured for the user in <code>rate.limit.principals</code>, or the default rate
+ * and burst. Requests with an <code>X-Olog-Client-Info</code> header starting with a string listed in
+ * <code>rate.limit.clients</code> must in addition get a token from a bucket with the rate and burst of that
+ * entry, held per client and entry. This way a script can be limited without limiting the same user's GUI client.
+ * </p>
+ */
+@Service
+public class RateLimiter implements MetricsSource {
+
+    private static final Logger logger = Logger.getLogger(RateLimiter.class.getName());
+
+    /**
+     * Max number of buckets kept before idle buckets are discarded.
+     */
+    private static final int MAX_BUCKETS = 10000;
+
+    @SuppressWarnings("unused")
+    @Value("${rate.limit.enabled:false}")
+    private boolean enabled;
+
+    @SuppressWarnings("unused")
+    @Value("${rate.limit.default.rate:50}")
+    private double defaultRate;
+
+    @SuppressWarnings("unused")
+    @Value("${rate.limit.default.burst:100}")
+    private int defaultBurst;
+
+    @SuppressWarnings("unused")
+    @Value("${rate.limit.principals:}")
+    private List<String> principalLimits;
+
+    @SuppressWarnings("unused")
+    @Value("${rate.limit.clients:}")
+    private List<String> clientLimits;
+
+    private Limit defaultLimit;
+    private Map<String, Limit> principalRules = Map.of();
+    private List<Limit> clientRules = List.of();
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final LongSupplier clock;
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+    /**
+     * Throttled requests per entry of <code>rate.limit.clients</code>. User names, addresses and header values
+     * are not kept, as the metrics are public.
+     */
+    private Map<String, LongAdder> throttledByClientInfo = Map.of();
+
+    public RateLimiter() {
+        this.clock = System::nanoTime;
+    }
+
+    RateLimiter(double defaultRate, int defaultBurst, List<String> principalLimits, List<String> clientLimits, LongSupplier clock) {
+        this.enabled = true;
+        this.defaultRate = defaultRate;
+        this.defaultBurst = defaultBurst;
+        this.principalLimits = principalLimits;
+        this.clientLimits = clientLimits;
+        this.clock = clock;
+        init();
+    }
+
+    @PostConstruct
+    public void init() {
+        defaultLimit = new Limit("default", defaultRate, defaultBurst);
+        Map<String, Limit> principals = new LinkedHashMap<>();
+        parseLimits(principalLimits).forEach(limit -> principals.put(limit.name(), limit));
+        principalRules = principals;
+        clientRules = parseLimits(clientLimits);
+        Map<String, LongAdder> throttledByRule = new LinkedHashMap<>();
+        clientRules.forEach(limit -> throttledByRule.put(limit.name(), new LongAdder()));
+        throttledByClientInfo = throttledByRule;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Takes a token from the bucket(s) of the client.
+     *
+     * @param client     Authenticated user name, or remote address of unauthenticated requests.
+     * @param clientInfo Value of the <code>X-Olog-Client-Info</code> header, may be <code>null</code>.
+     * @return Zero if the request is allowed, otherwise the number of nanoseconds until the client may retry.
+     */
+    public long acquire(String client, String clientInfo) {
+        long now = clock.getAsLong();
+        if (buckets.size() > MAX_BUCKETS) {
+            buckets.values().removeIf(bucket -> bucket.isIdle(now));
+        }
+        Limit limit = principalRules.getOrDefault(client, defaultLimit);
+        long wait = bucket("p:" + client, limit, now).tryConsume(now);
+        if (wait == 0 && clientInfo != null) {
+            for (Limit clientRule : clientRules) {
+                if (clientInfo.regionMatches(true, 0, clientRule.name(), 0, clientRule.name().length())) {
+                    wait = bucket("c:" + client + "|" + clientRule.name(), clientRule, now).tryConsume(now);
+                    if (wait > 0) {
+                        throttledByClientInfo.get(clientRule.name()).increment();
+                    }
+                    break;
+                }
+            }
+        }
+        if (wait > 0) {
+            throttled.increment();
+            logger.log(Level.FINE, () -> MessageFormat.format(TextUtil.RATE_LIMIT_THROTTLED, client));
+        } else {
+            allowed.increment();
+        }
+        return wait;
+    }
+
+    private TokenBucket bucket(String key, Limit limit, long now) {
+        return buckets.computeIfAbsent(key, k -> new TokenBucket(limit.rate(), limit.burst(), now));
+    }
+
+    /**
+     * Parses limits on the form <code>name:rate:burst</code>, e.g. <code>python-requests:1:5</code>.
+     * Invalid entries are logged and ignored.
+     */
+    static List<Limit> parseLimits(List<String> limits) {
+        if (limits == null) {
+            return List.of();
+        }
+        return limits.stream()
+                .map(String::trim)
+                .filter(limit -> !limit.isEmpty())
+                .map(limit -> {
+                    String[] fields = limit.split(":");
+                    try {
+                        if (fields.length >= 3) {
+                            String name = limit.substring(0, limit.lastIndexOf(':', limit.lastIndexOf(':') - 1)).trim();
+                            double rate = Double.parseDouble(fields[fields.length - 2].trim());
+                            int burst = Integer.parseInt(fields[fields.length - 1].trim());
+                            if (!name.isEmpty() && rate > 0) {
+                                return new Limit(name, rate, burst);
+                            }
+                        }
+                    } catch (NumberFormatException e) {
+                        // Logged below
+                    }
+                    logger.log(Level.WARNING, MessageFormat.format(TextUtil.RATE_LIMIT_INVALID, limit));
+                    return null;
+                })
+                .filter(limit -> limit != null)
+                .toList();
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "rateLimit";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("enabled", enabled);
+        metrics.put("allowed", allowed.sum());
+        metrics.put("throttled", throttled.sum());
+        metrics.put("buckets", buckets.size());
+        Map<String, Long> byClientInfo = new LinkedHashMap<>();
+        throttledByClientInfo.forEach((clientInfo, count) -> byClientInfo.put(clientInfo, count.sum()));
+        metrics.put("throttledByClientInfo", byClientInfo);
+        return metrics;
+    }
+
+    record Limit(String name, double rate, int burst) {
+    }
+}
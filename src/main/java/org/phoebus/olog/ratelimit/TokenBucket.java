@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+
+package org.phoebus.olog.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket, implemented as a generic cell rate algorithm: instead of a token count the bucket
+ * keeps the theoretical arrival time of the next request, i.e. the time at which the bucket would be full
+ * again. A request is admitted if that time is less than <code>burst</code> token intervals ahead of now.
+ */
+final class TokenBucket {
+
+    private final long interval;
+    private final long tolerance;
+    private final AtomicLong theoreticalArrivalTime;
+
+    /**
+     * @param rate  Sustained number of requests per second.
+     * @param burst Number of requests that may be made at once by a client that has been idle.
+     * @param now   Current time in nanoseconds.
+     */
+    TokenBucket(double rate, int burst, long now) {
+        this.interval = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / rate));
+        this.tolerance = interval * (Math.max(1, burst) - 1);
+        this.theoreticalArrivalTime = new AtomicLong(now);
+    }
+
+    /**
+     * @param now Current time in nanoseconds.
+     * @return Zero if a token was taken, otherwise the number of nanoseconds until one is available.
+     */
+    long tryConsume(long now) {
+        while (true) {
+            long current = theoreticalArrivalTime.get();
+            long start = Math.max(current, now);
+            long wait = start - now - tolerance;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrivalTime.compareAndSet(current, start + interval)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * @param now Current time in nanoseconds.
+     * @return <code>true</code> if the bucket is full, i.e. it behaves as a new bucket and can be discarded.
+     */
+    boolean isIdle(long now) {
+        return theoreticalArrivalTime.get() <= now;
+    }
+}
@@ -38,6 +38,11 @@ import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.NegatedRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.session.FindByIndexNameSessionRepository;
 import org.springframework.session.jdbc.JdbcIndexedSessionRepository;
 import org.springframework.transaction.support.TransactionOperations;
@@ -47,6 +52,7 @@ import org.springframework.web.filter.UrlHandlerFilter;
 
 import javax.sql.DataSource;
 import java.sql.Driver;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -85,6 +91,16 @@ public class WebSecurityConfig {
     @Value("${spring.datasource.url:jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=TRUE}")
     private String h2Url;
 
+    @Value("${admin-groups:olog-admins}")
+    private List<String> adminGroups;
+
+    /**
+     * Endpoints restricted to members of the <code>admin-groups</code>, also for GET requests.
+     */
+    private static final RequestMatcher ADMIN_ENDPOINTS = new OrRequestMatcher(
+            PathPatternRequestMatcher.withDefaults().matcher("/" + OlogResourceDescriptors.SLOW_QUERIES_URI + "/**"),
+            PathPatternRequestMatcher.withDefaults().matcher("/" + OlogResourceDescriptors.ORPHANED_ATTACHMENTS_URI + "/**"));
+
     @Autowired
     private ApplicationContext context;
 
@@ -113,7 +129,11 @@ public class WebSecurityConfig {
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
 
+        // Same mapping of group names to roles as in AuthorizationService
+        String[] adminRoles = adminGroups.stream().map(g -> g.trim().toUpperCase()).toArray(String[]::new);
         http.authorizeHttpRequests(a -> a
+                        .requestMatchers(ADMIN_ENDPOINTS)
+                        .hasAnyRole(adminRoles)
                         .anyRequest()
                         .authenticated())
                 .addFilterBefore(new SessionFilter(authenticationManager(), sessionRepository()), UsernamePasswordAuthenticationFilter.class)
@@ -127,7 +147,9 @@ public class WebSecurityConfig {
         PathRequest.H2ConsoleRequestMatcher s = PathRequest.toH2Console();
         return (web) -> web
                 .ignoring()
-                .requestMatchers(HttpMethod.GET, "/" + OlogResourceDescriptors.OLOG_SERVICE + "/**")
+                .requestMatchers(new AndRequestMatcher(
+                        PathPatternRequestMatcher.withDefaults().matcher(HttpMethod.GET, "/" + OlogResourceDescriptors.OLOG_SERVICE + "/**"),
+                        new NegatedRequestMatcher(ADMIN_ENDPOINTS)))
                 .requestMatchers(HttpMethod.OPTIONS, "/" + OlogResourceDescriptors.OLOG_SERVICE + "/**")
                 .requestMatchers(HttpMethod.POST, "/" + OlogResourceDescriptors.OLOG_SERVICE + "/login")
                 .requestMatchers(HttpMethod.GET, "/" + OlogResourceDescriptors.OLOG_SERVICE + "/logout")
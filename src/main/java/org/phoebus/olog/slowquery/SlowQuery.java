@@ -0,0 +1,27 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+
+package org.phoebus.olog.slowquery;
+
+import java.time.Instant;
+
+/**
+ * A search that took longer than the slow query threshold, see {@link SlowQueryLog}.
+ *
+ * @param timestamp  Time the search completed.
+ * @param clientInfo Value of the <code>X-Olog-Client-Info</code> header, if any.
+ * @param parameters Search parameters as sent by the client.
+ * @param request    Serialized Elasticsearch search request.
+ * @param took       Time in milliseconds Elasticsearch reports it spent on the search.
+ * @param wallTime   Time in milliseconds from sending the request to Elasticsearch until the result was read.
+ * @param hitCount   Number of matching log entries.
+ */
+public record SlowQuery(Instant timestamp,
+                        String clientInfo,
+                        String parameters,
+                        String request,
+                        long took,
+                        long wallTime,
+                        long hitCount) {
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+
+package org.phoebus.olog.slowquery;
+
+import jakarta.annotation.PostConstruct;
+import org.phoebus.olog.TextUtil;
+import org.phoebus.olog.metrics.MetricsSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.MultiValueMap;
+
+import java.text.MessageFormat;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Records searches taking longer than <code>slow.query.threshold</code> milliseconds. Such searches are logged
+ * with the search parameters, the Elasticsearch request, the time reported by Elasticsearch and the total
+ * time, and kept in a bounded in-memory buffer published at {@link org.phoebus.olog.SlowQueryResource}.
+ * <p>
+ * Only the fraction <code>slow.query.sample.rate</code> of slow searches is recorded, which limits the overhead
+ * if many searches are slow, e.g. when Elasticsearch is overloaded. The Elasticsearch request is serialized only
+ * for recorded searches.
+ * </p>
+ */
+@Service
+public class SlowQueryLog implements MetricsSource {
+
+    private static final Logger logger = Logger.getLogger(SlowQueryLog.class.getName());
+
+    @SuppressWarnings("unused")
+    @Value("${slow.query.enabled:true}")
+    private boolean enabled;
+
+    @SuppressWarnings("unused")
+    @Value("${slow.query.threshold:1000}")
+    private long threshold;
+
+    @SuppressWarnings("unused")
+    @Value("${slow.query.sample.rate:1.0}")
+    private double sampleRate;
+
+    @SuppressWarnings("unused")
+    @Value("${slow.query.buffer.size:100}")
+    private int bufferSize;
+
+    @SuppressWarnings("unused")
+    @Value("${slow.query.max.request.length:10000}")
+    private int maxRequestLength;
+
+    private AtomicReferenceArray<SlowQuery> buffer;
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final LongAdder slowQueries = new LongAdder();
+    private final LongAdder recorded = new LongAdder();
+
+    public SlowQueryLog() {
+    }
+
+    SlowQueryLog(long threshold, double sampleRate, int bufferSize, int maxRequestLength) {
+        this.enabled = true;
+        this.threshold = threshold;
+        this.sampleRate = sampleRate;
+        this.bufferSize = bufferSize;
+        this.maxRequestLength = maxRequestLength;
+        init();
+    }
+
+    @PostConstruct
+    public void init() {
+        buffer = new AtomicReferenceArray<>(Math.max(1, bufferSize));
+    }
+
+    /**
+     * Records a search if its wall time exceeds the threshold and it is sampled.
+     *
+     * @param searchParameters Search parameters as sent by the client.
+     * @param request          Supplies the serialized Elasticsearch request, called only if the search is recorded.
+     * @param took             Time in milliseconds reported by Elasticsearch, or -1 if not known.
+     * @param wallTime         Total time in milliseconds.
+     * @param hitCount         Number of matching log entries.
+     * @param clientInfo       Client identification, may be <code>null</code>.
+     */
+    public void record(MultiValueMap<String, String> searchParameters, Supplier<String> request,
+                       long took, long wallTime, long hitCount, String clientInfo) {
+        if (!enabled || wallTime < threshold) {
+            return;
+        }
+        slowQueries.increment();
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        recorded.increment();
+        String requestBody = request.get();
+        if (requestBody != null && requestBody.length() > maxRequestLength) {
+            requestBody = requestBody.substring(0, maxRequestLength) + "...";
+        }
+        SlowQuery slowQuery = new SlowQuery(Instant.now(), clientInfo, formatParameters(searchParameters),
+                requestBody, took, wallTime, hitCount);
+        buffer.set((int) (sequence.getAndIncrement() % buffer.length()), slowQuery);
+        logger.log(Level.WARNING, () -> MessageFormat.format(TextUtil.SLOW_QUERY, Long.toString(slowQuery.wallTime()),
+                Long.toString(slowQuery.took()), Long.toString(slowQuery.hitCount()), slowQuery.clientInfo(),
+                slowQuery.parameters(), slowQuery.request()));
+    }
+
+    /**
+     * @return The recorded slow queries still held in the buffer, most recent first.
+     */
+    public List<SlowQuery> getRecent() {
+        List<SlowQuery> recent = new ArrayList<>();
+        long last = sequence.get();
+        for (long i = last - 1; i >= 0 && i >= last - buffer.length(); i--) {
+            SlowQuery slowQuery = buffer.get((int) (i % buffer.length()));
+            if (slowQuery != null) {
+                recent.add(slowQuery);
+            }
+        }
+        return recent;
+    }
+
+    /**
+     * @param searchParameters Search parameters as sent by the client.
+     * @return The search parameters formatted as a query string, e.g. <code>desc=dump&amp;logbooks=Operations</code>.
+     */
+    public static String formatParameters(MultiValueMap<String, String> searchParameters) {
+        return searchParameters.entrySet().stream()
+                .map((e) -> e.getKey().trim() + "=" + String.join(",", e.getValue()))
+                .collect(Collectors.joining("&"));
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "slowQueries";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("enabled", enabled);
+        metrics.put("threshold", threshold);
+        metrics.put("slowQueries", slowQueries.sum());
+        metrics.put("recorded", recorded.sum());
+        return metrics;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+
+package org.phoebus.olog.storage;
+
+import org.phoebus.olog.ContentTypeResolver;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Decides which attachments are stored gzip compressed, see {@link GzipContent}.
+ * <p>
+ * If enabled with <code>attachment.compression.enabled</code>, attachments of a content type listed in
+ * <code>attachment.compression.content.types</code>, e.g. text files, CSV data and XML, are compressed while they
+ * are stored. The content type is taken from the metadata description if it holds one, otherwise it is determined
+ * from the file name. Already compressed formats like images, PDF and archives are stored as uploaded.
+ * </p>
+ */
+@Component
+public class AttachmentCompression {
+
+    @SuppressWarnings("unused")
+    @Value("${attachment.compression.enabled:true}")
+    private boolean enabled;
+
+    @SuppressWarnings("unused")
+    @Value("${attachment.compression.level:6}")
+    private int level;
+
+    @SuppressWarnings("unused")
+    @Value("${attachment.compression.content.types:text/,application/xml,application/json,application/yaml,application/x-yaml,application/javascript,application/x-sh,application/postscript,image/svg+xml}")
+    private List<String> contentTypes;
+
+    public AttachmentCompression() {
+    }
+
+    AttachmentCompression(boolean enabled, int level, List<String> contentTypes) {
+        this.enabled = enabled;
+        this.level = level;
+        this.contentTypes = contentTypes;
+    }
+
+    /**
+     * @param filename                File name as specified by the client.
+     * @param fileMetadataDescription Description of the content, typically the content type.
+     * @return The encoding to store the attachment with, i.e. {@link GzipContent#ENCODING}, or <code>null</code>
+     * if it is stored as uploaded.
+     */
+    public String getContentEncoding(String filename, String fileMetadataDescription) {
+        if (!enabled) {
+            return null;
+        }
+        String type = contentType(fileMetadataDescription);
+        if (type == null) {
+            MediaType mediaType = ContentTypeResolver.determineMediaType(filename);
+            if (mediaType == null) {
+                return null;
+            }
+            type = mediaType.getType() + "/" + mediaType.getSubtype();
+        }
+        String contentType = type.toLowerCase(Locale.ROOT);
+        boolean compressible = contentTypes.stream().anyMatch(entry ->
+                entry.endsWith("/") || entry.endsWith(".") ? contentType.startsWith(entry) : contentType.equals(entry));
+        return compressible ? GzipContent.ENCODING : null;
+    }
+
+    /**
+     * @param content The content of an attachment.
+     * @return A stream of the compressed content, see {@link GzipContent#compress(InputStream, int)}.
+     */
+    public InputStream compress(InputStream content) {
+        return GzipContent.compress(content, level);
+    }
+
+    /**
+     * @return The content type held by a metadata description, or <code>null</code> if it is not a specific
+     * content type.
+     */
+    private static String contentType(String fileMetadataDescription) {
+        if (fileMetadataDescription == null || fileMetadataDescription.isBlank()) {
+            return null;
+        }
+        try {
+            MediaType mediaType = MediaType.parseMediaType(fileMetadataDescription);
+            if (mediaType.isWildcardType() || mediaType.isWildcardSubtype()
+                    || mediaType.equalsTypeAndSubtype(MediaType.APPLICATION_OCTET_STREAM)) {
+                return null;
+            }
+            return mediaType.getType() + "/" + mediaType.getSubtype();
+        } catch (IllegalArgumentException e) {
+            // A description rather than a content type
+            return null;
+        }
+    }
+}
@@ -0,0 +1,375 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+
+package org.phoebus.olog.storage;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.phoebus.olog.LogRepository;
+import org.phoebus.olog.TextUtil;
+import org.phoebus.olog.metrics.MetricsSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.text.MessageFormat;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Finds and deletes orphaned attachments, i.e. attachment files not referenced by any log entry or archived
+ * version of a log entry. These are left behind e.g. when creating a log entry fails after its attachments
+ * have been stored, or when an upload is abandoned.
+ * <p>
+ * If enabled with <code>attachment.gc.enabled</code>, the {@link AttachmentStore} is swept every
+ * <code>attachment.gc.interval</code> seconds. Attachments stored less than <code>attachment.gc.grace.period</code>
+ * seconds ago are skipped, as the log entry referencing them may not have been saved yet. The ids of the other
+ * attachments are looked up in Elasticsearch in batches. If none of them is found referenced although log entries
+ * with attachments exist, the attachment ids are likely not indexed as expected, and the sweep is aborted.
+ * </p>
+ * <p>
+ * Orphans are only handled once the whole store has been looked up, so a sweep that fails deletes nothing.
+ * An orphan is not deleted when first found, but quarantined: it is deleted by a later sweep, if still orphaned
+ * <code>attachment.gc.quarantine</code> seconds after it was first found. Deletions are limited to
+ * <code>attachment.gc.rate</code> per second. With <code>attachment.gc.dry.run</code> set (the default), orphans
+ * are only reported.
+ * </p>
+ */
+@Service
+public class AttachmentGarbageCollector implements MetricsSource {
+
+    private static final Logger logger = Logger.getLogger(AttachmentGarbageCollector.class.getName());
+
+    /**
+     * Number of attachment ids looked up in one search.
+     */
+    static final int BATCH_SIZE = 500;
+
+    /**
+     * Max number of orphan ids listed in a {@link Report}.
+     */
+    static final int MAX_REPORTED_ORPHANS = 1000;
+
+    @SuppressWarnings("unused")
+    @Autowired
+    private AttachmentStore attachmentStore;
+
+    @SuppressWarnings("unused")
+    @Autowired
+    private LogRepository logRepository;
+
+    @SuppressWarnings("unused")
+    @Value("${attachment.gc.enabled:false}")
+    private boolean enabled;
+
+    @SuppressWarnings("unused")
+    @Value("${attachment.gc.dry.run:true}")
+    private boolean dryRun;
+
+    @SuppressWarnings("unused")
+    @Value("${attachment.gc.interval:86400}")
+    private long interval;
+
+    @SuppressWarnings("unused")
+    @Value("${attachment.gc.grace.period:86400}")
+    private long gracePeriod;
+
+    @SuppressWarnings("unused")
+    @Value("${attachment.gc.quarantine:86400}")
+    private long quarantinePeriod;
+
+    @SuppressWarnings("unused")
+    @Value("${attachment.gc.rate:10}")
+    private double rate;
+
+    private final LongSupplier clock;
+
+    /**
+     * Ids of orphans and the time they were first found.
+     */
+    private final Map<String, Long> quarantine = new ConcurrentHashMap<>();
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile Report lastReport;
+    private ScheduledExecutorService scheduler;
+
+    private final LongAdder sweeps = new LongAdder();
+    private final LongAdder deleted = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    public AttachmentGarbageCollector() {
+        this.clock = System::currentTimeMillis;
+    }
+
+    AttachmentGarbageCollector(AttachmentStore attachmentStore, LogRepository logRepository, long gracePeriod,
+                               long quarantinePeriod, double rate, LongSupplier clock) {
+        this.attachmentStore = attachmentStore;
+        this.logRepository = logRepository;
+        this.gracePeriod = gracePeriod;
+        this.quarantinePeriod = quarantinePeriod;
+        this.rate = rate;
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "attachment-gc");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                collect(dryRun);
+            } catch (Exception e) {
+                logger.log(Level.WARNING, TextUtil.ATTACHMENT_GC_FAILED, e);
+            }
+        }, interval, interval, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Sweeps the attachment store for orphans.
+     *
+     * @param dryRun If <code>true</code>, orphans are reported, but neither quarantined nor deleted.
+     * @return A {@link Report} of the sweep.
+     * @throws IllegalStateException If a sweep is already in progress.
+     * @throws IOException           If the attachments cannot be listed or looked up, or if none is found
+     *                               referenced although log entries with attachments exist. Nothing is deleted
+     *                               by a sweep that fails.
+     */
+    public Report collect(boolean dryRun) throws IOException {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException(TextUtil.ATTACHMENT_GC_RUNNING);
+        }
+        try {
+            long now = clock.getAsLong();
+            Instant storedBefore = Instant.ofEpochMilli(now - TimeUnit.SECONDS.toMillis(gracePeriod));
+            logger.log(Level.INFO, () -> MessageFormat.format(TextUtil.ATTACHMENT_GC_STARTED, storedBefore, dryRun));
+            Sweep sweep = new Sweep(dryRun, now);
+            List<AttachmentStore.StoredAttachment> batch = new ArrayList<>();
+            try {
+                attachmentStore.forEach(attachment -> {
+                    sweep.examined++;
+                    if (attachment.created().isBefore(storedBefore)) {
+                        batch.add(attachment);
+                        if (batch.size() >= BATCH_SIZE) {
+                            sweep.process(batch);
+                            batch.clear();
+                        }
+                    }
+                });
+                sweep.process(batch);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            sweep.checkReferenced();
+            if (!dryRun) {
+                sweep.deleteExpired();
+                // Orphans that have been deleted, or have been referenced again, are released
+                quarantine.keySet().retainAll(sweep.orphanIds);
+            }
+            Report report = sweep.toReport(Instant.ofEpochMilli(clock.getAsLong()));
+            lastReport = report;
+            sweeps.increment();
+            logger.log(Level.INFO, () -> MessageFormat.format(TextUtil.ATTACHMENT_GC_COMPLETED,
+                    report.orphans(), report.orphanBytes(), report.examined(), report.deleted()));
+            return report;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * State of a sweep in progress.
+     */
+    private class Sweep {
+
+        private final boolean dryRun;
+        private final long started;
+        private final Set<String> orphanIds = new HashSet<>();
+        private final List<String> reportedOrphans = new ArrayList<>();
+        private long examined;
+        private long referencedCount;
+        private long orphans;
+        private long orphanBytes;
+        private long deletedCount;
+        private long failedCount;
+        private long lastDeletion;
+
+        private Sweep(boolean dryRun, long started) {
+            this.dryRun = dryRun;
+            this.started = started;
+        }
+
+        private void process(List<AttachmentStore.StoredAttachment> batch) {
+            if (batch.isEmpty()) {
+                return;
+            }
+            Set<String> referenced;
+            try {
+                referenced = logRepository.findReferencedAttachmentIds(batch.stream().map(AttachmentStore.StoredAttachment::id).toList());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            referencedCount += referenced.size();
+            for (AttachmentStore.StoredAttachment attachment : batch) {
+                if (referenced.contains(attachment.id())) {
+                    continue;
+                }
+                orphans++;
+                orphanBytes += attachment.size();
+                if (reportedOrphans.size() < MAX_REPORTED_ORPHANS) {
+                    reportedOrphans.add(attachment.id());
+                }
+                logger.log(Level.FINE, () -> MessageFormat.format(TextUtil.ATTACHMENT_GC_ORPHAN, attachment.id(), attachment.created()));
+                if (!dryRun) {
+                    orphanIds.add(attachment.id());
+                }
+            }
+        }
+
+        /**
+         * Guards against deleting referenced attachments because their ids cannot be looked up, e.g. when they
+         * are not indexed as keywords.
+         *
+         * @throws IOException If attachments were looked up, but none was found referenced although log entries
+         *                     with attachments exist.
+         */
+        private void checkReferenced() throws IOException {
+            if (orphans == 0 || referencedCount > 0) {
+                return;
+            }
+            long logsWithAttachments = logRepository.countLogsWithAttachments();
+            if (logsWithAttachments > 0) {
+                throw new IOException(MessageFormat.format(TextUtil.ATTACHMENT_GC_NO_REFERENCES, orphans, logsWithAttachments));
+            }
+        }
+
+        /**
+         * Quarantines the orphans found, and deletes those that have been quarantined long enough.
+         */
+        private void deleteExpired() {
+            for (String id : List.copyOf(orphanIds)) {
+                long firstFound = quarantine.computeIfAbsent(id, orphanId -> started);
+                if (started - firstFound >= TimeUnit.SECONDS.toMillis(quarantinePeriod)) {
+                    delete(id);
+                }
+            }
+        }
+
+        private void delete(String id) {
+            throttle();
+            try {
+                attachmentStore.delete(id);
+                quarantine.remove(id);
+                orphanIds.remove(id);
+                deletedCount++;
+                deleted.increment();
+                logger.log(Level.INFO, () -> MessageFormat.format(TextUtil.ATTACHMENT_DELETED, id));
+            } catch (IOException | RuntimeException e) {
+                failedCount++;
+                failed.increment();
+                logger.log(Level.WARNING, MessageFormat.format(TextUtil.ATTACHMENT_NOT_DELETED, id), e);
+            }
+        }
+
+        /**
+         * Waits such that deletions do not exceed <code>attachment.gc.rate</code> per second.
+         */
+        private void throttle() {
+            if (rate <= 0) {
+                return;
+            }
+            long minInterval = (long) (1000 / rate);
+            long wait = lastDeletion + minInterval - System.currentTimeMillis();
+            if (wait > 0) {
+                try {
+                    Thread.sleep(wait);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException(e);
+                }
+            }
+            lastDeletion = System.currentTimeMillis();
+        }
+
+        private Report toReport(Instant finished) {
+            return new Report(Instant.ofEpochMilli(started), finished, dryRun, examined, orphans, orphanBytes,
+                    deletedCount, failedCount, quarantine.size(), Collections.unmodifiableList(reportedOrphans));
+        }
+    }
+
+    /**
+     * @return The report of the last sweep, or <code>null</code> if there has been none since the service started.
+     */
+    public Report getLastReport() {
+        return lastReport;
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "attachmentGc";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        Report report = lastReport;
+        metrics.put("enabled", scheduler != null);
+        metrics.put("dryRun", dryRun);
+        metrics.put("running", running.get());
+        metrics.put("sweeps", sweeps.sum());
+        metrics.put("deleted", deleted.sum());
+        metrics.put("failed", failed.sum());
+        metrics.put("quarantined", quarantine.size());
+        metrics.put("lastSweep", report == null ? null : report.finished().toString());
+        metrics.put("lastOrphans", report == null ? 0 : report.orphans());
+        metrics.put("lastOrphanBytes", report == null ? 0 : report.orphanBytes());
+        return metrics;
+    }
+
+    /**
+     * Result of a sweep.
+     *
+     * @param started     Start of the sweep.
+     * @param finished    End of the sweep.
+     * @param dryRun      <code>true</code> if nothing was deleted.
+     * @param examined    Number of attachments in the store.
+     * @param orphans     Number of orphans found, not counting those stored within the grace period.
+     * @param orphanBytes Total size of the orphans.
+     * @param deleted     Number of orphans deleted.
+     * @param failed      Number of orphans that could not be deleted.
+     * @param quarantined Number of orphans waiting to be deleted by a later sweep.
+     * @param orphanIds   Ids of the orphans, at most {@link #MAX_REPORTED_ORPHANS}.
+     */
+    public record Report(Instant started, Instant finished, boolean dryRun, long examined, long orphans,
+                         long orphanBytes, long deleted, long failed, int quarantined, List<String> orphanIds) {
+    }
+}
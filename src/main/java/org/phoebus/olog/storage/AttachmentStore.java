@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+
+package org.phoebus.olog.storage;
+
+import org.phoebus.olog.entity.Attachment;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Storage backend for attachment files, selected with the <code>attachment.storage</code> property.
+ * See {@link GridFsAttachmentStore} (default) and {@link FileSystemAttachmentStore}.
+ * <p>
+ * Implementations must be thread safe. Ids are chosen by clients or generated by the store, and must be unique.
+ * </p>
+ */
+public interface AttachmentStore {
+
+    /**
+     * @return Name of the store, as used in the <code>attachment.storage</code> property.
+     */
+    String getName();
+
+    /**
+     * Stores an attachment file.
+     *
+     * @param id                      Id of the attachment, or <code>null</code> to let the store generate one.
+     * @param filename                File name as specified by the client.
+     * @param fileMetadataDescription Description of the content, typically the content type.
+     * @param content                 Content of the file. It is read to the end, but not closed.
+     * @return The id of the stored attachment.
+     * @throws IOException If the content cannot be read or stored, or if an attachment with the same id exists.
+     */
+    default String store(String id, String filename, String fileMetadataDescription, InputStream content) throws IOException {
+        return store(id, filename, fileMetadataDescription, null, content);
+    }
+
+    /**
+     * Stores an attachment file with encoded content.
+     *
+     * @param id                      Id of the attachment, or <code>null</code> to let the store generate one.
+     * @param filename                File name as specified by the client.
+     * @param fileMetadataDescription Description of the content, typically the content type.
+     * @param contentEncoding         Encoding of the content, i.e. {@link GzipContent#ENCODING}, or <code>null</code>
+     *                                if not encoded. Recorded with the attachment.
+     * @param content                 Content of the file, encoded as specified. It is read to the end, but not closed.
+     * @return The id of the stored attachment.
+     * @throws IOException If the content cannot be read or stored, or if an attachment with the same id exists.
+     */
+    String store(String id, String filename, String fileMetadataDescription, String contentEncoding, InputStream content) throws IOException;
+
+    /**
+     * @param id Id of an attachment.
+     * @return The {@link Attachment} with its content, or {@link Optional#empty()} if not found. The content
+     * is read when requested. Content stored gzip encoded is a {@link GzipContent}, which decodes it when read.
+     */
+    Optional<Attachment> find(String id);
+
+    /**
+     * Like {@link #find(String)}, but the attachment may be read from a replica, which may lag behind. To be used
+     * for downloads only, not for attachments that may just have been stored.
+     *
+     * @param id Id of an attachment.
+     * @return The {@link Attachment} with its content, or {@link Optional#empty()} if not found.
+     */
+    default Optional<Attachment> findForDownload(String id) {
+        return find(id);
+    }
+
+    /**
+     * @param id Id of an attachment.
+     * @return <code>true</code> if the attachment exists.
+     */
+    boolean exists(String id);
+
+    /**
+     * Deletes an attachment file. Deleting an attachment that does not exist has no effect.
+     *
+     * @param id Id of an attachment.
+     * @throws IOException If the attachment could not be deleted.
+     */
+    void delete(String id) throws IOException;
+
+    /**
+     * Calls an action for each stored attachment, in no particular order. Attachments stored or deleted while
+     * iterating may or may not be included.
+     *
+     * @param action Called for each attachment.
+     * @throws IOException If the attachments cannot be listed.
+     */
+    void forEach(Consumer<StoredAttachment> action) throws IOException;
+
+    /**
+     * Summary of a stored attachment, see {@link #forEach(Consumer)}.
+     *
+     * @param id      Id of the attachment.
+     * @param created Time the attachment was stored.
+     * @param size    Size of the content in bytes, as stored, i.e. compressed if the content is encoded.
+     */
+    record StoredAttachment(String id, Instant created, long size) {
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+
+package org.phoebus.olog.storage;
+
+import jakarta.annotation.PostConstruct;
+import org.phoebus.olog.TextUtil;
+import org.phoebus.olog.entity.Attachment;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.text.MessageFormat;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Stores attachments as files below the directory set by <code>attachment.storage.directory</code>, e.g. on a
+ * local disk or an NFS mount shared by all instances of the service.
+ * <p>
+ * Each attachment is stored as a content file named by its id, and a properties file holding the file name,
+ * metadata description and, if the content is compressed, its encoding. To keep directories small, files are
+ * spread over sub-directories named by the first characters of the id. Uploads are written to a temporary file in
+ * the same directory, which is then linked to its final name, such that readers never see a partially written
+ * attachment.
+ * </p>
+ * <p>
+ * Downloads are served with {@link FileTransfer}, i.e. handed to Tomcat's sendfile support where the connector
+ * provides it, and streamed otherwise.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "attachment.storage", havingValue = FileSystemAttachmentStore.NAME)
+public class FileSystemAttachmentStore implements AttachmentStore {
+
+    public static final String NAME = "filesystem";
+
+    private static final Logger logger = Logger.getLogger(FileSystemAttachmentStore.class.getName());
+
+    /**
+     * Ids are used as file names, so path separators and the like are rejected.
+     */
+    private static final Pattern VALID_ID = Pattern.compile("[A-Za-z0-9][A-Za-z0-9._-]{0,127}");
+
+    private static final String CONTENT_SUFFIX = ".data";
+    private static final String METADATA_SUFFIX = ".properties";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    private static final String FILENAME = "filename";
+    private static final String METADATA_DESCRIPTION = "meta-data";
+    private static final String CONTENT_ENCODING = "content-encoding";
+
+    @SuppressWarnings("unused")
+    @Value("${attachment.storage.directory:attachments}")
+    private Path directory;
+
+    public FileSystemAttachmentStore() {
+    }
+
+    FileSystemAttachmentStore(Path directory) throws IOException {
+        this.directory = directory;
+        init();
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        Files.createDirectories(directory);
+        logger.log(Level.INFO, () -> MessageFormat.format(TextUtil.ATTACHMENT_STORAGE, directory.toAbsolutePath()));
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public String store(String id, String filename, String fileMetadataDescription, String contentEncoding, InputStream content) throws IOException {
+        if (id == null || id.isEmpty()) {
+            id = UUID.randomUUID().toString();
+        }
+        Path file = contentFile(id);
+        Path metadataFile = metadataFile(id);
+        Files.createDirectories(file.getParent());
+        if (Files.exists(file)) {
+            throw new FileAlreadyExistsException(file.toString());
+        }
+        Properties metadata = new Properties();
+        if (filename != null) {
+            metadata.setProperty(FILENAME, filename);
+        }
+        if (fileMetadataDescription != null) {
+            metadata.setProperty(METADATA_DESCRIPTION, fileMetadataDescription);
+        }
+        if (contentEncoding != null) {
+            metadata.setProperty(CONTENT_ENCODING, contentEncoding);
+        }
+        Path temporaryFile = Files.createTempFile(file.getParent(), id, TEMPORARY_SUFFIX);
+        Path temporaryMetadataFile = Files.createTempFile(file.getParent(), id, TEMPORARY_SUFFIX);
+        try {
+            try (OutputStream outputStream = Files.newOutputStream(temporaryFile)) {
+                content.transferTo(outputStream);
+            }
+            try (Writer writer = Files.newBufferedWriter(temporaryMetadataFile, StandardCharsets.UTF_8)) {
+                metadata.store(writer, null);
+            }
+            // Metadata first, as the content file marks the attachment as present. Publishing the metadata
+            // fails if a concurrent request has stored an attachment with the same id.
+            publish(temporaryMetadataFile, metadataFile);
+            publish(temporaryFile, file);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+            Files.deleteIfExists(temporaryMetadataFile);
+        }
+        return id;
+    }
+
+    @Override
+    public Optional<Attachment> find(String id) {
+        if (!VALID_ID.matcher(id).matches()) {
+            return Optional.empty();
+        }
+        Path file = contentFile(id);
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        Properties metadata = new Properties();
+        try (Reader reader = Files.newBufferedReader(metadataFile(id), StandardCharsets.UTF_8)) {
+            metadata.load(reader);
+        } catch (NoSuchFileException e) {
+            // Content without metadata, e.g. copied in manually. Served with the id as file name.
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Attachment attachment = new Attachment();
+        attachment.setId(id);
+        if (GzipContent.ENCODING.equals(metadata.getProperty(CONTENT_ENCODING))) {
+            attachment.setAttachment(new GzipContent(new FileSystemResource(file)));
+        } else {
+            attachment.setAttachment(new FileSystemResource(file));
+        }
+        attachment.setFilename(metadata.getProperty(FILENAME, id));
+        attachment.setFileMetadataDescription(metadata.getProperty(METADATA_DESCRIPTION));
+        return Optional.of(attachment);
+    }
+
+    @Override
+    public boolean exists(String id) {
+        return VALID_ID.matcher(id).matches() && Files.isRegularFile(contentFile(id));
+    }
+
+    @Override
+    public void delete(String id) throws IOException {
+        if (!VALID_ID.matcher(id).matches()) {
+            return;
+        }
+        // Content first, as it marks the attachment as present
+        Files.deleteIfExists(contentFile(id));
+        Files.deleteIfExists(metadataFile(id));
+    }
+
+    @Override
+    public void forEach(Consumer<StoredAttachment> action) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.filter(file -> file.getFileName().toString().endsWith(CONTENT_SUFFIX)).forEach(file -> {
+                String fileName = file.getFileName().toString();
+                String id = fileName.substring(0, fileName.length() - CONTENT_SUFFIX.length());
+                try {
+                    BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                    if (attributes.isRegularFile()) {
+                        action.accept(new StoredAttachment(id, attributes.lastModifiedTime().toInstant(), attributes.size()));
+                    }
+                } catch (NoSuchFileException e) {
+                    // Deleted while iterating
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private Path contentFile(String id) {
+        if (!VALID_ID.matcher(id).matches()) {
+            throw new IllegalArgumentException(MessageFormat.format(TextUtil.ATTACHMENT_ID_INVALID, id));
+        }
+        String prefix = id.length() >= 4 ? id.substring(0, 2) + "/" + id.substring(2, 4) : "_";
+        return directory.resolve(prefix).resolve(id + CONTENT_SUFFIX);
+    }
+
+    private Path metadataFile(String id) {
+        return contentFile(id).resolveSibling(id + METADATA_SUFFIX);
+    }
+
+    /**
+     * Makes a temporary file visible under its final name, failing if the target exists.
+     */
+    private static void publish(Path temporaryFile, Path target) throws IOException {
+        try {
+            Files.createLink(target, temporaryFile);
+        } catch (UnsupportedOperationException e) {
+            // File system without hard links
+            Files.move(temporaryFile, target);
+        }
+    }
+}
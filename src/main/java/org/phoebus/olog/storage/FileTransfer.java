@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+
+package org.phoebus.olog.storage;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Sends attachment files stored on a file system, see {@link FileSystemAttachmentStore}.
+ * <p>
+ * If the connector supports it, the file is handed to Tomcat through the sendfile request attributes: the
+ * controller writes no body, and Tomcat sends the file once the request has been processed, using the operating
+ * system's sendfile where available, i.e. without copying the content through the heap. Otherwise, e.g. on a TLS
+ * connector, the file is streamed through a buffer.
+ * </p>
+ */
+public final class FileTransfer {
+
+    static final String SENDFILE_SUPPORTED_ATTRIBUTE = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME_ATTRIBUTE = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START_ATTRIBUTE = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END_ATTRIBUTE = "org.apache.tomcat.sendfile.end";
+
+    private FileTransfer() {
+    }
+
+    /**
+     * @param content Content of an attachment.
+     * @return <code>true</code> if the content is a file that can be sent with
+     * {@link #response(InputStreamSource, HttpHeaders, HttpServletRequest)}.
+     */
+    public static boolean isFile(InputStreamSource content) {
+        return content instanceof FileSystemResource;
+    }
+
+    /**
+     * @param content Content of an attachment, for which {@link #isFile(InputStreamSource)} is <code>true</code>.
+     * @param headers Response headers, e.g. the content type and disposition. The content length is added.
+     * @param request The request, used to hand the file to Tomcat. May be <code>null</code>, in which case the
+     *                file is streamed.
+     * @return A {@link ResponseEntity} sending the file. Without body if the file is sent by Tomcat.
+     * @throws IOException If the size of the file cannot be determined, e.g. because it has been deleted.
+     */
+    public static ResponseEntity<StreamingResponseBody> response(InputStreamSource content, HttpHeaders headers,
+                                                                 HttpServletRequest request) throws IOException {
+        File file = ((FileSystemResource) content).getFile();
+        long size = ((FileSystemResource) content).contentLength();
+        headers.setContentLength(size);
+        if (request != null && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTRIBUTE))) {
+            request.setAttribute(SENDFILE_FILENAME_ATTRIBUTE, file.getAbsolutePath());
+            request.setAttribute(SENDFILE_START_ATTRIBUTE, 0L);
+            request.setAttribute(SENDFILE_END_ATTRIBUTE, size);
+            return new ResponseEntity<>(headers, HttpStatus.OK);
+        }
+        Path path = file.toPath();
+        return new ResponseEntity<>(outputStream -> transfer(path, outputStream), headers, HttpStatus.OK);
+    }
+
+    /**
+     * Writes the content of a file to an {@link OutputStream}.
+     *
+     * @param path         Path of the file.
+     * @param outputStream The stream to write to.
+     * @throws IOException If the file cannot be read or the stream written.
+     */
+    static void transfer(Path path, OutputStream outputStream) throws IOException {
+        Files.copy(path, outputStream);
+        outputStream.flush();
+    }
+}
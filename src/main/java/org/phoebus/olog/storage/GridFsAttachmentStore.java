@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+
+package org.phoebus.olog.storage;
+
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.gridfs.GridFSBucket;
+import com.mongodb.client.gridfs.model.GridFSFile;
+import com.mongodb.client.gridfs.model.GridFSUploadOptions;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.phoebus.olog.MongoConfig;
+import org.phoebus.olog.entity.Attachment;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.gridfs.GridFsResource;
+import org.springframework.data.mongodb.gridfs.GridFsTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Stores attachments in MongoDB GridFS. This is the default {@link AttachmentStore}.
+ * <p>
+ * The metadata description and the content encoding, if any, are kept in the metadata document of the file.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "attachment.storage", havingValue = GridFsAttachmentStore.NAME, matchIfMissing = true)
+public class GridFsAttachmentStore implements AttachmentStore {
+
+    public static final String NAME = "gridfs";
+
+    private static final String METADATA_DESCRIPTION = "meta-data";
+    private static final String CONTENT_ENCODING = "content-encoding";
+
+    @SuppressWarnings("unused")
+    @Autowired
+    private GridFsTemplate gridFsTemplate;
+    @SuppressWarnings("unused")
+    @Autowired
+    @Qualifier(MongoConfig.DOWNLOAD_GRID_FS_TEMPLATE)
+    private GridFsTemplate downloadGridFsTemplate;
+    @SuppressWarnings("unused")
+    @Autowired
+    private GridFSBucket gridFSBucket;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public String store(String id, String filename, String fileMetadataDescription, String contentEncoding, InputStream content) throws IOException {
+        Document metadata = new Document(METADATA_DESCRIPTION, fileMetadataDescription);
+        if (contentEncoding != null) {
+            metadata.append(CONTENT_ENCODING, contentEncoding);
+        }
+        GridFSUploadOptions options = new GridFSUploadOptions().metadata(metadata);
+        if (id != null && !id.isEmpty()) {
+            gridFSBucket.uploadFromStream(new BsonString(id), filename, content, options);
+            return id;
+        }
+        ObjectId objectId = gridFSBucket.uploadFromStream(filename, content, options);
+        return objectId.toString();
+    }
+
+    @Override
+    public Optional<Attachment> find(String id) {
+        return find(gridFsTemplate, id);
+    }
+
+    /**
+     * Reads with the read preference <code>mongo.read.preference</code>, see {@link MongoConfig}.
+     */
+    @Override
+    public Optional<Attachment> findForDownload(String id) {
+        return find(downloadGridFsTemplate, id);
+    }
+
+    @Override
+    public boolean exists(String id) {
+        return findFile(gridFsTemplate, id) != null;
+    }
+
+    @Override
+    public void delete(String id) {
+        gridFsTemplate.delete(new Query(where("_id").is(id)));
+    }
+
+    @Override
+    public void forEach(Consumer<StoredAttachment> action) {
+        try (MongoCursor<GridFSFile> cursor = gridFSBucket.find().iterator()) {
+            while (cursor.hasNext()) {
+                GridFSFile gridFsFile = cursor.next();
+                action.accept(new StoredAttachment(toId(gridFsFile.getId()), gridFsFile.getUploadDate().toInstant(), gridFsFile.getLength()));
+            }
+        }
+    }
+
+    /**
+     * @return The id as used by clients: set by the client, or generated by GridFS as an {@link ObjectId}.
+     */
+    private static String toId(BsonValue id) {
+        if (id.isString()) {
+            return id.asString().getValue();
+        }
+        if (id.isObjectId()) {
+            return id.asObjectId().getValue().toString();
+        }
+        return id.toString();
+    }
+
+    private static Optional<Attachment> find(GridFsTemplate gridFsTemplate, String id) {
+        GridFSFile gridFsFile = findFile(gridFsTemplate, id);
+        if (gridFsFile == null) {
+            return Optional.empty();
+        }
+        Document metadata = gridFsFile.getMetadata();
+        Attachment attachment = new Attachment();
+        attachment.setId(id);
+        GridFsResource resource = gridFsTemplate.getResource(gridFsFile);
+        if (metadata != null && GzipContent.ENCODING.equals(metadata.getString(CONTENT_ENCODING))) {
+            attachment.setAttachment(new GzipContent(resource));
+        } else {
+            attachment.setAttachment(resource);
+        }
+        attachment.setFilename(gridFsFile.getFilename());
+        attachment.setFileMetadataDescription(metadata == null ? null : metadata.getString(METADATA_DESCRIPTION));
+        return Optional.of(attachment);
+    }
+
+    private static GridFSFile findFile(GridFsTemplate gridFsTemplate, String id) {
+        return gridFsTemplate.find(new Query(where("_id").is(id))).first();
+    }
+}
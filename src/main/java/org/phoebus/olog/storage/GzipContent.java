@@ -0,0 +1,224 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+
+package org.phoebus.olog.storage;
+
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.Enumeration;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterInputStream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Content of an attachment stored gzip compressed, see {@link AttachmentCompression}. {@link #getInputStream()}
+ * decompresses the content, such that it can be read like any other attachment. Downloads may instead send
+ * {@link #getCompressedContent()} with <code>Content-Encoding: gzip</code> if the client accepts it.
+ */
+public class GzipContent implements InputStreamSource {
+
+    /**
+     * Name of the encoding, as recorded in the attachment metadata and used in HTTP headers.
+     */
+    public static final String ENCODING = "gzip";
+
+    private static final int GZIP_MAGIC = 0x8b1f;
+    private static final int TRAILER_SIZE = 8;
+
+    private final InputStreamSource compressedContent;
+
+    /**
+     * @param compressedContent The gzip compressed content as stored.
+     */
+    public GzipContent(InputStreamSource compressedContent) {
+        this.compressedContent = compressedContent;
+    }
+
+    /**
+     * @return The compressed content as stored, e.g. a {@link org.springframework.core.io.FileSystemResource}
+     * that can be sent with {@link FileTransfer}.
+     */
+    public InputStreamSource getCompressedContent() {
+        return compressedContent;
+    }
+
+    /**
+     * Reads the size of the decompressed content from the gzip trailer, without decompressing the content. The
+     * trailer holds the size modulo 2^32, which is exact for attachments smaller than 4 GiB, see
+     * <code>attachment.upload.max.size</code>.
+     *
+     * @return The size of the decompressed content in bytes, or -1 if the compressed content is not a
+     * {@link Resource} of known length.
+     * @throws IOException If the compressed content cannot be read.
+     */
+    public long contentLength() throws IOException {
+        if (!(compressedContent instanceof Resource resource)) {
+            return -1;
+        }
+        long compressedLength = resource.contentLength();
+        if (compressedLength < TRAILER_SIZE) {
+            return -1;
+        }
+        try (InputStream inputStream = resource.getInputStream()) {
+            // The trailer ends with the size, 4 bytes little endian
+            inputStream.skipNBytes(compressedLength - 4);
+            byte[] size = inputStream.readNBytes(4);
+            long length = 0;
+            for (int i = size.length - 1; i >= 0; i--) {
+                length = (length << 8) | (size[i] & 0xff);
+            }
+            return length;
+        }
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return new GZIPInputStream(compressedContent.getInputStream());
+    }
+
+    /**
+     * Selects the content to send in response to a download request.
+     *
+     * @param content        Content of an attachment.
+     * @param acceptEncoding The <code>Accept-Encoding</code> header of the request, may be <code>null</code>.
+     * @param headers        Response headers. For compressed content, <code>Vary: Accept-Encoding</code> is added,
+     *                       and <code>Content-Encoding: gzip</code> if the client accepts it.
+     * @return The compressed content if the content is a {@link GzipContent} and the client accepts gzip,
+     * otherwise the content itself, which is decompressed when read.
+     */
+    public static InputStreamSource negotiate(InputStreamSource content, String acceptEncoding, HttpHeaders headers) {
+        if (!(content instanceof GzipContent gzipContent)) {
+            return content;
+        }
+        headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (!isAccepted(acceptEncoding)) {
+            return content;
+        }
+        headers.set(HttpHeaders.CONTENT_ENCODING, ENCODING);
+        return gzipContent.getCompressedContent();
+    }
+
+    /**
+     * @param acceptEncoding The <code>Accept-Encoding</code> header of a request, may be <code>null</code>.
+     * @return <code>true</code> if the client accepts gzip encoded responses.
+     */
+    public static boolean isAccepted(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        boolean wildcard = false;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parameters = coding.split(";");
+            String name = parameters[0].trim();
+            if (name.equalsIgnoreCase(ENCODING) || name.equalsIgnoreCase("x-gzip")) {
+                // An explicit entry takes precedence over the wildcard
+                return quality(parameters) > 0;
+            }
+            if (name.equals("*")) {
+                wildcard = quality(parameters) > 0;
+            }
+        }
+        return wildcard;
+    }
+
+    /**
+     * @return The q parameter of an <code>Accept-Encoding</code> entry, 1 if not set and 0 if invalid.
+     */
+    private static double quality(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            String parameter = parameters[i].trim();
+            if (parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                try {
+                    return Double.parseDouble(parameter.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * Compresses a stream as it is read, without buffering more than a chunk of it. Closing the returned stream
+     * closes the content.
+     *
+     * @param content The content to compress.
+     * @param level   Compression level, 1 (fastest) to 9 (smallest), or {@link Deflater#DEFAULT_COMPRESSION}.
+     * @return A stream of the gzip compressed content.
+     */
+    public static InputStream compress(InputStream content, int level) {
+        CRC32 crc = new CRC32();
+        long[] size = new long[1];
+        CheckedInputStream checkedContent = new CheckedInputStream(content, crc) {
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                if (b != -1) {
+                    size[0]++;
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                int count = super.read(buffer, offset, length);
+                if (count > 0) {
+                    size[0] += count;
+                }
+                return count;
+            }
+        };
+        Deflater deflater = new Deflater(level, true);
+        InputStream deflated = new DeflaterInputStream(checkedContent, deflater) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    deflater.end();
+                }
+            }
+        };
+        byte[] header = {
+                (byte) GZIP_MAGIC, (byte) (GZIP_MAGIC >> 8), Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff
+        };
+        // The trailer holds the checksum and size of the content, so it is created after the content is read.
+        // The deflater has ended by then, as SequenceInputStream closes each part when it has been read.
+        Enumeration<InputStream> parts = new Enumeration<>() {
+            private int part;
+
+            @Override
+            public boolean hasMoreElements() {
+                return part < 3;
+            }
+
+            @Override
+            public InputStream nextElement() {
+                return switch (part++) {
+                    case 0 -> new ByteArrayInputStream(header);
+                    case 1 -> deflated;
+                    default -> new ByteArrayInputStream(trailer(crc.getValue(), size[0]));
+                };
+            }
+        };
+        return new SequenceInputStream(parts);
+    }
+
+    private static byte[] trailer(long crc, long size) {
+        byte[] trailer = new byte[8];
+        for (int i = 0; i < 4; i++) {
+            trailer[i] = (byte) (crc >> (8 * i));
+            trailer[i + 4] = (byte) (size >> (8 * i));
+        }
+        return trailer;
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+
+package org.phoebus.olog.storage;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Wraps the content of an upload while it is passed on to an {@link AttachmentStore}, computing its size and
+ * checksum on the fly. Content exceeding the maximum size is rejected with a {@link SizeLimitExceededException}
+ * as soon as the limit is crossed, i.e. before the remainder of the upload has been received.
+ */
+public class UploadInputStream extends FilterInputStream {
+
+    public static final String CHECKSUM_ALGORITHM = "SHA-256";
+
+    private final long maxSize;
+    private final MessageDigest digest;
+    private long size;
+    private boolean limitExceeded;
+    private String checksum;
+
+    /**
+     * @param in      The content.
+     * @param maxSize Maximum number of bytes that may be read.
+     */
+    public UploadInputStream(InputStream in, long maxSize) {
+        super(in);
+        this.maxSize = maxSize;
+        try {
+            digest = MessageDigest.getInstance(CHECKSUM_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b >= 0) {
+            count(1);
+            digest.update((byte) b);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int read = super.read(b, off, len);
+        if (read > 0) {
+            count(read);
+            digest.update(b, off, read);
+        }
+        return read;
+    }
+
+    /**
+     * Skipped bytes are read, such that they are included in the size and checksum.
+     */
+    @Override
+    public long skip(long n) throws IOException {
+        byte[] buffer = new byte[(int) Math.min(Math.max(n, 0), 8192)];
+        long skipped = 0;
+        while (skipped < n) {
+            int read = read(buffer, 0, (int) Math.min(buffer.length, n - skipped));
+            if (read < 0) {
+                break;
+            }
+            skipped += read;
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {
+        // Not supported, as the checksum cannot be rewound
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+
+    private void count(int read) throws SizeLimitExceededException {
+        size += read;
+        if (size > maxSize) {
+            limitExceeded = true;
+            throw new SizeLimitExceededException(maxSize);
+        }
+    }
+
+    /**
+     * @return Number of bytes read so far.
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * @return <code>true</code> if reading has been aborted because the content exceeds the maximum size.
+     */
+    public boolean isLimitExceeded() {
+        return limitExceeded;
+    }
+
+    /**
+     * @return The hex encoded {@link #CHECKSUM_ALGORITHM} checksum of the content. Must be called only once the
+     * content has been read to the end.
+     */
+    public String getChecksum() {
+        if (checksum == null) {
+            checksum = HexFormat.of().formatHex(digest.digest());
+        }
+        return checksum;
+    }
+
+    /**
+     * Thrown when the content exceeds the maximum size. This is an {@link IOException}, such that attachment
+     * stores discard what they have written so far as they do for any other failing upload.
+     */
+    public static class SizeLimitExceededException extends IOException {
+
+        public SizeLimitExceededException(long maxSize) {
+            super("Content exceeds the maximum size of " + maxSize + " bytes");
+        }
+    }
+}
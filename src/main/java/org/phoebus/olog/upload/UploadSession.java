@@ -0,0 +1,39 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+
+package org.phoebus.olog.upload;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * State of a resumable attachment upload, see {@link UploadSessionService}.
+ *
+ * @param id                      Id of the upload session.
+ * @param logId                   Id of the log entry to which the attachment is added when the upload is completed.
+ * @param owner                   Name of the user who created the session. Only this user may upload to it.
+ * @param filename                File name of the attachment.
+ * @param fileMetadataDescription Description of the content, typically the content type.
+ * @param attachmentId            Id requested for the attachment, or <code>null</code> to let the storage generate one.
+ * @param length                  Total size in bytes as declared by the client, or <code>null</code> if not known up front.
+ * @param offset                  Number of bytes received so far, i.e. the offset of the next chunk.
+ * @param completedAttachmentId   Id of the stored attachment once the upload has been completed, otherwise <code>null</code>.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record UploadSession(String id,
+                            String logId,
+                            String owner,
+                            String filename,
+                            String fileMetadataDescription,
+                            String attachmentId,
+                            Long length,
+                            long offset,
+                            String completedAttachmentId) {
+
+    /**
+     * @return <code>true</code> if the attachment has been stored and added to the log entry.
+     */
+    public boolean isCompleted() {
+        return completedAttachmentId != null;
+    }
+}
@@ -0,0 +1,412 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+
+package org.phoebus.olog.upload;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.phoebus.olog.TextUtil;
+import org.phoebus.olog.metrics.MetricsSource;
+import org.phoebus.olog.storage.UploadInputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.text.MessageFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Manages resumable uploads of large attachments. A client creates an upload session, sends the content in chunks,
+ * each with the offset at which it starts, and finally completes the session, upon which the assembled file is
+ * stored as an attachment and added to a log entry.
+ * <p>
+ * Chunks are written to a file below <code>attachment.upload.directory</code>, where each session consists of a
+ * data file and a properties file holding its metadata. The number of bytes received is the size of the data
+ * file, so sessions survive a restart of the service. A chunk must start at or before the current offset: a
+ * chunk that is sent again because the client did not get the response simply overwrites the same bytes, and a
+ * chunk that is interrupted leaves the bytes received so far, from where the client resumes.
+ * </p>
+ * <p>
+ * Completed sessions are kept (without data) until they expire, such that a client retrying the completion gets
+ * the same result. Sessions not modified for <code>attachment.upload.session.ttl</code> seconds are deleted.
+ * </p>
+ */
+@Service
+public class UploadSessionService implements MetricsSource {
+
+    private static final Logger logger = Logger.getLogger(UploadSessionService.class.getName());
+
+    private static final String DATA_SUFFIX = ".data";
+    private static final String METADATA_SUFFIX = ".properties";
+    private static final String LOG_ID = "logId";
+    private static final String OWNER = "owner";
+    private static final String FILENAME = "filename";
+    private static final String METADATA_DESCRIPTION = "meta-data";
+    private static final String ATTACHMENT_ID = "attachmentId";
+    private static final String LENGTH = "length";
+    private static final String COMPLETED_ATTACHMENT_ID = "completedAttachmentId";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @SuppressWarnings("unused")
+    @Value("${attachment.upload.directory:${java.io.tmpdir}/olog-uploads}")
+    private Path directory;
+
+    @SuppressWarnings("unused")
+    @Value("${attachment.upload.max.size:2GB}")
+    private DataSize maxSize;
+
+    @SuppressWarnings("unused")
+    @Value("${attachment.upload.session.ttl:86400}")
+    private long timeToLive;
+
+    private final LongSupplier clock;
+    private final Map<String, Object> locks = new ConcurrentHashMap<>();
+    private ScheduledExecutorService cleanupScheduler;
+
+    private final LongAdder created = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder bytesReceived = new LongAdder();
+
+    public UploadSessionService() {
+        this.clock = System::currentTimeMillis;
+    }
+
+    UploadSessionService(Path directory, DataSize maxSize, long timeToLive, LongSupplier clock) throws IOException {
+        this.directory = directory;
+        this.maxSize = maxSize;
+        this.timeToLive = timeToLive;
+        this.clock = clock;
+        Files.createDirectories(directory);
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        Files.createDirectories(directory);
+        logger.log(Level.INFO, () -> MessageFormat.format(TextUtil.UPLOAD_DIRECTORY, directory.toAbsolutePath()));
+        long interval = Math.max(1, Math.min(timeToLive, 3600));
+        cleanupScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "upload-session-cleanup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        cleanupScheduler.scheduleWithFixedDelay(this::deleteExpired, interval, interval, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (cleanupScheduler != null) {
+            cleanupScheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Creates an upload session.
+     *
+     * @param logId                   Id of the log entry the attachment is added to.
+     * @param owner                   Name of the user creating the session.
+     * @param filename                File name of the attachment.
+     * @param fileMetadataDescription Description of the content, may be <code>null</code>.
+     * @param attachmentId            Id requested for the attachment, may be <code>null</code>.
+     * @param length                  Total size in bytes, or <code>null</code> if not known.
+     * @return The new {@link UploadSession}.
+     * @throws IllegalArgumentException                    If the length is negative.
+     * @throws UploadInputStream.SizeLimitExceededException If the length exceeds <code>attachment.upload.max.size</code>.
+     * @throws IOException                                 If the session cannot be written.
+     */
+    public UploadSession create(String logId, String owner, String filename, String fileMetadataDescription,
+                                String attachmentId, Long length) throws IOException {
+        if (length != null && length < 0) {
+            throw new IllegalArgumentException(MessageFormat.format(TextUtil.UPLOAD_LENGTH_INVALID, length));
+        }
+        if (length != null && length > maxSize.toBytes()) {
+            throw new UploadInputStream.SizeLimitExceededException(maxSize.toBytes());
+        }
+        String id = UUID.randomUUID().toString();
+        Properties metadata = new Properties();
+        metadata.setProperty(LOG_ID, logId);
+        metadata.setProperty(OWNER, owner);
+        metadata.setProperty(FILENAME, filename);
+        setIfNotNull(metadata, METADATA_DESCRIPTION, fileMetadataDescription);
+        setIfNotNull(metadata, ATTACHMENT_ID, attachmentId);
+        setIfNotNull(metadata, LENGTH, length == null ? null : length.toString());
+        Files.createFile(dataFile(id));
+        writeMetadata(id, metadata);
+        created.increment();
+        return toSession(id, metadata, 0);
+    }
+
+    /**
+     * @param id Id of an upload session.
+     * @return The {@link UploadSession}, or {@link Optional#empty()} if it does not exist or has expired.
+     */
+    public Optional<UploadSession> find(String id) {
+        if (!isValidId(id)) {
+            return Optional.empty();
+        }
+        try {
+            Properties metadata = readMetadata(id);
+            long offset;
+            if (metadata.getProperty(COMPLETED_ATTACHMENT_ID) != null) {
+                offset = Long.parseLong(metadata.getProperty(LENGTH));
+            } else {
+                offset = Files.size(dataFile(id));
+            }
+            return Optional.of(toSession(id, metadata, offset));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            logger.log(Level.WARNING, MessageFormat.format(TextUtil.UPLOAD_SESSION_NOT_READ, id), e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Writes a chunk of an upload.
+     *
+     * @param id      Id of the upload session.
+     * @param offset  Offset of the first byte of the chunk. Must not be greater than the current offset.
+     * @param content Content of the chunk, read to the end.
+     * @return The offset of the next chunk, i.e. the number of bytes received so far.
+     * @throws NoSuchElementException                      If the session does not exist.
+     * @throws IllegalArgumentException                    If the offset is negative.
+     * @throws IllegalStateException                       If the offset is beyond the bytes received so far, or if the
+     *                                                     session has been completed.
+     * @throws UploadInputStream.SizeLimitExceededException If the chunk extends beyond the declared length or
+     *                                                     <code>attachment.upload.max.size</code>.
+     * @throws IOException                                 If the chunk cannot be read or written. Bytes received
+     *                                                     before the failure are kept.
+     */
+    public long append(String id, long offset, InputStream content) throws IOException {
+        if (offset < 0) {
+            throw new IllegalArgumentException(MessageFormat.format(TextUtil.UPLOAD_OFFSET_INVALID, offset));
+        }
+        synchronized (lock(id)) {
+            UploadSession session = find(id).orElseThrow(() -> new NoSuchElementException(MessageFormat.format(TextUtil.UPLOAD_SESSION_NOT_FOUND, id)));
+            if (session.isCompleted()) {
+                throw new IllegalStateException(MessageFormat.format(TextUtil.UPLOAD_SESSION_COMPLETED, id));
+            }
+            if (offset > session.offset()) {
+                throw new IllegalStateException(MessageFormat.format(TextUtil.UPLOAD_OFFSET_MISMATCH, offset, session.offset()));
+            }
+            long limit = session.length() != null ? session.length() : maxSize.toBytes();
+            long position = offset;
+            try (FileChannel channel = FileChannel.open(dataFile(id), StandardOpenOption.WRITE)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int read;
+                while ((read = content.read(buffer)) != -1) {
+                    if (position + read > limit) {
+                        throw new UploadInputStream.SizeLimitExceededException(limit);
+                    }
+                    ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, read);
+                    while (byteBuffer.hasRemaining()) {
+                        position += channel.write(byteBuffer, position);
+                    }
+                    bytesReceived.add(read);
+                }
+            }
+            return Math.max(position, session.offset());
+        }
+    }
+
+    /**
+     * Completes an upload. Completing a session that has already been completed does not call the handler again,
+     * but returns the id of the stored attachment.
+     *
+     * @param id      Id of the upload session.
+     * @param handler Stores the assembled content and adds it to the log entry.
+     * @return The id of the stored attachment.
+     * @throws NoSuchElementException If the session does not exist.
+     * @throws IllegalStateException  If fewer bytes than declared have been received.
+     * @throws IOException            If the content cannot be read, or the handler fails.
+     */
+    public String complete(String id, CompletionHandler handler) throws IOException {
+        synchronized (lock(id)) {
+            UploadSession session = find(id).orElseThrow(() -> new NoSuchElementException(MessageFormat.format(TextUtil.UPLOAD_SESSION_NOT_FOUND, id)));
+            if (session.isCompleted()) {
+                return session.completedAttachmentId();
+            }
+            if (session.length() != null && session.offset() != session.length()) {
+                throw new IllegalStateException(MessageFormat.format(TextUtil.UPLOAD_INCOMPLETE, id, session.offset(), session.length()));
+            }
+            String attachmentId;
+            try (InputStream content = Files.newInputStream(dataFile(id))) {
+                attachmentId = handler.complete(session, content);
+            }
+            Properties metadata = readMetadata(id);
+            metadata.setProperty(LENGTH, Long.toString(session.offset()));
+            metadata.setProperty(COMPLETED_ATTACHMENT_ID, attachmentId);
+            writeMetadata(id, metadata);
+            Files.deleteIfExists(dataFile(id));
+            completed.increment();
+            return attachmentId;
+        }
+    }
+
+    /**
+     * Deletes an upload session and the content received so far. Deleting a session that does not exist has no
+     * effect.
+     *
+     * @param id Id of the upload session.
+     * @throws IOException If the files of the session cannot be deleted.
+     */
+    public void delete(String id) throws IOException {
+        if (!isValidId(id)) {
+            return;
+        }
+        synchronized (lock(id)) {
+            Files.deleteIfExists(dataFile(id));
+            Files.deleteIfExists(metadataFile(id));
+        }
+        locks.remove(id);
+    }
+
+    /**
+     * Deletes sessions not modified for <code>attachment.upload.session.ttl</code> seconds.
+     */
+    void deleteExpired() {
+        long expiry = clock.getAsLong() - TimeUnit.SECONDS.toMillis(timeToLive);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + METADATA_SUFFIX)) {
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                String id = fileName.substring(0, fileName.length() - METADATA_SUFFIX.length());
+                if (isValidId(id) && lastModified(id) < expiry) {
+                    delete(id);
+                    expired.increment();
+                    logger.log(Level.INFO, () -> MessageFormat.format(TextUtil.UPLOAD_SESSION_EXPIRED, id));
+                }
+            }
+        } catch (IOException e) {
+            logger.log(Level.WARNING, TextUtil.UPLOAD_SESSION_CLEANUP_FAILED, e);
+        }
+    }
+
+    private long lastModified(String id) throws IOException {
+        long lastModified = Files.getLastModifiedTime(metadataFile(id)).toMillis();
+        Path dataFile = dataFile(id);
+        if (Files.exists(dataFile)) {
+            lastModified = Math.max(lastModified, Files.getLastModifiedTime(dataFile).toMillis());
+        }
+        return lastModified;
+    }
+
+    private Object lock(String id) {
+        return locks.computeIfAbsent(id, k -> new Object());
+    }
+
+    /**
+     * Session ids are used as file names, so only ids generated by {@link #create} are accepted.
+     */
+    private static boolean isValidId(String id) {
+        try {
+            return id != null && UUID.fromString(id).toString().equals(id);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private Path dataFile(String id) {
+        return directory.resolve(id + DATA_SUFFIX);
+    }
+
+    private Path metadataFile(String id) {
+        return directory.resolve(id + METADATA_SUFFIX);
+    }
+
+    private Properties readMetadata(String id) throws IOException {
+        Properties metadata = new Properties();
+        try (Reader reader = Files.newBufferedReader(metadataFile(id), StandardCharsets.UTF_8)) {
+            metadata.load(reader);
+        }
+        return metadata;
+    }
+
+    private void writeMetadata(String id, Properties metadata) throws IOException {
+        Path temporaryFile = Files.createTempFile(directory, id, ".tmp");
+        try {
+            try (Writer writer = Files.newBufferedWriter(temporaryFile, StandardCharsets.UTF_8)) {
+                metadata.store(writer, null);
+            }
+            Files.move(temporaryFile, metadataFile(id), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    private static void setIfNotNull(Properties properties, String key, String value) {
+        if (value != null) {
+            properties.setProperty(key, value);
+        }
+    }
+
+    private static UploadSession toSession(String id, Properties metadata, long offset) {
+        String length = metadata.getProperty(LENGTH);
+        return new UploadSession(id,
+                metadata.getProperty(LOG_ID),
+                metadata.getProperty(OWNER),
+                metadata.getProperty(FILENAME),
+                metadata.getProperty(METADATA_DESCRIPTION),
+                metadata.getProperty(ATTACHMENT_ID),
+                length == null ? null : Long.valueOf(length),
+                offset,
+                metadata.getProperty(COMPLETED_ATTACHMENT_ID));
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "uploads";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("created", created.sum());
+        metrics.put("completed", completed.sum());
+        metrics.put("expired", expired.sum());
+        metrics.put("bytesReceived", bytesReceived.sum());
+        return metrics;
+    }
+
+    /**
+     * Stores the content of a completed upload.
+     */
+    @FunctionalInterface
+    public interface CompletionHandler {
+
+        /**
+         * @param session The upload session.
+         * @param content The assembled content.
+         * @return The id of the stored attachment.
+         * @throws IOException If the content cannot be read or stored.
+         */
+        String complete(UploadSession session, InputStream content) throws IOException;
+    }
+}
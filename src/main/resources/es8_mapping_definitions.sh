@@ -128,6 +128,24 @@ curl -H 'Content-Type: application/json' -XPUT 'http://localhost:9200/olog_logs/
                 "description": {
                     "type": "text"
                 },
+                "html": {
+                    "type": "object",
+                    "enabled": false
+                },
+                "attachmentContent": {
+                    "type": "nested",
+                    "properties": {
+                        "id": {
+                            "type": "keyword"
+                        },
+                        "filename": {
+                            "type": "keyword"
+                        },
+                        "content": {
+                            "type": "text"
+                        }
+                    }
+                },
                 "level": {
                     "type": "text"
                 },
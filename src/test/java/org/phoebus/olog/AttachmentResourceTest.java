@@ -23,9 +23,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
 import org.phoebus.olog.entity.Attachment;
 import org.phoebus.olog.entity.Log;
+import org.phoebus.olog.storage.GzipContent;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.InputStreamSource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.ContextHierarchy;
 import org.springframework.test.context.TestPropertySource;
@@ -35,11 +38,14 @@ import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilde
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -62,7 +68,7 @@ class AttachmentResourceTest extends ResourcesTestBase {
         when(inputStreamSource.getInputStream()).thenReturn(new ByteArrayInputStream("data".getBytes()));
         when(attachment.getAttachment()).thenReturn(inputStreamSource);
         when(attachment.getFilename()).thenReturn("file.jpg");
-        when(attachmentRepository.findById("valid")).thenReturn(Optional.of(attachment));
+        when(attachmentRepository.findForDownload("valid")).thenReturn(Optional.of(attachment));
         MockHttpServletRequestBuilder request = get("/" + OlogResourceDescriptors.ATTACHMENT_URI + "/valid");
         MvcResult result = mockMvc.perform(request).andExpect(status().isOk())
                 .andReturn();
@@ -70,6 +76,30 @@ class AttachmentResourceTest extends ResourcesTestBase {
         assertEquals("data", responseData);
     }
 
+    @Test
+    void testGetCompressedAttachment() throws Exception {
+        byte[] compressed;
+        try (InputStream inputStream = GzipContent.compress(new ByteArrayInputStream("data".getBytes()), 6)) {
+            compressed = inputStream.readAllBytes();
+        }
+        Attachment attachment = new Attachment("valid", new GzipContent(new ByteArrayResource(compressed)), "file.txt", "text/plain");
+        when(attachmentRepository.findForDownload("valid")).thenReturn(Optional.of(attachment));
+
+        MockHttpServletRequestBuilder request = get("/" + OlogResourceDescriptors.ATTACHMENT_URI + "/valid")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate");
+        MvcResult result = mockMvc.perform(request).andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn();
+        assertArrayEquals(compressed, result.getResponse().getContentAsByteArray());
+
+        request = get("/" + OlogResourceDescriptors.ATTACHMENT_URI + "/valid");
+        result = mockMvc.perform(request).andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andReturn();
+        assertEquals("data", result.getResponse().getContentAsString());
+    }
+
     @Test
     void testGetAttachmentIOException() throws Exception {
         Attachment attachment = Mockito.mock(Attachment.class);
@@ -77,14 +107,14 @@ class AttachmentResourceTest extends ResourcesTestBase {
         when(inputStreamSource.getInputStream()).thenThrow(new IOException());
         when(attachment.getAttachment()).thenReturn(inputStreamSource);
         when(attachment.getFilename()).thenReturn("file.jpg");
-        when(attachmentRepository.findById("valid")).thenReturn(Optional.of(attachment));
+        when(attachmentRepository.findForDownload("valid")).thenReturn(Optional.of(attachment));
         MockHttpServletRequestBuilder request = get("/" + OlogResourceDescriptors.ATTACHMENT_URI + "/valid");
         mockMvc.perform(request).andExpect(status().isInternalServerError());
     }
 
     @Test
     void testGetAttachmentInvalidId() throws Exception {
-        when(attachmentRepository.findById("invalid")).thenReturn(Optional.empty());
+        when(attachmentRepository.findForDownload("invalid")).thenReturn(Optional.empty());
         MockHttpServletRequestBuilder request = get("/" + OlogResourceDescriptors.ATTACHMENT_URI + "/invalid");
         mockMvc.perform(request).andExpect(status().isNotFound());
     }
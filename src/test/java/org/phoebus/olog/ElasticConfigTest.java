@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+
+package org.phoebus.olog;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class ElasticConfigTest {
+
+    private ScheduledExecutorService executor;
+    private final LinkedBlockingQueue<ElasticConfig.InitializationState> states = new LinkedBlockingQueue<>();
+
+    @BeforeEach
+    public void setup() {
+        executor = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testRetryAfterException() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        AtomicInteger defaultsCreated = new AtomicInteger();
+        ElasticConfig.BackgroundInitialization initialization = new ElasticConfig.BackgroundInitialization(executor,
+                () -> {
+                    if (attempts.incrementAndGet() <= 2) {
+                        throw new RuntimeException("Elasticsearch not reachable");
+                    }
+                    return true;
+                },
+                () -> 4,
+                defaultsCreated::incrementAndGet,
+                states::add,
+                10, 100, 3);
+        executor.execute(initialization);
+
+        assertEquals(ElasticConfig.InitializationState.READY, states.poll(5, TimeUnit.SECONDS));
+        assertEquals(3, attempts.get());
+        assertEquals(1, defaultsCreated.get());
+        assertNull(states.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testFailedAfterRetries() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        ElasticConfig.BackgroundInitialization initialization = new ElasticConfig.BackgroundInitialization(executor,
+                () -> {
+                    attempts.incrementAndGet();
+                    throw new RuntimeException("Elasticsearch not reachable");
+                },
+                () -> 0,
+                () -> {
+                },
+                states::add,
+                10, 100, 3);
+        executor.execute(initialization);
+
+        assertEquals(ElasticConfig.InitializationState.FAILED, states.poll(5, TimeUnit.SECONDS));
+        // First attempt and three retries
+        assertEquals(4, attempts.get());
+        assertNull(states.poll(100, TimeUnit.MILLISECONDS));
+        assertEquals(4, attempts.get());
+    }
+
+    @Test
+    public void testRetryDelay() {
+        ElasticConfig.BackgroundInitialization initialization = new ElasticConfig.BackgroundInitialization(executor,
+                () -> false, () -> 0, () -> {
+        }, states::add, 1000, 5000, 3);
+        // Validation failures are retried with backoff, without reporting failure
+        initialization.run();
+        assertEquals(1000, initialization.nextDelay());
+        initialization.run();
+        assertEquals(2000, initialization.nextDelay());
+        initialization.run();
+        initialization.run();
+        assertEquals(5000, initialization.nextDelay());
+        assertNull(states.poll());
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+
+package org.phoebus.olog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LogArchiveDeltaTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testDiffAndApply() throws Exception {
+        ObjectNode version1 = LogArchiveDelta.full(
+                (ObjectNode) objectMapper.readTree("{\"id\":1,\"title\":\"Title\",\"source\":\"Text\",\"logbooks\":[{\"name\":\"Operations\"}]}"),
+                "1", 1);
+        ObjectNode version2 = LogArchiveDelta.full(
+                (ObjectNode) objectMapper.readTree("{\"id\":1,\"title\":\"New title\",\"source\":\"Text\",\"html\":\"<p>Text</p>\",\"logbooks\":[{\"name\":\"Operations\"}]}"),
+                "1", 2);
+
+        ObjectNode delta = LogArchiveDelta.diff(version1, version2);
+        assertTrue(LogArchiveDelta.isDelta(delta));
+        assertFalse(LogArchiveDelta.isDelta(version1));
+        // Only the changed field is stored
+        assertEquals("Title", delta.get("title").asText());
+        assertFalse(delta.has("source"));
+        assertFalse(delta.has("logbooks"));
+        assertEquals("html", delta.path("archive").path("removedFields").get(0).asText());
+        assertEquals(1, delta.path("archive").path("version").asLong());
+
+        assertEquals(2, delta.path("archive").path("baseVersion").asLong());
+
+        assertEquals(version1, LogArchiveDelta.apply(delta, version2));
+    }
+
+    @Test
+    void testWrongBase() throws Exception {
+        ObjectNode version1 = LogArchiveDelta.full((ObjectNode) objectMapper.readTree("{\"id\":1,\"title\":\"Title\"}"), "1", 1);
+        ObjectNode version2 = LogArchiveDelta.full((ObjectNode) objectMapper.readTree("{\"id\":1,\"title\":\"New title\"}"), "1", 2);
+        ObjectNode version3 = LogArchiveDelta.full((ObjectNode) objectMapper.readTree("{\"id\":1,\"title\":\"Newer title\"}"), "1", 3);
+        ObjectNode delta = LogArchiveDelta.diff(version1, version2);
+
+        // Version 2 has not been stored, e.g. after a partial bulk failure
+        assertThrows(IllegalStateException.class, () -> LogArchiveDelta.apply(delta, version3));
+        assertThrows(IllegalStateException.class, () -> LogArchiveDelta.apply(delta, null));
+    }
+}
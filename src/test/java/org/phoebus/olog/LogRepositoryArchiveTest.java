@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+
+package org.phoebus.olog;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.GetRequest;
+import co.elastic.clients.elasticsearch.core.GetResponse;
+import co.elastic.clients.elasticsearch.core.IndexRequest;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import co.elastic.clients.elasticsearch.core.bulk.OperationType;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.phoebus.olog.entity.Log;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests archiving of log entry versions in delta format, with Elasticsearch responses simulated.
+ */
+class LogRepositoryArchiveTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ElasticsearchClient client;
+    private LogRepository logRepository;
+
+    @BeforeEach
+    void setup() throws IOException {
+        client = Mockito.mock(ElasticsearchClient.class);
+        when(client._jsonpMapper()).thenReturn(new JacksonJsonpMapper());
+        logRepository = new LogRepository();
+        logRepository.client = client;
+        ReflectionTestUtils.setField(logRepository, "archiveDeltaEnabled", true);
+
+        ObjectNode current = (ObjectNode) objectMapper.readTree("{\"id\":1,\"title\":\"New title\"}");
+        when(client.get(any(GetRequest.class), eq(ObjectNode.class))).thenReturn(GetResponse.of(g -> g
+                .index(ElasticConfig.ES_LOG_INDEX).id("1").found(true).version(2L).source(current)));
+        ObjectNode previous = LogArchiveDelta.full((ObjectNode) objectMapper.readTree("{\"id\":1,\"title\":\"Title\"}"), "1", 1);
+        when(client.search(any(SearchRequest.class), eq(ObjectNode.class))).thenReturn(SearchResponse.of(r -> r
+                .took(1)
+                .timedOut(false)
+                .shards(s -> s.total(1).successful(1).failed(0))
+                .hits(h -> h.hits(hit -> hit.index(ElasticConfig.ES_LOG_ARCHIVE_INDEX).id("1_v1").source(previous)))));
+    }
+
+    private static Log log() {
+        return Log.LogBuilder.createLog().id(1L).build();
+    }
+
+    @Test
+    void testDeltaWrittenAfterArchive() throws Exception {
+        when(client.bulk(any(BulkRequest.class))).thenReturn(bulkResponse(null));
+
+        assertNotNull(logRepository.archive(log()));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<IndexRequest<ObjectNode>> request = ArgumentCaptor.forClass(IndexRequest.class);
+        verify(client).index(request.capture());
+        assertEquals("1_v1", request.getValue().id());
+        ObjectNode delta = request.getValue().document();
+        assertTrue(LogArchiveDelta.isDelta(delta));
+        assertEquals(2, delta.path(LogArchiveDelta.ARCHIVE).path(LogArchiveDelta.BASE_VERSION).asLong());
+    }
+
+    @Test
+    void testArchiveFailed() throws Exception {
+        // The bulk request is not atomic, only the new archived version fails
+        when(client.bulk(any(BulkRequest.class))).thenReturn(bulkResponse("version conflict"));
+
+        assertNull(logRepository.archive(log()));
+        // The previous version is kept in full, as the delta would have no base
+        verify(client, Mockito.never()).index(any(IndexRequest.class));
+    }
+
+    @Test
+    void testArchiveFailedUpdateSucceeded() throws Exception {
+        // The log entry is updated, but archiving its previous version fails in the same bulk request
+        when(client.bulk(any(BulkRequest.class))).thenReturn(BulkResponse.of(b -> b
+                .took(1)
+                .errors(true)
+                .items(archiveItem("shard not available"), updateItem())));
+        VersionedLog original = new VersionedLog(log(), 5, 1, 2);
+
+        assertNotNull(logRepository.archiveAndUpdate(original, log()));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<IndexRequest<ObjectNode>> request = ArgumentCaptor.forClass(IndexRequest.class);
+        verify(client, Mockito.times(2)).index(request.capture());
+        // The archived version is written on its own, then the previous version is replaced by a delta against it
+        assertEquals("1_v2", request.getAllValues().get(0).id());
+        assertFalse(LogArchiveDelta.isDelta(request.getAllValues().get(0).document()));
+        assertEquals("1_v1", request.getAllValues().get(1).id());
+        assertTrue(LogArchiveDelta.isDelta(request.getAllValues().get(1).document()));
+    }
+
+    @Test
+    void testArchiveAndUpdate() throws Exception {
+        when(client.bulk(any(BulkRequest.class))).thenReturn(BulkResponse.of(b -> b
+                .took(1)
+                .errors(false)
+                .items(archiveItem(null), updateItem())));
+        VersionedLog original = new VersionedLog(log(), 5, 1, 2);
+
+        assertNotNull(logRepository.archiveAndUpdate(original, log()));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<IndexRequest<ObjectNode>> request = ArgumentCaptor.forClass(IndexRequest.class);
+        verify(client).index(request.capture());
+        assertEquals("1_v1", request.getValue().id());
+    }
+
+    private static BulkResponseItem archiveItem(String error) {
+        return BulkResponseItem.of(i -> {
+            i.operationType(OperationType.Index).index(ElasticConfig.ES_LOG_ARCHIVE_INDEX).id("1_v2");
+            if (error == null) {
+                return i.status(201);
+            }
+            return i.status(503).error(e -> e.type("unavailable_shards_exception").reason(error));
+        });
+    }
+
+    private static BulkResponseItem updateItem() {
+        return BulkResponseItem.of(i -> i.operationType(OperationType.Index).index(ElasticConfig.ES_LOG_INDEX).id("1").status(200));
+    }
+
+    private static BulkResponse bulkResponse(String error) {
+        return BulkResponse.of(b -> b
+                .took(1)
+                .errors(error != null)
+                .items(BulkResponseItem.of(i -> {
+                    i.operationType(OperationType.Index).index(ElasticConfig.ES_LOG_ARCHIVE_INDEX).id("1_v2");
+                    if (error == null) {
+                        return i.status(201);
+                    }
+                    return i.status(409).error(e -> e.type("version_conflict_engine_exception").reason(error));
+                })));
+    }
+}
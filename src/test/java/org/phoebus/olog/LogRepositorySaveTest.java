@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+
+package org.phoebus.olog;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.GetRequest;
+import co.elastic.clients.elasticsearch.core.GetResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import co.elastic.clients.elasticsearch.core.bulk.OperationType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.phoebus.olog.entity.Log;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests saving log entries together with other documents, with Elasticsearch responses simulated.
+ */
+class LogRepositorySaveTest {
+
+    private ElasticsearchClient client;
+    private LogRepository logRepository;
+
+    @BeforeEach
+    void setup() throws IOException {
+        client = Mockito.mock(ElasticsearchClient.class);
+        logRepository = new LogRepository();
+        logRepository.client = client;
+        logRepository.generator = Mockito.mock(SequenceGenerator.class);
+        when(logRepository.generator.getID()).thenReturn(7L);
+        Log saved = Log.LogBuilder.createLog().id(7L).build();
+        when(client.get(any(GetRequest.class), eq(Log.class))).thenReturn(GetResponse.of(g -> g
+                .index(ElasticConfig.ES_LOG_INDEX).id("7").found(true).source(saved)));
+    }
+
+    @Test
+    void testAdditionalOperationFailed() throws Exception {
+        // The bulk request is not atomic, only the additional document fails
+        when(client.bulk(any(BulkRequest.class))).thenReturn(BulkResponse.of(b -> b
+                .took(1)
+                .errors(true)
+                .items(BulkResponseItem.of(i -> i.operationType(OperationType.Index)
+                                .index(ElasticConfig.ES_LOG_INDEX).id("7").status(201).result("created")),
+                        BulkResponseItem.of(i -> i.operationType(OperationType.Index)
+                                .index("outbox").id("7").status(429)
+                                .error(e -> e.type("es_rejected_execution_exception").reason("rejected"))))));
+        List<String> failed = new CopyOnWriteArrayList<>();
+
+        Log log = logRepository.save(Log.LogBuilder.createLog().title("title").build(),
+                id -> List.of(BulkOperation.of(op -> op.index(i -> i.index("outbox").id(id).document(id)))),
+                failed::add);
+        assertEquals(7L, log.getId());
+        assertEquals(List.of("7"), failed);
+    }
+
+    @Test
+    void testAdditionalOperationsSaved() throws Exception {
+        when(client.bulk(any(BulkRequest.class))).thenReturn(BulkResponse.of(b -> b
+                .took(1)
+                .errors(false)
+                .items(BulkResponseItem.of(i -> i.operationType(OperationType.Index)
+                                .index(ElasticConfig.ES_LOG_INDEX).id("7").status(201).result("created")),
+                        BulkResponseItem.of(i -> i.operationType(OperationType.Index)
+                                .index("outbox").id("7").status(201).result("created")))));
+        List<String> failed = new CopyOnWriteArrayList<>();
+
+        logRepository.save(Log.LogBuilder.createLog().title("title").build(),
+                id -> List.of(BulkOperation.of(op -> op.index(i -> i.index("outbox").id(id).document(id)))),
+                failed::add);
+        assertEquals(List.of(), failed);
+    }
+}
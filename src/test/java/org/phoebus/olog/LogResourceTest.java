@@ -19,6 +19,9 @@
 package org.phoebus.olog;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -40,6 +43,7 @@ import org.phoebus.olog.entity.websocket.WebSocketMessage;
 import org.phoebus.olog.websocket.WebSocketService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
@@ -60,6 +64,7 @@ import org.springframework.web.server.ResponseStatusException;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
@@ -74,6 +79,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.argThat;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
@@ -83,6 +89,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -244,7 +251,7 @@ public class LogResourceTest extends ResourcesTestBase {
         MultiValueMap<String, String> map = new LinkedMultiValueMap<>();
         map.put("a", List.of("b"));
 
-        when(logRepository.search(map)).thenAnswer(invocationOnMock -> new SearchResult(2, Arrays.asList(log1, log2)));
+        when(logRepository.search(eq(map), any())).thenAnswer(invocationOnMock -> new SearchResult(2, Arrays.asList(log1, log2)));
 
         MockHttpServletRequestBuilder request = get("/" + OlogResourceDescriptors.LOG_RESOURCE_URI)
                 .params(map)
@@ -257,7 +264,7 @@ public class LogResourceTest extends ResourcesTestBase {
                 });
         assertEquals(Long.valueOf(1L), logs.iterator().next().getId());
 
-        verify(logRepository, times(1)).search(map);
+        verify(logRepository, times(1)).search(eq(map), any());
     }
 
     @Test
@@ -265,7 +272,7 @@ public class LogResourceTest extends ResourcesTestBase {
         MultiValueMap<String, String> map = new LinkedMultiValueMap<>();
         map.put("a", List.of("b"));
 
-        when(logRepository.search(map)).thenAnswer(invocationOnMock -> new SearchResult(2, Arrays.asList(log1, log2)));
+        when(logRepository.search(eq(map), any())).thenAnswer(invocationOnMock -> new SearchResult(2, Arrays.asList(log1, log2)));
 
         MockHttpServletRequestBuilder request = get("/" + OlogResourceDescriptors.LOG_RESOURCE_URI + "/search")
                 .params(map)
@@ -280,6 +287,56 @@ public class LogResourceTest extends ResourcesTestBase {
         reset(logRepository);
     }
 
+    @Test
+    void testSearchLogsSmile() throws Exception {
+        MultiValueMap<String, String> map = new LinkedMultiValueMap<>();
+        map.put("a", List.of("b"));
+
+        when(logRepository.search(eq(map), any())).thenAnswer(invocationOnMock -> new SearchResult(2, Arrays.asList(log1, log2)));
+
+        MockHttpServletRequestBuilder request = get("/" + OlogResourceDescriptors.LOG_RESOURCE_URI + "/search")
+                .params(map)
+                .header(HttpHeaders.ACCEPT, WebConfig.APPLICATION_SMILE_VALUE);
+        MvcResult result = mockMvc.perform(request).andExpect(status().isOk())
+                .andExpect(content().contentType(WebConfig.APPLICATION_SMILE))
+                .andReturn();
+
+        SearchResult searchResult = objectMapper.copyWith(new SmileFactory())
+                .readValue(result.getResponse().getContentAsByteArray(), SearchResult.class);
+        assertEquals(2, searchResult.getHitCount());
+        assertEquals("description1", searchResult.getLogs().get(0).getDescription());
+    }
+
+    @Test
+    void testCreateLogCbor() throws Exception {
+        Log log = LogBuilder.createLog()
+                .id(1L)
+                .owner("user")
+                .title("title")
+                .withLogbooks(Set.of(logbook1, logbook2))
+                .withTags(Set.of(tag1, tag2))
+                .source("description1")
+                .createDate(now)
+                .modifyDate(now)
+                .level("Urgent")
+                .build();
+        when(logbookRepository.findAll()).thenReturn(Arrays.asList(logbook1, logbook2));
+        when(tagRepository.findAll()).thenReturn(Arrays.asList(tag1, tag2));
+        when(logRepository.save(argThat(new LogMatcher(log)), any(), any())).thenReturn(log);
+        ObjectMapper cborMapper = objectMapper.copyWith(new CBORFactory());
+        MockHttpServletRequestBuilder request = put("/" + OlogResourceDescriptors.LOG_RESOURCE_URI)
+                .content(cborMapper.writeValueAsBytes(log1))
+                .header(HttpHeaders.AUTHORIZATION, AUTHORIZATION)
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_CBOR_VALUE)
+                .contentType(MediaType.APPLICATION_CBOR);
+        MvcResult result = mockMvc.perform(request).andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        Log savedLog = cborMapper.readValue(result.getResponse().getContentAsByteArray(), Log.class);
+        assertEquals(Long.valueOf(1L), savedLog.getId());
+    }
+
     @Test
     void testCreateLogUnauthorized() throws Exception {
         MockHttpServletRequestBuilder request = put("/" + OlogResourceDescriptors.LOG_RESOURCE_URI)
@@ -303,7 +360,7 @@ public class LogResourceTest extends ResourcesTestBase {
                 .build();
         when(logbookRepository.findAll()).thenReturn(Arrays.asList(logbook1, logbook2));
         when(tagRepository.findAll()).thenReturn(Arrays.asList(tag1, tag2));
-        when(logRepository.save(argThat(new LogMatcher(log)))).thenReturn(log);
+        when(logRepository.save(argThat(new LogMatcher(log)), any(), any())).thenReturn(log);
         MockHttpServletRequestBuilder request = put("/" + OlogResourceDescriptors.LOG_RESOURCE_URI)
                 .content(objectMapper.writeValueAsString(log1))
                 .header(HttpHeaders.AUTHORIZATION, AUTHORIZATION)
@@ -339,8 +396,9 @@ public class LogResourceTest extends ResourcesTestBase {
                 .setProperties(Sets.newSet(property1))
                 .build();
 
-        when(logRepository.findById("1")).thenReturn(Optional.of(log));
-        when(logRepository.update(log)).thenReturn(log);
+        VersionedLog versionedLog = new VersionedLog(log, 0, 1, 1);
+        when(logRepository.findVersionedById("1")).thenReturn(Optional.of(versionedLog));
+        when(logRepository.archiveAndUpdate(argThat(v -> v == versionedLog), any())).thenReturn(log);
 
         MockHttpServletRequestBuilder request = post("/" + OlogResourceDescriptors.LOG_RESOURCE_URI + "/1")
                 .content(objectMapper.writeValueAsString(log))
@@ -353,6 +411,28 @@ public class LogResourceTest extends ResourcesTestBase {
         verify(webSocketService, times(1)).sendMessageToClients(new WebSocketMessage(MessageType.LOG_ENTRY_UPDATED, "1"));
     }
 
+    @Test
+    void testUpdateConflict() throws Exception {
+        Log log = LogBuilder.createLog()
+                .id(1L)
+                .owner("user")
+                .title("title")
+                .withLogbooks(Set.of(logbook1, logbook2))
+                .description("description1")
+                .createDate(now)
+                .level("Urgent")
+                .build();
+
+        when(logRepository.findVersionedById("1")).thenReturn(Optional.of(new VersionedLog(log, 0, 1, 1)));
+        when(logRepository.archiveAndUpdate(any(), any())).thenThrow(new OptimisticLockingFailureException("conflict"));
+
+        MockHttpServletRequestBuilder request = post("/" + OlogResourceDescriptors.LOG_RESOURCE_URI + "/1")
+                .content(objectMapper.writeValueAsString(log))
+                .header(HttpHeaders.AUTHORIZATION, AUTHORIZATION)
+                .contentType(JSON);
+        mockMvc.perform(request).andExpect(status().isConflict());
+    }
+
     @Test
     void testUpdateBadRequest() throws Exception {
         Property property1 = new Property();
@@ -384,7 +464,7 @@ public class LogResourceTest extends ResourcesTestBase {
     @Test
     void testGetAttachment() throws Exception {
         when(logRepository.findById("1")).thenReturn(Optional.of(log1));
-        when(attachmentRepository.findById("attachment1")).thenReturn(Optional.of(attachment));
+        when(attachmentRepository.findForDownload("attachment1")).thenReturn(Optional.of(attachment));
         MockHttpServletRequestBuilder request = get("/" + OlogResourceDescriptors.LOG_RESOURCE_URI
                 + "/attachments/1/Tulips.jpg");
         mockMvc.perform(request).andExpect(status().isOk());
@@ -394,7 +474,7 @@ public class LogResourceTest extends ResourcesTestBase {
     void testGetNonExistingAttachment() throws Exception {
 
         when(logRepository.findById("1")).thenReturn(Optional.of(log1));
-        when(attachmentRepository.findById("attachment1")).thenReturn(Optional.empty());
+        when(attachmentRepository.findForDownload("attachment1")).thenReturn(Optional.empty());
         MockHttpServletRequestBuilder request = get("/" + OlogResourceDescriptors.LOG_RESOURCE_URI
                 + "/attachments/1/Tulips.jpg");
         mockMvc.perform(request).andExpect(status().isNotFound());
@@ -432,6 +512,7 @@ public class LogResourceTest extends ResourcesTestBase {
 
         when(attachmentRepository.save(argThat(attachment -> true)))
                 .thenReturn(new Attachment(null, file, "filename.txt", "fileMetadataDescription"));
+        when(logRepository.update(log1)).thenReturn(log1);
         mockMvc.perform(MockMvcRequestBuilders.multipart("/" + OlogResourceDescriptors.LOG_RESOURCE_URI + "/attachments/1")
                         .file(file)
                         .file(filename)
@@ -440,6 +521,64 @@ public class LogResourceTest extends ResourcesTestBase {
                 .andExpect(status().is(200));
     }
 
+    @Test
+    void testStreamAttachment() throws Exception {
+        Log log = LogBuilder.createLog()
+                .id(1L)
+                .owner("owner")
+                .title("title")
+                .withLogbooks(Set.of(logbook1))
+                .description("description1")
+                .createDate(now)
+                .level("Urgent")
+                .build();
+        when(logRepository.findById("1")).thenReturn(Optional.of(log));
+        when(attachmentRepository.save(any())).thenAnswer(invocation -> {
+            Attachment attachment = invocation.getArgument(0);
+            try (InputStream inputStream = attachment.getAttachment().getInputStream()) {
+                assertEquals("some text", new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
+            }
+            attachment.setId("attachmentId");
+            return attachment;
+        });
+        when(logRepository.update(log)).thenReturn(log);
+
+        String body = "--boundary\r\n"
+                + "Content-Disposition: form-data; name=\"filename\"\r\n\r\n"
+                + "notes.txt\r\n"
+                + "--boundary\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"upload.txt\"\r\n"
+                + "Content-Type: text/plain\r\n\r\n"
+                + "some text\r\n"
+                + "--boundary--\r\n";
+        mockMvc.perform(post("/" + OlogResourceDescriptors.LOG_RESOURCE_URI + "/attachments/1/stream")
+                        .header(HttpHeaders.AUTHORIZATION, AUTHORIZATION)
+                        .contentType("multipart/form-data; boundary=boundary")
+                        .content(body.getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isOk());
+
+        Attachment attachment = log.getAttachments().first();
+        assertEquals("attachmentId", attachment.getId());
+        assertEquals("notes.txt", attachment.getFilename());
+        assertEquals("text/plain", attachment.getFileMetadataDescription());
+        // SHA-256 of "some text"
+        assertEquals("b94f6f125c79e3a5ffaa826f584c10d52ada669e6762051b826b55776d05aed2", attachment.getChecksum());
+    }
+
+    @Test
+    void testStreamAttachmentWithoutFile() throws Exception {
+        when(logRepository.findById("1")).thenReturn(Optional.of(log1));
+        String body = "--boundary\r\n"
+                + "Content-Disposition: form-data; name=\"filename\"\r\n\r\n"
+                + "notes.txt\r\n"
+                + "--boundary--\r\n";
+        mockMvc.perform(post("/" + OlogResourceDescriptors.LOG_RESOURCE_URI + "/attachments/1/stream")
+                        .header(HttpHeaders.AUTHORIZATION, AUTHORIZATION)
+                        .contentType("multipart/form-data; boundary=boundary")
+                        .content(body.getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void testCreateLogMultipart() throws Exception {
         Attachment attachment = new Attachment();
@@ -466,7 +605,7 @@ public class LogResourceTest extends ResourcesTestBase {
 
         when(logbookRepository.findAll()).thenReturn(Arrays.asList(logbook1, logbook2));
         when(tagRepository.findAll()).thenReturn(Arrays.asList(tag1, tag2));
-        when(logRepository.save(argThat(new LogMatcher(log)))).thenReturn(log);
+        when(logRepository.save(argThat(new LogMatcher(log)), any(), any())).thenReturn(log);
         when(logRepository.findById("1")).thenReturn(Optional.of(log));
         when(attachmentRepository.save(argThat(attachment1 -> true))).thenReturn(attachment);
         MockHttpServletRequestBuilder request =
@@ -502,7 +641,7 @@ public class LogResourceTest extends ResourcesTestBase {
 
         when(logbookRepository.findAll()).thenReturn(Arrays.asList(logbook1, logbook2));
         when(tagRepository.findAll()).thenReturn(Arrays.asList(tag1, tag2));
-        when(logRepository.save(argThat(new LogMatcher(log)))).thenReturn(log);
+        when(logRepository.save(argThat(new LogMatcher(log)), any(), any())).thenReturn(log);
         when(logRepository.findById("1")).thenReturn(Optional.of(log));
         MockHttpServletRequestBuilder request =
                 MockMvcRequestBuilders.multipart(HttpMethod.PUT,
@@ -548,7 +687,7 @@ public class LogResourceTest extends ResourcesTestBase {
 
         when(logbookRepository.findAll()).thenReturn(Arrays.asList(logbook1, logbook2));
         when(tagRepository.findAll()).thenReturn(Arrays.asList(tag1, tag2));
-        when(logRepository.save(argThat(new LogMatcher(log)))).thenReturn(log);
+        when(logRepository.save(argThat(new LogMatcher(log)), any(), any())).thenReturn(log);
         when(logRepository.findById("1")).thenReturn(Optional.of(log));
         MockHttpServletRequestBuilder request =
                 MockMvcRequestBuilders.multipart(HttpMethod.PUT,
@@ -588,7 +727,7 @@ public class LogResourceTest extends ResourcesTestBase {
 
         when(logbookRepository.findAll()).thenReturn(Arrays.asList(logbook1, logbook2));
         when(tagRepository.findAll()).thenReturn(Arrays.asList(tag1, tag2));
-        when(logRepository.save(argThat(new LogMatcher(log)))).thenReturn(log);
+        when(logRepository.save(argThat(new LogMatcher(log)), any(), any())).thenReturn(log);
         when(logRepository.findById("1")).thenReturn(Optional.of(log));
         MockHttpServletRequestBuilder request =
                 MockMvcRequestBuilders.multipart(HttpMethod.PUT,
@@ -630,8 +769,7 @@ public class LogResourceTest extends ResourcesTestBase {
     void testReplyInvalidLogEntryId() throws Exception {
         when(logbookRepository.findAll()).thenReturn(Arrays.asList(logbook1, logbook2));
         when(tagRepository.findAll()).thenReturn(Arrays.asList(tag1, tag2));
-        when(logRepository.findById("7"))
-                .thenThrow(new ResponseStatusException(HttpStatus.NOT_FOUND, "Failed to retrieve log"));
+        when(logRepository.findVersionedById("7")).thenReturn(Optional.empty());
         MockHttpServletRequestBuilder request = put("/" + OlogResourceDescriptors.LOG_RESOURCE_URI + "?inReplyTo=7")
                 .content(objectMapper.writeValueAsString(log1))
                 .header(HttpHeaders.AUTHORIZATION, AUTHORIZATION)
@@ -643,10 +781,10 @@ public class LogResourceTest extends ResourcesTestBase {
     void testReplyValidLogEntryId() throws Exception {
         when(logbookRepository.findAll()).thenReturn(Arrays.asList(logbook1, logbook2));
         when(tagRepository.findAll()).thenReturn(Arrays.asList(tag1, tag2));
-        when(logRepository.findById("7"))
-                .thenReturn(Optional.of(Log.LogBuilder.createLog().id(7L).build()));
+        when(logRepository.findVersionedById("7"))
+                .thenReturn(Optional.of(new VersionedLog(Log.LogBuilder.createLog().id(7L).build(), 0, 1)));
         Log log = Log.LogBuilder.createLog().id(1L).build();
-        when(logRepository.save(Mockito.any(Log.class))).thenAnswer(invocationOnMock -> log);
+        when(logRepository.save(Mockito.any(Log.class), any())).thenAnswer(invocationOnMock -> log);
         MockHttpServletRequestBuilder request = put("/" + OlogResourceDescriptors.LOG_RESOURCE_URI + "?inReplyTo=7")
                 .content(objectMapper.writeValueAsString(log1))
                 .header(HttpHeaders.AUTHORIZATION, AUTHORIZATION)
@@ -657,8 +795,8 @@ public class LogResourceTest extends ResourcesTestBase {
 
     @Test
     void testGroupNonExistingLogEntryId() throws Exception {
-        when(logRepository.findById("1")).thenReturn(Optional.of(Log.LogBuilder.createLog().build()));
-        when(logRepository.findById("2")).thenThrow(new ResponseStatusException(HttpStatus.NOT_FOUND, "Not found."));
+        when(logRepository.findAllVersionedById(List.of("1", "2")))
+                .thenReturn(List.of(new VersionedLog(Log.LogBuilder.createLog().id(1L).build(), 0, 1)));
 
         List<Long> ids = Arrays.asList(1L, 2L);
 
@@ -676,8 +814,8 @@ public class LogResourceTest extends ResourcesTestBase {
         Log log1 = Log.LogBuilder.createLog().id(1L).setProperties(Set.of(logEntryGroupProperty1)).build();
         Property logEntryGroupProperty2 = LogEntryGroupHelper.createNewLogEntryProperty();
         Log log2 = Log.LogBuilder.createLog().id(2L).setProperties(Set.of(logEntryGroupProperty2)).build();
-        when(logRepository.findById("1")).thenReturn(Optional.of(log1));
-        when(logRepository.findById("2")).thenReturn(Optional.of(log2));
+        when(logRepository.findAllVersionedById(List.of("1", "2")))
+                .thenReturn(List.of(new VersionedLog(log1, 0, 1), new VersionedLog(log2, 0, 1)));
 
         List<Long> ids = Arrays.asList(1L, 2L);
 
@@ -694,8 +832,8 @@ public class LogResourceTest extends ResourcesTestBase {
         Property logEntryGroupProperty1 = LogEntryGroupHelper.createNewLogEntryProperty();
         Log log1 = Log.LogBuilder.createLog().id(1L).setProperties(Set.of(logEntryGroupProperty1)).build();
         Log log2 = Log.LogBuilder.createLog().id(2L).setProperties(Set.of(logEntryGroupProperty1)).build();
-        when(logRepository.findById("1")).thenReturn(Optional.of(log1));
-        when(logRepository.findById("2")).thenReturn(Optional.of(log2));
+        when(logRepository.findAllVersionedById(List.of("1", "2")))
+                .thenReturn(List.of(new VersionedLog(log1, 0, 1), new VersionedLog(log2, 0, 1)));
 
         List<Long> ids = Arrays.asList(1L, 2L);
 
@@ -711,8 +849,8 @@ public class LogResourceTest extends ResourcesTestBase {
         Property logEntryGroupProperty1 = LogEntryGroupHelper.createNewLogEntryProperty();
         Log log1 = Log.LogBuilder.createLog().id(1L).setProperties(Set.of(logEntryGroupProperty1)).build();
         Log log2 = Log.LogBuilder.createLog().id(2L).build();
-        when(logRepository.findById("1")).thenReturn(Optional.of(log1));
-        when(logRepository.findById("2")).thenReturn(Optional.of(log2));
+        when(logRepository.findAllVersionedById(List.of("1", "2")))
+                .thenReturn(List.of(new VersionedLog(log1, 0, 1), new VersionedLog(log2, 0, 1)));
 
         List<Long> ids = Arrays.asList(1L, 2L);
 
@@ -727,8 +865,8 @@ public class LogResourceTest extends ResourcesTestBase {
     void testGroupNoExisting() throws Exception {
         Log log1 = Log.LogBuilder.createLog().id(1L).build();
         Log log2 = Log.LogBuilder.createLog().id(2L).build();
-        when(logRepository.findById("1")).thenReturn(Optional.of(log1));
-        when(logRepository.findById("2")).thenReturn(Optional.of(log2));
+        when(logRepository.findAllVersionedById(List.of("1", "2")))
+                .thenReturn(List.of(new VersionedLog(log1, 0, 1), new VersionedLog(log2, 0, 1)));
 
         List<Long> ids = Arrays.asList(1L, 2L);
 
@@ -739,11 +877,30 @@ public class LogResourceTest extends ResourcesTestBase {
         mockMvc.perform(request).andExpect(status().isOk());
     }
 
+    @Test
+    void testGroupConcurrentModification() throws Exception {
+        Log log1 = Log.LogBuilder.createLog().id(1L).build();
+        Log log2 = Log.LogBuilder.createLog().id(2L).build();
+        when(logRepository.findAllVersionedById(List.of("1", "2")))
+                .thenReturn(List.of(new VersionedLog(log1, 0, 1), new VersionedLog(log2, 0, 1)));
+        Mockito.doThrow(new OptimisticLockingFailureException("conflict"))
+                .when(logRepository).updateAllIfUnchanged(Mockito.anyList());
+
+        List<Long> ids = Arrays.asList(1L, 2L);
+
+        MockHttpServletRequestBuilder request = post("/" + OlogResourceDescriptors.LOG_RESOURCE_URI + "/group")
+                .content(objectMapper.writeValueAsString(ids))
+                .header(HttpHeaders.AUTHORIZATION, AUTHORIZATION)
+                .contentType(JSON);
+        mockMvc.perform(request).andExpect(status().isConflict());
+        verify(logRepository, times(5)).findAllVersionedById(List.of("1", "2"));
+    }
+
     @Test
     void testRssFeed() {
         Log log1Rss = Log.LogBuilder.createLog().id(1L).description("log1description").title("log1title").build();
         Log log2Rss = Log.LogBuilder.createLog().id(2L).description("log2description").title("log2title").build();
-        when(logRepository.search(any())).thenReturn(new SearchResult(2, List.of(log1Rss, log2Rss)));
+        when(logRepository.search(any(), any())).thenReturn(new SearchResult(2, List.of(log1Rss, log2Rss)));
 
         MockHttpServletRequestBuilder request = get("/" + OlogResourceDescriptors.LOG_RESOURCE_URI + "/rss")
                 .header(HttpHeaders.AUTHORIZATION, AUTHORIZATION);
@@ -822,7 +979,7 @@ public class LogResourceTest extends ResourcesTestBase {
     void testRssFeedCustomRequestParams() {
         Log log1Rss = Log.LogBuilder.createLog().id(1L).description("log1description").title("log1title").build();
         Log log2Rss = Log.LogBuilder.createLog().id(2L).description("log2description").title("log2title").build();
-        when(logRepository.search(any())).thenReturn(new SearchResult(2, List.of(log1Rss, log2Rss)));
+        when(logRepository.search(any(), any())).thenReturn(new SearchResult(2, List.of(log1Rss, log2Rss)));
 
         MultiValueMap<String, String> allRequestParams = new LinkedMultiValueMap<>();
         allRequestParams.put("start", List.of("2025-12-01 10:00:00.000"));
@@ -849,4 +1006,38 @@ public class LogResourceTest extends ResourcesTestBase {
         }
     }
 
+    @Test
+    void testAtomFeed() {
+        Log log1Atom = Log.LogBuilder.createLog().id(1L).description("log1description").title("log1title")
+                .modifyDate(Instant.ofEpochMilli(2000)).build();
+        Log log2Atom = Log.LogBuilder.createLog().id(2L).description("log2description").title("log2title")
+                .modifyDate(Instant.ofEpochMilli(1000)).build();
+        when(logRepository.search(any(), any())).thenReturn(new SearchResult(2, List.of(log1Atom, log2Atom)));
+
+        MockHttpServletRequestBuilder request = get("/" + OlogResourceDescriptors.LOG_RESOURCE_URI + "/atom")
+                .param("title", "atomfeed")
+                .header(HttpHeaders.AUTHORIZATION, AUTHORIZATION);
+        try {
+            MvcResult result = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_ATOM_XML_VALUE + ";charset=UTF-8"))
+                    .andExpect(header().dateValue(HttpHeaders.LAST_MODIFIED, 2000))
+                    .andExpect(content().string(allOf(
+                            containsString("<feed"),
+                            containsString(log1Atom.getDescription()),
+                            containsString(log2Atom.getTitle())
+                    )))
+                    .andReturn();
+            String eTag = result.getResponse().getHeader(HttpHeaders.ETAG);
+
+            mockMvc.perform(get("/" + OlogResourceDescriptors.LOG_RESOURCE_URI + "/atom")
+                            .param("title", "atomfeed")
+                            .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                            .header(HttpHeaders.AUTHORIZATION, AUTHORIZATION))
+                    .andExpect(status().isNotModified());
+        } catch (Exception ex) {
+            fail("Failed to make request", ex);
+        }
+    }
+
 }
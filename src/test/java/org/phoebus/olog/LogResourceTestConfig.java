@@ -21,6 +21,10 @@ package org.phoebus.olog;
 import org.apache.tika.detect.DefaultDetector;
 import org.apache.tika.detect.Detector;
 import org.mockito.Mockito;
+import org.phoebus.olog.admission.AdmissionController;
+import org.phoebus.olog.changefeed.ChangeFeedService;
+import org.phoebus.olog.extraction.AttachmentTextExtractionService;
+import org.phoebus.olog.notification.NotificationDispatcher;
 import org.phoebus.olog.websocket.WebSocketService;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
@@ -37,6 +41,36 @@ public class LogResourceTestConfig {
         return Mockito.mock(WebSocketService.class);
     }
 
+    @Bean
+    public ChangeFeedService changeFeedService(){
+        return Mockito.mock(ChangeFeedService.class);
+    }
+
+    @Bean
+    public NotificationDispatcher notificationDispatcher(){
+        return Mockito.mock(NotificationDispatcher.class);
+    }
+
+    @Bean
+    public PropertyProviderService propertyProviderService(){
+        return Mockito.mock(PropertyProviderService.class);
+    }
+
+    @Bean
+    public AttachmentTextExtractionService attachmentTextExtractionService(){
+        return Mockito.mock(AttachmentTextExtractionService.class);
+    }
+
+    @Bean
+    public AdmissionController admissionController(){
+        return new AdmissionController();
+    }
+
+    @Bean
+    public RssFeedCache rssFeedCache(){
+        return new RssFeedCache();
+    }
+
     @Bean
     public Detector detector(){
         return new DefaultDetector();
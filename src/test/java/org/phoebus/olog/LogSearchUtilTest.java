@@ -253,4 +253,29 @@ class LogSearchUtilTest {
         Map.Entry<String, List<String>> _startParameter = new AbstractMap.SimpleEntry<>("start", List.of("2 months"));
         assertThrows(ResponseStatusException.class, () -> logSearchUtil.determineDateAndTime(_startParameter, TimeZone.getTimeZone("CET")));
     }
+
+    @Test
+    public void testEstimateCost() {
+        LinkedMultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+        params.put("logbooks", List.of("Operations"));
+        params.put("start", List.of("2 days"));
+        assertEquals(1, logSearchUtil.estimateCost(params));
+
+        params.put("desc", List.of("dump"));
+        int exactTermCost = logSearchUtil.estimateCost(params);
+        params.put("desc", List.of("dump*"));
+        int trailingWildcardCost = logSearchUtil.estimateCost(params);
+        params.put("desc", List.of("*dump"));
+        int leadingWildcardCost = logSearchUtil.estimateCost(params);
+        assertTrue(exactTermCost < trailingWildcardCost);
+        assertTrue(trailingWildcardCost < leadingWildcardCost);
+
+        params.put("fuzzy", List.of(""));
+        assertTrue(logSearchUtil.estimateCost(params) > leadingWildcardCost);
+
+        // Text search over all time
+        params.remove("start");
+        params.remove("fuzzy");
+        assertTrue(logSearchUtil.estimateCost(params) > leadingWildcardCost);
+    }
 }
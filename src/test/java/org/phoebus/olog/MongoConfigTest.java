@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+package org.phoebus.olog;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.ReadPreference;
+import com.mongodb.ServerAddress;
+import com.mongodb.WriteConcern;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoDatabase;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MongoConfigTest {
+
+    @Test
+    void testServerAddresses() {
+        assertEquals(List.of(new ServerAddress("localhost", 27017)), MongoConfig.serverAddresses("localhost", 27017));
+        assertEquals(List.of(new ServerAddress("mongo1", 27018), new ServerAddress("mongo2", 27019), new ServerAddress("mongo3", 27018)),
+                MongoConfig.serverAddresses("mongo1, mongo2:27019,,mongo3", 27018));
+        assertEquals(List.of(new ServerAddress("[::1]", 27020), new ServerAddress("::1", 27017)),
+                MongoConfig.serverAddresses("[::1]:27020,::1", 27017));
+    }
+
+    @Test
+    void testClientSettings() {
+        MongoConfig config = config("secondaryPreferred", "majority");
+        MongoClientSettings settings = config.mongoClientSettings();
+        // Only downloads use the configured read preference
+        assertEquals(ReadPreference.primary(), settings.getReadPreference());
+        assertEquals(WriteConcern.MAJORITY, settings.getWriteConcern());
+        assertEquals(10, settings.getConnectionPoolSettings().getMaxSize());
+        assertTrue(settings.getConnectionPoolSettings().getConnectionPoolListeners().stream()
+                .anyMatch(MongoConnectionPoolMetrics.class::isInstance));
+        assertEquals(List.of(new ServerAddress("mongo1", 27017), new ServerAddress("mongo2", 27018)),
+                settings.getClusterSettings().getHosts());
+        assertEquals("rs0", settings.getClusterSettings().getRequiredReplicaSetName());
+    }
+
+    @Test
+    void testDatabaseFactory() {
+        MongoClient client = Mockito.mock(MongoClient.class);
+        MongoDatabase database = Mockito.mock(MongoDatabase.class, Mockito.RETURNS_SELF);
+        when(client.getDatabase("ologAttachments")).thenReturn(database);
+        MongoDatabaseFactory databaseFactory = MongoConfig.databaseFactory(client, "ologAttachments",
+                ReadPreference.secondaryPreferred(), WriteConcern.MAJORITY);
+        assertSame(database, databaseFactory.getMongoDatabase());
+        verify(database).withReadPreference(ReadPreference.secondaryPreferred());
+        verify(database).withWriteConcern(WriteConcern.MAJORITY);
+    }
+
+    @Test
+    void testInvalidWriteConcern() {
+        MongoConfig config = config("primary", "sometimes");
+        assertThrows(IllegalArgumentException.class, config::mongoClientSettings);
+    }
+
+    private static MongoConfig config(String readPreference, String writeConcern) {
+        MongoConfig config = new MongoConfig();
+        ReflectionTestUtils.setField(config, "mongoHost", "mongo1,mongo2:27018");
+        ReflectionTestUtils.setField(config, "mongoPort", 27017);
+        ReflectionTestUtils.setField(config, "mongoUri", "");
+        ReflectionTestUtils.setField(config, "replicaSet", "rs0");
+        ReflectionTestUtils.setField(config, "poolMaxSize", 10);
+        ReflectionTestUtils.setField(config, "poolMaxConnecting", 2);
+        ReflectionTestUtils.setField(config, "readPreference", readPreference);
+        ReflectionTestUtils.setField(config, "writeConcern", writeConcern);
+        return config;
+    }
+}
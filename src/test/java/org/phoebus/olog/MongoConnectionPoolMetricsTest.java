@@ -0,0 +1,36 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+package org.phoebus.olog;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionId;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.ConnectionCreatedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class MongoConnectionPoolMetricsTest {
+
+    @Test
+    void testMetricsSummedOverServers() {
+        MongoConnectionPoolMetrics poolMetrics = new MongoConnectionPoolMetrics(10);
+        ClusterId clusterId = new ClusterId();
+        ServerId server1 = new ServerId(clusterId, new ServerAddress("mongo1.internal", 27017));
+        ServerId server2 = new ServerId(clusterId, new ServerAddress("mongo2.internal", 27018));
+        poolMetrics.connectionCreated(new ConnectionCreatedEvent(new ConnectionId(server1)));
+        poolMetrics.connectionCreated(new ConnectionCreatedEvent(new ConnectionId(server1)));
+        poolMetrics.connectionCreated(new ConnectionCreatedEvent(new ConnectionId(server2)));
+
+        Map<String, Object> metrics = poolMetrics.getMetrics();
+        assertEquals(2, metrics.get("servers"));
+        assertEquals(3, metrics.get("size"));
+        assertFalse(metrics.toString().contains("mongo1"));
+        assertFalse(metrics.toString().contains("mongo2"));
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+package org.phoebus.olog;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.phoebus.olog.storage.AttachmentGarbageCollector;
+import org.phoebus.olog.storage.AttachmentGarbageCollector.Report;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.ContextHierarchy;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(SpringExtension.class)
+@ContextHierarchy({@ContextConfiguration(classes = {ResourcesTestConfig.class})})
+@WebMvcTest(OrphanedAttachmentsResource.class)
+@TestPropertySource(locations = "classpath:no_ldap_test_application.properties", properties = "admin-groups=ADMIN")
+@ActiveProfiles({"test"})
+public class OrphanedAttachmentsResourceTest extends ResourcesTestBase {
+
+    private static final String ADMIN_AUTHORIZATION =
+            "Basic " + Base64.getEncoder().encodeToString("admin:adminPass".getBytes());
+
+    @Autowired
+    private AttachmentGarbageCollector attachmentGarbageCollector;
+
+    @AfterEach
+    public void cleanup() {
+        Mockito.reset(attachmentGarbageCollector);
+    }
+
+    @Test
+    void testNotAuthenticated() throws Exception {
+        MockHttpServletRequestBuilder request = post("/" + OlogResourceDescriptors.ORPHANED_ATTACHMENTS_URI);
+        mockMvc.perform(request).andExpect(status().isUnauthorized());
+        verify(attachmentGarbageCollector, never()).collect(anyBoolean());
+    }
+
+    @Test
+    void testNotAdmin() throws Exception {
+        MockHttpServletRequestBuilder request = post("/" + OlogResourceDescriptors.ORPHANED_ATTACHMENTS_URI)
+                .header(HttpHeaders.AUTHORIZATION, AUTHORIZATION);
+        mockMvc.perform(request).andExpect(status().isForbidden());
+        verify(attachmentGarbageCollector, never()).collect(anyBoolean());
+    }
+
+    @Test
+    void testAdmin() throws Exception {
+        when(attachmentGarbageCollector.collect(true)).thenReturn(
+                new Report(Instant.now(), Instant.now(), true, 0, 0, 0, 0, 0, 0, List.of()));
+        MockHttpServletRequestBuilder request = post("/" + OlogResourceDescriptors.ORPHANED_ATTACHMENTS_URI)
+                .header(HttpHeaders.AUTHORIZATION, ADMIN_AUTHORIZATION);
+        mockMvc.perform(request).andExpect(status().isOk());
+        verify(attachmentGarbageCollector).collect(true);
+    }
+}
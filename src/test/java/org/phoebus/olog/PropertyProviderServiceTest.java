@@ -0,0 +1,202 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+
+package org.phoebus.olog;
+
+import org.junit.jupiter.api.Test;
+import org.phoebus.olog.entity.Attribute;
+import org.phoebus.olog.entity.Log;
+import org.phoebus.olog.entity.Property;
+import org.phoebus.olog.entity.State;
+import org.phoebus.olog.entity.preprocess.LogPropertyProvider;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class PropertyProviderServiceTest {
+
+    private final Log log = Log.LogBuilder.createLog().build();
+
+    @Test
+    public void testCachedResult() {
+        AtomicInteger calls = new AtomicInteger();
+        AtomicLong clock = new AtomicLong(1000L);
+        Property property = new Property("cached");
+        LogPropertyProvider provider = new LogPropertyProvider() {
+            @Override
+            public Property getProperty(Log log) {
+                calls.incrementAndGet();
+                return property;
+            }
+
+            @Override
+            public long getCacheTimeToLive() {
+                return 500;
+            }
+        };
+        PropertyProviderService.ProviderHandle handle =
+                new PropertyProviderService.ProviderHandle(provider, 1, 1, 3, 60000, clock::get);
+
+        assertSame(property, call(handle, 1000));
+        assertEquals(property, call(handle, 1000));
+        assertEquals(1, calls.get());
+
+        clock.addAndGet(500);
+        assertSame(property, call(handle, 1000));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void testCachedResultNotShared() {
+        AtomicLong clock = new AtomicLong(1000L);
+        LogPropertyProvider provider = new LogPropertyProvider() {
+            @Override
+            public Property getProperty(Log log) {
+                return new Property("cached", new HashSet<>(Set.of(new Attribute("name", "value"))));
+            }
+
+            @Override
+            public long getCacheTimeToLive() {
+                return 500;
+            }
+        };
+        PropertyProviderService.ProviderHandle handle =
+                new PropertyProviderService.ProviderHandle(provider, 1, 1, 3, 60000, clock::get);
+
+        Property first = call(handle, 1000);
+        first.setState(State.Inactive);
+        first.getAttributes().forEach(attribute -> attribute.setState(State.Inactive));
+        first.addAttributes(new Attribute("other"));
+
+        Property second = call(handle, 1000);
+        assertNotSame(first, second);
+        assertEquals(State.Active, second.getState());
+        assertEquals(Set.of(new Attribute("name", "value")), second.getAttributes());
+        assertEquals(State.Active, second.getAttributes().iterator().next().getState());
+
+        // Each cache hit is a separate copy
+        second.getAttributes().clear();
+        assertEquals(1, call(handle, 1000).getAttributes().size());
+    }
+
+    @Test
+    public void testCircuitBreaker() {
+        AtomicInteger calls = new AtomicInteger();
+        AtomicLong clock = new AtomicLong(1000L);
+        LogPropertyProvider provider = l -> {
+            calls.incrementAndGet();
+            throw new RuntimeException("provider failure");
+        };
+        PropertyProviderService.ProviderHandle handle =
+                new PropertyProviderService.ProviderHandle(provider, 1, 1, 2, 60000, clock::get);
+
+        assertNull(call(handle, 1000));
+        assertNull(call(handle, 1000));
+        assertEquals(2, calls.get());
+        // Circuit open, provider not called
+        assertNull(call(handle, 1000));
+        assertEquals(2, calls.get());
+        assertEquals(1L, handle.getMetrics().get("skipped"));
+
+        // Half-open, a single failure opens circuit again
+        clock.addAndGet(60000);
+        assertNull(call(handle, 1000));
+        assertEquals(3, calls.get());
+        assertNull(call(handle, 1000));
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    public void testHalfOpenSingleProbe() throws Exception {
+        AtomicBoolean fail = new AtomicBoolean(true);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicLong clock = new AtomicLong(1000L);
+        LogPropertyProvider provider = l -> {
+            if (fail.get()) {
+                throw new RuntimeException("provider failure");
+            }
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new Property("probe");
+        };
+        PropertyProviderService.ProviderHandle handle =
+                new PropertyProviderService.ProviderHandle(provider, 4, 10, 1, 60000, clock::get);
+        assertNull(call(handle, 1000));
+        fail.set(false);
+        clock.addAndGet(60000);
+
+        // Concurrent calls once the circuit is half-open: only one of them is let through
+        int callers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Object>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return handle.submit(log);
+                }));
+            }
+            start.countDown();
+            Object probe = null;
+            int probes = 0;
+            for (Future<Object> result : results) {
+                Object submitted = result.get(5, TimeUnit.SECONDS);
+                if (submitted != null) {
+                    probe = submitted;
+                    probes++;
+                }
+            }
+            assertEquals(1, probes);
+            assertEquals((long) callers - 1, handle.getMetrics().get("skipped"));
+
+            // The probe succeeds, the circuit is closed again
+            release.countDown();
+            assertEquals(new Property("probe"), handle.await(probe, System.nanoTime() + TimeUnit.SECONDS.toNanos(5), 5000));
+            assertEquals(false, handle.getMetrics().get("circuitOpen"));
+            assertEquals(new Property("probe"), call(handle, 1000));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testTimeout() {
+        LogPropertyProvider provider = l -> {
+            try {
+                Thread.sleep(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new Property("slow");
+        };
+        PropertyProviderService.ProviderHandle handle =
+                new PropertyProviderService.ProviderHandle(provider, 1, 1, 3, 60000, System::currentTimeMillis);
+        assertNull(call(handle, 100));
+        assertEquals(1L, handle.getMetrics().get("timeouts"));
+    }
+
+    private Property call(PropertyProviderService.ProviderHandle handle, long timeout) {
+        Object result = handle.submit(log);
+        return handle.await(result, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout), timeout);
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+package org.phoebus.olog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.phoebus.olog.entity.Log;
+import org.phoebus.olog.entity.SearchResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RawSourceWriterTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().addModule(new JavaTimeModule()).build();
+
+    private static final String SEARCH_RESPONSE = """
+            {"hits":{"total":{"value":42},"hits":[
+            {"_source":{"id":1,"owner":"user","title":"First","logbooks":[{"name":"ops","owner":null,"state":"Active"}]}},
+            {"_source":{"id":2,"owner":"user","title":"Second","properties":[]}}
+            ]}}""";
+
+    @Test
+    public void testSearchResult() throws Exception {
+        SearchResult searchResult = objectMapper.readValue(write(SEARCH_RESPONSE, false), SearchResult.class);
+        assertEquals(42, searchResult.getHitCount());
+        assertEquals(2, searchResult.getLogs().size());
+        assertEquals(1L, searchResult.getLogs().get(0).getId());
+        assertEquals("First", searchResult.getLogs().get(0).getTitle());
+        assertEquals("ops", searchResult.getLogs().get(0).getLogbooks().iterator().next().getName());
+        assertEquals("Second", searchResult.getLogs().get(1).getTitle());
+    }
+
+    @Test
+    public void testLogsOnly() throws Exception {
+        List<Log> logs = objectMapper.readValue(write(SEARCH_RESPONSE, true),
+                objectMapper.getTypeFactory().constructCollectionType(List.class, Log.class));
+        assertEquals(2, logs.size());
+        assertEquals(2L, logs.get(1).getId());
+    }
+
+    @Test
+    public void testNoHits() throws Exception {
+        assertEquals("{\"logs\":[],\"hitCount\":0}", write("{}", false));
+        assertEquals("{\"hitCount\":0,\"logs\":[]}", write("{\"hits\":{\"total\":{\"value\":0}}}", false));
+        assertEquals("[]", write("{}", true));
+        assertTrue(objectMapper.readValue(write("{}", false), SearchResult.class).getLogs().isEmpty());
+    }
+
+    @Test
+    public void testSearchStatistics() throws Exception {
+        RawSourceWriter.SearchStatistics statistics = RawSourceWriter.writeSearchResult(
+                new ByteArrayInputStream(("{\"took\":17," + SEARCH_RESPONSE.substring(1)).getBytes(StandardCharsets.UTF_8)),
+                new ByteArrayOutputStream(), false);
+        assertEquals(17, statistics.took());
+        assertEquals(42, statistics.hitCount());
+        statistics = RawSourceWriter.writeSearchResult(new ByteArrayInputStream("{}".getBytes(StandardCharsets.UTF_8)),
+                new ByteArrayOutputStream(), true);
+        assertEquals(-1, statistics.took());
+        assertEquals(0, statistics.hitCount());
+    }
+
+    private String write(String searchResponse, boolean logsOnly) throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        RawSourceWriter.writeSearchResult(new ByteArrayInputStream(searchResponse.getBytes(StandardCharsets.UTF_8)), outputStream, logsOnly);
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+}
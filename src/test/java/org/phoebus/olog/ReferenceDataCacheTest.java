@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+package org.phoebus.olog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+public class ReferenceDataCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private List<String> load() {
+        loads.incrementAndGet();
+        return List.of("a", "b");
+    }
+
+    @Test
+    public void testSnapshotReused() {
+        ReferenceDataCache cache = new ReferenceDataCache(new ObjectMapper(), 60, 0, now::get);
+        ResponseEntity<List<String>> first = cache.get(ReferenceDataCache.TAGS, this::load);
+        ResponseEntity<List<String>> second = cache.get(ReferenceDataCache.TAGS, this::load);
+        assertEquals(1, loads.get());
+        assertEquals(List.of("a", "b"), second.getBody());
+        assertEquals(first.getHeaders().getETag(), second.getHeaders().getETag());
+        assertEquals("max-age=0, must-revalidate", second.getHeaders().getCacheControl());
+    }
+
+    @Test
+    public void testInvalidate() {
+        ReferenceDataCache cache = new ReferenceDataCache(new ObjectMapper(), 60, 0, now::get);
+        cache.get(ReferenceDataCache.TAGS, this::load);
+        cache.get(ReferenceDataCache.LOGBOOKS, this::load);
+        cache.get(ReferenceDataCache.CONFIGURATION, this::load);
+        cache.invalidate(ReferenceDataCache.TAGS);
+        cache.get(ReferenceDataCache.TAGS, this::load);
+        cache.get(ReferenceDataCache.LOGBOOKS, this::load);
+        cache.get(ReferenceDataCache.CONFIGURATION, this::load);
+        // Tags and configuration reloaded, logbooks not
+        assertEquals(5, loads.get());
+    }
+
+    @Test
+    public void testInvalidateDuringLoad() {
+        ReferenceDataCache cache = new ReferenceDataCache(new ObjectMapper(), 60, 0, now::get);
+        cache.get(ReferenceDataCache.TAGS, () -> {
+            cache.invalidate(ReferenceDataCache.TAGS);
+            return load();
+        });
+        cache.get(ReferenceDataCache.TAGS, this::load);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testTimeToLive() {
+        ReferenceDataCache cache = new ReferenceDataCache(new ObjectMapper(), 60, 0, now::get);
+        cache.get(ReferenceDataCache.TAGS, this::load);
+        now.set(59_999);
+        cache.get(ReferenceDataCache.TAGS, this::load);
+        assertEquals(1, loads.get());
+        now.set(60_000);
+        cache.get(ReferenceDataCache.TAGS, this::load);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testDisabled() {
+        ReferenceDataCache cache = new ReferenceDataCache(new ObjectMapper(), 0, 0, now::get);
+        String eTag = cache.get(ReferenceDataCache.TAGS, this::load).getHeaders().getETag();
+        assertEquals(eTag, cache.get(ReferenceDataCache.TAGS, this::load).getHeaders().getETag());
+        assertEquals(2, loads.get());
+        assertNotEquals(eTag, cache.get(ReferenceDataCache.TAGS, () -> List.of("a")).getHeaders().getETag());
+    }
+}
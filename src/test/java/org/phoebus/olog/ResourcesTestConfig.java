@@ -22,6 +22,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mongodb.client.gridfs.GridFSBucket;
 import org.mockito.Mockito;
 import org.phoebus.olog.security.WebSecurityConfig;
+import org.phoebus.olog.storage.AttachmentGarbageCollector;
 import org.springframework.boot.autoconfigure.h2.H2ConsoleProperties;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
@@ -124,4 +125,14 @@ public class ResourcesTestConfig {
     public LevelRepository levelRepository(){
         return Mockito.mock(LevelRepository.class);
     }
+
+    @Bean
+    public ReferenceDataCache referenceDataCache(){
+        return new ReferenceDataCache();
+    }
+
+    @Bean
+    public AttachmentGarbageCollector attachmentGarbageCollector() {
+        return Mockito.mock(AttachmentGarbageCollector.class);
+    }
 }
@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+package org.phoebus.olog;
+
+import org.junit.jupiter.api.Test;
+import org.phoebus.olog.entity.Log;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+public class RssFeedCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private List<Log> logs = List.of(
+            Log.LogBuilder.createLog().id(1L).title("a").createDate(Instant.ofEpochMilli(1000)).build(),
+            Log.LogBuilder.createLog().id(2L).title("b").createDate(Instant.ofEpochMilli(2000)).modifyDate(Instant.ofEpochMilli(5000)).build());
+
+    private List<Log> load() {
+        loads.incrementAndGet();
+        return logs;
+    }
+
+    private ResponseEntity<Integer> get(RssFeedCache cache, MultiValueMap<String, String> params) {
+        return cache.get("rss", "http://localhost", params, this::load, List::size);
+    }
+
+    private static MultiValueMap<String, String> params(String... nameValues) {
+        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+        for (int i = 0; i < nameValues.length; i += 2) {
+            params.add(nameValues[i], nameValues[i + 1]);
+        }
+        return params;
+    }
+
+    @Test
+    public void testFeedReused() {
+        RssFeedCache cache = new RssFeedCache(60, 100, now::get);
+        ResponseEntity<Integer> first = get(cache, params("tags", "a", "tags", "b", "logbooks", "x"));
+        // Same parameters in a different order
+        ResponseEntity<Integer> second = get(cache, params("Logbooks", "x", "tags", "b", "tags", "a"));
+        assertEquals(1, loads.get());
+        assertEquals(2, second.getBody());
+        assertEquals(first.getHeaders().getETag(), second.getHeaders().getETag());
+        assertEquals(5000, second.getHeaders().getLastModified());
+        assertEquals("max-age=60, must-revalidate", second.getHeaders().getCacheControl());
+
+        get(cache, params("tags", "a"));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testInvalidate() {
+        RssFeedCache cache = new RssFeedCache(60, 100, now::get);
+        String eTag = get(cache, params()).getHeaders().getETag();
+        logs = List.of(Log.LogBuilder.createLog().id(1L).title("a").createDate(Instant.ofEpochMilli(1000)).modifyDate(Instant.ofEpochMilli(6000)).build());
+        cache.invalidate();
+        ResponseEntity<Integer> reloaded = get(cache, params());
+        assertEquals(2, loads.get());
+        assertNotEquals(eTag, reloaded.getHeaders().getETag());
+        assertEquals(6000, reloaded.getHeaders().getLastModified());
+    }
+
+    @Test
+    public void testInvalidateDuringLoad() {
+        RssFeedCache cache = new RssFeedCache(60, 100, now::get);
+        cache.get("rss", "http://localhost", params(), () -> {
+            cache.invalidate();
+            return load();
+        }, List::size);
+        get(cache, params());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testTimeToLive() {
+        RssFeedCache cache = new RssFeedCache(60, 100, now::get);
+        get(cache, params());
+        now.set(59_999);
+        get(cache, params());
+        assertEquals(1, loads.get());
+        now.set(60_000);
+        get(cache, params());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testMaxEntries() {
+        RssFeedCache cache = new RssFeedCache(60, 1, now::get);
+        get(cache, params("tags", "a"));
+        get(cache, params("tags", "b"));
+        get(cache, params("tags", "a"));
+        get(cache, params("tags", "b"));
+        // Only the first feed is cached
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    public void testEmptyFeed() {
+        RssFeedCache cache = new RssFeedCache(0, 100, now::get);
+        logs = List.of();
+        ResponseEntity<Integer> response = get(cache, params());
+        assertEquals(0, response.getBody());
+        assertEquals(-1, response.getHeaders().getLastModified());
+    }
+}
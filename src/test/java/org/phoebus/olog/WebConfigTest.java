@@ -0,0 +1,26 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+package org.phoebus.olog;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WebConfigTest {
+
+    @Test
+    public void testIsBinaryFormatPreferred() {
+        assertFalse(WebConfig.isBinaryFormatPreferred(null));
+        assertFalse(WebConfig.isBinaryFormatPreferred("*/*"));
+        assertFalse(WebConfig.isBinaryFormatPreferred("application/json"));
+        assertFalse(WebConfig.isBinaryFormatPreferred("application/json, application/cbor"));
+        assertFalse(WebConfig.isBinaryFormatPreferred("application/cbor;q=0.5, application/json"));
+        assertFalse(WebConfig.isBinaryFormatPreferred("text/html, application/x-jackson-smile;q=0"));
+        assertFalse(WebConfig.isBinaryFormatPreferred("not a media type"));
+        assertTrue(WebConfig.isBinaryFormatPreferred("application/x-jackson-smile"));
+        assertTrue(WebConfig.isBinaryFormatPreferred("application/cbor, application/json"));
+        assertTrue(WebConfig.isBinaryFormatPreferred("application/json;q=0.8, application/x-jackson-smile"));
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+
+package org.phoebus.olog.admission;
+
+import org.junit.jupiter.api.Test;
+import org.phoebus.olog.admission.AdmissionController.Permit;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AdmissionBudgetTest {
+
+    @Test
+    void testAdmitWithinBudget() {
+        AdmissionBudget budget = new AdmissionBudget("search", 4, 0, 0, 5);
+        Permit first = budget.acquire(2);
+        Permit second = budget.acquire(2);
+        assertEquals(0, budget.getMetrics().get("availablePermits"));
+        first.close();
+        // Closing twice must not release permits twice
+        first.close();
+        assertEquals(2, budget.getMetrics().get("availablePermits"));
+        second.close();
+        assertEquals(4, budget.getMetrics().get("availablePermits"));
+    }
+
+    @Test
+    void testCostCappedAtBudget() {
+        AdmissionBudget budget = new AdmissionBudget("search", 4, 0, 0, 5);
+        try (Permit permit = budget.acquire(100)) {
+            assertEquals(0, budget.getMetrics().get("availablePermits"));
+        }
+        assertEquals(4, budget.getMetrics().get("availablePermits"));
+    }
+
+    @Test
+    void testRejectedWhenQueueFull() {
+        AdmissionBudget budget = new AdmissionBudget("search", 1, 0, 1000, 5);
+        try (Permit permit = budget.acquire(1)) {
+            AdmissionRejectedException exception = assertThrows(AdmissionRejectedException.class, () -> budget.acquire(1));
+            assertEquals(HttpStatus.TOO_MANY_REQUESTS, exception.getStatusCode());
+            assertEquals("5", exception.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        }
+        assertEquals(1L, budget.getMetrics().get("rejectedQueueFull"));
+    }
+
+    @Test
+    void testRejectedOnQueueTimeout() {
+        AdmissionBudget budget = new AdmissionBudget("search", 1, 10, 50, 5);
+        try (Permit permit = budget.acquire(1)) {
+            AdmissionRejectedException exception = assertThrows(AdmissionRejectedException.class, () -> budget.acquire(1));
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatusCode());
+        }
+        assertEquals(1L, budget.getMetrics().get("rejectedTimeout"));
+        assertEquals(0, budget.getMetrics().get("waiting"));
+    }
+
+    @Test
+    void testQueuedUntilReleased() throws Exception {
+        AdmissionBudget budget = new AdmissionBudget("write", 1, 10, 10000, 5);
+        Permit permit = budget.acquire(1);
+        CompletableFuture<Permit> queued = CompletableFuture.supplyAsync(() -> budget.acquire(1));
+        while (budget.getMetrics().get("waiting").equals(0)) {
+            Thread.sleep(10);
+        }
+        permit.close();
+        Permit admitted = queued.get(5, TimeUnit.SECONDS);
+        assertNotNull(admitted);
+        admitted.close();
+        assertEquals(2L, budget.getMetrics().get("admitted"));
+        assertEquals(1L, budget.getMetrics().get("queued"));
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+
+package org.phoebus.olog.changefeed;
+
+import org.junit.jupiter.api.Test;
+import org.phoebus.olog.entity.Log;
+import org.phoebus.olog.entity.websocket.MessageType;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ChangeFeedBufferTest {
+
+    @Test
+    public void testPositionsIncreaseWithinSameMilli() {
+        AtomicLong clock = new AtomicLong(1000L);
+        ChangeFeedBuffer buffer = new ChangeFeedBuffer(10, clock::get);
+        ChangeFeedEvent first = buffer.append(MessageType.NEW_LOG_ENTRY, log(1L));
+        ChangeFeedEvent second = buffer.append(MessageType.NEW_LOG_ENTRY, log(2L));
+        assertEquals(ChangeFeedEvent.fromEpochMilli(1000L), first.position());
+        assertEquals(first.position() + 1, second.position());
+        assertEquals(1000L, ChangeFeedEvent.toEpochMilli(second.position()));
+    }
+
+    @Test
+    public void testPositionsIncreaseWhenClockGoesBackwards() {
+        AtomicLong clock = new AtomicLong(2000L);
+        ChangeFeedBuffer buffer = new ChangeFeedBuffer(10, clock::get);
+        ChangeFeedEvent first = buffer.append(MessageType.NEW_LOG_ENTRY, log(1L));
+        clock.set(1000L);
+        ChangeFeedEvent second = buffer.append(MessageType.LOG_ENTRY_UPDATED, log(1L));
+        assertTrue(second.position() > first.position());
+    }
+
+    @Test
+    public void testEventsAfter() {
+        AtomicLong clock = new AtomicLong(1000L);
+        ChangeFeedBuffer buffer = new ChangeFeedBuffer(10, clock::get);
+        ChangeFeedEvent first = buffer.append(MessageType.NEW_LOG_ENTRY, log(1L));
+        clock.set(1001L);
+        ChangeFeedEvent second = buffer.append(MessageType.NEW_LOG_ENTRY, log(2L));
+        clock.set(1002L);
+        ChangeFeedEvent third = buffer.append(MessageType.NEW_LOG_ENTRY, log(3L));
+
+        assertEquals(List.of(first, second, third), buffer.eventsAfter(buffer.getFloor()));
+        assertEquals(List.of(second, third), buffer.eventsAfter(first.position()));
+        assertTrue(buffer.eventsAfter(third.position()).isEmpty());
+    }
+
+    @Test
+    public void testEviction() {
+        AtomicLong clock = new AtomicLong(1000L);
+        ChangeFeedBuffer buffer = new ChangeFeedBuffer(2, clock::get);
+        long initialFloor = buffer.getFloor();
+        ChangeFeedEvent first = buffer.append(MessageType.NEW_LOG_ENTRY, log(1L));
+        ChangeFeedEvent second = buffer.append(MessageType.NEW_LOG_ENTRY, log(2L));
+        assertEquals(initialFloor, buffer.getFloor());
+
+        ChangeFeedEvent third = buffer.append(MessageType.NEW_LOG_ENTRY, log(3L));
+        assertEquals(2, buffer.size());
+        assertEquals(first.position(), buffer.getFloor());
+        assertEquals(List.of(second, third), buffer.eventsAfter(buffer.getFloor()));
+        assertEquals(third.position(), buffer.getLastPosition());
+    }
+
+    @Test
+    public void testInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new ChangeFeedBuffer(0, System::currentTimeMillis));
+    }
+
+    private static Log log(long id) {
+        return Log.LogBuilder.createLog().id(id).build();
+    }
+}
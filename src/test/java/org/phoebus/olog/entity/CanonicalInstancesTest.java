@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+
+package org.phoebus.olog.entity;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class CanonicalInstancesTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void register() {
+        CanonicalInstances.register(objectMapper);
+    }
+
+    @AfterEach
+    void clear() {
+        CanonicalInstances.clear();
+    }
+
+    @Test
+    void testDeserializedLogsShareInstances() throws Exception {
+        String json = """
+                [{"id":1,"title":"a","level":"Urgent","logbooks":[{"name":"ops","owner":"admin","state":"Active"}],"tags":[{"name":"beam","state":"Active"}]},
+                 {"id":2,"title":"b","level":"Urgent","logbooks":[{"name":"ops","owner":"admin","state":"Active"}],"tags":[{"name":"beam","state":"Active"}]}]
+                """;
+        List<Log> logs = List.of(objectMapper.readValue(json, Log[].class));
+        Log first = logs.get(0);
+        Log second = logs.get(1);
+        assertSame(first.getLogbooks().iterator().next(), second.getLogbooks().iterator().next());
+        assertSame(first.getTags().iterator().next(), second.getTags().iterator().next());
+        assertSame(first.getLevel(), second.getLevel());
+        assertEquals("ops", first.getLogbooks().iterator().next().getName());
+        assertEquals("admin", first.getLogbooks().iterator().next().getOwner());
+        assertEquals("beam", second.getTags().iterator().next().getName());
+        assertEquals("Urgent", second.getLevel());
+    }
+
+    @Test
+    void testFieldsAndUnknownProperties() throws Exception {
+        String json = """
+                {"id":1,"title":"a","logbooks":[{"owner":"admin","extra":{"a":[1,2]},"name":"ops"}],"tags":[{"state":"Inactive","name":"beam"}]}
+                """;
+        Log log = objectMapper.readValue(json, Log.class);
+        Logbook logbook = log.getLogbooks().iterator().next();
+        assertEquals("ops", logbook.getName());
+        assertEquals("admin", logbook.getOwner());
+        assertEquals(State.Active, logbook.getState());
+        Tag tag = log.getTags().iterator().next();
+        assertEquals("beam", tag.getName());
+        assertEquals(State.Inactive, tag.getState());
+        assertSame(tag, CanonicalInstances.tag("beam", State.Inactive));
+    }
+
+    @Test
+    void testRequestBodiesNotShared() throws Exception {
+        // Request bodies are deserialized by a mapper without the mix-in
+        ObjectMapper requestMapper = new ObjectMapper();
+        String json = """
+                {"id":1,"title":"a","logbooks":[{"name":"ops","owner":"admin","state":"Active"}],"tags":[{"name":"beam","state":"Active"}]}
+                """;
+        Log first = requestMapper.readValue(json, Log.class);
+        Log second = requestMapper.readValue(json, Log.class);
+        assertNotSame(first.getLogbooks().iterator().next(), second.getLogbooks().iterator().next());
+        assertNotSame(first.getTags().iterator().next(), second.getTags().iterator().next());
+        assertNotSame(CanonicalInstances.tag("beam", State.Active), first.getTags().iterator().next());
+    }
+
+    @Test
+    void testStateDistinguishesInstances() {
+        Tag active = CanonicalInstances.tag("beam", State.Active);
+        Tag inactive = CanonicalInstances.tag("beam", State.Inactive);
+        assertNotSame(active, inactive);
+        assertEquals(State.Inactive, inactive.getState());
+        assertSame(active, CanonicalInstances.tag("beam", State.Active));
+    }
+
+    @Test
+    void testBounded() {
+        Logbook first = CanonicalInstances.logbook("logbook0", "admin", State.Active);
+        for (int i = 1; i <= CanonicalInstances.MAX_SIZE; i++) {
+            CanonicalInstances.logbook("logbook" + i, "admin", State.Active);
+        }
+        // Pool has been cleared, so a new instance becomes canonical
+        assertNotSame(first, CanonicalInstances.logbook("logbook0", "admin", State.Active));
+    }
+}
@@ -25,6 +25,8 @@ import org.phoebus.olog.entity.Log.LogBuilder;
 import org.phoebus.olog.entity.preprocess.impl.CommonmarkCleaner;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class CommonmarkPreprocessorTest {
 
@@ -40,9 +42,22 @@ class CommonmarkPreprocessorTest {
         log = commonmarkPreprocessor.process(log);
         assertEquals("**BOLD** ![alt](http://foo.bar)", log.getSource());
         assertEquals("BOLD \"alt\" (http://foo.bar)", log.getDescription());
+        assertTrue(log.getHtml().contains("<strong>BOLD</strong>"));
 
     }
 
+    @Test
+    void testHtmlSanitized() {
+        Log log = LogBuilder.createLog()
+                .source("<script>alert(1)</script>\n\n[link](javascript:alert(1))")
+                .build();
+
+        log = commonmarkPreprocessor.process(log);
+        assertFalse(log.getHtml().contains("<script>"));
+        assertTrue(log.getHtml().contains("&lt;script&gt;"));
+        assertFalse(log.getHtml().contains("javascript:"));
+    }
+
     @Test
     void testDescriptionNull() {
         Log log = LogBuilder.createLog()
@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+
+package org.phoebus.olog.extraction;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.phoebus.olog.AttachmentRepository;
+import org.phoebus.olog.LogRepository;
+import org.phoebus.olog.entity.Attachment;
+import org.phoebus.olog.entity.Log;
+import org.phoebus.olog.storage.GzipContent;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AttachmentTextExtractionServiceTest {
+
+    @Test
+    void testCompressedAttachmentOverLimit() throws Exception {
+        byte[] data = "Beam current\n".repeat(200).getBytes(StandardCharsets.UTF_8);
+        byte[] compressed;
+        try (InputStream inputStream = GzipContent.compress(new ByteArrayInputStream(data), 6)) {
+            compressed = inputStream.readAllBytes();
+        }
+        // Smaller than the limit compressed, but larger decompressed
+        Attachment attachment = new Attachment("compressed", new GzipContent(new ByteArrayResource(compressed)), "current.txt", "text/plain");
+        AttachmentRepository attachmentRepository = Mockito.mock(AttachmentRepository.class);
+        when(attachmentRepository.findById("compressed")).thenReturn(Optional.of(attachment));
+        LogRepository logRepository = Mockito.mock(LogRepository.class);
+        AttachmentTextExtractionService service = new AttachmentTextExtractionService(attachmentRepository, logRepository,
+                1000, List.of("text/"));
+        service.init();
+        try {
+            Log log = Log.LogBuilder.createLog().id(1L).setAttachments(new TreeSet<>(List.of(attachment))).build();
+            service.submit(log);
+            verify(attachmentRepository, timeout(5000)).findById("compressed");
+            long deadline = System.currentTimeMillis() + 5000;
+            while ((long) service.getMetrics().get("skipped") == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(1L, service.getMetrics().get("skipped"));
+            assertEquals(0L, service.getMetrics().get("extracted"));
+            verify(logRepository, Mockito.never()).addAttachmentContent(anyString(), any());
+        } finally {
+            service.shutdown();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+
+package org.phoebus.olog.extraction;
+
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.mime.MediaType;
+import org.apache.tika.parser.ParseContext;
+import org.apache.tika.parser.Parser;
+import org.junit.jupiter.api.Test;
+import org.xml.sax.ContentHandler;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AttachmentTextExtractorTest {
+
+    private static final List<String> CONTENT_TYPES = List.of("text/", "application/pdf");
+
+    @Test
+    void testExtractText() throws Exception {
+        AttachmentTextExtractor extractor = new AttachmentTextExtractor(1000, 10000, CONTENT_TYPES, 4);
+        String text = extractor.extract(stream("Beam dump\n\n  due to   power dip"), "notes.txt");
+        assertEquals("Beam dump due to power dip", text);
+    }
+
+    @Test
+    void testTruncated() throws Exception {
+        AttachmentTextExtractor extractor = new AttachmentTextExtractor(10, 10000, CONTENT_TYPES, 4);
+        String text = extractor.extract(stream("0123456789 is longer than ten characters"), "notes.txt");
+        assertEquals("0123456789", text);
+    }
+
+    @Test
+    void testUnsupportedType() throws Exception {
+        AttachmentTextExtractor extractor = new AttachmentTextExtractor(1000, 10000, CONTENT_TYPES, 4);
+        byte[] png = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n', 0, 0, 0, 0x0d, 'I', 'H', 'D', 'R'};
+        assertNull(extractor.extract(new ByteArrayInputStream(png), "image.png"));
+    }
+
+    @Test
+    void testTimeout() {
+        AttachmentTextExtractor extractor = new AttachmentTextExtractor(1000, -1, CONTENT_TYPES, 4);
+        assertThrows(AttachmentTextExtractor.ExtractionTimeoutException.class,
+                () -> extractor.extract(stream("Some text"), "notes.txt"));
+    }
+
+    @Test
+    void testParserIgnoringDeadline() throws Exception {
+        AtomicBoolean release = new AtomicBoolean();
+        // Never calls the handler, never reads, ignores interrupt
+        Parser parser = new Parser() {
+            @Override
+            public Set<MediaType> getSupportedTypes(ParseContext context) {
+                return Set.of(MediaType.TEXT_PLAIN);
+            }
+
+            @Override
+            public void parse(InputStream stream, ContentHandler handler, Metadata metadata, ParseContext context) {
+                while (!release.get()) {
+                    Thread.onSpinWait();
+                }
+            }
+        };
+        AttachmentTextExtractor extractor = new AttachmentTextExtractor((input, metadata) -> MediaType.TEXT_PLAIN, parser,
+                1000, 100, CONTENT_TYPES, 2);
+        try {
+            assertThrows(AttachmentTextExtractor.ExtractionTimeoutException.class,
+                    () -> extractor.extract(stream("Some text"), "notes.txt"));
+            assertThrows(AttachmentTextExtractor.ExtractionTimeoutException.class,
+                    () -> extractor.extract(stream("Some text"), "notes.txt"));
+            assertEquals(2, extractor.getAbandonedThreadCount());
+            // Limit of abandoned threads reached
+            assertThrows(AttachmentTextExtractor.ExtractionRefusedException.class,
+                    () -> extractor.extract(stream("Some text"), "notes.txt"));
+
+            // Recovers once the abandoned threads terminate
+            release.set(true);
+            long deadline = System.currentTimeMillis() + 5000;
+            while (extractor.getAbandonedThreadCount() > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(0, extractor.getAbandonedThreadCount());
+            assertEquals("", extractor.extract(stream("Some text"), "notes.txt"));
+        } finally {
+            release.set(true);
+        }
+    }
+
+    @Test
+    void testIsSupported() {
+        AttachmentTextExtractor extractor = new AttachmentTextExtractor(1000, 10000,
+                List.of("text/", "application/pdf", "application/vnd.ms-"), 4);
+        assertTrue(extractor.isSupported(MediaType.parse("text/plain; charset=UTF-8")));
+        assertTrue(extractor.isSupported(MediaType.parse("application/pdf")));
+        assertTrue(extractor.isSupported(MediaType.parse("application/vnd.ms-excel")));
+        assertFalse(extractor.isSupported(MediaType.parse("application/pdfx")));
+        assertFalse(extractor.isSupported(MediaType.parse("image/png")));
+    }
+
+    private static ByteArrayInputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+
+package org.phoebus.olog.notification;
+
+import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.phoebus.olog.LogRepository;
+import org.phoebus.olog.entity.Log;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class NotificationDispatcherTest {
+
+    @Test
+    public void testOutboxOperations() {
+        LogEntryNotifier notifier = logEntry -> {
+        };
+        NotificationOutboxRepository outboxRepository = Mockito.mock(NotificationOutboxRepository.class);
+        BulkOperation operation = BulkOperation.of(op -> op.delete(d -> d.index("outbox").id("1")));
+        when(outboxRepository.saveOperation(eq("1"), eq(List.of(notifier.getClass().getName())), anyLong())).thenReturn(operation);
+        NotificationDispatcher dispatcher = new NotificationDispatcher(List.of(notifier), outboxRepository,
+                Mockito.mock(LogRepository.class), 1000, 60000);
+        dispatcher.init();
+        try {
+            assertEquals(List.of(operation), dispatcher.outboxOperations("1"));
+        } finally {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    public void testWriteOutboxEntry() throws Exception {
+        LogEntryNotifier notifier = logEntry -> {
+        };
+        List<String> notifiers = List.of(notifier.getClass().getName());
+        NotificationOutboxRepository outboxRepository = Mockito.mock(NotificationOutboxRepository.class);
+        // Fails once, e.g. rejected while Elasticsearch is overloaded
+        doThrow(new IOException("rejected")).doNothing().when(outboxRepository).save(eq("1"), eq(notifiers), anyLong());
+        NotificationDispatcher dispatcher = new NotificationDispatcher(List.of(notifier), outboxRepository,
+                Mockito.mock(LogRepository.class), 1000, 60000);
+        dispatcher.init();
+        try {
+            dispatcher.writeOutboxEntry("1");
+            verify(outboxRepository, times(2)).save(eq("1"), eq(notifiers), anyLong());
+            assertEquals(0L, outbox(dispatcher).get("notPersisted"));
+
+            doThrow(new IOException("rejected")).when(outboxRepository).save(eq("2"), eq(notifiers), anyLong());
+            dispatcher.writeOutboxEntry("2");
+            verify(outboxRepository, times(NotificationDispatcher.OUTBOX_WRITE_ATTEMPTS)).save(eq("2"), eq(notifiers), anyLong());
+            assertEquals(1L, outbox(dispatcher).get("notPersisted"));
+        } finally {
+            dispatcher.shutdown();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> outbox(NotificationDispatcher dispatcher) {
+        return (Map<String, Object>) dispatcher.getMetrics().get("outbox");
+    }
+
+    @Test
+    public void testRedeliveryAfterLeaseExpired() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        LogEntryNotifier notifier = logEntry -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new RuntimeException("notifier unavailable");
+            }
+        };
+        String name = notifier.getClass().getName();
+        Log log = Log.LogBuilder.createLog().id(1L).build();
+        NotificationOutboxRepository outboxRepository = Mockito.mock(NotificationOutboxRepository.class);
+        LogRepository logRepository = Mockito.mock(LogRepository.class);
+        when(logRepository.findById("1")).thenReturn(Optional.of(log));
+        NotificationDispatcher dispatcher = new NotificationDispatcher(List.of(notifier), outboxRepository, logRepository, 1000, 60000);
+        dispatcher.init();
+        try {
+            dispatcher.dispatch(log);
+            // Failed delivery is rescheduled in the outbox, not acknowledged
+            verify(outboxRepository, timeout(5000)).reschedule(eq("1"), anyLong(), anyLong(), anyLong());
+            verify(outboxRepository, Mockito.never()).acknowledge("1", name);
+
+            // Lease not yet expired, so the entry is not due
+            when(outboxRepository.findDue(anyLong(), anyInt())).thenReturn(List.of());
+            dispatcher.pollOutbox();
+            assertEquals(1, calls.get());
+
+            // Lease expired
+            when(outboxRepository.findDue(anyLong(), anyInt()))
+                    .thenReturn(List.of(new NotificationOutboxEntry("1", List.of(name), 1, 0, 0)));
+            when(outboxRepository.claim(eq("1"), anyLong(), anyLong())).thenReturn(true);
+            dispatcher.pollOutbox();
+            verify(outboxRepository, timeout(5000)).acknowledge("1", name);
+            assertEquals(2, calls.get());
+        } finally {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    public void testEntryClaimedByOtherInstance() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        LogEntryNotifier notifier = logEntry -> calls.incrementAndGet();
+        NotificationOutboxRepository outboxRepository = Mockito.mock(NotificationOutboxRepository.class);
+        LogRepository logRepository = Mockito.mock(LogRepository.class);
+        when(outboxRepository.findDue(anyLong(), anyInt()))
+                .thenReturn(List.of(new NotificationOutboxEntry("1", List.of(notifier.getClass().getName()), 1, 0, 0)));
+        when(outboxRepository.claim(eq("1"), anyLong(), anyLong())).thenReturn(false);
+        NotificationDispatcher dispatcher = new NotificationDispatcher(List.of(notifier), outboxRepository, logRepository, 1000, 60000);
+        dispatcher.init();
+        try {
+            dispatcher.pollOutbox();
+            verify(logRepository, Mockito.never()).findById("1");
+            assertEquals(0, calls.get());
+        } finally {
+            dispatcher.shutdown();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+
+package org.phoebus.olog.notification;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.core.GetResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.phoebus.olog.AuthenticationResource;
+import org.phoebus.olog.ElasticConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.phoebus.olog.ElasticConfig.ES_NOTIFICATION_OUTBOX_INDEX;
+
+/**
+ * Tests the scripted updates of {@link NotificationOutboxRepository} against Elasticsearch.
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.MOCK,
+        classes = AuthenticationResource.class)
+@ContextConfiguration(classes = {NotificationOutboxRepository.class, ElasticConfig.class})
+@TestPropertySource(locations = "classpath:test_application.properties")
+class NotificationOutboxRepositoryIT {
+
+    private static final String LOG_ID = "outbox-test-1";
+
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+
+    @Autowired
+    @Qualifier("client")
+    ElasticsearchClient client;
+
+    @AfterEach
+    void cleanup() throws IOException {
+        outboxRepository.delete(LOG_ID);
+    }
+
+    private NotificationOutboxEntry find() throws IOException {
+        GetResponse<NotificationOutboxEntry> response =
+                client.get(g -> g.index(ES_NOTIFICATION_OUTBOX_INDEX).id(LOG_ID), NotificationOutboxEntry.class);
+        return response.found() ? response.source() : null;
+    }
+
+    @Test
+    void testAcknowledge() throws IOException {
+        outboxRepository.save(LOG_ID, List.of("notifier1", "notifier2"), 0);
+        outboxRepository.acknowledge(LOG_ID, "notifier1");
+        assertEquals(List.of("notifier2"), find().pending());
+        // Acknowledged twice, e.g. after redelivery
+        outboxRepository.acknowledge(LOG_ID, "notifier1");
+        assertEquals(List.of("notifier2"), find().pending());
+
+        // Deleted once all notifiers have acknowledged
+        outboxRepository.acknowledge(LOG_ID, "notifier2");
+        assertNull(find());
+        // No effect on a deleted entry
+        outboxRepository.acknowledge(LOG_ID, "notifier2");
+    }
+
+    @Test
+    void testClaim() throws IOException {
+        outboxRepository.save(LOG_ID, List.of("notifier1"), 2000);
+        // Lease not expired
+        assertFalse(outboxRepository.claim(LOG_ID, 1000, 5000));
+        assertEquals(2000, find().nextAttempt());
+
+        assertTrue(outboxRepository.claim(LOG_ID, 3000, 5000));
+        assertEquals(5000, find().nextAttempt());
+        // Claimed by another poller
+        assertFalse(outboxRepository.claim(LOG_ID, 4000, 6000));
+        assertEquals(5000, find().nextAttempt());
+
+        assertFalse(outboxRepository.claim("outbox-test-missing", 4000, 6000));
+    }
+
+    @Test
+    void testReschedule() throws IOException {
+        outboxRepository.save(LOG_ID, List.of("notifier1"), 0);
+        outboxRepository.reschedule(LOG_ID, 1000, 100, 300);
+        assertEquals(1, find().attempts());
+        assertEquals(1100, find().nextAttempt());
+
+        outboxRepository.reschedule(LOG_ID, 1000, 100, 300);
+        assertEquals(2, find().attempts());
+        assertEquals(1200, find().nextAttempt());
+
+        // Capped by the max delay
+        outboxRepository.reschedule(LOG_ID, 1000, 100, 300);
+        outboxRepository.reschedule(LOG_ID, 1000, 100, 300);
+        assertEquals(4, find().attempts());
+        assertEquals(1300, find().nextAttempt());
+    }
+
+    @Test
+    void testFindDue() throws IOException {
+        outboxRepository.save(LOG_ID, List.of("notifier1"), 2000);
+        client.indices().refresh(r -> r.index(ES_NOTIFICATION_OUTBOX_INDEX));
+        assertTrue(outboxRepository.findDue(1000, 100).stream().noneMatch(entry -> entry.logId().equals(LOG_ID)));
+        assertTrue(outboxRepository.findDue(2000, 100).stream().anyMatch(entry -> entry.logId().equals(LOG_ID)));
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+
+package org.phoebus.olog.notification;
+
+import org.junit.jupiter.api.Test;
+import org.phoebus.olog.entity.Log;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class NotifierWorkerTest {
+
+    @Test
+    public void testRetryAfterFailure() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(1);
+        LogEntryNotifier notifier = logEntry -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new RuntimeException("first call fails");
+            }
+            latch.countDown();
+        };
+        NotifierWorker worker = new NotifierWorker(notifier, 10, NotifierWorker.OverflowPolicy.DROP_OLDEST, 1000, 2, 10);
+        worker.start();
+        try {
+            worker.offer(log(1L));
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            assertEquals(2, calls.get());
+            assertEquals(1L, worker.getMetrics().get("retried"));
+        } finally {
+            worker.stop();
+        }
+    }
+
+    @Test
+    public void testTimeoutDoesNotBlockWorker() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicBoolean release = new AtomicBoolean();
+        LogEntryNotifier notifier = logEntry -> {
+            if (logEntry.getId() == 1L) {
+                // Ignores interrupt
+                while (!release.get()) {
+                    Thread.onSpinWait();
+                }
+            }
+            latch.countDown();
+        };
+        NotifierWorker worker = new NotifierWorker(notifier, 10, NotifierWorker.OverflowPolicy.DROP_OLDEST, 100, 0, 10);
+        worker.start();
+        try {
+            worker.offer(log(1L));
+            worker.offer(log(2L));
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            assertEquals(1L, worker.getMetrics().get("timedOut"));
+            assertEquals(1L, worker.getMetrics().get("failed"));
+        } finally {
+            release.set(true);
+            worker.stop();
+        }
+    }
+
+    @Test
+    public void testAbandonedThreadLimit() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        AtomicBoolean release = new AtomicBoolean();
+        List<Long> undelivered = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(3);
+        NotifierWorker.DeliveryListener listener = new NotifierWorker.DeliveryListener() {
+            @Override
+            public void delivered(NotifierWorker worker, List<Log> logs) {
+            }
+
+            @Override
+            public void undelivered(NotifierWorker worker, List<Log> logs) {
+                logs.forEach(l -> undelivered.add(l.getId()));
+                logs.forEach(l -> latch.countDown());
+            }
+        };
+        LogEntryNotifier notifier = logEntry -> {
+            calls.incrementAndGet();
+            // Ignores interrupt
+            while (!release.get()) {
+                Thread.onSpinWait();
+            }
+        };
+        NotifierWorker worker = new NotifierWorker(notifier, 10, NotifierWorker.OverflowPolicy.DROP_OLDEST, 100, 0, 10, 2, listener);
+        worker.start();
+        try {
+            worker.offer(log(1L));
+            worker.offer(log(2L));
+            worker.offer(log(3L));
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            // The third log entry is refused without calling the notifier
+            assertEquals(2, calls.get());
+            assertEquals(List.of(1L, 2L, 3L), undelivered);
+            assertFalse(worker.isHealthy());
+            assertEquals(2, worker.getMetrics().get("abandonedThreads"));
+            assertEquals(1L, worker.getMetrics().get("refused"));
+
+            // Recovers once the abandoned threads terminate
+            release.set(true);
+            long deadline = System.currentTimeMillis() + 5000;
+            while (!worker.isHealthy() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue(worker.isHealthy());
+        } finally {
+            release.set(true);
+            worker.stop();
+        }
+    }
+
+    @Test
+    public void testOverflow() {
+        LogEntryNotifier notifier = logEntry -> {
+        };
+        // Worker not started, so queue is never drained
+        NotifierWorker dropOldest = new NotifierWorker(notifier, 1, NotifierWorker.OverflowPolicy.DROP_OLDEST, 1000, 0, 10);
+        assertTrue(dropOldest.offer(log(1L)));
+        assertTrue(dropOldest.offer(log(2L)));
+        assertEquals(1L, dropOldest.getMetrics().get("dropped"));
+
+        NotifierWorker dropNewest = new NotifierWorker(notifier, 1, NotifierWorker.OverflowPolicy.DROP_NEWEST, 1000, 0, 10);
+        assertTrue(dropNewest.offer(log(1L)));
+        assertFalse(dropNewest.offer(log(2L)));
+        assertEquals(1L, dropNewest.getMetrics().get("dropped"));
+        assertEquals(1, dropNewest.getMetrics().get("queueDepth"));
+    }
+
+    @Test
+    public void testBatchDelivery() throws Exception {
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(3);
+        LogEntryNotifier notifier = new LogEntryNotifier() {
+            @Override
+            public void notify(Log logEntry) {
+                batchSizes.add(1);
+                latch.countDown();
+            }
+
+            @Override
+            public void notify(List<Log> logEntries) {
+                batchSizes.add(logEntries.size());
+                logEntries.forEach(l -> latch.countDown());
+            }
+
+            @Override
+            public int getMaxBatchSize() {
+                return 10;
+            }
+        };
+        NotifierWorker worker = new NotifierWorker(notifier, 10, NotifierWorker.OverflowPolicy.DROP_OLDEST, 1000, 0, 10);
+        worker.offer(log(1L));
+        worker.offer(log(2L));
+        worker.offer(log(3L));
+        worker.start();
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            assertEquals(List.of(3), batchSizes);
+            assertEquals(3L, worker.getMetrics().get("delivered"));
+        } finally {
+            worker.stop();
+        }
+    }
+
+    @Test
+    public void testDeliveryListener() throws Exception {
+        List<Long> delivered = new CopyOnWriteArrayList<>();
+        List<Long> undelivered = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(2);
+        NotifierWorker.DeliveryListener listener = new NotifierWorker.DeliveryListener() {
+            @Override
+            public void delivered(NotifierWorker worker, List<Log> logs) {
+                logs.forEach(l -> delivered.add(l.getId()));
+                logs.forEach(l -> latch.countDown());
+            }
+
+            @Override
+            public void undelivered(NotifierWorker worker, List<Log> logs) {
+                logs.forEach(l -> undelivered.add(l.getId()));
+                logs.forEach(l -> latch.countDown());
+            }
+        };
+        LogEntryNotifier notifier = logEntry -> {
+            if (logEntry.getId() == 1L) {
+                throw new RuntimeException("always fails");
+            }
+        };
+        NotifierWorker worker = new NotifierWorker(notifier, 10, NotifierWorker.OverflowPolicy.DROP_OLDEST, 1000, 1, 10, listener);
+        worker.start();
+        try {
+            worker.offer(log(1L));
+            worker.offer(log(2L));
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            assertEquals(List.of(2L), delivered);
+            assertEquals(List.of(1L), undelivered);
+        } finally {
+            worker.stop();
+        }
+    }
+
+    private static Log log(long id) {
+        return Log.LogBuilder.createLog().id(id).build();
+    }
+}
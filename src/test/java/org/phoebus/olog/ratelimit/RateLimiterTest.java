@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+
+package org.phoebus.olog.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(1000));
+
+    @Test
+    void testTokenBucket() {
+        TokenBucket bucket = new TokenBucket(2, 3, clock.get());
+        // Burst of three, then throttled
+        assertEquals(0, bucket.tryConsume(clock.get()));
+        assertEquals(0, bucket.tryConsume(clock.get()));
+        assertEquals(0, bucket.tryConsume(clock.get()));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), bucket.tryConsume(clock.get()));
+        // One token per 500 ms
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertEquals(0, bucket.tryConsume(clock.get()));
+        assertTrue(bucket.tryConsume(clock.get()) > 0);
+        assertTrue(!bucket.isIdle(clock.get()));
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        assertTrue(bucket.isIdle(clock.get()));
+    }
+
+    @Test
+    void testPrincipalLimits() {
+        RateLimiter rateLimiter = new RateLimiter(1, 1, List.of("admin:10:2"), List.of(), clock::get);
+        assertEquals(0, rateLimiter.acquire("user", null));
+        assertTrue(rateLimiter.acquire("user", null) > 0);
+        // Other users have their own buckets
+        assertEquals(0, rateLimiter.acquire("admin", null));
+        assertEquals(0, rateLimiter.acquire("admin", null));
+        assertTrue(rateLimiter.acquire("admin", null) > 0);
+
+        Map<String, Object> metrics = rateLimiter.getMetrics();
+        assertEquals(3L, metrics.get("allowed"));
+        assertEquals(2L, metrics.get("throttled"));
+        // User names and addresses are not published
+        assertFalse(metrics.containsKey("throttledByClient"));
+    }
+
+    @Test
+    void testClientInfoLimits() {
+        RateLimiter rateLimiter = new RateLimiter(100, 100, List.of(), List.of("python-requests:1:2"), clock::get);
+        assertEquals(0, rateLimiter.acquire("user", "python-requests/2.31"));
+        assertEquals(0, rateLimiter.acquire("user", "python-requests/2.31"));
+        assertTrue(rateLimiter.acquire("user", "python-requests/2.31") > 0);
+        // Same user with another client is not affected
+        assertEquals(0, rateLimiter.acquire("user", "CS Studio 4.7.3"));
+        assertEquals(0, rateLimiter.acquire("user", null));
+        assertEquals(Map.of("python-requests", 1L), rateLimiter.getMetrics().get("throttledByClientInfo"));
+        // Throttled requests are counted per configured entry, not per header value
+        assertEquals(0, rateLimiter.acquire("other", "python-requests/2.32"));
+        assertEquals(0, rateLimiter.acquire("other", "python-requests/2.32"));
+        assertTrue(rateLimiter.acquire("other", "python-requests/2.32") > 0);
+        assertEquals(Map.of("python-requests", 2L), rateLimiter.getMetrics().get("throttledByClientInfo"));
+    }
+
+    @Test
+    void testParseLimits() {
+        List<RateLimiter.Limit> limits = RateLimiter.parseLimits(List.of("admin:100:200", " ", "invalid", "x:y:1", "CS Studio 4.7:0.5:2"));
+        assertEquals(List.of(new RateLimiter.Limit("admin", 100, 200), new RateLimiter.Limit("CS Studio 4.7", 0.5, 2)), limits);
+    }
+}
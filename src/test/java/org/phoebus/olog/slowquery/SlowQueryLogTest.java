@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+
+package org.phoebus.olog.slowquery;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlowQueryLogTest {
+
+    @Test
+    void testRecordAboveThreshold() {
+        SlowQueryLog slowQueryLog = new SlowQueryLog(100, 1.0, 10, 1000);
+        AtomicInteger serialized = new AtomicInteger();
+        slowQueryLog.record(parameters("dump"), () -> {
+            serialized.incrementAndGet();
+            return "{}";
+        }, 10, 99, 0, "client");
+        // Request is not serialized for fast searches
+        assertEquals(0, serialized.get());
+        assertTrue(slowQueryLog.getRecent().isEmpty());
+
+        slowQueryLog.record(parameters("*dump"), () -> "{\"query\":{}}", 80, 150, 3, "client");
+        List<SlowQuery> recent = slowQueryLog.getRecent();
+        assertEquals(1, recent.size());
+        assertEquals("desc=*dump&logbooks=Operations,Controls", recent.getFirst().parameters());
+        assertEquals("{\"query\":{}}", recent.getFirst().request());
+        assertEquals(80, recent.getFirst().took());
+        assertEquals(150, recent.getFirst().wallTime());
+        assertEquals(3, recent.getFirst().hitCount());
+        assertEquals("client", recent.getFirst().clientInfo());
+    }
+
+    @Test
+    void testBufferKeepsMostRecent() {
+        SlowQueryLog slowQueryLog = new SlowQueryLog(0, 1.0, 2, 5);
+        slowQueryLog.record(parameters("a"), () -> "0123456789", 1, 1, 1, null);
+        slowQueryLog.record(parameters("b"), () -> "0", 2, 2, 2, null);
+        slowQueryLog.record(parameters("c"), () -> "0", 3, 3, 3, null);
+        List<SlowQuery> recent = slowQueryLog.getRecent();
+        assertEquals(2, recent.size());
+        assertEquals(3, recent.get(0).took());
+        assertEquals(2, recent.get(1).took());
+        assertEquals(3L, slowQueryLog.getMetrics().get("recorded"));
+    }
+
+    @Test
+    void testRequestTruncated() {
+        SlowQueryLog slowQueryLog = new SlowQueryLog(0, 1.0, 2, 5);
+        slowQueryLog.record(parameters("a"), () -> "0123456789", 1, 1, 1, null);
+        assertEquals("01234...", slowQueryLog.getRecent().getFirst().request());
+    }
+
+    @Test
+    void testSampling() {
+        SlowQueryLog slowQueryLog = new SlowQueryLog(0, 0.0, 10, 1000);
+        slowQueryLog.record(parameters("a"), () -> "{}", 1, 1, 1, null);
+        assertTrue(slowQueryLog.getRecent().isEmpty());
+        assertEquals(1L, slowQueryLog.getMetrics().get("slowQueries"));
+        assertEquals(0L, slowQueryLog.getMetrics().get("recorded"));
+    }
+
+    private MultiValueMap<String, String> parameters(String description) {
+        MultiValueMap<String, String> parameters = new LinkedMultiValueMap<>();
+        parameters.add("desc", description);
+        parameters.add("logbooks", "Operations");
+        parameters.add("logbooks", "Controls");
+        return parameters;
+    }
+}
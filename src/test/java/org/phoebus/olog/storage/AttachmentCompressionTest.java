@@ -0,0 +1,44 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+
+package org.phoebus.olog.storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class AttachmentCompressionTest {
+
+    private static final List<String> CONTENT_TYPES = List.of("text/", "application/xml", "application/json");
+
+    @Test
+    void testContentEncoding() {
+        AttachmentCompression compression = new AttachmentCompression(true, 6, CONTENT_TYPES);
+        assertEquals(GzipContent.ENCODING, compression.getContentEncoding("dump.log", "text/plain"));
+        assertEquals(GzipContent.ENCODING, compression.getContentEncoding("data", "text/csv; charset=UTF-8"));
+        assertEquals(GzipContent.ENCODING, compression.getContentEncoding("config.xml", "application/xml"));
+        assertNull(compression.getContentEncoding("image.png", "image/png"));
+        assertNull(compression.getContentEncoding("data.json", "application/jsonp"));
+    }
+
+    @Test
+    void testContentTypeFromFilename() {
+        AttachmentCompression compression = new AttachmentCompression(true, 6, CONTENT_TYPES);
+        // Description rather than content type
+        assertEquals(GzipContent.ENCODING, compression.getContentEncoding("data.csv", "Beam current"));
+        assertEquals(GzipContent.ENCODING, compression.getContentEncoding("data.csv", "application/octet-stream"));
+        assertEquals(GzipContent.ENCODING, compression.getContentEncoding("config.xml", null));
+        assertNull(compression.getContentEncoding("image.png", "Screenshot"));
+        assertNull(compression.getContentEncoding(null, null));
+    }
+
+    @Test
+    void testDisabled() {
+        AttachmentCompression compression = new AttachmentCompression(false, 6, CONTENT_TYPES);
+        assertNull(compression.getContentEncoding("dump.log", "text/plain"));
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+
+package org.phoebus.olog.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.phoebus.olog.LogRepository;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+class AttachmentGarbageCollectorTest {
+
+    @TempDir
+    Path directory;
+
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+
+    private FileSystemAttachmentStore store() throws IOException {
+        FileSystemAttachmentStore store = new FileSystemAttachmentStore(directory);
+        for (String id : List.of("referenced", "orphan1", "orphan2")) {
+            store.store(id, id + ".txt", null, new ByteArrayInputStream("data".getBytes(StandardCharsets.UTF_8)));
+        }
+        return store;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static LogRepository logRepository() throws IOException {
+        LogRepository logRepository = Mockito.mock(LogRepository.class);
+        when(logRepository.findReferencedAttachmentIds(any())).thenAnswer(invocation ->
+                ((Collection<String>) invocation.getArgument(0)).stream()
+                        .filter("referenced"::equals)
+                        .collect(Collectors.toSet()));
+        return logRepository;
+    }
+
+    @Test
+    void testDryRun() throws Exception {
+        FileSystemAttachmentStore store = store();
+        AtomicLong now = new AtomicLong(System.currentTimeMillis() + 2 * HOUR);
+        AttachmentGarbageCollector collector = new AttachmentGarbageCollector(store, logRepository(), 3600, 0, 0, now::get);
+
+        AttachmentGarbageCollector.Report report = collector.collect(true);
+        assertTrue(report.dryRun());
+        assertEquals(3, report.examined());
+        assertEquals(2, report.orphans());
+        assertEquals(8, report.orphanBytes());
+        assertEquals(Set.of("orphan1", "orphan2"), Set.copyOf(report.orphanIds()));
+        assertEquals(0, report.deleted());
+        assertTrue(store.exists("orphan1"));
+        assertTrue(store.exists("orphan2"));
+    }
+
+    @Test
+    void testGracePeriod() throws Exception {
+        FileSystemAttachmentStore store = store();
+        AttachmentGarbageCollector collector = new AttachmentGarbageCollector(store, logRepository(), 3600, 0, 0, System::currentTimeMillis);
+
+        AttachmentGarbageCollector.Report report = collector.collect(false);
+        assertEquals(3, report.examined());
+        assertEquals(0, report.orphans());
+        assertTrue(store.exists("orphan1"));
+    }
+
+    @Test
+    void testQuarantine() throws Exception {
+        FileSystemAttachmentStore store = store();
+        AtomicLong now = new AtomicLong(System.currentTimeMillis() + 2 * HOUR);
+        AttachmentGarbageCollector collector = new AttachmentGarbageCollector(store, logRepository(), 3600, 3600, 0, now::get);
+
+        AttachmentGarbageCollector.Report report = collector.collect(false);
+        assertEquals(2, report.orphans());
+        assertEquals(0, report.deleted());
+        assertEquals(2, report.quarantined());
+        assertTrue(store.exists("orphan1"));
+
+        now.addAndGet(HOUR);
+        report = collector.collect(false);
+        assertEquals(2, report.deleted());
+        assertEquals(0, report.quarantined());
+        assertFalse(store.exists("orphan1"));
+        assertFalse(store.exists("orphan2"));
+        assertTrue(store.exists("referenced"));
+    }
+
+    @Test
+    void testSearchFailure() throws Exception {
+        FileSystemAttachmentStore store = store();
+        LogRepository logRepository = Mockito.mock(LogRepository.class);
+        when(logRepository.findReferencedAttachmentIds(any())).thenThrow(new IOException("unavailable"));
+        AtomicLong now = new AtomicLong(System.currentTimeMillis() + 2 * HOUR);
+        AttachmentGarbageCollector collector = new AttachmentGarbageCollector(store, logRepository, 3600, 0, 0, now::get);
+
+        assertThrows(IOException.class, () -> collector.collect(false));
+        assertTrue(store.exists("orphan1"));
+    }
+
+    @Test
+    void testNoReferencesFound() throws Exception {
+        FileSystemAttachmentStore store = store();
+        LogRepository logRepository = Mockito.mock(LogRepository.class);
+        // E.g. the attachment ids are not indexed as keywords
+        when(logRepository.findReferencedAttachmentIds(any())).thenReturn(Set.of());
+        when(logRepository.countLogsWithAttachments()).thenReturn(1L);
+        AtomicLong now = new AtomicLong(System.currentTimeMillis() + 2 * HOUR);
+        AttachmentGarbageCollector collector = new AttachmentGarbageCollector(store, logRepository, 3600, 0, 0, now::get);
+
+        assertThrows(IOException.class, () -> collector.collect(false));
+        assertTrue(store.exists("referenced"));
+        assertTrue(store.exists("orphan1"));
+        assertTrue(store.exists("orphan2"));
+
+        // No log entry has attachments, so all are orphans
+        when(logRepository.countLogsWithAttachments()).thenReturn(0L);
+        AttachmentGarbageCollector.Report report = collector.collect(false);
+        assertEquals(3, report.deleted());
+        assertFalse(store.exists("referenced"));
+    }
+}
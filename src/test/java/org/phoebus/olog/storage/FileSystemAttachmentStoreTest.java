@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+
+package org.phoebus.olog.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.phoebus.olog.entity.Attachment;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileSystemAttachmentStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private static InputStream content(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testStoreAndFind() throws Exception {
+        FileSystemAttachmentStore store = new FileSystemAttachmentStore(directory);
+        String id = store.store("6a1b2c3d-id", "image.png", "image/png", content("data"));
+        assertEquals("6a1b2c3d-id", id);
+        assertTrue(store.exists(id));
+
+        Attachment attachment = store.find(id).orElseThrow();
+        assertEquals("image.png", attachment.getFilename());
+        assertEquals("image/png", attachment.getFileMetadataDescription());
+        assertTrue(FileTransfer.isFile(attachment.getAttachment()));
+        try (InputStream inputStream = attachment.getAttachment().getInputStream()) {
+            assertEquals("data", new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void testCompressedContent() throws Exception {
+        FileSystemAttachmentStore store = new FileSystemAttachmentStore(directory);
+        store.store("compressed", "dump.log", "text/plain", GzipContent.ENCODING, GzipContent.compress(content("data"), 6));
+
+        Attachment attachment = store.find("compressed").orElseThrow();
+        GzipContent gzipContent = assertInstanceOf(GzipContent.class, attachment.getAttachment());
+        assertTrue(FileTransfer.isFile(gzipContent.getCompressedContent()));
+        try (InputStream inputStream = attachment.getAttachment().getInputStream()) {
+            assertEquals("data", new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void testGeneratedId() throws Exception {
+        FileSystemAttachmentStore store = new FileSystemAttachmentStore(directory);
+        String id = store.store(null, "file.txt", null, content("data"));
+        assertNotNull(id);
+        assertEquals("file.txt", store.find(id).orElseThrow().getFilename());
+    }
+
+    @Test
+    void testDuplicateId() throws Exception {
+        FileSystemAttachmentStore store = new FileSystemAttachmentStore(directory);
+        store.store("duplicate", "first.txt", null, content("first"));
+        assertThrows(FileAlreadyExistsException.class, () -> store.store("duplicate", "second.txt", null, content("second")));
+        assertEquals("first.txt", store.find("duplicate").orElseThrow().getFilename());
+    }
+
+    @Test
+    void testInvalidId() throws Exception {
+        FileSystemAttachmentStore store = new FileSystemAttachmentStore(directory);
+        assertThrows(IllegalArgumentException.class, () -> store.store("../outside", "file.txt", null, content("data")));
+        assertEquals(Optional.empty(), store.find("../outside"));
+        assertFalse(store.exists("../outside"));
+    }
+
+    @Test
+    void testDelete() throws Exception {
+        FileSystemAttachmentStore store = new FileSystemAttachmentStore(directory);
+        store.store("deleted", "file.txt", null, content("data"));
+        store.delete("deleted");
+        assertFalse(store.exists("deleted"));
+        assertEquals(Optional.empty(), store.find("deleted"));
+        // No effect
+        store.delete("deleted");
+    }
+
+    @Test
+    void testTransfer() throws Exception {
+        FileSystemAttachmentStore store = new FileSystemAttachmentStore(directory);
+        byte[] data = new byte[1024 * 1024 + 17];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        store.store("large", "large.bin", null, new ByteArrayInputStream(data));
+
+        HttpHeaders headers = new HttpHeaders();
+        // Streamed, as the request does not support sendfile
+        ResponseEntity<StreamingResponseBody> response = FileTransfer.response(store.find("large").orElseThrow().getAttachment(),
+                headers, new MockHttpServletRequest());
+        assertEquals(data.length, response.getHeaders().getContentLength());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        response.getBody().writeTo(outputStream);
+        assertArrayEquals(data, outputStream.toByteArray());
+    }
+
+    @Test
+    void testSendfile() throws Exception {
+        FileSystemAttachmentStore store = new FileSystemAttachmentStore(directory);
+        store.store("sendfile", "data.bin", null, new ByteArrayInputStream(new byte[1000]));
+        FileSystemResource content = (FileSystemResource) store.find("sendfile").orElseThrow().getAttachment();
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(FileTransfer.SENDFILE_SUPPORTED_ATTRIBUTE, Boolean.TRUE);
+        HttpHeaders headers = new HttpHeaders();
+        ResponseEntity<StreamingResponseBody> response = FileTransfer.response(content, headers, request);
+        // Body is sent by the container
+        assertNull(response.getBody());
+        assertEquals(1000, response.getHeaders().getContentLength());
+        assertEquals(content.getFile().getAbsolutePath(), request.getAttribute(FileTransfer.SENDFILE_FILENAME_ATTRIBUTE));
+        assertEquals(0L, request.getAttribute(FileTransfer.SENDFILE_START_ATTRIBUTE));
+        assertEquals(1000L, request.getAttribute(FileTransfer.SENDFILE_END_ATTRIBUTE));
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+
+package org.phoebus.olog.storage;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.http.HttpHeaders;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GzipContentTest {
+
+    private static byte[] compress(byte[] data) throws IOException {
+        try (InputStream inputStream = GzipContent.compress(new ByteArrayInputStream(data), 6)) {
+            return inputStream.readAllBytes();
+        }
+    }
+
+    @Test
+    void testCompress() throws Exception {
+        byte[] data = new byte[1024 * 1024 + 17];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) "timestamp,value\n".charAt(i % 16);
+        }
+        byte[] compressed = compress(data);
+        assertTrue(compressed.length < data.length / 100);
+        // Readable by any gzip decoder
+        try (InputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertArrayEquals(data, inputStream.readAllBytes());
+        }
+        try (InputStream inputStream = new GzipContent(new ByteArrayResource(compressed)).getInputStream()) {
+            assertArrayEquals(data, inputStream.readAllBytes());
+        }
+        assertArrayEquals(new byte[0], new GzipContent(new ByteArrayResource(compress(new byte[0]))).getInputStream().readAllBytes());
+    }
+
+    @Test
+    void testContentLength() throws Exception {
+        byte[] data = new byte[300000];
+        assertEquals(data.length, new GzipContent(new ByteArrayResource(compress(data))).contentLength());
+        assertEquals(0, new GzipContent(new ByteArrayResource(compress(new byte[0]))).contentLength());
+        // Length of the compressed content not known
+        InputStreamSource stream = () -> new ByteArrayInputStream(compress(data));
+        assertEquals(-1, new GzipContent(stream).contentLength());
+    }
+
+    @Test
+    void testCompressSizeLimit() {
+        UploadInputStream content = new UploadInputStream(new ByteArrayInputStream(new byte[100]), 10);
+        assertThrows(UploadInputStream.SizeLimitExceededException.class,
+                () -> GzipContent.compress(content, 6).readAllBytes());
+    }
+
+    @Test
+    void testIsAccepted() {
+        assertTrue(GzipContent.isAccepted("gzip, deflate, br"));
+        assertTrue(GzipContent.isAccepted("GZIP;q=0.5"));
+        assertTrue(GzipContent.isAccepted("*"));
+        assertFalse(GzipContent.isAccepted(null));
+        assertFalse(GzipContent.isAccepted("identity"));
+        assertFalse(GzipContent.isAccepted("deflate, gzip;q=0"));
+        assertFalse(GzipContent.isAccepted("*, gzip;q=0"));
+        assertFalse(GzipContent.isAccepted("*;q=0"));
+    }
+
+    @Test
+    void testNegotiate() {
+        ByteArrayResource compressed = new ByteArrayResource(new byte[0]);
+        GzipContent content = new GzipContent(compressed);
+
+        HttpHeaders headers = new HttpHeaders();
+        assertSame(compressed, GzipContent.negotiate(content, "gzip", headers));
+        assertEquals(GzipContent.ENCODING, headers.getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, headers.getFirst(HttpHeaders.VARY));
+
+        headers = new HttpHeaders();
+        assertSame(content, GzipContent.negotiate(content, null, headers));
+        assertNull(headers.getFirst(HttpHeaders.CONTENT_ENCODING));
+
+        InputStreamSource uncompressed = new ByteArrayResource(new byte[0]);
+        headers = new HttpHeaders();
+        assertSame(uncompressed, GzipContent.negotiate(uncompressed, "gzip", headers));
+        assertTrue(headers.isEmpty());
+    }
+}
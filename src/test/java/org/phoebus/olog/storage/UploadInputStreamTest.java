@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+
+package org.phoebus.olog.storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UploadInputStreamTest {
+
+    @Test
+    void testSizeAndChecksum() throws Exception {
+        byte[] data = new byte[100_000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i * 31);
+        }
+        UploadInputStream inputStream = new UploadInputStream(new ByteArrayInputStream(data), data.length);
+        assertEquals(data[0], (byte) inputStream.read());
+        assertEquals(10, inputStream.skip(10));
+        inputStream.transferTo(OutputStream.nullOutputStream());
+
+        assertEquals(data.length, inputStream.getSize());
+        assertFalse(inputStream.isLimitExceeded());
+        String expected = HexFormat.of().formatHex(MessageDigest.getInstance(UploadInputStream.CHECKSUM_ALGORITHM).digest(data));
+        assertEquals(expected, inputStream.getChecksum());
+        assertEquals(expected, inputStream.getChecksum());
+    }
+
+    @Test
+    void testLimitExceeded() {
+        InputStream content = new ByteArrayInputStream("0123456789".getBytes(StandardCharsets.UTF_8));
+        UploadInputStream inputStream = new UploadInputStream(content, 9);
+        assertThrows(UploadInputStream.SizeLimitExceededException.class, () -> inputStream.transferTo(OutputStream.nullOutputStream()));
+        assertTrue(inputStream.isLimitExceeded());
+    }
+}
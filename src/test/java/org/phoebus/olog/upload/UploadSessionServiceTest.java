@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2026 European Spallation Source ERIC.
+ */
+
+package org.phoebus.olog.upload;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.phoebus.olog.storage.UploadInputStream;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UploadSessionServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private static InputStream content(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private UploadSessionService service() throws Exception {
+        return new UploadSessionService(directory, DataSize.ofBytes(100), 60, System::currentTimeMillis);
+    }
+
+    @Test
+    void testChunkedUpload() throws Exception {
+        UploadSessionService service = service();
+        UploadSession session = service.create("1", "user", "data.txt", "text/plain", null, 10L);
+        assertEquals(0, session.offset());
+
+        assertEquals(4, service.append(session.id(), 0, content("0123")));
+        // Retried chunk
+        assertEquals(4, service.append(session.id(), 0, content("0123")));
+        // Overlapping chunk
+        assertEquals(7, service.append(session.id(), 2, content("23456")));
+        assertThrows(IllegalStateException.class, () -> service.complete(session.id(), (s, c) -> "attachment"));
+        assertEquals(10, service.append(session.id(), 7, content("789")));
+
+        AtomicInteger calls = new AtomicInteger();
+        String attachmentId = service.complete(session.id(), (s, content) -> {
+            calls.incrementAndGet();
+            assertEquals("0123456789", new String(content.readAllBytes(), StandardCharsets.UTF_8));
+            assertEquals("data.txt", s.filename());
+            return "attachment";
+        });
+        assertEquals("attachment", attachmentId);
+        // Completing again does not store the attachment again
+        assertEquals("attachment", service.complete(session.id(), (s, c) -> "other"));
+        assertEquals(1, calls.get());
+
+        UploadSession completedSession = service.find(session.id()).orElseThrow();
+        assertTrue(completedSession.isCompleted());
+        assertEquals(10, completedSession.offset());
+        assertThrows(IllegalStateException.class, () -> service.append(session.id(), 10, content("x")));
+    }
+
+    @Test
+    void testOffsetBeyondReceived() throws Exception {
+        UploadSessionService service = service();
+        UploadSession session = service.create("1", "user", "data.txt", null, null, null);
+        service.append(session.id(), 0, content("01"));
+        assertThrows(IllegalStateException.class, () -> service.append(session.id(), 3, content("3")));
+        assertThrows(IllegalArgumentException.class, () -> service.append(session.id(), -1, content("3")));
+        assertEquals(2, service.find(session.id()).orElseThrow().offset());
+    }
+
+    @Test
+    void testSizeLimits() throws Exception {
+        UploadSessionService service = service();
+        assertThrows(UploadInputStream.SizeLimitExceededException.class,
+                () -> service.create("1", "user", "data.txt", null, null, 101L));
+        UploadSession session = service.create("1", "user", "data.txt", null, null, 3L);
+        assertThrows(UploadInputStream.SizeLimitExceededException.class, () -> service.append(session.id(), 0, content("0123")));
+        assertEquals(0, service.find(session.id()).orElseThrow().offset());
+    }
+
+    @Test
+    void testUnknownSession() throws Exception {
+        UploadSessionService service = service();
+        assertEquals(Optional.empty(), service.find("../outside"));
+        assertEquals(Optional.empty(), service.find("6f1c2a3e-0000-4000-8000-000000000000"));
+        assertThrows(NoSuchElementException.class, () -> service.append("6f1c2a3e-0000-4000-8000-000000000000", 0, content("0")));
+    }
+
+    @Test
+    void testExpiry() throws Exception {
+        AtomicLong now = new AtomicLong(System.currentTimeMillis());
+        UploadSessionService service = new UploadSessionService(directory, DataSize.ofBytes(100), 60, now::get);
+        UploadSession session = service.create("1", "user", "data.txt", null, null, null);
+        service.deleteExpired();
+        assertTrue(service.find(session.id()).isPresent());
+
+        now.addAndGet(61_000);
+        service.deleteExpired();
+        assertFalse(service.find(session.id()).isPresent());
+    }
+}